@@ -38,7 +38,8 @@ dependencies {
 	implementation("com.zaxxer:HikariCP:5.1.0")
 	compileOnly("org.projectlombok:lombok")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
-	runtimeOnly("org.postgresql:postgresql")
+	// Compile scope for PGConnection (LISTEN/NOTIFY cache invalidation)
+	implementation("org.postgresql:postgresql")
 	annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -59,6 +60,7 @@ tasks.withType<Test> {
 tasks.test {
 	filter {
 		excludeTestsMatching("*FunctionalTest")
+		excludeTestsMatching("*Benchmark")
 	}
 
 	finalizedBy(tasks.jacocoTestReport)
@@ -68,6 +70,20 @@ tasks.jacocoTestReport {
 	dependsOn(tasks.test)
 }
 
+// Micro-benchmarks kept out of the regular test run; they print their measurements
+tasks.register<Test>("benchmark") {
+	group = "verification"
+	description = "Runs the *Benchmark test classes"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	filter {
+		includeTestsMatching("*Benchmark")
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+}
+
 // Flyway configuration
 flyway {
 	url = System.getenv("DATABASE_URL")
@@ -0,0 +1,107 @@
+package com.example.coursebe.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate frequency counts of a stream of keys in fixed memory.
+ * <p>
+ * Each key increments one counter in each of {@code depth} rows, picked by independent hashes,
+ * and its estimate is the smallest of those counters: it can overcount because of collisions,
+ * but never undercounts. After {@code sampleSize} additions every counter is halved, so the
+ * estimates follow recent traffic rather than all-time totals (the aging step of TinyLFU).
+ * Safe for concurrent use; a halving that races with additions may lose a few increments.
+ */
+public class CountMinSketch {
+
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0xD3A2646C, 0xFD7046C5, 0xB55A4F09};
+
+    private final int depth;
+    private final int width;
+    private final AtomicIntegerArray counters;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+    private final AtomicInteger resets = new AtomicInteger();
+
+    /**
+     * @param width Counters per row, rounded up to a power of two; a few times the number of hot keys
+     * @param depth Number of rows, between 1 and 8; more rows make overcounting less likely
+     * @param sampleSize Additions after which all counters are halved
+     */
+    public CountMinSketch(int width, int depth, int sampleSize) {
+        if (width < 1 || depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch width must be positive and depth between 1 and " + SEEDS.length);
+        }
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("Sketch sample size must be positive");
+        }
+        int rounded = 1;
+        while (rounded < width) {
+            rounded <<= 1;
+        }
+        this.depth = depth;
+        this.width = rounded;
+        this.counters = new AtomicIntegerArray(this.width * depth);
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Count one occurrence of a key
+     * @param key Key with a well distributed hash code
+     * @return The key's estimated frequency including this occurrence
+     */
+    public int add(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        if (additions.incrementAndGet() >= sampleSize) {
+            halve();
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key Key to look up
+     * @return The key's estimated frequency, with older occurrences weighted down by each halving
+     */
+    public int estimate(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @return How many times the counters were halved, so holders of old estimates can age them too
+     */
+    public int resets() {
+        return resets.get();
+    }
+
+    private synchronized void halve() {
+        // Another thread may have halved while this one waited
+        if (additions.get() < sampleSize) {
+            return;
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+        additions.set(0);
+        resets.incrementAndGet();
+    }
+
+    private int index(int hash, int row) {
+        // murmur3 finalizer over the hash mixed with the row's seed
+        int h = hash ^ SEEDS[row];
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return row * width + (h & (width - 1));
+    }
+}
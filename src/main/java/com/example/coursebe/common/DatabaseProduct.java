@@ -0,0 +1,33 @@
+package com.example.coursebe.common;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Identifies the database behind a data source from its JDBC metadata, so features that need
+ * Postgres (ON CONFLICT, pg_notify) are chosen the same way everywhere, whatever the URL looks like.
+ */
+public final class DatabaseProduct {
+
+    private static final String POSTGRES = "PostgreSQL";
+
+    private DatabaseProduct() {
+    }
+
+    /**
+     * Check whether a data source connects to Postgres; borrows one connection to read the metadata
+     * @param dataSource Data source to check
+     * @return Whether the database product is PostgreSQL
+     * @throws IllegalStateException if the metadata cannot be read
+     */
+    public static boolean isPostgres(DataSource dataSource) {
+        try {
+            return POSTGRES.equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException ex) {
+            throw new IllegalStateException("Could not determine the database product", ex);
+        }
+    }
+}
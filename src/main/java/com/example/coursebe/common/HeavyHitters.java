@@ -0,0 +1,111 @@
+package com.example.coursebe.common;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming top-K of the most frequent keys, backed by a {@link CountMinSketch}.
+ * <p>
+ * Only the current top {@code capacity} keys are held; every other key costs nothing beyond its
+ * sketch counters. A key enters the top when its estimate beats the weakest member, which it
+ * then replaces. The same estimates answer TinyLFU admission: keep a new cache entry only if
+ * its key is more frequent than the entry it would evict.
+ *
+ * @param <K> Key type, with value equality
+ */
+public class HeavyHitters<K> {
+
+    /**
+     * A key and its estimated recent frequency
+     */
+    public record Entry<K>(K key, int estimate) {
+    }
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<K, Integer> top = new ConcurrentHashMap<>();
+    private volatile int threshold;
+    private volatile int seenResets;
+
+    /**
+     * @param capacity Number of top keys to track
+     * @param sketch Sketch sized for the expected number of distinct keys
+     */
+    public HeavyHitters(int capacity, CountMinSketch sketch) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-K capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.sketch = sketch;
+    }
+
+    /**
+     * Count one occurrence of a key
+     * @param key Key that was accessed
+     * @return The key's estimated frequency
+     */
+    public int record(K key) {
+        int estimate = sketch.add(key);
+        // Cheap checks first: most keys are neither in the top nor frequent enough to enter it
+        if (estimate > threshold || top.containsKey(key) || top.size() < capacity || sketch.resets() != seenResets) {
+            offer(key, estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key Key to look up
+     * @return The key's estimated recent frequency
+     */
+    public int frequency(K key) {
+        return sketch.estimate(key);
+    }
+
+    /**
+     * TinyLFU admission: whether a new entry is worth evicting an existing one for
+     * @param candidate Key of the entry to add
+     * @param victim Key of the entry that would be evicted
+     * @return true if the candidate is more frequent than the victim
+     */
+    public boolean admit(K candidate, K victim) {
+        return frequency(candidate) > frequency(victim);
+    }
+
+    /**
+     * @return The tracked keys, most frequent first
+     */
+    public List<Entry<K>> top() {
+        return top.keySet().stream()
+                .map(key -> new Entry<>(key, frequency(key)))
+                .sorted(Comparator.comparingInt((Entry<K> entry) -> entry.estimate()).reversed())
+                .toList();
+    }
+
+    private synchronized void offer(K key, int estimate) {
+        ageAfterReset();
+        if (top.containsKey(key) || top.size() < capacity) {
+            top.put(key, estimate);
+        } else {
+            Map.Entry<K, Integer> weakest = weakest();
+            if (estimate > weakest.getValue()) {
+                top.remove(weakest.getKey());
+                top.put(key, estimate);
+            }
+        }
+        threshold = top.size() < capacity ? 0 : weakest().getValue();
+    }
+
+    private void ageAfterReset() {
+        int resets = sketch.resets();
+        if (resets != seenResets) {
+            top.replaceAll((key, count) -> count >>> Math.min(31, resets - seenResets));
+            seenResets = resets;
+        }
+    }
+
+    private Map.Entry<K, Integer> weakest() {
+        return top.entrySet().stream().min(Map.Entry.comparingByValue()).orElseThrow();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.coursebe.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fractional ordering keys for sections and articles.
+ * <p>
+ * A key is a string of base-62 digits ({@code 0-9A-Za-z}) compared byte-wise, so a key can
+ * always be generated strictly between two neighbours without renumbering any other row.
+ * Keys never end in the lowest digit, which guarantees such a key exists for every pair.
+ * Repeated inserts at the same spot make keys longer; {@code RankRebalancer} respaces them.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Initial keys are 8 hex digits spaced 0x1000 apart, matching the V12 backfill
+    private static final long INITIAL_GAP = 0x1000L;
+    private static final int INITIAL_WIDTH = 8;
+
+    private RankKeys() {
+    }
+
+    /**
+     * Generate a key strictly between two keys
+     * @param lower Lower bound, or null for the start of the list
+     * @param upper Upper bound, or null for the end of the list
+     * @return A key greater than lower and less than upper
+     */
+    public static String between(String lower, String upper) {
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Lower rank key must be less than upper rank key");
+        }
+        StringBuilder key = new StringBuilder();
+        boolean upperOpen = upper == null;
+        for (int i = 0; ; i++) {
+            int low = lower != null && i < lower.length() ? digit(lower.charAt(i)) : 0;
+            int high = !upperOpen && i < upper.length() ? digit(upper.charAt(i)) : BASE;
+            if (high - low > 1) {
+                return key.append(DIGITS.charAt((low + high) / 2)).toString();
+            }
+            key.append(DIGITS.charAt(low));
+            // Once the prefix is below upper, only lower still constrains the next digits
+            if (high != low) {
+                upperOpen = true;
+            }
+        }
+    }
+
+    /**
+     * Generate a key for inserting at an index of an ordered key list
+     * @param orderedKeys Keys of the current items, in order
+     * @param index Target index, clamped to the list bounds
+     * @return A key that sorts the new item at the index
+     */
+    public static String insertAt(List<String> orderedKeys, int index) {
+        int at = Math.max(0, Math.min(index, orderedKeys.size()));
+        String lower = at > 0 ? orderedKeys.get(at - 1) : null;
+        // Skip duplicate keys (e.g. rows backfilled from equal positions); the item goes after them
+        while (at < orderedKeys.size() && lower != null && orderedKeys.get(at).compareTo(lower) <= 0) {
+            at++;
+        }
+        String upper = at < orderedKeys.size() ? orderedKeys.get(at) : null;
+        return between(lower, upper);
+    }
+
+    /**
+     * Generate the initial key of the item at an index, used for rows created without a key
+     * @param index Zero-based index
+     * @return A short key; keys of increasing indexes are increasing
+     */
+    public static String forIndex(int index) {
+        return spaced(Math.max(index, 0), INITIAL_WIDTH);
+    }
+
+    /**
+     * Generate evenly spaced short keys for a whole list, used when rewriting an ordering
+     * @param count Number of keys
+     * @return Increasing keys
+     */
+    public static List<String> spaced(int count) {
+        int width = Math.max(INITIAL_WIDTH, Long.toHexString(count * INITIAL_GAP).length());
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(spaced(i, width));
+        }
+        return keys;
+    }
+
+    /**
+     * Assign keys to a list in its new order, keeping the keys of as many items as possible.
+     * Items on the longest increasing run of existing keys keep them; only the others get new keys,
+     * so moving one item changes exactly one key.
+     * @param currentKeys Current key of each item in the new order, or null for new items
+     * @return Key of each item, increasing
+     */
+    public static List<String> rerank(List<String> currentKeys) {
+        int n = currentKeys.size();
+        boolean[] keep = longestIncreasing(currentKeys);
+        String[] keys = new String[n];
+        int i = 0;
+        while (i < n) {
+            if (keep[i]) {
+                keys[i] = currentKeys.get(i);
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < n && !keep[i]) {
+                i++;
+            }
+            String lower = start > 0 ? keys[start - 1] : null;
+            String upper = i < n ? currentKeys.get(i) : null;
+            fillBetween(keys, start, i, lower, upper);
+        }
+        return Arrays.asList(keys);
+    }
+
+    private static void fillBetween(String[] keys, int from, int to, String lower, String upper) {
+        if (from >= to) {
+            return;
+        }
+        // Bisect so key length grows with log(count) rather than count
+        int mid = (from + to) >>> 1;
+        keys[mid] = between(lower, upper);
+        fillBetween(keys, from, mid, lower, keys[mid]);
+        fillBetween(keys, mid + 1, to, keys[mid], upper);
+    }
+
+    private static boolean[] longestIncreasing(List<String> keys) {
+        int n = keys.size();
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            String key = keys.get(i);
+            previous[i] = -1;
+            if (key == null) {
+                continue;
+            }
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys.get(tails[mid]).compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+
+    private static String spaced(long index, int width) {
+        String hex = Long.toHexString((index + 1) * INITIAL_GAP);
+        StringBuilder key = new StringBuilder(width);
+        for (int i = hex.length(); i < width; i++) {
+            key.append('0');
+        }
+        key.append(hex);
+        // Strip trailing zero digits so a key can always be generated below the next one
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == '0') {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank key digit: " + c);
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.coursebe.common;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer.
+ * <p>
+ * Each slot carries a sequence number that says whether it is free for the producer at a given
+ * position or holds an item for the consumer (Vyukov's bounded queue). Producers claim a position
+ * with one CAS and never block; when the buffer is full {@link #offer} returns false and the
+ * caller decides whether to wait or drop. {@link #drainTo} must not be called by two threads at once.
+ */
+public class RingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30");
+        }
+        int rounded = 1;
+        while (rounded < capacity) {
+            rounded <<= 1;
+        }
+        this.capacity = rounded;
+        this.mask = rounded - 1;
+        this.items = new AtomicReferenceArray<>(rounded);
+        this.sequences = new AtomicLongArray(rounded);
+        for (int i = 0; i < rounded; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an item unless the buffer is full
+     * @param item Item, not null
+     * @return Whether the item was added
+     */
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Ring buffer items cannot be null");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.set(index, item);
+                    // Publishes the item to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the item from one lap ago
+                return false;
+            } else {
+                // Another producer took this position
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move up to {@code max} items, oldest first, into a list. Stops early at a slot whose producer
+     * has claimed it but not yet written it; that item comes with the next drain.
+     * @param target List to append to
+     * @param max Maximum number of items
+     * @return Number of items moved
+     */
+    public int drainTo(List<? super T> target, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(items.get(index));
+            items.set(index, null);
+            // Frees the slot for the producer one lap ahead
+            sequences.set(index, position + capacity);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+
+    /**
+     * @return Number of items waiting; approximate while producers or the consumer are active
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head.get()));
+    }
+
+    /**
+     * @return Number of slots
+     */
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.coursebe.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache that answers from a stale entry while reloading it in the background.
+ * <p>
+ * An entry is fresh for the TTL after it was loaded, and while the generation source still
+ * returns the value it had when the load started; writes bump the generation to mark every
+ * entry stale at once. A stale entry younger than the maximum staleness is still returned immediately,
+ * and one background refresh per entry is started on the refresh executor. If that refresh
+ * fails the stale entry keeps being served until it reaches the maximum staleness. Older
+ * entries, and misses, are loaded by the caller, and a failure then reaches the caller.
+ * When the cache is full, a new entry replaces the least recently used one only if the
+ * admission policy accepts it (e.g. TinyLFU, see {@link HeavyHitters#admit}); otherwise the
+ * loaded value is returned without being cached.
+ *
+ * @param <K> Key type, with value equality
+ * @param <V> Value type; values are shared between callers, so they must not be modified
+ */
+public class StaleWhileRevalidateCache<K, V> {
+
+    public static final String REQUESTS_METRIC = "cache.swr.requests";
+    public static final String REFRESH_FAILURES_METRIC = "cache.swr.refresh.failures";
+    public static final String SIZE_METRIC = "cache.swr.size";
+    public static final String ADMISSION_REJECTED_METRIC = "cache.swr.admission.rejected";
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    private final String name;
+    private final long ttlNanos;
+    private final long maxStalenessNanos;
+    private final int maxEntries;
+    private final BiPredicate<K, K> admission;
+    private final Executor refreshExecutor;
+    private final LongSupplier generation;
+    private final LongSupplier nanoClock;
+    private final Map<K, Entry<V>> entries;
+    private final Counter fresh;
+    private final Counter stale;
+    private final Counter miss;
+    private final Counter refreshFailures;
+    private final Counter admissionRejected;
+
+    public StaleWhileRevalidateCache(String name, Duration ttl, Duration maxStaleness, int maxEntries,
+                                     LongSupplier generation, Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this(name, ttl, maxStaleness, maxEntries, (candidate, victim) -> true, generation, refreshExecutor, meterRegistry);
+    }
+
+    /**
+     * @param admission Given the key of a new entry and of the entry it would evict, whether to cache the new one
+     */
+    public StaleWhileRevalidateCache(String name, Duration ttl, Duration maxStaleness, int maxEntries,
+                                     BiPredicate<K, K> admission, LongSupplier generation,
+                                     Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this(name, ttl, maxStaleness, maxEntries, admission, generation, refreshExecutor, meterRegistry, System::nanoTime);
+    }
+
+    StaleWhileRevalidateCache(String name, Duration ttl, Duration maxStaleness, int maxEntries,
+                              BiPredicate<K, K> admission, LongSupplier generation,
+                              Executor refreshExecutor, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        if (ttl.isNegative() || maxStaleness.compareTo(ttl) < 0) {
+            throw new IllegalArgumentException("Maximum staleness must be at least the TTL");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.maxEntries = maxEntries;
+        this.admission = admission;
+        this.generation = generation;
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.fresh = requests(meterRegistry, "fresh");
+        this.stale = requests(meterRegistry, "stale");
+        this.miss = requests(meterRegistry, "miss");
+        this.refreshFailures = Counter.builder(REFRESH_FAILURES_METRIC)
+                .description("Background refreshes that failed, leaving the stale entry in place")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.admissionRejected = Counter.builder(ADMISSION_REJECTED_METRIC)
+                .description("Loaded values not cached because they were less frequent than the entry they would evict")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder(SIZE_METRIC, entries, Map::size)
+                .description("Entries held by the cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Cache lookups by outcome: fresh hit, stale hit served while refreshing, or miss")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the value of a key, loading it when it is missing or too stale
+     * @param key Cache key
+     * @param loader Loads the current value; called by the caller on a miss, or in the background
+     * @return The cached or loaded value
+     */
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long age = nanoClock.getAsLong() - entry.loadedAt;
+            if (age < ttlNanos && entry.generation == generation.getAsLong()) {
+                fresh.increment();
+                return entry.value;
+            }
+            if (age < maxStalenessNanos) {
+                stale.increment();
+                refreshInBackground(key, entry, loader);
+                return entry.value;
+            }
+        }
+        miss.increment();
+        return load(key, loader);
+    }
+
+    /**
+     * Drop every entry
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        // Taken before loading, so a write during the load leaves the result stale
+        long loadGeneration = generation.getAsLong();
+        long loadedAt = nanoClock.getAsLong();
+        V value = loader.get();
+        if (value != null) {
+            store(key, new Entry<>(value, loadedAt, loadGeneration));
+        }
+        return value;
+    }
+
+    private void store(K key, Entry<V> entry) {
+        synchronized (entries) {
+            if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+                // Access order: the first key is the least recently used one, evicted by this put
+                K victim = entries.keySet().iterator().next();
+                if (!admission.test(key, victim)) {
+                    admissionRejected.increment();
+                    return;
+                }
+            }
+            entries.put(key, entry);
+        }
+    }
+
+    private void refreshInBackground(K key, Entry<V> entry, Supplier<V> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException ex) {
+                    refreshFailures.increment();
+                    logger.warn("Failed to refresh {} cache entry {}, serving the stale one", name, key, ex);
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Executor saturated; a later request retries the refresh
+            entry.refreshing.set(false);
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+        private final long generation;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(V value, long loadedAt, long generation) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.generation = generation;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.coursebe.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 
 /**
  * Configuration class to enable asynchronous execution in the application
@@ -9,4 +12,14 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @Configuration
 @EnableAsync
 public class AsyncConfig {
-}
\ No newline at end of file
+
+    /**
+     * Runs tasks of the application executor (including @Async methods) with the security context
+     * of the thread that submitted them, so e.g. an async enrollment still opens the user's
+     * read-your-writes window (see ReadWriteRoutingDataSource). Boot applies it to the executor.
+     */
+    @Bean
+    public TaskDecorator securityContextTaskDecorator() {
+        return DelegatingSecurityContextRunnable::new;
+    }
+}
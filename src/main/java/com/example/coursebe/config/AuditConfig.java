@@ -0,0 +1,24 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.service.AuditLog;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link AuditInterceptor} for every controller
+ */
+@Configuration
+public class AuditConfig implements WebMvcConfigurer {
+
+    private final AuditLog auditLog;
+
+    public AuditConfig(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AuditInterceptor(auditLog));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.dto.AuditEvent;
+import com.example.coursebe.service.AuditLog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audits every mutating request (POST, PUT, PATCH, DELETE) that reached a controller:
+ * who, what, the outcome and how long it took. Only hands the event to {@link AuditLog},
+ * which writes it in the background, so auditing adds no database work to the request.
+ */
+public class AuditInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String STARTED_AT = AuditInterceptor.class.getName() + ".startedAt";
+    private static final String STARTED_NANOS = AuditInterceptor.class.getName() + ".startedNanos";
+
+    private final AuditLog auditLog;
+
+    public AuditInterceptor(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Called again when an async request is dispatched back; keep the original start
+        if (request.getAttribute(STARTED_NANOS) == null) {
+            request.setAttribute(STARTED_AT, LocalDateTime.now());
+            request.setAttribute(STARTED_NANOS, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!MUTATING_METHODS.contains(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        Object startedNanos = request.getAttribute(STARTED_NANOS);
+        long durationMs = startedNanos == null
+                ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (long) startedNanos);
+        Object startedAt = request.getAttribute(STARTED_AT);
+        // An exception that escaped the handler becomes a 500 after this point
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        auditLog.record(new AuditEvent(
+                startedAt instanceof LocalDateTime time ? time : LocalDateTime.now(),
+                actor(),
+                request.getMethod(),
+                request.getRequestURI(),
+                handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName(),
+                status,
+                durationMs));
+    }
+
+    private static String actor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
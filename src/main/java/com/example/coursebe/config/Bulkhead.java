@@ -0,0 +1,29 @@
+package com.example.coursebe.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method inside a named bulkhead, which caps how many such calls hold a
+ * database connection at once, see {@link BulkheadAspect}. Unannotated work (interactive
+ * requests) is not capped, so it always has the rest of the pool.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /** Scheduled maintenance: reconciliation, rebalancing, counter flushes, cleanups */
+    String BACKGROUND = "background";
+
+    /** Large user-triggered work: roster exports, bulk enrollments */
+    String BULK = "bulk";
+
+    /**
+     * @return Name of the bulkhead, one of the constants above
+     */
+    String value();
+}
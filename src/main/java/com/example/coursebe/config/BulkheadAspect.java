@@ -0,0 +1,125 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces {@link Bulkhead} limits with one semaphore per bulkhead over the shared pool.
+ * A call waits up to the bulkhead's acquire timeout for a permit and is rejected with
+ * {@link BulkheadFullException} after that. Runs before the transaction interceptor, so the
+ * permit is held before a connection is borrowed and released after it is returned.
+ * Calls nested in a bulkhead run under the outer permit; they use the same connection.
+ */
+@Aspect
+// Any order ahead of the transaction advisor, which defaults to the lowest precedence
+@Order(0)
+public class BulkheadAspect {
+
+    static final String ACTIVE_METRIC = "bulkhead.active";
+    static final String LIMIT_METRIC = "bulkhead.limit";
+    static final String WAIT_METRIC = "bulkhead.wait";
+    static final String REJECTED_METRIC = "bulkhead.rejected";
+
+    /**
+     * Size and acquire timeout of one bulkhead
+     * @param maxConcurrent Calls allowed to run at once
+     * @param acquireTimeoutMs How long a call waits for a free slot; 0 rejects immediately
+     */
+    public record Limits(int maxConcurrent, long acquireTimeoutMs) {
+        public Limits {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("Bulkhead size must be positive");
+            }
+            if (acquireTimeoutMs < 0) {
+                throw new IllegalArgumentException("Bulkhead acquire timeout must not be negative");
+            }
+        }
+    }
+
+    private final Map<String, Compartment> compartments = new HashMap<>();
+    private final ThreadLocal<String> current = new ThreadLocal<>();
+
+    public BulkheadAspect(Map<String, Limits> limits, MeterRegistry meterRegistry) {
+        limits.forEach((name, limit) -> compartments.put(name, new Compartment(name, limit, meterRegistry)));
+    }
+
+    @Around("@annotation(com.example.coursebe.config.Bulkhead)")
+    public Object enter(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (current.get() != null) {
+            return joinPoint.proceed();
+        }
+        Bulkhead bulkhead = ((MethodSignature) joinPoint.getSignature()).getMethod().getAnnotation(Bulkhead.class);
+        Compartment compartment = compartments.get(bulkhead.value());
+        if (compartment == null) {
+            throw new IllegalStateException("Unknown bulkhead: " + bulkhead.value());
+        }
+        compartment.acquire();
+        current.set(compartment.name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            current.remove();
+            compartment.permits.release();
+        }
+    }
+
+    private static final class Compartment {
+
+        private final String name;
+        private final Semaphore permits;
+        private final long acquireTimeoutMs;
+        private final Timer wait;
+        private final Counter rejected;
+
+        private Compartment(String name, Limits limits, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.permits = new Semaphore(limits.maxConcurrent(), true);
+            this.acquireTimeoutMs = limits.acquireTimeoutMs();
+            Gauge.builder(ACTIVE_METRIC, permits, p -> limits.maxConcurrent() - p.availablePermits())
+                    .description("Calls currently running in the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder(LIMIT_METRIC, limits, Limits::maxConcurrent)
+                    .description("Calls allowed to run in the bulkhead at once")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            this.wait = Timer.builder(WAIT_METRIC)
+                    .description("Time spent waiting for a bulkhead slot")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(REJECTED_METRIC)
+                    .description("Calls rejected because the bulkhead stayed full")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+        }
+
+        private void acquire() {
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejected.increment();
+                throw new BulkheadFullException(name);
+            }
+        }
+    }
+}
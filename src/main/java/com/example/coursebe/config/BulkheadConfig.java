@@ -0,0 +1,29 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Sizes the {@link Bulkhead}s. Their sizes add up to well under the Hikari pool
+ * (10 connections by default), so background and bulk work together never take
+ * more than half of it and interactive requests always find a free connection.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public BulkheadAspect bulkheadAspect(MeterRegistry meterRegistry,
+                                         @Value("${course.bulkhead.background.max-concurrent:2}") int backgroundMaxConcurrent,
+                                         @Value("${course.bulkhead.background.acquire-timeout-ms:60000}") long backgroundAcquireTimeoutMs,
+                                         @Value("${course.bulkhead.bulk.max-concurrent:3}") int bulkMaxConcurrent,
+                                         @Value("${course.bulkhead.bulk.acquire-timeout-ms:2000}") long bulkAcquireTimeoutMs) {
+        return new BulkheadAspect(Map.of(
+                Bulkhead.BACKGROUND, new BulkheadAspect.Limits(backgroundMaxConcurrent, backgroundAcquireTimeoutMs),
+                Bulkhead.BULK, new BulkheadAspect.Limits(bulkMaxConcurrent, bulkAcquireTimeoutMs)),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so connection hold time is recorded per route,
+ * see {@link ConnectionHoldTimingDataSource}
+ */
+@Configuration
+public class ConnectionHoldMetricsConfig {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor connectionHoldTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionHoldTimingDataSource)) {
+                    return new ConnectionHoldTimingDataSource(dataSource, meterRegistry::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Times how long each pooled connection is checked out, from getConnection to close,
+ * tagged with the route that borrowed it. With open-session-in-view a request holds
+ * its connection until the response is written; without it only while services run.
+ */
+public class ConnectionHoldTimingDataSource extends DelegatingDataSource {
+
+    static final String METRIC_NAME = "db.connection.hold";
+    // Background work (scheduled jobs, @Async tasks) has no request route
+    static final String NO_ROUTE = "NONE";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public ConnectionHoldTimingDataSource(DataSource targetDataSource, Supplier<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        MeterRegistry registry = meterRegistry.get();
+        if (registry == null) {
+            return connection;
+        }
+        String[] route = currentRoute();
+        Timer.Sample sample = Timer.start(registry);
+        Timer timer = Timer.builder(METRIC_NAME)
+                .description("Time a database connection is held, per route")
+                .tag("method", route[0])
+                .tag("uri", route[1])
+                .register(registry);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new HoldTimer(connection, sample, timer));
+    }
+
+    // Method and matched pattern of the request on this thread, or NONE outside requests
+    static String[] currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return new String[]{NO_ROUTE, NO_ROUTE};
+        }
+        return routeOf(servletAttributes.getRequest());
+    }
+
+    static String[] routeOf(HttpServletRequest request) {
+        // The matched pattern keeps the tag cardinality at one value per endpoint
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return new String[]{request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN"};
+    }
+
+    private static final class HoldTimer implements InvocationHandler {
+
+        private final Connection target;
+        private final Timer.Sample sample;
+        private final Timer timer;
+        private boolean closed;
+
+        private HoldTimer(Connection target, Timer.Sample sample, Timer timer) {
+            this.target = target;
+            this.sample = sample;
+            this.timer = timer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0 && !closed) {
+                closed = true;
+                sample.stop(timer);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
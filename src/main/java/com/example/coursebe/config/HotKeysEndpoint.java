@@ -0,0 +1,40 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.common.HeavyHitters;
+import com.example.coursebe.service.CourseAccessTracker;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Actuator endpoint ({@code /actuator/hotkeys}) listing this instance's current top courses and
+ * searches with their estimated recent frequency, see {@link CourseAccessTracker}
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final CourseAccessTracker accessTracker;
+
+    public HotKeysEndpoint(CourseAccessTracker accessTracker) {
+        this.accessTracker = accessTracker;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys() {
+        List<HeavyHitters.Entry<UUID>> courses = accessTracker.topCourses();
+        List<HeavyHitters.Entry<CourseAccessTracker.SearchTerm>> searches = accessTracker.topSearches();
+        return Map.of(
+                "courses", courses.stream()
+                        .map(entry -> Map.of("courseId", entry.key(), "estimate", entry.estimate()))
+                        .toList(),
+                "searches", searches.stream()
+                        .map(entry -> Map.of("type", entry.key().type(), "keyword", entry.key().keyword(),
+                                "estimate", entry.estimate()))
+                        .toList());
+    }
+}
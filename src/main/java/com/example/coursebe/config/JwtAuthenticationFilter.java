@@ -1,11 +1,13 @@
 package com.example.coursebe.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +17,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
@@ -38,22 +42,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
-                String userId = jwtService.extractUserIdFromToken(jwt);
+                // Parsed once; null unless the signature and expiry check out
+                Claims claims = jwtService.extractAllClaims(jwt);
+                String userId = claims != null ? claims.get("userId", String.class) : null;
                 
                 if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Create UserDetails with userId as the username
+                    // Create UserDetails with userId as the username and the role claim as ROLE_<role>
+                    String role = claims.get("role", String.class);
                     UserDetails userDetails = User.builder()
                             .username(userId)
                             .password("")
-                            .authorities(Collections.emptyList())
+                            .authorities(StringUtils.hasText(role)
+                                    ? List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase(Locale.ROOT)))
+                                    : Collections.emptyList())
                             .build();
                     
-                    if (jwtService.validateToken(jwt)) {
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
         } catch (Exception ex) {
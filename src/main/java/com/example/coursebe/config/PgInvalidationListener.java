@@ -0,0 +1,136 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.service.CacheInvalidationBus;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Receives the cache invalidations of the other instances on a dedicated Postgres connection
+ * that LISTENs on {@link CacheInvalidationBus#CHANNEL}. The connection is opened outside the
+ * pool, so it never holds a pooled connection, and is checked with a query on every poll so
+ * that a dead socket is noticed. Notifications sent while it was down are lost, so after each
+ * reconnect the bus does a full flush. Does nothing unless the bus is distributed.
+ */
+@Component
+public class PgInvalidationListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PgInvalidationListener.class);
+
+    private final CacheInvalidationBus bus;
+    private final DataSourceProperties dataSourceProperties;
+    private final int pollMs;
+    private final long reconnectDelayMs;
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public PgInvalidationListener(CacheInvalidationBus bus,
+                                  DataSourceProperties dataSourceProperties,
+                                  @Value("${course.cache.invalidation.poll-ms:5000}") int pollMs,
+                                  @Value("${course.cache.invalidation.reconnect-delay-ms:2000}") long reconnectDelayMs) {
+        this.bus = bus;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollMs = pollMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @Override
+    public void start() {
+        if (!bus.isDistributed()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeConnection();
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(pollMs + 1000L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try {
+                connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CacheInvalidationBus.CHANNEL);
+                }
+                if (connectedBefore) {
+                    logger.warn("Cache invalidation listener reconnected, flushing local caches");
+                    bus.fullFlush();
+                }
+                connectedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            bus.receive(notification.getParameter());
+                        }
+                    }
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SELECT 1");
+                    }
+                }
+            } catch (SQLException ex) {
+                if (running) {
+                    logger.warn("Cache invalidation listener lost its connection, retrying in {} ms", reconnectDelayMs, ex);
+                    sleepBeforeReconnect();
+                }
+            } finally {
+                closeConnection();
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ex) {
+                logger.debug("Failed to close the cache invalidation listener connection", ex);
+            }
+        }
+    }
+}
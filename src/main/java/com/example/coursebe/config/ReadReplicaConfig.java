@@ -0,0 +1,112 @@
+package com.example.coursebe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Splits the DataSource into a primary and a read replica pool when
+ * {@code course.datasource.replica.url} is set, see {@link ReadWriteRoutingDataSource}.
+ * Without it the single auto-configured pool is used as before.
+ * <p>
+ * The primary pool is configured by {@code spring.datasource.*}, the replica pool by
+ * {@code course.datasource.replica.*} (credentials default to the primary's). Each pool is
+ * named after its role, so the {@code hikaricp.connections.*} metrics carry {@code pool=primary}
+ * or {@code pool=replica}. Flyway and all writes go to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "course.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    static final String PRIMARY_POOL = "primary";
+    static final String REPLICA_POOL = "replica";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties,
+                                 Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${course.datasource.replica.url}") String replicaUrl,
+                                 @Value("${course.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                 @Value("${course.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+                                 ReadYourWritesWindow readYourWritesWindow) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(PRIMARY_POOL);
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword)
+                .build();
+        binder.bind("course.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName(REPLICA_POOL);
+        // A write that reaches the replica fails fast instead of waiting for the server to reject it
+        replica.setReadOnly(true);
+
+        return new ReadWriteRoutingDataSource(primary, replica, readYourWritesWindow, meterRegistry::getIfAvailable);
+    }
+
+    // Shared with the single-flight aspect, which must not coalesce reads of pinned users
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(
+            @Value("${course.datasource.replica.read-your-writes-ms:5000}") long readYourWritesMs) {
+        return new ReadYourWritesWindow(Duration.ofMillis(readYourWritesMs));
+    }
+
+    // Boot's Hikari metrics only reach the pool behind the primary DataSource, so bind both here
+    @Bean
+    public MeterBinder routedPoolMetrics(DataSource dataSource) {
+        return registry -> {
+            ReadWriteRoutingDataSource routing = unwrapRouting(dataSource);
+            bindPoolMetrics(routing.getPrimary(), registry);
+            bindPoolMetrics(routing.getReplica(), registry);
+        };
+    }
+
+    private static ReadWriteRoutingDataSource unwrapRouting(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Primary DataSource is not a read/write routing DataSource", ex);
+        }
+    }
+
+    private static void bindPoolMetrics(DataSource pool, MeterRegistry registry) {
+        if (pool instanceof HikariDataSource hikari
+                && hikari.getMetricRegistry() == null && hikari.getMetricsTrackerFactory() == null) {
+            // Hikari refuses once the pool has started or a tracker is set; as in Boot's own binding
+            try {
+                hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            } catch (Exception ex) {
+                logger.warn("Failed to bind Hikari metrics of pool {}: {}", hikari.getPoolName(), ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * Connections are handed out lazily: the physical connection is only borrowed at the first
+ * statement, after the transaction manager has marked it read-only, which is what picks the
+ * pool. Users inside their {@link ReadYourWritesWindow} read from the primary; a read-write
+ * transaction that commits with an authenticated user opens that user's window.
+ * <p>
+ * Owns both pools: closing it (Spring does on context shutdown) closes them.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    static final String PINNED_READS_METRIC = "db.replica.pinned.reads";
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReadYourWritesWindow window, Supplier<MeterRegistry> meterRegistry) {
+        super(new WriteRecordingDataSource(primary, window));
+        this.primary = primary;
+        this.replica = replica;
+        setReadOnlyDataSource(new ReadSelectingDataSource(primary, replica, window, meterRegistry));
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Close both pools. The replica is closed even when closing the primary fails.
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            closeIfPossible(primary);
+        } finally {
+            closeIfPossible(replica);
+        }
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Principal name is the user ID, see JwtAuthenticationFilter
+    static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class WriteRecordingDataSource extends DelegatingDataSource {
+
+        private final ReadYourWritesWindow window;
+
+        private WriteRecordingDataSource(DataSource primary, ReadYourWritesWindow window) {
+            super(primary);
+            this.window = window;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            recordWriteOnCommit();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Connection connection = super.getConnection(username, password);
+            recordWriteOnCommit();
+            return connection;
+        }
+
+        private void recordWriteOnCommit() {
+            String userId = currentUserId();
+            if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                    || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    window.recordWrite(userId);
+                }
+            });
+        }
+    }
+
+    private static final class ReadSelectingDataSource extends DelegatingDataSource {
+
+        private final DataSource primary;
+        private final ReadYourWritesWindow window;
+        private final Supplier<MeterRegistry> meterRegistry;
+
+        private ReadSelectingDataSource(DataSource primary, DataSource replica,
+                                        ReadYourWritesWindow window, Supplier<MeterRegistry> meterRegistry) {
+            super(replica);
+            this.primary = primary;
+            this.window = window;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return pinnedToPrimary() ? primary.getConnection() : super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return pinnedToPrimary() ? primary.getConnection(username, password) : super.getConnection(username, password);
+        }
+
+        private boolean pinnedToPrimary() {
+            if (!window.isPinned(currentUserId())) {
+                return false;
+            }
+            MeterRegistry registry = meterRegistry.get();
+            if (registry != null) {
+                Counter.builder(PINNED_READS_METRIC)
+                        .description("Read-only transactions sent to the primary because the user wrote recently")
+                        .register(registry)
+                        .increment();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.coursebe.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which users committed a write recently. Their read-only transactions go to the
+ * primary until the window has passed, so a student who just enrolled or a tutor who just
+ * edited a course sees the change even if the replica has not replayed it yet.
+ * The window should be longer than the replica's usual replication lag.
+ */
+public class ReadYourWritesWindow {
+
+    // Expired entries are dropped every this many writes, so idle users do not accumulate
+    private static final int PRUNE_EVERY = 1024;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    public ReadYourWritesWindow(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReadYourWritesWindow(Duration window, LongSupplier nanoClock) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Read-your-writes window must not be negative");
+        }
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Pin a user's reads to the primary for the length of the window
+     * @param userId ID of the user whose transaction committed a write
+     */
+    public void recordWrite(String userId) {
+        long now = nanoClock.getAsLong();
+        pinnedUntil.put(userId, now + windowNanos);
+        if (writes.incrementAndGet() % PRUNE_EVERY == 0) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    /**
+     * Check whether a user's reads must still go to the primary
+     * @param userId ID of the user, or null outside an authenticated request
+     * @return true if the user wrote within the window
+     */
+    public boolean isPinned(String userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        return until != null && until - nanoClock.getAsLong() > 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.coursebe.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class to enable scheduled background jobs in the application
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
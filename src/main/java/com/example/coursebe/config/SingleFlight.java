@@ -0,0 +1,19 @@
+package com.example.coursebe.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coalesces concurrent identical calls of a read method: while one call with the same
+ * arguments is in flight, later callers wait for its result instead of querying again.
+ * Only for methods whose result is safe to share between threads, such as detached
+ * entities and pages that callers map without modifying. See {@link SingleFlightAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
@@ -0,0 +1,127 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs {@link SingleFlight} methods once per distinct argument list at a time. The first caller
+ * (the leader) runs the method; callers arriving while it runs share its result or exception.
+ * The call is forgotten as soon as it completes, so this never serves stale data; it only
+ * removes duplicate work during a burst.
+ * <p>
+ * Ordered ahead of the transaction, bulkhead and statement timeout advice, so waiting callers
+ * hold no connection. Callers already inside a transaction run the method themselves: they
+ * need the entities in their own persistence context. Users pinned to the primary by the
+ * {@link ReadYourWritesWindow} also run it themselves: a call already in flight may have started
+ * before their write committed, or be reading from the replica.
+ * <p>
+ * A caller waits at most the follower timeout for the leader and then runs the method itself,
+ * so one slow query cannot hold every waiting request thread.
+ */
+@Aspect
+@Order(-1)
+public class SingleFlightAspect {
+
+    static final String EXECUTIONS_METRIC = "singleflight.executions";
+    static final String COALESCED_METRIC = "singleflight.coalesced";
+    static final String TIMEOUTS_METRIC = "singleflight.follower.timeouts";
+
+    private final ConcurrentMap<Call, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final long followerTimeoutNanos;
+
+    /**
+     * @param meterRegistry registry for the execution and coalescing counters
+     * @param readYourWritesWindow window of users pinned to the primary, or null without a replica
+     * @param followerTimeout how long a caller waits for an identical call before running its own
+     */
+    public SingleFlightAspect(MeterRegistry meterRegistry, ReadYourWritesWindow readYourWritesWindow,
+                              Duration followerTimeout) {
+        if (followerTimeout.isNegative()) {
+            throw new IllegalArgumentException("Single-flight follower timeout must not be negative");
+        }
+        this.meterRegistry = meterRegistry;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.followerTimeoutNanos = followerTimeout.toNanos();
+    }
+
+    @Around("@annotation(com.example.coursebe.config.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || isPinnedToPrimary()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Call call = new Call(method, Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(call, leader);
+        if (running != null) {
+            count(COALESCED_METRIC, method);
+            try {
+                return await(running);
+            } catch (TimeoutException ex) {
+                count(TIMEOUTS_METRIC, method);
+                return joinPoint.proceed();
+            }
+        }
+        count(EXECUTIONS_METRIC, method);
+        try {
+            Object result = joinPoint.proceed();
+            leader.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            leader.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(call, leader);
+        }
+    }
+
+    private boolean isPinnedToPrimary() {
+        return readYourWritesWindow != null
+                && readYourWritesWindow.isPinned(ReadWriteRoutingDataSource.currentUserId());
+    }
+
+    private Object await(CompletableFuture<Object> running) throws Throwable {
+        try {
+            return running.get(followerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private void count(String metric, Method method) {
+        Counter.builder(metric)
+                .description(switch (metric) {
+                    case COALESCED_METRIC -> "Calls that shared the result of an identical call already in flight";
+                    case TIMEOUTS_METRIC -> "Calls that gave up waiting for an identical call and ran their own";
+                    default -> "Calls that ran because no identical call was in flight";
+                })
+                .tag("operation", method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record Call(Method method, List<Object> args) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Registers the {@link SingleFlight} coalescing aspect
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlightAspect singleFlightAspect(MeterRegistry meterRegistry,
+                                                 ObjectProvider<ReadYourWritesWindow> readYourWritesWindow,
+                                                 @Value("${course.single-flight.follower-timeout-ms:5000}") long followerTimeoutMs) {
+        return new SingleFlightAspect(meterRegistry, readYourWritesWindow.getIfAvailable(),
+                Duration.ofMillis(followerTimeoutMs));
+    }
+}
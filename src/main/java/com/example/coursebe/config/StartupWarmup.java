@@ -0,0 +1,136 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.controller.CourseController;
+import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.service.CourseAccessTracker;
+import com.example.coursebe.service.TutorApplicationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Warms a fresh instance before it takes traffic: fills the catalog and search caches
+ * (see CourseListingCache), reads the hot courses with their sections and the accepted
+ * tutors, and pushes every response through the controller mapping and Jackson so the
+ * JIT compiles those paths. The keys come from {@link CourseAccessTracker}, i.e. the last
+ * hot key snapshot.
+ * <p>
+ * Runs as an ApplicationRunner, so Spring Boot only reports the readiness probe
+ * ({@code /actuator/health/readiness}) as ACCEPTING_TRAFFIC after it returns. Warmup is
+ * bounded by {@code course.warmup.timeout-ms}; steps still running then are abandoned
+ * and the instance goes ready with whatever was warmed. A failing step is logged and skipped.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    // Page size the course list uses by default, so warmed catalog pages are the ones clients ask for
+    private static final int CATALOG_PAGE_SIZE = 15;
+    // Not a real user: has no enrollments, only exercises the enrollment lookups
+    private static final UUID WARMUP_USER = new UUID(0, 0);
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final CourseController courseController;
+    private final TutorApplicationService tutorApplicationService;
+    private final CourseAccessTracker accessTracker;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final int topCourses;
+    private final int topSearches;
+    private final int catalogPages;
+    private volatile boolean abandoned;
+
+    public StartupWarmup(CourseController courseController,
+                         TutorApplicationService tutorApplicationService,
+                         CourseAccessTracker accessTracker,
+                         ObjectMapper objectMapper,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                         @Value("${course.warmup.enabled:true}") boolean enabled,
+                         @Value("${course.warmup.timeout-ms:30000}") long timeoutMs,
+                         @Value("${course.warmup.top-courses:50}") int topCourses,
+                         @Value("${course.warmup.top-searches:20}") int topSearches,
+                         @Value("${course.warmup.catalog-pages:3}") int catalogPages) {
+        this.courseController = courseController;
+        this.tutorApplicationService = tutorApplicationService;
+        this.accessTracker = accessTracker;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.topCourses = topCourses;
+        this.topSearches = topSearches;
+        this.catalogPages = catalogPages;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Void> warmup = CompletableFuture.runAsync(this::warmUp, executor);
+        try {
+            warmup.get(timeoutMs, TimeUnit.MILLISECONDS);
+            logger.info("Warmup completed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException ex) {
+            abandoned = true;
+            logger.warn("Warmup timed out after {} ms, accepting traffic with partially warmed caches", timeoutMs);
+        } catch (ExecutionException ex) {
+            logger.warn("Warmup failed, accepting traffic with partially warmed caches", ex.getCause());
+        } catch (InterruptedException ex) {
+            abandoned = true;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void warmUp() {
+        for (int page = 0; page < catalogPages; page++) {
+            int catalogPage = page;
+            step("catalog page " + page, () ->
+                    courseController.getAllCourses(WARMUP_USER, null, null, catalogPage, CATALOG_PAGE_SIZE));
+        }
+        // Each warmed key is counted once more by the tracker; all hot keys gain the same
+        step("hot searches", () -> {
+            accessTracker.hotSearches(topSearches).forEach(search -> step("search " + search, () ->
+                    courseController.getAllCourses(WARMUP_USER, search.type(), search.keyword(), 0, CATALOG_PAGE_SIZE)));
+            return null;
+        });
+        step("hot courses", () -> {
+            accessTracker.hotCourses(topCourses).forEach(courseId -> step("course " + courseId, () ->
+                    courseController.getCourseById(courseId, WARMUP_USER)));
+            return null;
+        });
+        step("accepted tutors", () -> tutorApplicationService.getApplicationsByStatus(TutorApplication.Status.ACCEPTED));
+    }
+
+    private void step(String name, Supplier<?> action) {
+        if (abandoned) {
+            return;
+        }
+        try {
+            Object result = action.get();
+            if (result instanceof ResponseEntity<?> response && response.getBody() != null) {
+                objectMapper.writeValueAsBytes(response.getBody());
+            }
+        } catch (Exception ex) {
+            logger.warn("Warmup step {} failed: {}", name, ex.toString());
+        }
+    }
+}
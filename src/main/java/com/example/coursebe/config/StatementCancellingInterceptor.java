@@ -0,0 +1,53 @@
+package com.example.coursebe.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cancels the running statements of an async request (such as a roster export stream)
+ * when the container reports that the client went away or the request timed out.
+ * Synchronous requests only notice a disconnect when they write, after their queries ran,
+ * so for them {@link StatementTimeout} is the bound.
+ */
+class StatementCancellingInterceptor implements CallableProcessingInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = StatementScope.class.getName();
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+        String[] route = servletRequest != null
+                ? ConnectionHoldTimingDataSource.routeOf(servletRequest)
+                : ConnectionHoldTimingDataSource.currentRoute();
+        request.setAttribute(SCOPE_ATTRIBUTE, StatementScope.open(route), RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof StatementScope scope) {
+            scope.close();
+        }
+    }
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        cancel(request);
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+        cancel(request);
+        return RESULT_NONE;
+    }
+
+    private static void cancel(NativeWebRequest request) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof StatementScope scope) {
+            scope.cancel();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.coursebe.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statements run on behalf of one request or async task: the deadline their query timeouts
+ * count down to, the statements currently open, and the route they are counted under.
+ * Bound to the thread running them; {@link #cancel()} may be called from any thread.
+ */
+final class StatementScope {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementScope.class);
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private final String[] route;
+    private final StatementScope previous;
+    private final Set<Statement> openStatements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    private Long deadlineNanos;
+
+    private StatementScope(String[] route, StatementScope previous) {
+        this.route = route;
+        this.previous = previous;
+    }
+
+    static StatementScope current() {
+        return CURRENT.get();
+    }
+
+    static StatementScope open(String[] route) {
+        StatementScope scope = new StatementScope(route, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    void close() {
+        if (CURRENT.get() != this) {
+            return;
+        }
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    String[] route() {
+        return route;
+    }
+
+    Long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Move the deadline earlier, never later
+     * @return The deadline before the call, to pass to {@link #restoreDeadline}
+     */
+    Long tighten(long candidateNanos) {
+        Long before = deadlineNanos;
+        if (before == null || candidateNanos - before < 0) {
+            deadlineNanos = candidateNanos;
+        }
+        return before;
+    }
+
+    void restoreDeadline(Long before) {
+        deadlineNanos = before;
+    }
+
+    void register(Statement statement) {
+        openStatements.add(statement);
+    }
+
+    void unregister(Statement statement) {
+        openStatements.remove(statement);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancel every open statement and refuse new ones, e.g. once the client has gone away
+     */
+    void cancel() {
+        cancelled = true;
+        for (Statement statement : openStatements) {
+            try {
+                statement.cancel();
+            } catch (SQLException ex) {
+                logger.debug("Failed to cancel statement", ex);
+            }
+        }
+    }
+}
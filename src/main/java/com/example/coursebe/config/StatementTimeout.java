@@ -0,0 +1,24 @@
+package com.example.coursebe.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bounds the database time of a controller or service method. Every statement the method
+ * runs gets the time left until the method's deadline as its JDBC query timeout, so one slow
+ * query cannot hold a connection past it. Nested methods can only shorten the deadline.
+ * See {@link StatementTimeoutDataSource}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StatementTimeout {
+
+    /**
+     * @return Time budget of the method's statements, in milliseconds
+     */
+    long value();
+}
@@ -0,0 +1,39 @@
+package com.example.coursebe.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the statement deadline of {@link StatementTimeout} methods, opening a
+ * {@link StatementScope} for the calling thread if it has none yet
+ */
+@Aspect
+// Ahead of the transaction advisor, so statements flushed on commit fall under the deadline too
+@Order(0)
+public class StatementTimeoutAspect {
+
+    @Around("@annotation(com.example.coursebe.config.StatementTimeout)")
+    public Object bound(ProceedingJoinPoint joinPoint) throws Throwable {
+        StatementTimeout timeout = ((MethodSignature) joinPoint.getSignature()).getMethod()
+                .getAnnotation(StatementTimeout.class);
+        StatementScope scope = StatementScope.current();
+        boolean opened = scope == null;
+        if (opened) {
+            scope = StatementScope.open(ConnectionHoldTimingDataSource.currentRoute());
+        }
+        Long before = scope.tighten(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout.value()));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            scope.restoreDeadline(before);
+            if (opened) {
+                scope.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires {@link StatementTimeout}: the DataSource wrapper that applies deadlines,
+ * the aspect that sets them, and cancellation of async requests the client abandoned
+ */
+@Configuration
+public class StatementTimeoutConfig implements WebMvcConfigurer {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor statementTimeoutPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimeoutDataSource)) {
+                    return new StatementTimeoutDataSource(dataSource, meterRegistry::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementTimeoutAspect statementTimeoutAspect() {
+        return new StatementTimeoutAspect();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new StatementCancellingInterceptor());
+    }
+}
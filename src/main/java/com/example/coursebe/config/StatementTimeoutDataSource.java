@@ -0,0 +1,162 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Applies {@link StatementTimeout} budgets to the statements of the current {@link StatementScope}
+ * and counts statements that time out or are cancelled, per route.
+ * <p>
+ * Each execution gets the time left until the scope's deadline as its JDBC query timeout
+ * (rounded up to whole seconds, the JDBC granularity); the driver cancels the statement
+ * server-side when it runs out. A statement started after the deadline, or after the scope
+ * was cancelled, fails without reaching the database.
+ */
+public class StatementTimeoutDataSource extends DelegatingDataSource {
+
+    static final String TIMEOUTS_METRIC = "db.statement.timeouts";
+    static final String CANCELLATIONS_METRIC = "db.statement.cancellations";
+    // query_canceled in PostgreSQL; H2 reports timeouts and cancels with the same state
+    static final String QUERY_CANCELED_STATE = "57014";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public StatementTimeoutDataSource(DataSource targetDataSource, Supplier<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withStatementTimeouts(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withStatementTimeouts(super.getConnection(username, password));
+    }
+
+    private Connection withStatementTimeouts(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement
+                            && (method.getName().startsWith("create") || method.getName().startsWith("prepare"))) {
+                        return bounded(statement);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement bounded(Statement statement) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                new BoundedStatement(statement, StatementScope.current()));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private void count(StatementScope scope) {
+        MeterRegistry registry = meterRegistry.get();
+        if (registry == null) {
+            return;
+        }
+        boolean cancelled = scope != null && scope.isCancelled();
+        String[] route = scope != null ? scope.route() : ConnectionHoldTimingDataSource.currentRoute();
+        Counter.builder(cancelled ? CANCELLATIONS_METRIC : TIMEOUTS_METRIC)
+                .description(cancelled ? "Statements cancelled because the client went away"
+                        : "Statements that ran past their timeout")
+                .tag("method", route[0])
+                .tag("uri", route[1])
+                .register(registry)
+                .increment();
+    }
+
+    private static boolean isTimeout(Throwable ex) {
+        return ex instanceof SQLTimeoutException
+                || ex instanceof SQLException sqlException && QUERY_CANCELED_STATE.equals(sqlException.getSQLState());
+    }
+
+    private final class BoundedStatement implements InvocationHandler {
+
+        private final Statement target;
+        private final StatementScope scope;
+
+        private BoundedStatement(Statement target, StatementScope scope) {
+            this.target = target;
+            this.scope = scope;
+            if (scope != null) {
+                scope.register(target);
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name) && scope != null) {
+                scope.unregister(target);
+            }
+            try {
+                if (name.startsWith("execute")) {
+                    applyTimeout();
+                }
+                return StatementTimeoutDataSource.invoke(target, method, args);
+            } catch (Throwable ex) {
+                if (isTimeout(ex)) {
+                    count(scope);
+                }
+                throw ex;
+            }
+        }
+
+        private void applyTimeout() throws SQLException {
+            if (scope == null) {
+                return;
+            }
+            if (scope.isCancelled()) {
+                throw new SQLTimeoutException("Statement scope was cancelled", QUERY_CANCELED_STATE);
+            }
+            Long deadline = scope.deadlineNanos();
+            if (deadline == null) {
+                return;
+            }
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                throw new SQLTimeoutException("Statement time budget is used up", QUERY_CANCELED_STATE);
+            }
+            int seconds = (int) Math.min(Integer.MAX_VALUE,
+                    (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            int current = target.getQueryTimeout();
+            if (current == 0 || seconds < current) {
+                target.setQueryTimeout(seconds);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.coursebe.controller;
 
+import com.example.coursebe.dto.ArticleResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.model.Article;
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Section;
@@ -112,7 +114,8 @@ public class ArticleController {
             return sectionCheck;
         }
 
-        List<Article> articles = articleService.getArticlesBySectionId(sectionId);
+        // Summaries only: article content is served by GET /{articleId}
+        List<ArticleSummary> articles = articleService.getArticleSummariesBySectionId(sectionId);
         Map<String, Object> resp = new HashMap<>();
         resp.put("code", HttpStatus.OK.value());
         resp.put("success", true);
@@ -122,8 +125,8 @@ public class ArticleController {
 
     @GetMapping("/{articleId}")
     public ResponseEntity<?> getArticleById(@PathVariable UUID courseId, @PathVariable UUID sectionId, @PathVariable UUID articleId, Principal principal) {
-        Optional<Article> articleOpt = articleService.getArticleById(articleId);
-        if (articleOpt.isEmpty() || !articleOpt.get().getSection().getId().equals(sectionId) || !articleOpt.get().getSection().getCourse().getId().equals(courseId)) {
+        Optional<ArticleResponse> articleOpt = articleService.getArticleResponse(courseId, sectionId, articleId);
+        if (articleOpt.isEmpty()) {
             Map<String, Object> resp = new HashMap<>();
             resp.put("code", HttpStatus.NOT_FOUND.value());
             resp.put("success", false);
@@ -155,7 +158,7 @@ public class ArticleController {
         }
 
         try {
-            Optional<Article> updatedArticleOpt = articleService.updateArticle(articleId, req.title, req.content, req.position);
+            Optional<ArticleResponse> updatedArticleOpt = articleService.updateArticle(articleId, req.title, req.content, req.position);
             if (updatedArticleOpt.isEmpty()) {
                 Map<String, Object> resp = new HashMap<>();
                 resp.put("code", HttpStatus.NOT_FOUND.value());
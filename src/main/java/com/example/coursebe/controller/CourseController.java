@@ -1,28 +1,46 @@
 package com.example.coursebe.controller;
 
 import com.example.coursebe.common.ApiResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.dto.CourseEnrolledResponse;
 import com.example.coursebe.dto.CourseResponse;
+import com.example.coursebe.dto.EnrolledCourse;
 import com.example.coursebe.dto.EnrollmentResponse;
+import com.example.coursebe.dto.RosterEntry;
+import com.example.coursebe.dto.RosterPage;
+import com.example.coursebe.dto.SectionOutline;
+import com.example.coursebe.dto.TutorCourseResponse;
 import com.example.coursebe.exception.UnsupportedSearchTypeException;
 import com.example.coursebe.model.Enrollment;
 import com.example.coursebe.service.EnrollmentService;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.model.Section;
 import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.service.CourseAccessTracker;
 import com.example.coursebe.service.CourseService;
 import com.example.coursebe.service.TutorApplicationService;
 import com.example.coursebe.dto.CreateCourseRequest;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -30,14 +48,19 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/courses")
 public class CourseController {
+    private static final int DEFAULT_ROSTER_PAGE_SIZE = 100;
+
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
     private final TutorApplicationService tutorApplicationService;
+    private final CourseAccessTracker accessTracker;
 
-    public CourseController(CourseService courseService, EnrollmentService enrollmentService, TutorApplicationService tutorApplicationService) {
+    public CourseController(CourseService courseService, EnrollmentService enrollmentService, TutorApplicationService tutorApplicationService,
+                            CourseAccessTracker accessTracker) {
         this.courseService = courseService;
         this.enrollmentService = enrollmentService;
         this.tutorApplicationService = tutorApplicationService;
+        this.accessTracker = accessTracker;
     }
 
     @GetMapping
@@ -50,19 +73,30 @@ public class CourseController {
     ) {
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Course> courses = (type != null && keyword != null)
-                ? courseService.searchCourses(type, keyword, pageable)
-                : courseService.getAllCourses(pageable);
-
-            Map<String, Object> courseMetadata = new HashMap<>();
-            courseMetadata.put("totalItems", courses.getTotalElements());
-            courseMetadata.put("totalPages", courses.getTotalPages());
-            courseMetadata.put("currentPage", courses.getNumber());
-            courseMetadata.put("pageSize", courses.getSize());
-
-            List<CourseResponse> courseResponse = courses.getContent().stream()
-                    .map(course -> toCourseResponse(course, userId))
-                    .collect(Collectors.toList());
+            Map<String, Object> courseMetadata;
+            List<CourseResponse> courseResponse;
+
+            if (type != null && keyword != null) {
+                Page<Course> courses = courseService.searchCourses(type, keyword, pageable);
+                accessTracker.recordSearch(type, keyword);
+                List<UUID> courseIds = courses.getContent().stream().map(Course::getId).collect(Collectors.toList());
+                Set<UUID> enrolledCourseIds = getEnrolledCourseIds(userId, courseIds);
+                Map<UUID, List<SectionOutline>> sectionOutline = courseService.getSectionOutline(courseIds);
+                courseMetadata = toPageMetadata(courses);
+                courseResponse = courses.getContent().stream()
+                        .map(course -> toCourseResponse(course, enrolledCourseIds.contains(course.getId()),
+                                sectionOutline.getOrDefault(course.getId(), List.of())))
+                        .collect(Collectors.toList());
+            } else {
+                // Plain catalog pages are served from the denormalized course_catalog_view
+                Page<CourseCatalogView> catalog = courseService.getCatalog(pageable);
+                Set<UUID> enrolledCourseIds = getEnrolledCourseIds(userId,
+                        catalog.getContent().stream().map(CourseCatalogView::getCourseId).collect(Collectors.toList()));
+                courseMetadata = toPageMetadata(catalog);
+                courseResponse = catalog.getContent().stream()
+                        .map(view -> toCourseResponse(view, enrolledCourseIds.contains(view.getCourseId())))
+                        .collect(Collectors.toList());
+            }
 
             return ResponseEntity.ok(ApiResponse.success(
                 HttpStatus.OK.value(),
@@ -105,6 +139,7 @@ public class CourseController {
             }
 
             Course course = courseOpt.get();
+            accessTracker.recordCourseRead(id);
 
             CourseResponse response = this.toCourseResponse(course, userId);
             return ResponseEntity.ok(ApiResponse.success(
@@ -127,13 +162,15 @@ public class CourseController {
             @RequestParam() UUID userId,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size) {
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Course> enrolledCourses = (type != null && keyword != null)
+            boolean recentFirst = "recent".equalsIgnoreCase(sort);
+            Page<EnrolledCourse> enrolledCourses = (type != null && keyword != null)
                     ? courseService.searchEnrolledCourses(userId, type, keyword, pageable)
-                    : courseService.getEnrolledCourses(userId, pageable);
+                    : courseService.getEnrolledCourses(userId, recentFirst, pageable);
 
             Map<String, Object> courseMetadata = new HashMap<>();
             courseMetadata.put("totalItems", enrolledCourses.getTotalElements());
@@ -141,8 +178,11 @@ public class CourseController {
             courseMetadata.put("currentPage", enrolledCourses.getNumber());
             courseMetadata.put("pageSize", enrolledCourses.getSize());
 
+            Map<UUID, List<SectionOutline>> sectionOutline = courseService.getSectionOutline(
+                    enrolledCourses.getContent().stream().map(enrolled -> enrolled.getCourse().getId()).toList());
             List<CourseEnrolledResponse> courseResponse = enrolledCourses.getContent().stream()
-                    .map(course -> toCourseEnrolledResponse(course, userId))
+                    .map(enrolled -> toCourseEnrolledResponse(enrolled,
+                            sectionOutline.getOrDefault(enrolled.getCourse().getId(), List.of())))
                     .collect(Collectors.toList());
 
             return ResponseEntity.ok(ApiResponse.success(
@@ -167,33 +207,32 @@ public class CourseController {
             @RequestParam UUID userId
     ) {
         try {
-            Optional<Course> courseOpt = courseService.getCourseById(id);
-
-            if (courseOpt.isEmpty()) {
-                return ResponseEntity
-                        .status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error(
-                                HttpStatus.NOT_FOUND.value(),
-                                "Course not found."
-                        ));
-            }
-
-            Course course = courseOpt.get();
-            if (enrollmentService.isEnrolled(userId, id)) {
-                CourseEnrolledResponse response = this.toCourseEnrolledResponse(course, userId);
+            Optional<EnrolledCourse> enrolledOpt = courseService.getEnrolledCourse(userId, id);
+            if (enrolledOpt.isPresent()) {
+                CourseEnrolledResponse response = this.toCourseEnrolledResponse(enrolledOpt.get(),
+                        courseService.getSectionOutline(List.of(id)).getOrDefault(id, List.of()));
                 return ResponseEntity.ok(ApiResponse.success(
                         HttpStatus.OK.value(),
                         "Enrolled course retrieved successfully.",
                         response
                 ));
-            } else {
+            }
+
+            // Only the miss path needs to tell a missing course from a missing enrollment
+            if (courseService.getCourseById(id).isEmpty()) {
                 return ResponseEntity
-                        .status(HttpStatus.FORBIDDEN)
+                        .status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error(
-                                HttpStatus.FORBIDDEN.value(),
-                                "You are not enrolled in this course."
+                                HttpStatus.NOT_FOUND.value(),
+                                "Course not found."
                         ));
             }
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error(
+                            HttpStatus.FORBIDDEN.value(),
+                            "You are not enrolled in this course."
+                    ));
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -350,7 +389,9 @@ public class CourseController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(resp);
         }
 
-        var courses = courseService.getCoursesByTutorId(tutorId);
+        List<TutorCourseResponse> courses = courseService.getCoursesByTutorId(tutorId).stream()
+                .map(course -> toTutorCourseResponse(course, false))
+                .collect(Collectors.toList());
         Map<String, Object> resp = new HashMap<>();
         resp.put("code", HttpStatus.OK.value());
         resp.put("success", true);
@@ -399,7 +440,7 @@ public class CourseController {
             resp.put("code", HttpStatus.OK.value());
             resp.put("success", true);
             resp.put("message", "Course updated successfully.");
-            resp.put("course", updatedCourseOpt.get());
+            resp.put("course", toTutorCourseResponse(updatedCourseOpt.get(), true));
             return ResponseEntity.ok(resp);
         } else {
             Map<String, Object> resp = new HashMap<>();
@@ -449,8 +490,95 @@ public class CourseController {
     }
 
     // GET /courses/{courseId}/students
+    // Without size/cursor the full list is returned; with them the roster is paged by keyset
     @GetMapping("/{courseId}/students")
-    public ResponseEntity<?> getEnrolledStudents(@PathVariable UUID courseId, Principal principal) {
+    public ResponseEntity<?> getEnrolledStudents(@PathVariable UUID courseId,
+                                                 @RequestParam(required = false) Integer size,
+                                                 @RequestParam(required = false) String cursor,
+                                                 Principal principal) {
+        ResponseEntity<Map<String, Object>> denied = checkRosterAccess(courseId, principal);
+        if (denied != null) {
+            return denied;
+        }
+        Map<String, Object> resp = new HashMap<>();
+        if (size == null && cursor == null) {
+            var students = courseService.getEnrolledStudents(courseId);
+            resp.put("code", HttpStatus.OK.value());
+            resp.put("success", true);
+            resp.put("students", students);
+            resp.put("studentCount", courseService.getStudentCount(courseId));
+            return ResponseEntity.ok(resp);
+        }
+        try {
+            RosterPage page = courseService.getRosterPage(courseId, cursor, size != null ? size : DEFAULT_ROSTER_PAGE_SIZE);
+            resp.put("code", HttpStatus.OK.value());
+            resp.put("success", true);
+            resp.put("students", page.getStudents());
+            resp.put("nextCursor", page.getNextCursor());
+            resp.put("studentCount", courseService.getStudentCount(courseId));
+            return ResponseEntity.ok(resp);
+        } catch (IllegalArgumentException e) {
+            resp.put("code", HttpStatus.BAD_REQUEST.value());
+            resp.put("success", false);
+            resp.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(resp);
+        }
+    }
+
+    // GET /courses/{courseId}/students/export?format=ndjson|csv
+    // Streams the whole roster from a database cursor instead of building it in memory
+    @GetMapping("/{courseId}/students/export")
+    public ResponseEntity<?> exportEnrolledStudents(@PathVariable UUID courseId,
+                                                    @RequestParam(defaultValue = "ndjson") String format,
+                                                    Principal principal) {
+        ResponseEntity<Map<String, Object>> denied = checkRosterAccess(courseId, principal);
+        if (denied != null) {
+            return denied;
+        }
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            Map<String, Object> resp = new HashMap<>();
+            resp.put("code", HttpStatus.BAD_REQUEST.value());
+            resp.put("success", false);
+            resp.put("message", "Unsupported export format: " + format);
+            return ResponseEntity.badRequest().body(resp);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write("student_id,enrollment_date\n");
+            }
+            try {
+                courseService.streamRoster(courseId, entry -> {
+                    try {
+                        writer.write(csv ? toCsvLine(entry) : toNdjsonLine(entry));
+                    } catch (IOException e) {
+                        // Client went away: abort the query instead of reading the rest of the cursor
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (csv) {
+            builder.contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"students-" + courseId + ".csv\"");
+        } else {
+            builder.contentType(MediaType.parseMediaType("application/x-ndjson"));
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Only the owning tutor with an ACCEPTED tutor application may read a course roster
+     * @return the 403 response to send, or null if access is allowed
+     */
+    private ResponseEntity<Map<String, Object>> checkRosterAccess(UUID courseId, Principal principal) {
         UUID tutorId = UUID.fromString(principal.getName());
         // Validasi: hanya tutor owner & status ACCEPTED yang bisa akses
         var appOpt = tutorApplicationService.getMostRecentApplicationByStudentId(tutorId);
@@ -469,17 +597,44 @@ public class CourseController {
             resp.put("message", "You are not allowed to view students. Only the owner can view.");
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(resp);
         }
-        var students = courseService.getEnrolledStudents(courseId);
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("code", HttpStatus.OK.value());
-        resp.put("success", true);
-        resp.put("students", students);
-        return ResponseEntity.ok(resp);
+        return null;
+    }
+
+    private static String toNdjsonLine(RosterEntry entry) {
+        return "{\"studentId\":\"" + entry.getStudentId() + "\",\"enrollmentDate\":\"" + entry.getEnrollmentDate() + "\"}\n";
+    }
+
+    private static String toCsvLine(RosterEntry entry) {
+        return entry.getStudentId() + "," + entry.getEnrollmentDate() + "\n";
+    }
+
+    private Map<String, Object> toPageMetadata(Page<?> page) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("totalItems", page.getTotalElements());
+        metadata.put("totalPages", page.getTotalPages());
+        metadata.put("currentPage", page.getNumber());
+        metadata.put("pageSize", page.getSize());
+        return metadata;
+    }
+
+    private Set<UUID> getEnrolledCourseIds(UUID userId, List<UUID> courseIds) {
+        if (userId == null || courseIds.isEmpty()) {
+            return Set.of();
+        }
+        return enrollmentService.getEnrolledCourseIds(userId, courseIds);
     }
 
     /* DTO Mapper helper */
     private CourseResponse toCourseResponse(Course course, UUID userId) {
-        List<CourseResponse.Section> sectionResponses = course.getSections().stream()
+        boolean isEnrolled = userId != null && enrollmentService.isEnrolled(userId, course.getId());
+        List<SectionOutline> sections = courseService.getSectionOutline(List.of(course.getId()))
+                .getOrDefault(course.getId(), List.of());
+        return toCourseResponse(course, isEnrolled, sections);
+    }
+
+    // Sections come from an outline query, never from the lazy collection, so mapping needs no open session
+    private CourseResponse toCourseResponse(Course course, boolean isEnrolled, List<SectionOutline> sections) {
+        List<CourseResponse.Section> sectionResponses = sections.stream()
             .map(section -> new CourseResponse.Section(
                 section.getId(),
                 section.getTitle()
@@ -487,7 +642,6 @@ public class CourseController {
             .collect(Collectors.toList());
 
         String tutorName = "Unknown"; // TODO: Fetch tutor name from user service or similar
-        boolean isEnrolled = userId != null && enrollmentService.isEnrolled(userId, course.getId());
 
         return new CourseResponse(
                 course.getId(),
@@ -500,10 +654,61 @@ public class CourseController {
         );
     };
 
-    private CourseEnrolledResponse toCourseEnrolledResponse(Course course, UUID userId) {
-        List<CourseEnrolledResponse.Section> sectionResponses = course.getSections().stream()
+    private CourseResponse toCourseResponse(CourseCatalogView view, boolean isEnrolled) {
+        List<CourseResponse.Section> sectionResponses = view.getSections().stream()
+            .map(section -> new CourseResponse.Section(
+                section.getId(),
+                section.getTitle()
+            ))
+            .collect(Collectors.toList());
+
+        String tutorName = "Unknown"; // TODO: Fetch tutor name from user service or similar
+
+        return new CourseResponse(
+                view.getCourseId(),
+                view.getName(),
+                view.getDescription(),
+                tutorName,
+                view.getPrice(),
+                isEnrolled,
+                sectionResponses
+        );
+    }
+
+    // Sections are only mapped when the caller asks and they are already loaded, never fetched for the response
+    private TutorCourseResponse toTutorCourseResponse(Course course, boolean withLoadedSections) {
+        List<TutorCourseResponse.Section> sections = null;
+        if (withLoadedSections && Hibernate.isInitialized(course.getSections())) {
+            // The collection is unordered; positions follow rank order, like every other section list
+            List<Section> ordered = course.getSections().stream()
+                    .sorted(Comparator.comparing(Section::getRankKey, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
+            sections = new ArrayList<>(ordered.size());
+            for (int i = 0; i < ordered.size(); i++) {
+                sections.add(new TutorCourseResponse.Section(ordered.get(i).getId(), ordered.get(i).getTitle(), i));
+            }
+        }
+        return new TutorCourseResponse(
+                course.getId(),
+                course.getName(),
+                course.getDescription(),
+                course.getTutorId(),
+                course.getPrice(),
+                course.getStudentCount(),
+                course.getCreatedAt(),
+                course.getUpdatedAt(),
+                sections
+        );
+    }
+
+    private CourseEnrolledResponse toCourseEnrolledResponse(EnrolledCourse enrolled, List<SectionOutline> sections) {
+        Course course = enrolled.getCourse();
+        // One projection query for all article titles instead of hydrating every section's articles
+        Map<UUID, List<ArticleSummary>> articleOutline = courseService.getArticleOutline(course.getId());
+        List<CourseEnrolledResponse.Section> sectionResponses = sections.stream()
                 .map(section -> {
-                    List<CourseEnrolledResponse.Article> articleResponses = section.getArticles().stream()
+                    List<CourseEnrolledResponse.Article> articleResponses = articleOutline
+                            .getOrDefault(section.getId(), List.of()).stream()
                             .map(article -> new CourseEnrolledResponse.Article(
                                     article.getId(),
                                     article.getTitle()
@@ -518,13 +723,6 @@ public class CourseController {
                 })
                 .collect(Collectors.toList());
 
-        // Get enrollment date
-        LocalDateTime enrollmentDate = course.getEnrollments().stream()
-                .filter(enrollment -> enrollment.getStudentId().equals(userId))
-                .findFirst()
-                .map(Enrollment::getEnrollmentDate)
-                .orElse(null);
-
         String tutorName = "Unknown"; // TODO: Fetch tutor name from user service or similar
 
         return new CourseEnrolledResponse(
@@ -533,7 +731,7 @@ public class CourseController {
                 course.getDescription(),
                 tutorName,
                 course.getPrice(),
-                enrollmentDate,
+                enrolled.getEnrollmentDate(),
                 sectionResponses
         );
     }
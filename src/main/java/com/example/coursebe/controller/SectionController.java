@@ -1,5 +1,7 @@
 package com.example.coursebe.controller;
 
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.dto.SectionSummary;
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Section;
 import com.example.coursebe.model.TutorApplication;
@@ -103,7 +105,7 @@ public class SectionController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(resp);
         }
 
-        List<Section> sections = sectionService.getSectionsByCourseId(courseId);
+        List<SectionSummary> sections = sectionService.getSectionSummariesByCourseId(courseId);
         Map<String, Object> resp = new HashMap<>();
         resp.put("code", HttpStatus.OK.value());
         resp.put("success", true);
@@ -113,8 +115,8 @@ public class SectionController {
 
     @GetMapping("/{sectionId}")
     public ResponseEntity<?> getSectionById(@PathVariable UUID courseId, @PathVariable UUID sectionId, Principal principal) {
-        Optional<Section> sectionOpt = sectionService.getSectionById(sectionId);
-        if (sectionOpt.isEmpty() || !sectionOpt.get().getCourse().getId().equals(courseId)) {
+        Optional<SectionResponse> sectionOpt = sectionService.getSectionResponse(courseId, sectionId);
+        if (sectionOpt.isEmpty()) {
             Map<String, Object> resp = new HashMap<>();
             resp.put("code", HttpStatus.NOT_FOUND.value());
             resp.put("success", false);
@@ -146,7 +148,7 @@ public class SectionController {
         }
         
         try {
-            Optional<Section> updatedSectionOpt = sectionService.updateSection(sectionId, req.title, req.position);
+            Optional<SectionResponse> updatedSectionOpt = sectionService.updateSection(sectionId, req.title, req.position);
             if (updatedSectionOpt.isEmpty()) {
                 Map<String, Object> resp = new HashMap<>();
                 resp.put("code", HttpStatus.NOT_FOUND.value());
@@ -0,0 +1,118 @@
+package com.example.coursebe.controller;
+
+import com.example.coursebe.common.ApiResponse;
+import com.example.coursebe.dto.TutorApplicationDecisionRequest;
+import com.example.coursebe.dto.TutorApplicationDecisionResult;
+import com.example.coursebe.dto.TutorApplicationResponse;
+import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.service.TutorApplicationReviewQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Admin review queue for tutor applications, see {@link TutorApplicationReviewQueue}.
+ * Only callers whose JWT role is one of {@code course.tutor-review.roles} may use it.
+ */
+@RestController
+@RequestMapping("/admin/tutors/applications")
+public class TutorApplicationAdminController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final TutorApplicationReviewQueue reviewQueue;
+    private final Set<String> reviewerAuthorities;
+
+    public TutorApplicationAdminController(TutorApplicationReviewQueue reviewQueue,
+                                           @Value("${course.tutor-review.roles:ADMIN}") List<String> reviewerRoles) {
+        this.reviewQueue = reviewQueue;
+        this.reviewerAuthorities = reviewerRoles.stream()
+                .map(role -> "ROLE_" + role.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    // GET /admin/tutors/applications?status=PENDING&page=0&size=20
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<TutorApplicationResponse>>> getQueue(
+            @RequestParam(defaultValue = "PENDING") TutorApplication.Status status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Principal principal) {
+        if (!isReviewer(principal)) {
+            return forbidden();
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(),
+                    "Page must not be negative and size must be between 1 and " + MAX_PAGE_SIZE + "."));
+        }
+        Page<TutorApplication> applications = reviewQueue.getQueue(status, PageRequest.of(page, size));
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("totalItems", applications.getTotalElements());
+        metadata.put("totalPages", applications.getTotalPages());
+        metadata.put("currentPage", applications.getNumber());
+        metadata.put("pageSize", applications.getSize());
+        return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK.value(),
+                "Tutor applications retrieved successfully.", metadata,
+                applications.getContent().stream().map(TutorApplicationResponse::from).toList()));
+    }
+
+    // POST /admin/tutors/applications/claim?count=10
+    @PostMapping("/claim")
+    public ResponseEntity<ApiResponse<List<TutorApplicationResponse>>> claimNext(
+            @RequestParam(defaultValue = "10") int count,
+            Principal principal) {
+        if (!isReviewer(principal)) {
+            return forbidden();
+        }
+        try {
+            List<TutorApplicationResponse> claimed = reviewQueue.claimNext(UUID.fromString(principal.getName()), count)
+                    .stream().map(TutorApplicationResponse::from).toList();
+            return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK.value(),
+                    "Claimed " + claimed.size() + " tutor applications.", claimed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    // POST /admin/tutors/applications/decisions {"applicationIds": [...], "status": "ACCEPTED"}
+    @PostMapping("/decisions")
+    public ResponseEntity<ApiResponse<TutorApplicationDecisionResult>> decide(
+            @RequestBody TutorApplicationDecisionRequest request,
+            Principal principal) {
+        if (!isReviewer(principal)) {
+            return forbidden();
+        }
+        try {
+            TutorApplicationDecisionResult result = reviewQueue.decide(
+                    UUID.fromString(principal.getName()), request.applicationIds, request.status);
+            return ResponseEntity.ok(ApiResponse.success(HttpStatus.OK.value(),
+                    "Decided " + result.decided().size() + " tutor applications.", result));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    private boolean isReviewer(Principal principal) {
+        return principal instanceof Authentication authentication
+                && authentication.getAuthorities().stream()
+                        .anyMatch(authority -> reviewerAuthorities.contains(authority.getAuthority()));
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error(HttpStatus.FORBIDDEN.value(),
+                "Only reviewers can manage tutor applications."));
+    }
+}
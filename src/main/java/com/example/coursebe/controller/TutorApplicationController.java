@@ -27,7 +27,9 @@ public class TutorApplicationController {
         // Assume studentId is fetched from JWT principal
         UUID studentId = UUID.fromString(principal.getName());
         
-        if (tutorApplicationService.hasPendingApplication(studentId)) {
+        // Null when the student already has a pending application; the insert itself checks
+        TutorApplication app = tutorApplicationService.submitApplication(studentId);
+        if (app == null) {
             Map<String, Object> resp = new HashMap<>();
             resp.put("code", HttpStatus.BAD_REQUEST.value());
             resp.put("success", false);
@@ -35,8 +37,6 @@ public class TutorApplicationController {
             return ResponseEntity.badRequest().body(resp);
         }
         
-        // Masih menggunakan async di service layer
-        TutorApplication app = tutorApplicationService.submitApplication(studentId);
         Map<String, Object> resp = new HashMap<>();
         resp.put("code", HttpStatus.OK.value());
         resp.put("success", true);
@@ -0,0 +1,27 @@
+package com.example.coursebe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Article body of the article endpoints, including the content.
+ * Unlike the entity it carries the section ID instead of the section.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleResponse {
+    private UUID id;
+    private UUID sectionId;
+    private String title;
+    private String content;
+    private Integer position;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.example.coursebe.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Table-of-contents view of an article, built by JPQL constructor queries
+ * so the TEXT content column is never read for list endpoints
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArticleSummary {
+    private UUID id;
+    private String title;
+    private Integer position;
+    // Only set by course-wide queries, used to group articles under their section
+    @JsonIgnore
+    private UUID sectionId;
+
+    public ArticleSummary(UUID id, String title, Integer position) {
+        this.id = id;
+        this.title = title;
+        this.position = position;
+    }
+
+    public ArticleSummary(UUID sectionId, UUID id, String title, Integer position) {
+        this(id, title, position);
+        this.sectionId = sectionId;
+    }
+}
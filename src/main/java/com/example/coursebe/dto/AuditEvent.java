@@ -0,0 +1,17 @@
+package com.example.coursebe.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audited request, as stored in the append-only audit_log table
+ * @param occurredAt When the request started
+ * @param actor User ID of the authenticated caller, or null when anonymous
+ * @param httpMethod HTTP method
+ * @param path Request path
+ * @param handler Controller method that handled it, e.g. CourseController#deleteCourse
+ * @param status HTTP response status
+ * @param durationMs Time taken to handle the request
+ */
+public record AuditEvent(LocalDateTime occurredAt, String actor, String httpMethod, String path,
+                         String handler, int status, long durationMs) {
+}
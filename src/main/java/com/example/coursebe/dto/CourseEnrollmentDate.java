@@ -0,0 +1,12 @@
+package com.example.coursebe.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * When a student enrolled in a course, without loading the course or the enrollment
+ * @param courseId Course ID
+ * @param enrollmentDate Enrollment date
+ */
+public record CourseEnrollmentDate(UUID courseId, LocalDateTime enrollmentDate) {
+}
@@ -0,0 +1,21 @@
+package com.example.coursebe.dto;
+
+import com.example.coursebe.model.Course;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A course a student is enrolled in, together with that student's own enrollment date
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrolledCourse {
+    private Course course;
+    private LocalDateTime enrollmentDate;
+}
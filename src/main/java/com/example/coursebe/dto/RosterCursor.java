@@ -0,0 +1,60 @@
+package com.example.coursebe.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in a course roster: the (enrollment_date, id) of the last row returned
+ */
+public final class RosterCursor {
+
+    private static final String SEPARATOR = "~";
+
+    private final LocalDateTime enrollmentDate;
+    private final UUID enrollmentId;
+
+    public RosterCursor(LocalDateTime enrollmentDate, UUID enrollmentId) {
+        this.enrollmentDate = enrollmentDate;
+        this.enrollmentId = enrollmentId;
+    }
+
+    public static RosterCursor after(RosterEntry entry) {
+        return new RosterCursor(entry.getEnrollmentDate(), entry.getEnrollmentId());
+    }
+
+    public String encode() {
+        String raw = enrollmentDate + SEPARATOR + enrollmentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor produced by {@link #encode()}
+     * @param cursor the encoded cursor
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static RosterCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid roster cursor");
+            }
+            return new RosterCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid roster cursor", ex);
+        }
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public UUID getEnrollmentId() {
+        return enrollmentId;
+    }
+}
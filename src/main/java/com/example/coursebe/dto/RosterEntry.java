@@ -0,0 +1,25 @@
+package com.example.coursebe.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One student of a course roster, projected straight from the enrollment table
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterEntry {
+    private UUID studentId;
+    private LocalDateTime enrollmentDate;
+    // Keyset tie-breaker, only exposed through the page cursor
+    @JsonIgnore
+    private UUID enrollmentId;
+}
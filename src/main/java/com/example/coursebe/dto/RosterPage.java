@@ -0,0 +1,20 @@
+package com.example.coursebe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A keyset page of a course roster; nextCursor is null on the last page
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterPage {
+    private List<RosterEntry> students;
+    private String nextCursor;
+}
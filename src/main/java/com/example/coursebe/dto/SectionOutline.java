@@ -0,0 +1,15 @@
+package com.example.coursebe.dto;
+
+import java.util.UUID;
+
+/**
+ * Closed projection of a section's title for course outlines. Carries the course ID
+ * so the sections of a whole page of courses can be read in one query and grouped.
+ */
+public interface SectionOutline {
+    UUID getCourseId();
+
+    UUID getId();
+
+    String getTitle();
+}
@@ -0,0 +1,26 @@
+package com.example.coursebe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Section body of the section endpoints. Holds only the section's own columns,
+ * so serializing it never reaches the course or the articles.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SectionResponse {
+    private UUID id;
+    private UUID courseId;
+    private String title;
+    private Integer position;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
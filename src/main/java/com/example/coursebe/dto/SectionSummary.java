@@ -0,0 +1,15 @@
+package com.example.coursebe.dto;
+
+import java.util.UUID;
+
+/**
+ * Closed Spring Data projection of a section: only these columns are selected,
+ * and the articles collection is never initialized
+ */
+public interface SectionSummary {
+    UUID getId();
+
+    String getTitle();
+
+    Integer getPosition();
+}
@@ -0,0 +1,11 @@
+package com.example.coursebe.dto;
+
+import com.example.coursebe.model.TutorApplication;
+
+import java.util.List;
+import java.util.UUID;
+
+public class TutorApplicationDecisionRequest {
+    public List<UUID> applicationIds;
+    public TutorApplication.Status status;
+}
@@ -0,0 +1,12 @@
+package com.example.coursebe.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a batch decision on tutor applications
+ * @param decided Applications that now have the requested status
+ * @param skipped Applications left unchanged: missing, already decided, or claimed by another reviewer
+ */
+public record TutorApplicationDecisionResult(List<UUID> decided, List<UUID> skipped) {
+}
@@ -0,0 +1,28 @@
+package com.example.coursebe.dto;
+
+import com.example.coursebe.model.TutorApplication;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorApplicationResponse {
+    private UUID id;
+    private UUID studentId;
+    private TutorApplication.Status status;
+    private LocalDateTime createdAt;
+    private UUID claimedBy;
+    private LocalDateTime claimedUntil;
+
+    public static TutorApplicationResponse from(TutorApplication application) {
+        return new TutorApplicationResponse(application.getId(), application.getStudentId(), application.getStatus(),
+                application.getCreatedAt(), application.getClaimedBy(), application.getClaimedUntil());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.coursebe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Course as seen by its tutor, returned by course writes and GET /courses/mine.
+ * Enrollments are never included; sections only when the write already loaded them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorCourseResponse {
+    private UUID id;
+    private String name;
+    private String description;
+    private UUID tutorId;
+    private BigDecimal price;
+    private long studentCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Section> sections;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Section {
+        private UUID id;
+        private String title;
+        private Integer position;
+    }
+}
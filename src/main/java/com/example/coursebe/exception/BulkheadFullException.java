@@ -0,0 +1,7 @@
+package com.example.coursebe.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String bulkhead) {
+        super("Too much " + bulkhead + " work in progress, try again later");
+    }
+}
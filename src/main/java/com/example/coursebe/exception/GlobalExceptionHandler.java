@@ -1,5 +1,6 @@
 package com.example.coursebe.exception;
 
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -32,6 +33,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<GlobalResponse<Void>> handleBulkheadFullException(BulkheadFullException ex) {
+        GlobalResponse<Void> response = GlobalResponse.<Void>builder()
+                .code(HttpStatus.SERVICE_UNAVAILABLE)
+                .success(false)
+                .message(ex.getMessage())
+                .data(null)
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<GlobalResponse<Void>> handleQueryTimeoutException(QueryTimeoutException ex) {
+        GlobalResponse<Void> response = GlobalResponse.<Void>builder()
+                .code(HttpStatus.SERVICE_UNAVAILABLE)
+                .success(false)
+                .message("The request took too long, try a narrower query")
+                .data(null)
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<GlobalResponse<Void>> handleRuntimeException(RuntimeException ex) {
         GlobalResponse<Void> response = GlobalResponse.<Void>builder()
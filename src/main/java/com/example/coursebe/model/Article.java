@@ -3,6 +3,12 @@ package com.example.coursebe.model;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.example.coursebe.common.RankKeys;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -26,9 +32,15 @@ public class Article {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // Position as of the last reorder or rebalance; responses derive it from rank order instead
     @Column(nullable = false)
     private Integer position;
 
+    // Ordering key; reads sort by it, see RankKeys
+    @JsonIgnore
+    @Column(name = "rank_key", nullable = false, length = 64)
+    private String rankKey;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -37,6 +49,7 @@ public class Article {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "section_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Section section;
 
     // Default constructor required by JPA
@@ -60,6 +73,9 @@ public class Article {
         if (this.position == null) {
             this.position = 0;
         }
+        if (this.rankKey == null) {
+            this.rankKey = RankKeys.forIndex(this.position);
+        }
     }
 
     @PreUpdate
@@ -96,6 +112,14 @@ public class Article {
         this.position = position;
     }
 
+    public String getRankKey() {
+        return rankKey;
+    }
+
+    public void setRankKey(String rankKey) {
+        this.rankKey = rankKey;
+    }
+
     public Section getSection() {
         return section;
     }
@@ -42,6 +42,10 @@ public class Course {
 
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    // Maintained with atomic UPDATEs by CourseStudentCounter, never written by entity saves
+    @Column(name = "student_count", nullable = false, updatable = false)
+    private long studentCount;
     
     @JsonManagedReference // Added annotation
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
@@ -144,4 +148,8 @@ public class Course {
         return updatedAt;
     }
 
+    public long getStudentCount() {
+        return studentCount;
+    }
+
 }
\ No newline at end of file
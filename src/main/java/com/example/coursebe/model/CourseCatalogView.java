@@ -0,0 +1,217 @@
+package com.example.coursebe.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+/**
+ * Denormalized read model of a course for catalog pages.
+ * One row per course, kept in sync by the service write paths through
+ * {@link com.example.coursebe.service.CourseCatalogProjector}.
+ */
+@Entity
+@Table(name = "course_catalog_view")
+public class CourseCatalogView {
+
+    @Id
+    @Column(name = "course_id")
+    private UUID courseId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "tutor_id", nullable = false)
+    private UUID tutorId;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private List<CatalogSection> sections = new ArrayList<>();
+
+    @Column(name = "student_count", nullable = false)
+    private long studentCount;
+
+    @Column(name = "rating_average")
+    private Double ratingAverage;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "course_created_at", nullable = false)
+    private LocalDateTime courseCreatedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor required by JPA
+    public CourseCatalogView() {
+    }
+
+    // Constructor for projecting a new course
+    public CourseCatalogView(UUID courseId) {
+        this.courseId = courseId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = LocalDateTime.now();
+
+        if (this.courseCreatedAt == null) {
+            this.courseCreatedAt = this.updatedAt;
+        }
+        if (this.price == null) {
+            this.price = BigDecimal.ZERO;
+        }
+    }
+
+    /**
+     * Section entry stored in the JSONB column, ordered by section position
+     */
+    public static class CatalogSection {
+        private UUID id;
+        private String title;
+        private long articleCount;
+
+        // Default constructor required by Jackson
+        public CatalogSection() {
+        }
+
+        public CatalogSection(UUID id, String title, long articleCount) {
+            this.id = id;
+            this.title = title;
+            this.articleCount = articleCount;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public long getArticleCount() {
+            return articleCount;
+        }
+
+        // Dirty checking compares the JSON column by value; identity equality made every
+        // flush rewrite every loaded catalog row
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CatalogSection other)) {
+                return false;
+            }
+            return articleCount == other.articleCount
+                    && Objects.equals(id, other.id)
+                    && Objects.equals(title, other.title);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, title, articleCount);
+        }
+    }
+
+    // Getters and Setters
+    public UUID getCourseId() {
+        return courseId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public UUID getTutorId() {
+        return tutorId;
+    }
+
+    public void setTutorId(UUID tutorId) {
+        this.tutorId = tutorId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public List<CatalogSection> getSections() {
+        return sections;
+    }
+
+    public void setSections(List<CatalogSection> sections) {
+        this.sections = sections;
+    }
+
+    public long getStudentCount() {
+        return studentCount;
+    }
+
+    public void setStudentCount(long studentCount) {
+        this.studentCount = studentCount;
+    }
+
+    public Double getRatingAverage() {
+        return ratingAverage;
+    }
+
+    public void setRatingAverage(Double ratingAverage) {
+        this.ratingAverage = ratingAverage;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public LocalDateTime getCourseCreatedAt() {
+        return courseCreatedAt;
+    }
+
+    public void setCourseCreatedAt(LocalDateTime courseCreatedAt) {
+        this.courseCreatedAt = courseCreatedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
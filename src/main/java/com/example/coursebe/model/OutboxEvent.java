@@ -0,0 +1,141 @@
+package com.example.coursebe.model;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Domain event waiting to be delivered to other services.
+ * Written in the same transaction as the change it describes and delivered afterwards by
+ * {@link com.example.coursebe.service.OutboxRelay}, at least once and in ID order per relay.
+ */
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+    /**
+     * Kinds of event, with the type of aggregate their aggregate ID refers to
+     */
+    public enum Type {
+        ENROLLMENT_CREATED("enrollment"),
+        ENROLLMENT_DELETED("enrollment"),
+        COURSE_DELETED("course"),
+        TUTOR_APPLICATION_STATUS_CHANGED("tutor_application");
+
+        private final String aggregateType;
+
+        Type(String aggregateType) {
+            this.aggregateType = aggregateType;
+        }
+
+        public String getAggregateType() {
+            return aggregateType;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 64)
+    private Type eventType;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private Map<String, Object> payload = new LinkedHashMap<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Default constructor required by JPA
+    public OutboxEvent() {
+    }
+
+    // Constructor for recording a new event
+    public OutboxEvent(Type eventType, UUID aggregateId, Map<String, Object> payload) {
+        this.aggregateType = eventType.getAggregateType();
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+
+    public Type getEventType() {
+        return eventType;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+}
@@ -5,9 +5,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import com.example.coursebe.common.RankKeys;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -30,9 +35,15 @@ public class Section {
     @Column(nullable = false)
     private String title;
 
+    // Position as of the last reorder or rebalance; responses derive it from rank order instead
     @Column(nullable = false)
     private Integer position;
 
+    // Ordering key; reads sort by it, see RankKeys
+    @JsonIgnore
+    @Column(name = "rank_key", nullable = false, length = 64)
+    private String rankKey;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -42,6 +53,7 @@ public class Section {
     @JsonBackReference
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Course course;
     
     @JsonManagedReference
@@ -68,6 +80,9 @@ public class Section {
         if (this.position == null) {
             this.position = 0;
         }
+        if (this.rankKey == null) {
+            this.rankKey = RankKeys.forIndex(this.position);
+        }
     }
 
     @PreUpdate
@@ -107,6 +122,14 @@ public class Section {
         this.position = position;
     }
 
+    public String getRankKey() {
+        return rankKey;
+    }
+
+    public void setRankKey(String rankKey) {
+        this.rankKey = rankKey;
+    }
+
     public Course getCourse() {
         return course;
     }
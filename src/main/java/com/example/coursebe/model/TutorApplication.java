@@ -38,6 +38,13 @@ public class TutorApplication {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Reviewer currently working on the application, until the lease runs out
+    @Column(name = "claimed_by")
+    private UUID claimedBy;
+    
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+    
     // Default constructor required by JPA
     public TutorApplication() {
         this.id = UUID.randomUUID();
@@ -91,7 +98,33 @@ public class TutorApplication {
         return createdAt;
     }
     
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public UUID getClaimedBy() {
+        return claimedBy;
+    }
+    
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+    
+    // Whether a reviewer's review queue lease on this application is still live
+    public boolean isClaimedAt(LocalDateTime now) {
+        return claimedUntil != null && !claimedUntil.isBefore(now);
+    }
+    
+    public void releaseClaim() {
+        this.claimedBy = null;
+        this.claimedUntil = null;
+    }
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package com.example.coursebe.repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.coursebe.dto.ArticleResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.model.Article;
 import com.example.coursebe.model.Section;
 
@@ -16,6 +23,16 @@ import com.example.coursebe.model.Section;
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, UUID> {
 
+    /**
+     * Find an article together with its section, so callers can check the section's
+     * course without a lazy load after the transaction has ended
+     * 
+     * @param id the article ID
+     * @return the article with its section initialized
+     */
+    @EntityGraph(attributePaths = "section")
+    Optional<Article> findWithSectionById(UUID id);
+
     /**
      * Find all articles belonging to a specific section
      * 
@@ -40,4 +57,136 @@ public interface ArticleRepository extends JpaRepository<Article, UUID> {
      */
     List<Article> findBySectionId(UUID sectionId);
 
+    /**
+     * Find all articles of a section with the given ID, ordered by rank key in the database
+     * (served by idx_article_section_rank)
+     * 
+     * @param sectionId the section ID
+     * @return ordered list of articles for the section
+     */
+    List<Article> findBySectionIdOrderByRankKeyAsc(UUID sectionId);
+
+    /**
+     * Find up to two consecutive rank keys of a section's articles, used to place an article
+     * between its neighbours without reading the other keys
+     * 
+     * @param sectionId the section ID
+     * @param excludedId an article to leave out (the one being moved)
+     * @param offset index of the first key in rank order
+     * @param limit number of keys to read
+     * @return rank keys in order
+     */
+    @Query(value = "SELECT rank_key FROM article WHERE section_id = :sectionId AND id <> :excludedId " +
+            "ORDER BY rank_key LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> findRankKeysBySectionIdExcluding(@Param("sectionId") UUID sectionId, @Param("excludedId") UUID excludedId,
+                                                  @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Find the last rank key of a section's articles, used to append an article
+     * 
+     * @param sectionId the section ID
+     * @param excludedId an article to leave out (the one being moved)
+     * @return the greatest rank key, empty if there are no other articles
+     */
+    @Query("SELECT MAX(a.rankKey) FROM Article a WHERE a.section.id = :sectionId AND a.id <> :excludedId")
+    Optional<String> findMaxRankKeyBySectionIdExcluding(@Param("sectionId") UUID sectionId, @Param("excludedId") UUID excludedId);
+
+    /**
+     * Find the first rank key of a section's articles that is greater than the given one
+     * 
+     * @param sectionId the section ID
+     * @param excludedId an article to leave out (the one being moved)
+     * @param rankKey the lower bound
+     * @return the next greater rank key, empty if there is none
+     */
+    @Query("SELECT MIN(a.rankKey) FROM Article a WHERE a.section.id = :sectionId AND a.id <> :excludedId " +
+            "AND a.rankKey > :rankKey")
+    Optional<String> findNextRankKeyBySectionIdExcluding(@Param("sectionId") UUID sectionId, @Param("excludedId") UUID excludedId,
+                                                         @Param("rankKey") String rankKey);
+
+    /**
+     * Find an article of a section as a response body, its position derived from rank order
+     * in the same query (served by idx_article_section_rank)
+     * 
+     * @param id the article ID
+     * @param sectionId the section the article must belong to
+     * @param courseId the course the section must belong to
+     * @return optional article response, empty if there is no such article in the section
+     */
+    @Query("SELECT new com.example.coursebe.dto.ArticleResponse(a.id, a.section.id, a.title, a.content, " +
+            "CAST((SELECT COUNT(o) FROM Article o WHERE o.section.id = a.section.id AND o.rankKey < a.rankKey) AS Integer), " +
+            "a.createdAt, a.updatedAt) FROM Article a WHERE a.id = :id AND a.section.id = :sectionId " +
+            "AND a.section.course.id = :courseId")
+    Optional<ArticleResponse> findResponseById(@Param("id") UUID id, @Param("sectionId") UUID sectionId,
+                                               @Param("courseId") UUID courseId);
+
+    /**
+     * Find the IDs of all articles of a section, without loading the articles
+     * 
+     * @param sectionId the section ID
+     * @return article IDs of the section
+     */
+    @Query("SELECT a.id FROM Article a WHERE a.section.id = :sectionId")
+    List<UUID> findIdsBySectionId(@Param("sectionId") UUID sectionId);
+
+    /**
+     * Find the IDs of all articles of a section in rank order
+     * 
+     * @param sectionId the section ID
+     * @return ordered article IDs of the section
+     */
+    @Query("SELECT a.id FROM Article a WHERE a.section.id = :sectionId ORDER BY a.rankKey")
+    List<UUID> findIdsBySectionIdOrderByRankKey(@Param("sectionId") UUID sectionId);
+
+    /**
+     * Find the sections that have an article whose rank key grew past the given length
+     * 
+     * @param maxLength the longest acceptable key
+     * @return IDs of sections whose article keys should be respaced
+     */
+    @Query("SELECT DISTINCT a.section.id FROM Article a WHERE LENGTH(a.rankKey) > :maxLength")
+    List<UUID> findSectionIdsWithRankKeysLongerThan(@Param("maxLength") int maxLength);
+
+    /**
+     * Find the ID of the course an article belongs to (through its section)
+     * 
+     * @param id the article ID
+     * @return optional course ID, empty if the article does not exist
+     */
+    @Query("SELECT a.section.course.id FROM Article a WHERE a.id = :id")
+    Optional<UUID> findCourseIdById(@Param("id") UUID id);
+
+    /**
+     * Delete an article in a single statement, without loading it
+     * 
+     * @param id the article ID
+     * @return number of deleted articles (0 or 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Article a WHERE a.id = :id")
+    int deleteArticleById(@Param("id") UUID id);
+
+    /**
+     * Get the table of contents of a section without loading article content
+     * 
+     * @param sectionId the section ID
+     * @return article summaries ordered by rank key, with positions derived from rank order
+     */
+    @Query("SELECT new com.example.coursebe.dto.ArticleSummary(a.id, a.title, " +
+            "CAST(ROW_NUMBER() OVER (ORDER BY a.rankKey) - 1 AS Integer)) " +
+            "FROM Article a WHERE a.section.id = :sectionId ORDER BY a.rankKey")
+    List<ArticleSummary> findSummariesBySectionId(@Param("sectionId") UUID sectionId);
+
+    /**
+     * Get the article outline of a whole course in one query, without loading article content
+     * 
+     * @param courseId the course ID
+     * @return article summaries (with section ID) ordered by section rank key, then article rank key,
+     *         with positions derived from rank order within each section
+     */
+    @Query("SELECT new com.example.coursebe.dto.ArticleSummary(s.id, a.id, a.title, " +
+            "CAST(ROW_NUMBER() OVER (PARTITION BY s.id ORDER BY a.rankKey) - 1 AS Integer)) " +
+            "FROM Article a JOIN a.section s WHERE s.course.id = :courseId ORDER BY s.rankKey, a.rankKey")
+    List<ArticleSummary> findSummariesByCourseId(@Param("courseId") UUID courseId);
+
 }
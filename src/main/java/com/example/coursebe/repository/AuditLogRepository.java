@@ -0,0 +1,68 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.dto.AuditEvent;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Appends audit events to the audit_log table as one JDBC batch, a single round trip
+ * however many events are written. The table is append-only, so there is nothing else
+ * to do here. Must run inside the caller's transaction.
+ */
+@Repository
+public class AuditLogRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(occurred_at, actor, http_method, path, handler, status, duration_ms) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_PATH_LENGTH = 255;
+    private static final int MAX_HANDLER_LENGTH = 128;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Append audit events
+     * @param events Events, in the order they should be stored
+     */
+    public void insertBatch(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditEvent event = events.get(i);
+                ps.setTimestamp(1, Timestamp.valueOf(event.occurredAt()));
+                if (event.actor() == null) {
+                    ps.setNull(2, Types.VARCHAR);
+                } else {
+                    ps.setString(2, event.actor());
+                }
+                ps.setString(3, event.httpMethod());
+                ps.setString(4, truncate(event.path(), MAX_PATH_LENGTH));
+                ps.setString(5, truncate(event.handler(), MAX_HANDLER_LENGTH));
+                ps.setInt(6, event.status());
+                ps.setLong(7, event.durationMs());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
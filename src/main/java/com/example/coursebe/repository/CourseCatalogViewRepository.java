@@ -0,0 +1,56 @@
+package com.example.coursebe.repository;
+
+import java.util.UUID;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.coursebe.model.CourseCatalogView;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository interface for the denormalized CourseCatalogView read model
+ */
+@Repository
+public interface CourseCatalogViewRepository extends JpaRepository<CourseCatalogView, UUID> {
+
+    /**
+     * Get a catalog page, newest courses first.
+     * Served by idx_course_catalog_view_created as a single index scan.
+     *
+     * @param pageable pagination information
+     * @return paginated catalog rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT v FROM CourseCatalogView v ORDER BY v.courseCreatedAt DESC, v.courseId DESC")
+    Page<CourseCatalogView> findCatalogPage(Pageable pageable);
+
+    /**
+     * Remove the catalog row of a course in a single statement
+     *
+     * @param courseId the course ID
+     * @return number of deleted rows (0 or 1)
+     */
+    @Modifying
+    @Query("DELETE FROM CourseCatalogView v WHERE v.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") UUID courseId);
+
+    /**
+     * Copy course.student_count into every catalog row that disagrees with it
+     *
+     * @return number of catalog rows corrected
+     */
+    @Modifying
+    @Query("UPDATE CourseCatalogView v SET v.studentCount = " +
+            "(SELECT c.studentCount FROM Course c WHERE c.id = v.courseId) " +
+            "WHERE v.studentCount <> (SELECT c.studentCount FROM Course c WHERE c.id = v.courseId)")
+    int reconcileStudentCounts();
+}
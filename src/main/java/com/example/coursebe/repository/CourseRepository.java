@@ -1,16 +1,26 @@
 package com.example.coursebe.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.coursebe.model.Course;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for Course entity
  * Provides CRUD operations and custom query methods for Course
@@ -24,6 +34,7 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      * @param tutorId the ID of the tutor
      * @return list of courses created by the tutor
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Course> findByTutorId(UUID tutorId);
 
     /**
@@ -52,6 +63,7 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      * @param pageable pagination information including page number and size
      * @return paginated list of courses with matching names
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Course> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     /**
@@ -62,6 +74,7 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      * @param pageable    pagination information including page number and size
      * @return paginated list of courses with matching names or descriptions
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     Page<Course> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description, Pageable pageable);
 
     /**
@@ -82,6 +95,7 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      * @param pageable Pagination information (page number, size, and sorting options)
      * @return A paginated list of matching enrolled courses
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT c FROM Course c JOIN c.enrollments e WHERE e.studentId = :userId AND " +
             "LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Course> findByEnrollmentsStudentIdAndNameContainingIgnoreCase(UUID userId, String keyword, Pageable pageable);
@@ -95,9 +109,73 @@ public interface CourseRepository extends JpaRepository<Course, UUID> {
      * @param pageable     Pagination information (page number, size, and sorting options)
      * @return A paginated list of matching enrolled courses
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT c FROM Course c JOIN c.enrollments e WHERE e.studentId = :userId AND " +
             "(LOWER(c.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(c.description) LIKE LOWER(CONCAT('%', :keywordAgain, '%')))")
     Page<Course> findByEnrollmentsStudentIdAndNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
             UUID userId, String keyword, String keywordAgain, Pageable pageable);
+
+    /**
+     * Read the stored student count of a course without loading the entity
+     *
+     * @param courseId the course ID
+     * @return the student_count column, or empty if the course does not exist
+     */
+    @Query("SELECT c.studentCount FROM Course c WHERE c.id = :courseId")
+    Optional<Long> findStudentCountById(@Param("courseId") UUID courseId);
+
+    /**
+     * Atomically add a delta to the student count of a course.
+     * The increment happens in the database, so concurrent callers never lose updates.
+     *
+     * @param courseId the course ID
+     * @param delta    number of students to add (negative to remove)
+     * @return number of updated rows (0 if the course does not exist)
+     */
+    @Modifying
+    @Query("UPDATE Course c SET c.studentCount = c.studentCount + :delta WHERE c.id = :courseId")
+    int adjustStudentCount(@Param("courseId") UUID courseId, @Param("delta") long delta);
+
+    /**
+     * Reset every drifted student count to the real number of enrollment rows
+     *
+     * @return number of courses whose count was corrected
+     */
+    @Modifying
+    @Query("UPDATE Course c SET c.studentCount = (SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id) " +
+            "WHERE c.studentCount <> (SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id)")
+    int reconcileStudentCounts();
+
+    /**
+     * Like {@link #reconcileStudentCounts()}, but leave some courses alone
+     *
+     * @param excluded IDs of courses not to touch, e.g. those with unflushed deltas; must not be empty
+     * @return number of courses whose count was corrected
+     */
+    @Modifying
+    @Query("UPDATE Course c SET c.studentCount = (SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id) " +
+            "WHERE c.studentCount <> (SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id) " +
+            "AND c.id NOT IN :excluded")
+    int reconcileStudentCountsExcluding(@Param("excluded") Collection<UUID> excluded);
+
+    /**
+     * Find a course and lock its row, serializing changes to the order of its sections
+     *
+     * @param id the course ID
+     * @return optional course, empty if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Course> findLockedById(UUID id);
+
+    /**
+     * Delete a course in a single statement, without loading it or its children.
+     * Sections, articles, enrollments, reviews and the catalog row go with it via ON DELETE CASCADE.
+     *
+     * @param id the course ID
+     * @return number of deleted courses (0 or 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Course c WHERE c.id = :id")
+    int deleteCourseById(@Param("id") UUID id);
 }
@@ -1,10 +1,19 @@
 package com.example.coursebe.repository;
 
+import com.example.coursebe.dto.CourseEnrollmentDate;
+import com.example.coursebe.dto.EnrolledCourse;
+import com.example.coursebe.dto.RosterEntry;
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Enrollment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,4 +54,88 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
      * @return true if the student is enrolled, false otherwise
      */
     boolean existsByStudentIdAndCourseId(UUID studentId, UUID courseId);
-}
\ No newline at end of file
+
+    /**
+     * Find which of the given courses a student is enrolled in, in a single query
+     * @param studentId the ID of the student
+     * @param courseIds the candidate course IDs
+     * @return IDs of the courses the student is enrolled in
+     */
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.studentId = :studentId AND e.course.id IN :courseIds")
+    List<UUID> findEnrolledCourseIds(@Param("studentId") UUID studentId, @Param("courseIds") Collection<UUID> courseIds);
+
+    /**
+     * Get the first roster page of a course, oldest enrollment first, without hydrating entities
+     * @param courseId the ID of the course
+     * @param pageable page size (the page number is ignored by keyset pagination)
+     * @return roster entries ordered by (enrollment_date, id)
+     */
+    @Query("SELECT new com.example.coursebe.dto.RosterEntry(e.studentId, e.enrollmentDate, e.id) " +
+            "FROM Enrollment e WHERE e.course.id = :courseId ORDER BY e.enrollmentDate, e.id")
+    List<RosterEntry> findRosterFirstPage(@Param("courseId") UUID courseId, Pageable pageable);
+
+    /**
+     * Get the roster page that follows a keyset position.
+     * Served by idx_enrollment_course_date as a range scan, so deep pages cost the same as the first.
+     * @param courseId the ID of the course
+     * @param afterDate enrollment date of the last row of the previous page
+     * @param afterId enrollment ID of the last row of the previous page
+     * @param pageable page size (the page number is ignored by keyset pagination)
+     * @return roster entries ordered by (enrollment_date, id)
+     */
+    @Query("SELECT new com.example.coursebe.dto.RosterEntry(e.studentId, e.enrollmentDate, e.id) " +
+            "FROM Enrollment e WHERE e.course.id = :courseId AND " +
+            "(e.enrollmentDate > :afterDate OR (e.enrollmentDate = :afterDate AND e.id > :afterId)) " +
+            "ORDER BY e.enrollmentDate, e.id")
+    List<RosterEntry> findRosterPageAfter(@Param("courseId") UUID courseId,
+                                          @Param("afterDate") LocalDateTime afterDate,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
+
+    /**
+     * Get the courses a student is enrolled in together with the student's own enrollment date,
+     * without touching any other enrollment of those courses
+     * @param studentId the ID of the student
+     * @param pageable pagination information
+     * @return page of enrolled courses
+     */
+    @Query(value = "SELECT new com.example.coursebe.dto.EnrolledCourse(c, e.enrollmentDate) " +
+            "FROM Enrollment e JOIN e.course c WHERE e.studentId = :studentId",
+            countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.studentId = :studentId")
+    Page<EnrolledCourse> findEnrolledCourses(@Param("studentId") UUID studentId, Pageable pageable);
+
+    /**
+     * Get the courses a student is enrolled in, most recently enrolled first.
+     * The order matches idx_enrollment_student_date, so a page is an index range scan
+     * followed by primary key lookups of its courses.
+     * @param studentId the ID of the student
+     * @param pageable pagination information
+     * @return page of enrolled courses
+     */
+    @Query(value = "SELECT new com.example.coursebe.dto.EnrolledCourse(c, e.enrollmentDate) " +
+            "FROM Enrollment e JOIN e.course c WHERE e.studentId = :studentId " +
+            "ORDER BY e.enrollmentDate DESC, e.course.id",
+            countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.studentId = :studentId")
+    Page<EnrolledCourse> findEnrolledCoursesRecentFirst(@Param("studentId") UUID studentId, Pageable pageable);
+
+    /**
+     * Get one course a student is enrolled in together with the enrollment date
+     * @param studentId the ID of the student
+     * @param courseId the ID of the course
+     * @return the enrolled course, or empty if the student is not enrolled in it
+     */
+    @Query("SELECT new com.example.coursebe.dto.EnrolledCourse(c, e.enrollmentDate) " +
+            "FROM Enrollment e JOIN e.course c WHERE e.studentId = :studentId AND c.id = :courseId")
+    Optional<EnrolledCourse> findEnrolledCourse(@Param("studentId") UUID studentId, @Param("courseId") UUID courseId);
+
+    /**
+     * Get a student's enrollment dates for several courses, e.g. to add dates to one page of
+     * search results in a single query; only the two columns are read, no entities are loaded
+     * @param studentId the ID of the student
+     * @param courseIds the IDs of the courses
+     * @return the dates of the enrolled courses among the given ones, in no particular order
+     */
+    @Query("SELECT new com.example.coursebe.dto.CourseEnrollmentDate(e.course.id, e.enrollmentDate) " +
+            "FROM Enrollment e WHERE e.studentId = :studentId AND e.course.id IN :courseIds")
+    List<CourseEnrollmentDate> findEnrollmentDatesIn(@Param("studentId") UUID studentId, @Param("courseIds") Collection<UUID> courseIds);
+}
@@ -0,0 +1,53 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.dto.RosterEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams a course roster row by row over a forward-only JDBC cursor.
+ * Only student_id and enrollment_date are read and no entities are created, so memory use
+ * stays flat regardless of the roster size. PostgreSQL only honours the fetch size inside
+ * a transaction, so callers must hold one (e.g. {@code @Transactional(readOnly = true)}).
+ */
+@Repository
+public class EnrollmentRosterReader {
+
+    private static final String ROSTER_SQL =
+            "SELECT student_id, enrollment_date, id FROM enrollment WHERE course_id = ? ORDER BY enrollment_date, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public EnrollmentRosterReader(JdbcTemplate jdbcTemplate,
+                                  @Value("${course.roster.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Pass every enrollment of a course to the consumer, oldest first
+     * @param courseId the ID of the course
+     * @param consumer receives each roster entry as it is read
+     */
+    public void streamRoster(UUID courseId, Consumer<RosterEntry> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    ROSTER_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setObject(1, courseId);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(new RosterEntry(
+                rs.getObject("student_id", UUID.class),
+                rs.getObject("enrollment_date", LocalDateTime.class),
+                rs.getObject("id", UUID.class))));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.common.HeavyHitters;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Stores the latest top-K snapshot of each kind of hot key in the hot_key table, so the
+ * heavy hitters survive a restart. A snapshot replaces all rows of its kind; keys are
+ * stored as strings and the caller parses them back. Must run inside the caller's transaction.
+ */
+@Repository
+public class HotKeyRepository {
+
+    private static final String DELETE_SQL = "DELETE FROM hot_key WHERE kind = ?";
+    private static final String INSERT_SQL = "INSERT INTO hot_key (kind, key_value, estimate) VALUES (?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT key_value, estimate FROM hot_key WHERE kind = ? ORDER BY estimate DESC, key_value LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HotKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replace the snapshot of one kind of key
+     * @param kind Kind of key, e.g. "course"
+     * @param entries Keys and estimates, as strings of at most 300 characters
+     */
+    public void replace(String kind, List<HeavyHitters.Entry<String>> entries) {
+        jdbcTemplate.update(DELETE_SQL, kind);
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, kind);
+                ps.setString(2, entries.get(i).key());
+                ps.setInt(3, entries.get(i).estimate());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    /**
+     * Read the most frequent keys of the last snapshot of one kind
+     * @param kind Kind of key
+     * @param limit Maximum number of keys
+     * @return Keys and estimates, most frequent first
+     */
+    public List<HeavyHitters.Entry<String>> findTop(String kind, int limit) {
+        return jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new HeavyHitters.Entry<>(rs.getString("key_value"), rs.getInt("estimate")),
+                kind, limit);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.coursebe.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.coursebe.model.OutboxEvent;
+
+/**
+ * Repository interface for OutboxEvent entities
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock the oldest undelivered events that are due and have not run out of attempts.
+     * Rows locked by another relay are skipped rather than waited for, so several
+     * instances can relay at once, each taking a different batch. An event is skipped while an
+     * older undelivered event of the same aggregate is not due or has run out of attempts, so
+     * each aggregate's events are delivered in order.
+     * Served by idx_outbox_event_unpublished and idx_outbox_event_aggregate_unpublished.
+     *
+     * @param maxAttempts events with this many failed attempts are left alone
+     * @param now events whose next attempt is later than this are left alone
+     * @param limit maximum number of events
+     * @return locked events in ID order
+     */
+    @Query(value = "SELECT * FROM outbox_event e WHERE e.published_at IS NULL AND e.attempts < :maxAttempts " +
+            "AND e.next_attempt_at <= :now AND NOT EXISTS (SELECT 1 FROM outbox_event o " +
+            "WHERE o.aggregate_id = e.aggregate_id AND o.id < e.id AND o.published_at IS NULL " +
+            "AND (o.next_attempt_at > :now OR o.attempts >= :maxAttempts)) " +
+            "ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now,
+                                 @Param("limit") int limit);
+
+    /**
+     * Hide claimed events from other relays until a point in time
+     *
+     * @param ids event IDs
+     * @param until time the events become due again if they are neither published nor failed
+     * @return number of events updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    /**
+     * Mark events as delivered
+     *
+     * @param ids event IDs
+     * @param publishedAt delivery time
+     * @return number of events updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Count a failed delivery attempt of events
+     *
+     * @param ids event IDs
+     * @param error error message, at most 500 characters
+     * @param nextAttemptAt earliest time of the next attempt
+     * @return number of events updated
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+            "e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("error") String error,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Delete events delivered before a point in time
+     *
+     * @param before cutoff
+     * @return number of events deleted
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,78 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.common.RankKeys;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies a new ordering to the sections of a course or the articles of a section
+ * as one JDBC batch: a single round trip regardless of how many rows move, and no
+ * entities are loaded or dirty-checked. Each row gets its index as position and a freshly
+ * spaced rank key, so this also serves to rebalance keys that grew too long.
+ * Each statement is guarded by the parent ID, so rows that moved to another parent
+ * in the meantime are not touched. Must run inside the caller's transaction.
+ */
+@Repository
+public class PositionBatchRepository {
+
+    private static final String REORDER_SECTIONS_SQL =
+            "UPDATE section SET position = ?, rank_key = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND course_id = ?";
+    private static final String REORDER_ARTICLES_SQL =
+            "UPDATE article SET position = ?, rank_key = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ? AND section_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PositionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Set the position and rank key of each section to match its index in the list
+     * @param courseId the course the sections must belong to
+     * @param sectionIds section IDs in their new order
+     * @return number of rows updated
+     */
+    public int reorderSections(UUID courseId, List<UUID> sectionIds) {
+        return reorder(REORDER_SECTIONS_SQL, courseId, sectionIds);
+    }
+
+    /**
+     * Set the position and rank key of each article to match its index in the list
+     * @param sectionId the section the articles must belong to
+     * @param articleIds article IDs in their new order
+     * @return number of rows updated
+     */
+    public int reorderArticles(UUID sectionId, List<UUID> articleIds) {
+        return reorder(REORDER_ARTICLES_SQL, sectionId, articleIds);
+    }
+
+    private int reorder(String sql, UUID parentId, List<UUID> orderedIds) {
+        List<String> rankKeys = RankKeys.spaced(orderedIds.size());
+        int[] counts = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, i);
+                ps.setString(2, rankKeys.get(i));
+                ps.setObject(3, orderedIds.get(i));
+                ps.setObject(4, parentId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return orderedIds.size();
+            }
+        });
+        int updated = 0;
+        for (int count : counts) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            updated += count < 0 ? 1 : count;
+        }
+        return updated;
+    }
+}
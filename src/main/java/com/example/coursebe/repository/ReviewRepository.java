@@ -2,13 +2,28 @@ package com.example.coursebe.repository;
 
 import com.example.coursebe.model.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, UUID> {
     List<Review> findByCourseId(UUID courseId);
     List<Review> findByUserId(UUID userId);
+    long countByCourseId(UUID courseId);
+
+    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.courseId = :courseId")
+    Double findAverageRatingByCourseId(@Param("courseId") UUID courseId);
+
+    @Query("SELECT r.courseId FROM Review r WHERE r.id = :id")
+    Optional<UUID> findCourseIdById(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Review r WHERE r.id = :id")
+    int deleteReviewById(@Param("id") UUID id);
 }
@@ -1,14 +1,26 @@
 package com.example.coursebe.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.coursebe.dto.SectionOutline;
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.dto.SectionSummary;
 import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
 import com.example.coursebe.model.Section;
 
+import jakarta.persistence.LockModeType;
+
 /**
  * Repository interface for Section entity
  * Provides CRUD operations and custom query methods for Section
@@ -40,4 +52,145 @@ public interface SectionRepository extends JpaRepository<Section, UUID> {
      */
     List<Section> findByCourseId(UUID courseId);
 
-}
\ No newline at end of file
+    /**
+     * Find all sections of a course with the given ID, ordered by rank key in the database
+     * (served by idx_section_course_rank)
+     * 
+     * @param courseId the course ID
+     * @return ordered list of sections for the course
+     */
+    List<Section> findByCourseIdOrderByRankKeyAsc(UUID courseId);
+
+    /**
+     * Find up to two consecutive rank keys of a course's sections, used to place a section
+     * between its neighbours without reading the other keys
+     * 
+     * @param courseId the course ID
+     * @param excludedId a section to leave out (the one being moved)
+     * @param offset index of the first key in rank order
+     * @param limit number of keys to read
+     * @return rank keys in order
+     */
+    @Query(value = "SELECT rank_key FROM section WHERE course_id = :courseId AND id <> :excludedId " +
+            "ORDER BY rank_key LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> findRankKeysByCourseIdExcluding(@Param("courseId") UUID courseId, @Param("excludedId") UUID excludedId,
+                                                  @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Find the last rank key of a course's sections, used to append a section
+     * 
+     * @param courseId the course ID
+     * @param excludedId a section to leave out (the one being moved)
+     * @return the greatest rank key, empty if there are no other sections
+     */
+    @Query("SELECT MAX(s.rankKey) FROM Section s WHERE s.course.id = :courseId AND s.id <> :excludedId")
+    Optional<String> findMaxRankKeyByCourseIdExcluding(@Param("courseId") UUID courseId, @Param("excludedId") UUID excludedId);
+
+    /**
+     * Find the first rank key of a course's sections that is greater than the given one
+     * 
+     * @param courseId the course ID
+     * @param excludedId a section to leave out (the one being moved)
+     * @param rankKey the lower bound
+     * @return the next greater rank key, empty if there is none
+     */
+    @Query("SELECT MIN(s.rankKey) FROM Section s WHERE s.course.id = :courseId AND s.id <> :excludedId " +
+            "AND s.rankKey > :rankKey")
+    Optional<String> findNextRankKeyByCourseIdExcluding(@Param("courseId") UUID courseId, @Param("excludedId") UUID excludedId,
+                                                         @Param("rankKey") String rankKey);
+
+    /**
+     * Find a section of a course as a response body, its position derived from rank order
+     * in the same query (served by idx_section_course_rank)
+     * 
+     * @param id the section ID
+     * @param courseId the course the section must belong to
+     * @return optional section response, empty if there is no such section in the course
+     */
+    @Query("SELECT new com.example.coursebe.dto.SectionResponse(s.id, s.course.id, s.title, " +
+            "CAST((SELECT COUNT(o) FROM Section o WHERE o.course.id = s.course.id AND o.rankKey < s.rankKey) AS Integer), " +
+            "s.createdAt, s.updatedAt) FROM Section s WHERE s.id = :id AND s.course.id = :courseId")
+    Optional<SectionResponse> findResponseById(@Param("id") UUID id, @Param("courseId") UUID courseId);
+
+    /**
+     * Find the sections of a course as closed projections, ordered by rank key
+     * @param courseId the course ID
+     * @return section summaries (id, title, position derived from rank order) without articles
+     */
+    @Query("SELECT s.id AS id, s.title AS title, CAST(ROW_NUMBER() OVER (ORDER BY s.rankKey) - 1 AS Integer) AS position " +
+            "FROM Section s WHERE s.course.id = :courseId ORDER BY s.rankKey")
+    List<SectionSummary> findSummariesByCourseIdOrderByRankKeyAsc(@Param("courseId") UUID courseId);
+
+    /**
+     * Find the section titles of several courses in one query, e.g. for a page of course responses
+     * @param courseIds the course IDs
+     * @return section outlines, ordered by course and then rank key
+     */
+    @Query("SELECT s.course.id AS courseId, s.id AS id, s.title AS title FROM Section s " +
+            "WHERE s.course.id IN :courseIds ORDER BY s.course.id, s.rankKey")
+    List<SectionOutline> findOutlinesByCourseIdIn(@Param("courseIds") Collection<UUID> courseIds);
+
+    /**
+     * Find the IDs of all sections of a course, without loading the sections
+     * @param courseId the course ID
+     * @return section IDs of the course
+     */
+    @Query("SELECT s.id FROM Section s WHERE s.course.id = :courseId")
+    List<UUID> findIdsByCourseId(@Param("courseId") UUID courseId);
+
+    /**
+     * Find the IDs of all sections of a course in rank order
+     * @param courseId the course ID
+     * @return ordered section IDs of the course
+     */
+    @Query("SELECT s.id FROM Section s WHERE s.course.id = :courseId ORDER BY s.rankKey")
+    List<UUID> findIdsByCourseIdOrderByRankKey(@Param("courseId") UUID courseId);
+
+    /**
+     * Find the courses that have a section whose rank key grew past the given length
+     * @param maxLength the longest acceptable key
+     * @return IDs of courses whose section keys should be respaced
+     */
+    @Query("SELECT DISTINCT s.course.id FROM Section s WHERE LENGTH(s.rankKey) > :maxLength")
+    List<UUID> findCourseIdsWithRankKeysLongerThan(@Param("maxLength") int maxLength);
+
+    /**
+     * Find a section and lock its row, serializing changes to the order of its articles
+     * @param id the section ID
+     * @return optional section, empty if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Section> findLockedById(UUID id);
+
+    /**
+     * Delete a section in a single statement, without loading it or its articles
+     * (the articles go with it via ON DELETE CASCADE)
+     * @param id the section ID
+     * @return number of deleted sections (0 or 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Section s WHERE s.id = :id")
+    int deleteSectionById(@Param("id") UUID id);
+
+    /**
+     * Find the ID of the course a section belongs to
+     * 
+     * @param id the section ID
+     * @return optional course ID, empty if the section does not exist
+     */
+    @Query("SELECT s.course.id FROM Section s WHERE s.id = :id")
+    Optional<UUID> findCourseIdById(@Param("id") UUID id);
+
+    /**
+     * Build the catalog section entries of a course (ID, title and article count),
+     * ordered by rank key, in a single grouped query
+     * 
+     * @param courseId the course ID
+     * @return ordered catalog section entries
+     */
+    @Query("SELECT new com.example.coursebe.model.CourseCatalogView$CatalogSection(s.id, s.title, COUNT(a)) " +
+           "FROM Section s LEFT JOIN s.articles a WHERE s.course.id = :courseId " +
+           "GROUP BY s.id, s.title, s.rankKey ORDER BY s.rankKey")
+    List<CourseCatalogView.CatalogSection> findCatalogSectionsByCourseId(@Param("courseId") UUID courseId);
+
+}
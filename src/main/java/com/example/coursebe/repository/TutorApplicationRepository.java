@@ -1,12 +1,18 @@
 package com.example.coursebe.repository;
 
 import com.example.coursebe.model.TutorApplication;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,7 +22,8 @@ import java.util.UUID;
  * Provides CRUD operations and custom query methods for TutorApplication
  */
 @Repository
-public interface TutorApplicationRepository extends JpaRepository<TutorApplication, UUID> {
+public interface TutorApplicationRepository extends JpaRepository<TutorApplication, UUID>,
+        TutorApplicationRepositoryCustom {
     
     /**
      * Find all applications submitted by a specific student
@@ -45,7 +52,9 @@ public interface TutorApplicationRepository extends JpaRepository<TutorApplicati
      * @param status the PENDING status
      * @return true if the student has a pending application, false otherwise
      */
-    boolean existsByStudentIdAndStatus(UUID studentId, TutorApplication.Status status);    /**
+    boolean existsByStudentIdAndStatus(UUID studentId, TutorApplication.Status status);
+    
+    /**
      * Delete the most recent application by student ID in a single query
      * This is optimized to reduce database round trips
      * Uses a more efficient approach with proper indexing support
@@ -68,6 +77,15 @@ public interface TutorApplicationRepository extends JpaRepository<TutorApplicati
     @Modifying
     int deleteByStudentId(UUID studentId);
     
+    /**
+     * Delete an application by ID in a single statement, without loading it first
+     * @param id the application ID
+     * @return number of deleted records (0 or 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TutorApplication t WHERE t.id = :id")
+    int deleteApplicationById(@Param("id") UUID id);
+    
     /**
      * Batch delete applications by status
      * Useful for administrative cleanup
@@ -84,4 +102,78 @@ public interface TutorApplicationRepository extends JpaRepository<TutorApplicati
      */
     @Query("SELECT t FROM TutorApplication t WHERE t.createdAt < CURRENT_TIMESTAMP - :daysOld DAY")
     List<TutorApplication> findApplicationsOlderThan(@Param("daysOld") int daysOld);
+    
+    /**
+     * Get a page of the review queue, oldest applications first.
+     * Served by idx_tutor_application_status_created.
+     * @param status the application status
+     * @param pageable pagination information
+     * @return page of applications
+     */
+    @Query("SELECT t FROM TutorApplication t WHERE t.status = :status ORDER BY t.createdAt, t.id")
+    Page<TutorApplication> findQueuePage(@Param("status") TutorApplication.Status status, Pageable pageable);
+    
+    /**
+     * Lock the oldest pending applications that nobody holds a live claim on.
+     * Rows locked by a concurrent claim are skipped instead of waited for, so reviewers
+     * claiming at the same time get different applications.
+     * @param now current time; claims that ran out before it are free again
+     * @param limit maximum number of applications
+     * @return the locked applications, oldest first
+     */
+    @Query(value = "SELECT * FROM tutor_application WHERE status = 'PENDING' " +
+                   "AND (claimed_until IS NULL OR claimed_until < :now) " +
+                   "ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<TutorApplication> findClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    /**
+     * Give applications to a reviewer until a lease expires
+     * @param ids the application IDs
+     * @param reviewerId the reviewer
+     * @param claimedUntil end of the lease
+     * @return number of claimed applications
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TutorApplication t SET t.claimedBy = :reviewerId, t.claimedUntil = :claimedUntil WHERE t.id IN :ids")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("reviewerId") UUID reviewerId,
+              @Param("claimedUntil") LocalDateTime claimedUntil);
+    
+    /**
+     * Lock the applications a reviewer may decide: in one of the given statuses and not
+     * claimed by another reviewer. Locked in ID order so overlapping batches cannot deadlock.
+     * @param ids the application IDs
+     * @param fromStatuses statuses the decision may be applied to
+     * @param reviewerId the reviewer
+     * @param now current time
+     * @return the decidable applications
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TutorApplication t WHERE t.id IN :ids AND t.status IN :fromStatuses " +
+           "AND (t.claimedUntil IS NULL OR t.claimedUntil < :now OR t.claimedBy = :reviewerId) ORDER BY t.id")
+    List<TutorApplication> findDecidableForUpdate(@Param("ids") Collection<UUID> ids,
+                                                  @Param("fromStatuses") Collection<TutorApplication.Status> fromStatuses,
+                                                  @Param("reviewerId") UUID reviewerId,
+                                                  @Param("now") LocalDateTime now);
+    
+    /**
+     * Apply a decision to many applications in one statement and release their claims.
+     * Applications not in one of the given statuses, or claimed by another reviewer, are left alone.
+     * @param ids the application IDs
+     * @param fromStatuses statuses the decision may be applied to
+     * @param status the new status
+     * @param reviewerId the reviewer
+     * @param now current time
+     * @return number of updated applications
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TutorApplication t SET t.status = :status, t.updatedAt = :now, " +
+           "t.claimedBy = NULL, t.claimedUntil = NULL " +
+           "WHERE t.id IN :ids AND t.status IN :fromStatuses " +
+           "AND (t.claimedUntil IS NULL OR t.claimedUntil < :now OR t.claimedBy = :reviewerId)")
+    int decide(@Param("ids") Collection<UUID> ids,
+               @Param("fromStatuses") Collection<TutorApplication.Status> fromStatuses,
+               @Param("status") TutorApplication.Status status,
+               @Param("reviewerId") UUID reviewerId,
+               @Param("now") LocalDateTime now);
 }
\ No newline at end of file
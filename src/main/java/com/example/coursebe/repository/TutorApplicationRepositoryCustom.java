@@ -0,0 +1,17 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.model.TutorApplication;
+
+/**
+ * TutorApplicationRepository methods that Spring Data cannot derive or express as one query
+ */
+public interface TutorApplicationRepositoryCustom {
+
+    /**
+     * Insert a new PENDING application unless the student already has one, as one statement.
+     * Concurrent submits for the same student insert at most one row.
+     * @param application the new application; its timestamps are set on insert
+     * @return true if the application was inserted, false if the student already had a pending one
+     */
+    boolean insertIfNoPending(TutorApplication application);
+}
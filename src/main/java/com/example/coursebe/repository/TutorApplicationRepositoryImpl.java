@@ -0,0 +1,66 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.common.DatabaseProduct;
+import com.example.coursebe.model.TutorApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * On Postgres the pending check is the partial unique index from V18, and a conflicting insert
+ * does nothing, so the statement is race-free. Other databases (the H2 tests) have neither the
+ * index nor ON CONFLICT and fall back to a NOT EXISTS guard in the same statement.
+ * The database is identified from the JDBC metadata on first use.
+ */
+class TutorApplicationRepositoryImpl implements TutorApplicationRepositoryCustom {
+
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO tutor_application "
+            + "(id, student_id, status, created_at, updated_at) VALUES (?, ?, 'PENDING', ?, ?) "
+            + "ON CONFLICT (student_id) WHERE status = 'PENDING' DO NOTHING";
+    private static final String PORTABLE_INSERT_SQL = "INSERT INTO tutor_application "
+            + "(id, student_id, status, created_at, updated_at) SELECT ?, ?, 'PENDING', ?, ? "
+            + "WHERE NOT EXISTS (SELECT 1 FROM tutor_application WHERE student_id = ? AND status = 'PENDING')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    TutorApplicationRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insertIfNoPending(TutorApplication application) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int inserted;
+        try {
+            inserted = isPostgres()
+                    ? jdbcTemplate.update(POSTGRES_INSERT_SQL,
+                            application.getId(), application.getStudentId(), timestamp, timestamp)
+                    : jdbcTemplate.update(PORTABLE_INSERT_SQL,
+                            application.getId(), application.getStudentId(), timestamp, timestamp,
+                            application.getStudentId());
+        } catch (DuplicateKeyException ex) {
+            // The portable statement on a database that has the unique index: a concurrent submit won
+            return false;
+        }
+        if (inserted == 0) {
+            return false;
+        }
+        application.setStatus(TutorApplication.Status.PENDING);
+        application.setCreatedAt(now);
+        application.setUpdatedAt(now);
+        return true;
+    }
+
+    private boolean isPostgres() {
+        Boolean detected = postgres;
+        if (detected == null) {
+            detected = DatabaseProduct.isPostgres(jdbcTemplate.getDataSource());
+            postgres = detected;
+        }
+        return detected;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.dto.ArticleResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.model.Article;
 
 import java.util.List;
@@ -17,6 +19,13 @@ public interface ArticleService {
      * @return List of articles for the section, ordered by position
      */
     List<Article> getArticlesBySectionId(UUID sectionId);
+
+    /**
+     * Get the table of contents of a section without article content
+     * @param sectionId Section ID
+     * @return List of article summaries, ordered by position
+     */
+    List<ArticleSummary> getArticleSummariesBySectionId(UUID sectionId);
     
     /**
      * Get article by ID
@@ -25,6 +34,15 @@ public interface ArticleService {
      */
     Optional<Article> getArticleById(UUID id);
     
+    /**
+     * Get an article of a section as a response body, its position derived from rank order in the same query
+     * @param courseId Course ID
+     * @param sectionId Section ID
+     * @param id Article ID
+     * @return Optional containing the article if it exists in the section of the course
+     */
+    Optional<ArticleResponse> getArticleResponse(UUID courseId, UUID sectionId, UUID id);
+    
     /**
      * Create a new article for a section
      * @param sectionId Section ID
@@ -41,9 +59,9 @@ public interface ArticleService {
      * @param title Updated title
      * @param content Updated content
      * @param position Updated position
-     * @return Updated article or empty optional if not found
+     * @return Updated article with its position, or empty optional if not found
      */
-    Optional<Article> updateArticle(UUID id, String title, String content, Integer position);
+    Optional<ArticleResponse> updateArticle(UUID id, String title, String content, Integer position);
     
     /**
      * Delete an article
@@ -56,7 +74,7 @@ public interface ArticleService {
      * Reorder articles within a section
      * @param sectionId Section ID
      * @param articleIds Ordered list of article IDs
-     * @return List of updated articles or empty list if section not found
+     * @return The section's articles in their new order, or empty list if section not found
      */
-    List<Article> reorderArticles(UUID sectionId, List<UUID> articleIds);
+    List<ArticleSummary> reorderArticles(UUID sectionId, List<UUID> articleIds);
 }
\ No newline at end of file
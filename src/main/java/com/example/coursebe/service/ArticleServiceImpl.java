@@ -1,42 +1,65 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.common.RankKeys;
+import com.example.coursebe.dto.ArticleResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.model.Article;
 import com.example.coursebe.model.Section;
 import com.example.coursebe.repository.ArticleRepository;
+import com.example.coursebe.repository.PositionBatchRepository;
 import com.example.coursebe.repository.SectionRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of ArticleService
  */
 @Service
+@Transactional(readOnly = true)
 public class ArticleServiceImpl implements ArticleService {
 
     private final ArticleRepository articleRepository;
     private final SectionRepository sectionRepository;
+    private final CourseCatalogProjector catalogProjector;
+    private final PositionBatchRepository positionBatchRepository;
+    private final int maxKeyLength;
 
-    public ArticleServiceImpl(ArticleRepository articleRepository, SectionRepository sectionRepository) {
+    public ArticleServiceImpl(ArticleRepository articleRepository, SectionRepository sectionRepository,
+                              CourseCatalogProjector catalogProjector, PositionBatchRepository positionBatchRepository,
+                              @Value("${course.rank.max-key-length:16}") int maxKeyLength) {
         this.articleRepository = articleRepository;
         this.sectionRepository = sectionRepository;
+        this.catalogProjector = catalogProjector;
+        this.positionBatchRepository = positionBatchRepository;
+        this.maxKeyLength = maxKeyLength;
     }
 
     @Override
     public List<Article> getArticlesBySectionId(UUID sectionId) {
-        return articleRepository.findBySectionId(sectionId).stream()
-                .sorted((a1, a2) -> a1.getPosition().compareTo(a2.getPosition()))
-                .collect(Collectors.toList());
+        return articleRepository.findBySectionIdOrderByRankKeyAsc(sectionId);
+    }
+
+    @Override
+    public List<ArticleSummary> getArticleSummariesBySectionId(UUID sectionId) {
+        return articleRepository.findSummariesBySectionId(sectionId);
     }
 
     @Override
     public Optional<Article> getArticleById(UUID id) {
-        return articleRepository.findById(id);
+        return articleRepository.findWithSectionById(id);
+    }
+
+    @Override
+    public Optional<ArticleResponse> getArticleResponse(UUID courseId, UUID sectionId, UUID id) {
+        return articleRepository.findResponseById(id, sectionId, courseId);
     }
 
     @Override
@@ -50,37 +73,36 @@ public class ArticleServiceImpl implements ArticleService {
             throw new IllegalArgumentException("Article title cannot be empty");
         }
 
-        // Find section
-        Optional<Section> optionalSection = sectionRepository.findById(sectionId);
+        // Find section (locked, so concurrent inserts and rebalancing see each other's keys)
+        Optional<Section> optionalSection = sectionRepository.findLockedById(sectionId);
         if (optionalSection.isEmpty()) {
             return null;
         }
         Section section = optionalSection.get();
 
-        // If position is null, calculate next position
-        if (position == null) {
-            List<Article> existingArticles = articleRepository.findBySection(section);
-            position = existingArticles.size();
-        }
-
         // Create and link article
         Article article = new Article(title, content, position);
         article.setSection(section);
 
-        // Save and return
-        return articleRepository.save(article);
+        // Place it between its neighbours by rank key; if position is null, append after the last article
+        placeAt(article, position);
+
+        // Save and return (article counts are part of the catalog projection)
+        Article savedArticle = articleRepository.save(article);
+        catalogProjector.refreshSections(section.getCourse().getId());
+        return savedArticle;
     }
 
     @Override
     @Transactional
-    public Optional<Article> updateArticle(UUID id, String title, String content, Integer position) {
+    public Optional<ArticleResponse> updateArticle(UUID id, String title, String content, Integer position) {
         // Validate inputs
         if (id == null) {
             throw new IllegalArgumentException("Article ID cannot be null");
         }
 
-        // Find article
-        Optional<Article> optionalArticle = articleRepository.findById(id);
+        // Find article (with its section, whose course the response query checks)
+        Optional<Article> optionalArticle = articleRepository.findWithSectionById(id);
         if (optionalArticle.isEmpty()) {
             return Optional.empty();
         }
@@ -97,12 +119,14 @@ public class ArticleServiceImpl implements ArticleService {
         }
         
         if (position != null) {
-            article.setPosition(position);
+            sectionRepository.findLockedById(article.getSection().getId());
+            placeAt(article, position);
         }
         
-        // Save and return
+        // Save and return, reading the position back with the flushed row
         Article updatedArticle = articleRepository.save(article);
-        return Optional.of(updatedArticle);
+        Section section = updatedArticle.getSection();
+        return articleRepository.findResponseById(id, section.getId(), section.getCourse().getId());
     }
 
     @Override
@@ -113,9 +137,10 @@ public class ArticleServiceImpl implements ArticleService {
             throw new IllegalArgumentException("Article ID cannot be null");
         }
         
-        // Check if article exists
-        if (articleRepository.existsById(id)) {
-            articleRepository.deleteById(id);
+        // Check if article exists (resolving its course for the catalog projection)
+        Optional<UUID> courseId = articleRepository.findCourseIdById(id);
+        if (courseId.isPresent() && articleRepository.deleteArticleById(id) > 0) {
+            catalogProjector.refreshSections(courseId.get());
             return true;
         }
         
@@ -124,7 +149,7 @@ public class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional
-    public List<Article> reorderArticles(UUID sectionId, List<UUID> articleIds) {
+    public List<ArticleSummary> reorderArticles(UUID sectionId, List<UUID> articleIds) {
         // Validate inputs
         if (sectionId == null) {
             throw new IllegalArgumentException("Section ID cannot be null");
@@ -134,36 +159,69 @@ public class ArticleServiceImpl implements ArticleService {
         }
 
         // Check section exists
-        Optional<Section> optionalSection = sectionRepository.findById(sectionId);
-        if (optionalSection.isEmpty()) {
+        if (!sectionRepository.existsById(sectionId)) {
             return new ArrayList<>();
         }
-        Section section = optionalSection.get();
-
-        // Get all articles of the section
-        List<Article> articles = articleRepository.findBySection(section);
 
-        // Make sure all specified articles belong to the section
+        // Make sure all specified articles belong to the section (O(1) lookups, IDs only)
+        Set<UUID> sectionArticleIds = new HashSet<>(articleRepository.findIdsBySectionId(sectionId));
+        Set<UUID> seen = new HashSet<>();
         for (UUID id : articleIds) {
-            boolean found = articles.stream().anyMatch(article -> article.getId().equals(id));
-            if (!found) {
+            if (!sectionArticleIds.contains(id)) {
                 throw new IllegalArgumentException("All articles must belong to the specified section");
             }
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException("Article IDs list cannot contain duplicates");
+            }
         }
 
-        // Update positions
-        List<Article> updatedArticles = new ArrayList<>();
-        for (int i = 0; i < articleIds.size(); i++) {
-            UUID articleId = articleIds.get(i);
-            Optional<Article> optionalArticle = articles.stream()
-                    .filter(a -> a.getId().equals(articleId))
-                    .findFirst();
-            if (optionalArticle.isPresent()) {
-                Article article = optionalArticle.get();
-                article.setPosition(i);
-                updatedArticles.add(articleRepository.save(article));
+        // Update all positions in one batch
+        // A row that moved to another section since the check is not updated; roll back instead
+        if (positionBatchRepository.reorderArticles(sectionId, articleIds) != articleIds.size()) {
+            throw new IllegalArgumentException("All articles must belong to the specified section");
+        }
+        return articleRepository.findSummariesBySectionId(sectionId);
+    }
+
+    // Gives the article a rank key between the articles at position - 1 and position, reading at most
+    // two neighbouring keys, so inserting or moving it writes only this row. Once repeated inserts at
+    // one spot grow the key past the limit, the other articles of the section are respaced first; the
+    // caller holds the section row lock, so nothing else computes keys from the old spacing meanwhile
+    private void placeAt(Article article, Integer position) {
+        UUID sectionId = article.getSection().getId();
+        UUID articleId = article.getId();
+        String rankKey = rankKeyAt(sectionId, articleId, position);
+        if (rankKey.length() > maxKeyLength) {
+            List<UUID> others = articleRepository.findIdsBySectionIdOrderByRankKey(sectionId).stream()
+                    .filter(id -> !id.equals(articleId))
+                    .toList();
+            positionBatchRepository.reorderArticles(sectionId, others);
+            rankKey = rankKeyAt(sectionId, articleId, position);
+        }
+        article.setRankKey(rankKey);
+    }
+
+    private String rankKeyAt(UUID sectionId, UUID articleId, Integer position) {
+        int index = position == null ? -1 : Math.max(0, position);
+        List<String> neighbours = index < 0 ? List.of()
+                : articleRepository.findRankKeysBySectionIdExcluding(sectionId, articleId, Math.max(0, index - 1), index == 0 ? 1 : 2);
+        String lower;
+        String upper;
+        if (index == 0) {
+            lower = null;
+            upper = neighbours.isEmpty() ? null : neighbours.get(0);
+        } else if (neighbours.isEmpty()) {
+            // Appending, or a position past the end
+            lower = articleRepository.findMaxRankKeyBySectionIdExcluding(sectionId, articleId).orElse(null);
+            upper = null;
+        } else {
+            lower = neighbours.get(0);
+            upper = neighbours.size() > 1 ? neighbours.get(1) : null;
+            if (upper != null && upper.compareTo(lower) <= 0) {
+                // Equal keys (rows backfilled from equal positions); the article goes after all of them
+                upper = articleRepository.findNextRankKeyBySectionIdExcluding(sectionId, articleId, lower).orElse(null);
             }
         }
-        return updatedArticles;
+        return RankKeys.between(lower, upper);
     }
 }
\ No newline at end of file
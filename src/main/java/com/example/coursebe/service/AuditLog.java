@@ -0,0 +1,204 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.common.RingBuffer;
+import com.example.coursebe.dto.AuditEvent;
+import com.example.coursebe.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind audit log. Request threads only put events into a lock-free {@link RingBuffer};
+ * a single flusher thread writes them to audit_log in JDBC batches, as soon as a full batch is
+ * waiting or at the latest every {@code flush-interval-ms}.
+ * <p>
+ * When the buffer is full the caller waits up to {@code offer-timeout-ms} for the flusher to make
+ * room, then drops the event and counts it in {@code audit.events.dropped{reason=buffer-full}};
+ * a batch the database rejects is counted with {@code reason=write-failed}. Stopping (graceful
+ * shutdown, after the web server stopped taking requests) flushes everything still buffered;
+ * events recorded after that are written directly.
+ */
+@Service
+public class AuditLog implements SmartLifecycle {
+
+    static final String RECORDED_METRIC = "audit.events.recorded";
+    static final String DROPPED_METRIC = "audit.events.dropped";
+    static final String WRITTEN_METRIC = "audit.events.written";
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final RingBuffer<AuditEvent> buffer;
+    private final Counter recorded;
+    private final Counter droppedFull;
+    private final Counter droppedFailed;
+    private final Counter written;
+    private final Timer flushes;
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public AuditLog(AuditLogRepository auditLogRepository,
+                    TransactionTemplate transactionTemplate,
+                    MeterRegistry meterRegistry,
+                    @Value("${course.audit.enabled:true}") boolean enabled,
+                    @Value("${course.audit.buffer-capacity:8192}") int bufferCapacity,
+                    @Value("${course.audit.batch-size:500}") int batchSize,
+                    @Value("${course.audit.flush-interval-ms:1000}") long flushIntervalMs,
+                    @Value("${course.audit.offer-timeout-ms:5}") long offerTimeoutMs) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Audit batch size must be positive");
+        }
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.recorded = Counter.builder(RECORDED_METRIC)
+                .description("Audit events accepted into the buffer")
+                .register(meterRegistry);
+        this.droppedFull = Counter.builder(DROPPED_METRIC)
+                .description("Audit events lost")
+                .tag("reason", "buffer-full")
+                .register(meterRegistry);
+        this.droppedFailed = Counter.builder(DROPPED_METRIC)
+                .description("Audit events lost")
+                .tag("reason", "write-failed")
+                .register(meterRegistry);
+        this.written = Counter.builder(WRITTEN_METRIC)
+                .description("Audit events written to the database")
+                .register(meterRegistry);
+        this.flushes = Timer.builder("audit.flush")
+                .description("Time to write one batch of audit events")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, RingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an event for writing. Never blocks for longer than the offer timeout.
+     * @param event Audit event
+     */
+    public void record(AuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!running) {
+            // Not started yet or already stopped: nothing would flush the buffer
+            write(List.of(event));
+            return;
+        }
+        if (buffer.offer(event)) {
+            recorded.increment();
+            if (!running) {
+                // Raced with stop(), which may already have done its final flush
+                flush();
+            } else if (buffer.size() >= batchSize) {
+                LockSupport.unpark(flusher);
+            }
+            return;
+        }
+        // Backpressure: wake the flusher and give it a moment to make room
+        LockSupport.unpark(flusher);
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            if (buffer.offer(event)) {
+                recorded.increment();
+                return;
+            }
+        }
+        droppedFull.increment();
+    }
+
+    /**
+     * Write everything buffered so far
+     * @return Number of events written or dropped
+     */
+    public synchronized int flush() {
+        List<AuditEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.capacity()));
+        int flushed = 0;
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            flushed += batch.size();
+            batch.clear();
+        }
+        return flushed;
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            flushes.record(() -> transactionTemplate.executeWithoutResult(status -> auditLogRepository.insertBatch(batch)));
+            written.increment(batch.size());
+        } catch (RuntimeException ex) {
+            droppedFailed.increment(batch.size());
+            logger.warn("Failed to write {} audit events", batch.size(), ex);
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flush();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::flushLoop, "audit-log-flusher");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = flusher;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        int flushed = flush();
+        logger.info("Audit log stopped, flushed {} buffered events", flushed);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server (DEFAULT_PHASE - 2048), so requests still in flight are audited
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.common.DatabaseProduct;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Tells the in-process caches of every instance that an entity changed.
+ * <p>
+ * The write paths publish a change inside their transaction. Local subscribers get it after
+ * the commit; other instances get it through Postgres {@code pg_notify}, which is also only
+ * delivered on commit, and is received by each node's LISTEN connection (see
+ * PgInvalidationListener). A node that lost that connection may have missed changes, so it
+ * asks for a full flush when it reconnects. On other databases (the H2 tests) only the local
+ * subscribers are told; the database is identified from the JDBC metadata at startup.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    public static final String CHANNEL = "course_cache_invalidation";
+    static final String PUBLISHED_METRIC = "cache.invalidation.published";
+    static final String RECEIVED_METRIC = "cache.invalidation.received";
+    static final String FULL_FLUSHES_METRIC = "cache.invalidation.full.flushes";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Kinds of entity that in-process caches may hold
+     */
+    public enum Entity {
+        // Keyed by course ID; a course was created, updated or deleted
+        COURSE,
+        // Keyed by course ID; only the derived catalog columns (sections, student count, rating) changed
+        CATALOG_ROW
+    }
+
+    /**
+     * A changed entity
+     * @param entity Kind of entity
+     * @param id Entity key, or null when every entity of the kind may have changed
+     */
+    public record Change(Entity entity, UUID id) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean notify;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<Change>> subscribers = new CopyOnWriteArrayList<>();
+    private final List<Runnable> flushSubscribers = new CopyOnWriteArrayList<>();
+    private final Counter published;
+    private final Counter received;
+    private final Counter fullFlushes;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                DataSource dataSource,
+                                MeterRegistry meterRegistry,
+                                @Value("${course.cache.invalidation.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notify = enabled && DatabaseProduct.isPostgres(dataSource);
+        this.published = Counter.builder(PUBLISHED_METRIC)
+                .description("Entity changes sent to the other instances")
+                .register(meterRegistry);
+        this.received = Counter.builder(RECEIVED_METRIC)
+                .description("Entity changes received from other instances")
+                .register(meterRegistry);
+        this.fullFlushes = Counter.builder(FULL_FLUSHES_METRIC)
+                .description("Full cache flushes after possibly missing changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return Whether changes are sent to other instances, i.e. the database is Postgres
+     */
+    public boolean isDistributed() {
+        return notify;
+    }
+
+    /**
+     * Publish a change. Within a transaction it only takes effect on commit, everywhere.
+     * @param entity Kind of entity
+     * @param id Entity key, or null for every entity of the kind
+     */
+    public void publish(Entity entity, UUID id) {
+        Change change = new Change(entity, id);
+        if (notify) {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, serialize(change));
+            published.increment();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(change);
+                }
+            });
+        } else {
+            dispatch(change);
+        }
+    }
+
+    /**
+     * @param subscriber Called with every change, local ones after commit
+     */
+    public void subscribe(Consumer<Change> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * @param subscriber Called when changes may have been missed; must drop everything it caches
+     */
+    public void onFullFlush(Runnable subscriber) {
+        flushSubscribers.add(subscriber);
+    }
+
+    /**
+     * Handle a notification payload from the LISTEN connection. This node's own changes
+     * were already dispatched on commit and are skipped.
+     * @param payload Notification payload
+     */
+    public void receive(String payload) {
+        Change change;
+        String origin;
+        try {
+            String[] parts = payload.split(String.valueOf(SEPARATOR), 3);
+            origin = parts[0];
+            change = new Change(Entity.valueOf(parts[1]), parts[2].isEmpty() ? null : UUID.fromString(parts[2]));
+        } catch (RuntimeException ex) {
+            logger.warn("Ignoring malformed cache invalidation {}", payload);
+            return;
+        }
+        if (!nodeId.equals(origin)) {
+            received.increment();
+            dispatch(change);
+        }
+    }
+
+    /**
+     * Drop everything every subscriber caches, after changes may have been missed
+     */
+    public void fullFlush() {
+        fullFlushes.increment();
+        flushSubscribers.forEach(Runnable::run);
+    }
+
+    private String serialize(Change change) {
+        return nodeId + SEPARATOR + change.entity() + SEPARATOR + (change.id() == null ? "" : change.id());
+    }
+
+    private void dispatch(Change change) {
+        for (Consumer<Change> subscriber : subscribers) {
+            try {
+                subscriber.accept(change);
+            } catch (RuntimeException ex) {
+                logger.warn("Cache invalidation subscriber failed for {}", change, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.common.CountMinSketch;
+import com.example.coursebe.common.HeavyHitters;
+import com.example.coursebe.config.Bulkhead;
+import com.example.coursebe.repository.HotKeyRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tracks which courses and searches are hot, in fixed memory: a count-min sketch per kind
+ * estimates every key's recent frequency and a small top-K keeps the heaviest hitters.
+ * Fed from the course detail and search requests. The estimates drive TinyLFU admission
+ * into the search cache, and the top-K is snapshotted to the hot_key table so that a
+ * restarted instance knows what to preload. Each instance overwrites the snapshot with
+ * its own view; with a load balancer in front they see the same distribution.
+ */
+@Service
+public class CourseAccessTracker {
+
+    static final String COURSE_KIND = "course";
+    static final String SEARCH_KIND = "search";
+    // hot_key.key_value holds the strategy, a separator and the keyword
+    private static final int MAX_KEY_LENGTH = 300;
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseAccessTracker.class);
+
+    /**
+     * A search, identified by its strategy and lower-cased keyword
+     */
+    public record SearchTerm(String type, String keyword) {
+
+        private static final char SEPARATOR = ':';
+
+        static SearchTerm of(String type, String keyword) {
+            return new SearchTerm(type, CourseListingCache.normalizeKeyword(keyword));
+        }
+
+        private String serialize() {
+            return type + SEPARATOR + keyword;
+        }
+
+        private static SearchTerm parse(String value) {
+            int separator = value.indexOf(SEPARATOR);
+            return new SearchTerm(value.substring(0, separator), value.substring(separator + 1));
+        }
+    }
+
+    private final HotKeyRepository hotKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final HeavyHitters<UUID> courses;
+    private final HeavyHitters<SearchTerm> searches;
+
+    public CourseAccessTracker(HotKeyRepository hotKeyRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${course.hot-keys.top-k:50}") int topK,
+                               @Value("${course.hot-keys.sketch-width:4096}") int sketchWidth,
+                               @Value("${course.hot-keys.sketch-depth:4}") int sketchDepth) {
+        this.hotKeyRepository = hotKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        // Halve after ten additions per counter, so the sketch follows the last few hours of traffic
+        this.courses = new HeavyHitters<>(topK, new CountMinSketch(sketchWidth, sketchDepth, sketchWidth * 10));
+        this.searches = new HeavyHitters<>(topK, new CountMinSketch(sketchWidth, sketchDepth, sketchWidth * 10));
+    }
+
+    /**
+     * Count a read of a course
+     * @param courseId Course ID
+     */
+    public void recordCourseRead(UUID courseId) {
+        if (courseId != null) {
+            courses.record(courseId);
+        }
+    }
+
+    /**
+     * Count a search
+     * @param type Search strategy type
+     * @param keyword Search keyword
+     */
+    public void recordSearch(String type, String keyword) {
+        if (type != null && keyword != null) {
+            searches.record(SearchTerm.of(type, keyword));
+        }
+    }
+
+    /**
+     * @param type Search strategy type
+     * @param keyword Search keyword
+     * @return Estimated recent frequency of the search
+     */
+    public int searchFrequency(String type, String keyword) {
+        return searches.frequency(SearchTerm.of(type, keyword));
+    }
+
+    /**
+     * @return The most read courses, most frequent first
+     */
+    public List<HeavyHitters.Entry<UUID>> topCourses() {
+        return courses.top();
+    }
+
+    /**
+     * @return The most frequent searches, most frequent first
+     */
+    public List<HeavyHitters.Entry<SearchTerm>> topSearches() {
+        return searches.top();
+    }
+
+    /**
+     * Courses worth preloading: the live top-K, or the last snapshot while this instance has seen no traffic
+     * @param limit Maximum number of courses
+     * @return Course IDs, most frequent first
+     */
+    public List<UUID> hotCourses(int limit) {
+        List<HeavyHitters.Entry<UUID>> live = topCourses();
+        if (!live.isEmpty()) {
+            return live.stream().limit(limit).map(HeavyHitters.Entry::key).toList();
+        }
+        return hotKeyRepository.findTop(COURSE_KIND, limit).stream()
+                .map(entry -> UUID.fromString(entry.key()))
+                .toList();
+    }
+
+    /**
+     * Searches worth preloading: the live top-K, or the last snapshot while this instance has seen no traffic
+     * @param limit Maximum number of searches
+     * @return Searches, most frequent first
+     */
+    public List<SearchTerm> hotSearches(int limit) {
+        List<HeavyHitters.Entry<SearchTerm>> live = topSearches();
+        if (!live.isEmpty()) {
+            return live.stream().limit(limit).map(HeavyHitters.Entry::key).toList();
+        }
+        return hotKeyRepository.findTop(SEARCH_KIND, limit).stream()
+                .map(entry -> SearchTerm.parse(entry.key()))
+                .toList();
+    }
+
+    /**
+     * Save the current top-K. Skipped while nothing was recorded, so an idle instance
+     * does not wipe the snapshot of a busy one.
+     */
+    @Scheduled(fixedDelayString = "${course.hot-keys.snapshot-ms:300000}",
+            initialDelayString = "${course.hot-keys.snapshot-ms:300000}")
+    @Transactional
+    @Bulkhead(Bulkhead.BACKGROUND)
+    public void snapshot() {
+        List<HeavyHitters.Entry<UUID>> topCourses = topCourses();
+        if (!topCourses.isEmpty()) {
+            hotKeyRepository.replace(COURSE_KIND, topCourses.stream()
+                    .map(entry -> new HeavyHitters.Entry<>(entry.key().toString(), entry.estimate()))
+                    .toList());
+        }
+        List<HeavyHitters.Entry<SearchTerm>> topSearches = topSearches();
+        if (!topSearches.isEmpty()) {
+            hotKeyRepository.replace(SEARCH_KIND, topSearches.stream()
+                    .map(entry -> new HeavyHitters.Entry<>(entry.key().serialize(), entry.estimate()))
+                    .filter(entry -> entry.key().length() <= MAX_KEY_LENGTH)
+                    .toList());
+        }
+    }
+
+    // Called on the bean itself, not through its proxy, so the transaction is opened here
+    @PreDestroy
+    void snapshotOnShutdown() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> snapshot());
+        } catch (DataAccessException ex) {
+            logger.warn("Failed to save the hot key snapshot on shutdown", ex);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.repository.CourseCatalogViewRepository;
+import com.example.coursebe.repository.CourseRepository;
+import com.example.coursebe.repository.ReviewRepository;
+import com.example.coursebe.repository.SectionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maintains the denormalized course_catalog_view read model (CQRS projection).
+ * Called from the write paths of the course, section, article, enrollment and
+ * review services so that catalog pages can be served from a single table.
+ * Each method joins the caller's transaction, so the projection commits or
+ * rolls back together with the change that triggered it, and publishes the
+ * course change on the {@link CacheInvalidationBus} so cached pages go stale on every instance.
+ */
+@Service
+public class CourseCatalogProjector {
+
+    private final CourseCatalogViewRepository catalogViewRepository;
+    private final CourseRepository courseRepository;
+    private final SectionRepository sectionRepository;
+    private final ReviewRepository reviewRepository;
+    private final CacheInvalidationBus invalidationBus;
+
+    public CourseCatalogProjector(CourseCatalogViewRepository catalogViewRepository,
+                                  CourseRepository courseRepository,
+                                  SectionRepository sectionRepository,
+                                  ReviewRepository reviewRepository,
+                                  CacheInvalidationBus invalidationBus) {
+        this.catalogViewRepository = catalogViewRepository;
+        this.courseRepository = courseRepository;
+        this.sectionRepository = sectionRepository;
+        this.reviewRepository = reviewRepository;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Project the course columns and section list of a course that was just created or updated.
+     * Student count and rating are computed only when the row does not exist yet.
+     * @param course the course as held by the caller
+     */
+    @Transactional
+    public void projectCourse(Course course) {
+        Optional<CourseCatalogView> existing = catalogViewRepository.findById(course.getId());
+        CourseCatalogView view = existing.orElseGet(() -> new CourseCatalogView(course.getId()));
+        copyCourseColumns(course, view);
+        view.setSections(sectionRepository.findCatalogSectionsByCourseId(course.getId()));
+        if (existing.isEmpty()) {
+            view.setStudentCount(course.getStudentCount());
+            applyRating(view);
+        }
+        catalogViewRepository.save(view);
+        invalidationBus.publish(CacheInvalidationBus.Entity.COURSE, course.getId());
+    }
+
+    /**
+     * Refresh the section list (titles, order, article counts) of a course
+     * @param courseId Course ID
+     */
+    @Transactional
+    public void refreshSections(UUID courseId) {
+        findOrRebuild(courseId).ifPresent(view -> {
+            view.setSections(sectionRepository.findCatalogSectionsByCourseId(courseId));
+            catalogViewRepository.save(view);
+            invalidationBus.publish(CacheInvalidationBus.Entity.CATALOG_ROW, courseId);
+        });
+    }
+
+    /**
+     * Refresh the number of students enrolled in a course from course.student_count
+     * @param courseId Course ID
+     */
+    @Transactional
+    public void refreshStudentCount(UUID courseId) {
+        findOrRebuild(courseId).ifPresent(view -> {
+            view.setStudentCount(courseRepository.findStudentCountById(courseId).orElse(0L));
+            catalogViewRepository.save(view);
+            invalidationBus.publish(CacheInvalidationBus.Entity.CATALOG_ROW, courseId);
+        });
+    }
+
+    /**
+     * Refresh the rating average and rating count of a course
+     * @param courseId Course ID
+     */
+    @Transactional
+    public void refreshRating(UUID courseId) {
+        findOrRebuild(courseId).ifPresent(view -> {
+            applyRating(view);
+            catalogViewRepository.save(view);
+            invalidationBus.publish(CacheInvalidationBus.Entity.CATALOG_ROW, courseId);
+        });
+    }
+
+    /**
+     * Remove the catalog row of a deleted course
+     * @param courseId Course ID
+     */
+    @Transactional
+    public void removeCourse(UUID courseId) {
+        catalogViewRepository.deleteByCourseId(courseId);
+        invalidationBus.publish(CacheInvalidationBus.Entity.COURSE, courseId);
+    }
+
+    /**
+     * Find the catalog row of a course, rebuilding it from the source tables when it is missing
+     * (e.g. a course created before the projection existed and missed by the backfill)
+     */
+    private Optional<CourseCatalogView> findOrRebuild(UUID courseId) {
+        if (courseId == null) {
+            return Optional.empty();
+        }
+        Optional<CourseCatalogView> existing = catalogViewRepository.findById(courseId);
+        if (existing.isPresent()) {
+            return existing;
+        }
+        Optional<Course> course = courseRepository.findById(courseId);
+        if (course.isEmpty()) {
+            return Optional.empty();
+        }
+        CourseCatalogView view = new CourseCatalogView(courseId);
+        copyCourseColumns(course.get(), view);
+        view.setSections(sectionRepository.findCatalogSectionsByCourseId(courseId));
+        view.setStudentCount(course.get().getStudentCount());
+        applyRating(view);
+        return Optional.of(view);
+    }
+
+    private void copyCourseColumns(Course course, CourseCatalogView view) {
+        view.setName(course.getName());
+        view.setDescription(course.getDescription());
+        view.setTutorId(course.getTutorId());
+        view.setPrice(course.getPrice());
+        if (course.getCreatedAt() != null) {
+            view.setCourseCreatedAt(course.getCreatedAt());
+        }
+    }
+
+    private void applyRating(CourseCatalogView view) {
+        view.setRatingCount(reviewRepository.countByCourseId(view.getCourseId()));
+        view.setRatingAverage(reviewRepository.findAverageRatingByCourseId(view.getCourseId()));
+    }
+}
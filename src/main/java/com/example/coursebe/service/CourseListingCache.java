@@ -0,0 +1,224 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.common.StaleWhileRevalidateCache;
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.repository.CourseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serves catalog pages and search results stale-while-revalidate, see {@link StaleWhileRevalidateCache}.
+ * Results are fresh for {@code course.cache.listing.ttl-ms}; after that, or after a catalog write,
+ * they are still answered from memory for up to {@code course.cache.listing.max-staleness-ms} while
+ * one refresh per page runs on the async executor. A slow or failing database therefore only
+ * affects requests for pages that are missing or older than the maximum staleness.
+ * <p>
+ * Course changes on any instance, received from the {@link CacheInvalidationBus}, bump generation
+ * counters that mark entries stale; a full flush of the bus drops all entries. Searches only match
+ * course columns, so catalog row refreshes (sections, student count, rating) stale the catalog
+ * pages but not the search results.
+ * Searches are keyed by strategy, lower-cased keyword and page, and only keep the matching course IDs
+ * and the total; a hit loads the courses by primary key, so it never repeats the LIKE scan.
+ * Once the search cache is full, a new search only displaces the least recently used one if
+ * {@link CourseAccessTracker} counts it as more frequent (TinyLFU admission), so a burst of
+ * one-off keywords cannot flush the popular ones.
+ * <p>
+ * Loaders run in a read-only transaction (joining the caller's if it has one), so misses and
+ * background refreshes are routed to the read replica when one is configured.
+ */
+@Component
+public class CourseListingCache {
+
+    static final String SEARCH_REQUESTS_METRIC = "cache.search.requests";
+    static final String SEARCH_HIT_RATIO_METRIC = "cache.search.hit.ratio";
+
+    private final CourseRepository courseRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private final AtomicLong searchGeneration = new AtomicLong();
+    private final StaleWhileRevalidateCache<Pageable, Page<CourseCatalogView>> catalog;
+    private final StaleWhileRevalidateCache<SearchKey, SearchResult> search;
+    private final Map<String, StrategyStats> strategyStats = new ConcurrentHashMap<>();
+
+    public CourseListingCache(CourseRepository courseRepository,
+                              CourseAccessTracker accessTracker,
+                              CacheInvalidationBus invalidationBus,
+                              TransactionTemplate transactionTemplate,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor refreshExecutor,
+                              MeterRegistry meterRegistry,
+                              @Value("${course.cache.listing.enabled:true}") boolean enabled,
+                              @Value("${course.cache.listing.ttl-ms:5000}") long ttlMs,
+                              @Value("${course.cache.listing.max-staleness-ms:60000}") long maxStalenessMs,
+                              @Value("${course.cache.listing.max-entries:1000}") int maxEntries) {
+        this.courseRepository = courseRepository;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        Duration ttl = Duration.ofMillis(ttlMs);
+        Duration maxStaleness = Duration.ofMillis(maxStalenessMs);
+        this.catalog = new StaleWhileRevalidateCache<>("catalog", ttl, maxStaleness, maxEntries,
+                catalogGeneration::get, refreshExecutor, meterRegistry);
+        this.search = new StaleWhileRevalidateCache<>("search", ttl, maxStaleness, maxEntries,
+                (candidate, victim) -> accessTracker.searchFrequency(candidate.type(), candidate.keyword())
+                        > accessTracker.searchFrequency(victim.type(), victim.keyword()),
+                searchGeneration::get, refreshExecutor, meterRegistry);
+        invalidationBus.subscribe(change -> {
+            switch (change.entity()) {
+                case COURSE -> invalidate();
+                case CATALOG_ROW -> catalogGeneration.incrementAndGet();
+                default -> {
+                }
+            }
+        });
+        invalidationBus.onFullFlush(this::clear);
+    }
+
+    /**
+     * Get a catalog page
+     * @param pageable Page request
+     * @param loader Loads the page from the database
+     * @return The cached or loaded page
+     */
+    public Page<CourseCatalogView> catalog(Pageable pageable, Supplier<Page<CourseCatalogView>> loader) {
+        Supplier<Page<CourseCatalogView>> readOnlyLoader = () -> readOnly(loader);
+        return enabled ? catalog.get(pageable, readOnlyLoader) : readOnlyLoader.get();
+    }
+
+    /**
+     * Get a page of search results. Keywords that differ only in case share an entry.
+     * @param type Search strategy type
+     * @param keyword Search keyword
+     * @param pageable Page request
+     * @param searcher Runs the search against the database
+     * @return The cached or loaded page
+     */
+    public Page<Course> search(String type, String keyword, Pageable pageable, Supplier<Page<Course>> searcher) {
+        if (!enabled) {
+            return readOnly(searcher);
+        }
+        AtomicReference<Page<Course>> loaded = new AtomicReference<>();
+        SearchResult result = search.get(new SearchKey(type, normalizeKeyword(keyword), pageable), () -> {
+            Page<Course> page = readOnly(searcher);
+            loaded.set(page);
+            return SearchResult.of(page);
+        });
+        Page<Course> page = loaded.get();
+        stats(type).record(page == null);
+        return page != null ? page : hydrate(result, pageable);
+    }
+
+    /**
+     * Bump the catalog and search generations: every cached page becomes stale
+     */
+    public void invalidate() {
+        catalogGeneration.incrementAndGet();
+        searchGeneration.incrementAndGet();
+    }
+
+    /**
+     * Drop every cached page
+     */
+    public void clear() {
+        catalog.clear();
+        search.clear();
+        invalidate();
+    }
+
+    /**
+     * Normalize a search keyword for the cache key. The search strategies all match case-insensitively,
+     * so case never changes the result; whitespace does (it is part of the LIKE pattern) and is kept.
+     */
+    static String normalizeKeyword(String keyword) {
+        return keyword == null ? null : keyword.toLowerCase(Locale.ROOT);
+    }
+
+    private <T> T readOnly(Supplier<T> loader) {
+        return readOnlyTransaction.execute(status -> loader.get());
+    }
+
+    private Page<Course> hydrate(SearchResult result, Pageable pageable) {
+        if (result.courseIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.total());
+        }
+        Map<UUID, Course> byId = readOnly(() -> courseRepository.findAllById(result.courseIds())).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        // Keep the search order; a course deleted since is left out until the entry refreshes
+        List<Course> courses = result.courseIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(courses, pageable, result.total());
+    }
+
+    private StrategyStats stats(String type) {
+        return strategyStats.computeIfAbsent(type, t -> new StrategyStats(t, meterRegistry));
+    }
+
+    private record SearchKey(String type, String keyword, Pageable pageable) {
+    }
+
+    private record SearchResult(List<UUID> courseIds, long total) {
+        private static SearchResult of(Page<Course> page) {
+            return new SearchResult(page.map(Course::getId).getContent(), page.getTotalElements());
+        }
+    }
+
+    private static final class StrategyStats {
+
+        private final Counter hits;
+        private final Counter misses;
+
+        private StrategyStats(String strategy, MeterRegistry meterRegistry) {
+            this.hits = requests(meterRegistry, strategy, "hit");
+            this.misses = requests(meterRegistry, strategy, "miss");
+            Gauge.builder(SEARCH_HIT_RATIO_METRIC, this, StrategyStats::hitRatio)
+                    .description("Share of searches answered from the cache since startup")
+                    .tag("strategy", strategy)
+                    .register(meterRegistry);
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String strategy, String result) {
+            return Counter.builder(SEARCH_REQUESTS_METRIC)
+                    .description("Searches by strategy, answered from the cache (hit) or by a query (miss)")
+                    .tag("strategy", strategy)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+
+        private void record(boolean hit) {
+            (hit ? hits : misses).increment();
+        }
+
+        private double hitRatio() {
+            double total = hits.count() + misses.count();
+            return total == 0 ? 0 : hits.count() / total;
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.dto.ArticleSummary;
+import com.example.coursebe.dto.EnrolledCourse;
+import com.example.coursebe.dto.RosterEntry;
+import com.example.coursebe.dto.SectionOutline;
+import com.example.coursebe.dto.RosterPage;
 import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
 import com.example.coursebe.controller.CourseController; // Added for SectionDto
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing Course entities
@@ -22,6 +31,14 @@ public interface CourseService {
      * @return Page of courses with pagination information
      */
     Page<Course> getAllCourses(Pageable pageable);
+
+    /**
+     * Get a catalog page from the denormalized course_catalog_view read model,
+     * newest courses first
+     * @param pageable Pagination information (page number, size)
+     * @return Page of catalog rows with sections, student count and rating
+     */
+    Page<CourseCatalogView> getCatalog(Pageable pageable);
     
     /**
      * Get course by ID
@@ -47,12 +64,13 @@ public interface CourseService {
     Page<Course> searchCourses(String type, String keyword, Pageable pageable);
 
     /**
-     * Get courses that a user has enrolled in
+     * Get courses that a user has enrolled in, each with the user's enrollment date
      * @param userId User ID
+     * @param recentFirst Whether to order by enrollment date, most recent first
      * @param pageable Pagination information
      * @return Page of courses the user is enrolled in
      */
-    Page<Course> getEnrolledCourses(UUID userId, Pageable pageable);
+    Page<EnrolledCourse> getEnrolledCourses(UUID userId, boolean recentFirst, Pageable pageable);
 
     /**
      * Search through courses that a user has enrolled in
@@ -60,9 +78,17 @@ public interface CourseService {
      * @param type Type of search (keyword, name, description)
      * @param keyword Keyword to search for
      * @param pageable Pagination information
-     * @return Page of matching enrolled courses
+     * @return Page of matching enrolled courses, each with the user's enrollment date
+     */
+    Page<EnrolledCourse> searchEnrolledCourses(UUID userId, String type, String keyword, Pageable pageable);
+
+    /**
+     * Get a course the user has enrolled in, with the user's enrollment date
+     * @param userId User ID
+     * @param courseId Course ID
+     * @return The enrolled course, or empty if the course does not exist or the user is not enrolled
      */
-    Page<Course> searchEnrolledCourses(UUID userId, String type, String keyword, Pageable pageable);
+    Optional<EnrolledCourse> getEnrolledCourse(UUID userId, UUID courseId);
 
     /**
      * Create a new course
@@ -109,4 +135,43 @@ public interface CourseService {
      */
     List<String> getEnrolledStudents(UUID courseId);
 
+    /**
+     * Get the number of students enrolled in a course without loading the enrollments
+     * @param courseId Course ID
+     * @return Number of enrolled students, 0 if the course does not exist
+     */
+    long getStudentCount(UUID courseId);
+
+    /**
+     * Get the article titles of every section of a course in one query, without article content
+     * @param courseId Course ID
+     * @return Article summaries grouped by section ID, each list ordered by position
+     */
+    Map<UUID, List<ArticleSummary>> getArticleOutline(UUID courseId);
+
+    /**
+     * Get the section titles of several courses, grouped by course, in one query.
+     * Lets responses list sections without touching lazy course collections.
+     * @param courseIds Course IDs
+     * @return Course ID to its sections in order; courses without sections are absent
+     */
+    Map<UUID, List<SectionOutline>> getSectionOutline(Collection<UUID> courseIds);
+
+    /**
+     * Get one keyset page of the students enrolled in a course, oldest enrollment first
+     * @param courseId Course ID
+     * @param cursor Encoded position returned as nextCursor by the previous page, or null for the first page
+     * @param size Maximum number of students in the page
+     * @return Page of roster entries and the cursor of the next page
+     * @throws IllegalArgumentException if the size is not positive or the cursor is malformed
+     */
+    RosterPage getRosterPage(UUID courseId, String cursor, int size);
+
+    /**
+     * Stream every student enrolled in a course to a consumer without materializing the roster
+     * @param courseId Course ID
+     * @param consumer Receives each roster entry as it is read from the database
+     */
+    void streamRoster(UUID courseId, Consumer<RosterEntry> consumer);
+
 }
\ No newline at end of file
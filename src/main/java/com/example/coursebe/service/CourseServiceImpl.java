@@ -1,52 +1,109 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.common.RankKeys;
+import com.example.coursebe.config.Bulkhead;
+import com.example.coursebe.config.SingleFlight;
+import com.example.coursebe.config.StatementTimeout;
 import com.example.coursebe.controller.CourseController; // Added for SectionDto
 import com.example.coursebe.model.Article; // Added
+import com.example.coursebe.dto.ArticleSummary;
+import com.example.coursebe.dto.CourseEnrollmentDate;
+import com.example.coursebe.dto.EnrolledCourse;
+import com.example.coursebe.dto.RosterCursor;
+import com.example.coursebe.dto.RosterEntry;
+import com.example.coursebe.dto.RosterPage;
+import com.example.coursebe.dto.SectionOutline;
 import com.example.coursebe.exception.UnsupportedSearchTypeException;
 import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.model.OutboxEvent;
 import com.example.coursebe.model.Section; // Added
 import com.example.coursebe.model.Enrollment; // <<< Import Enrollment
 import com.example.coursebe.repository.ArticleRepository; // Added
 import com.example.coursebe.pattern.strategy.CourseSearchContext;
 import com.example.coursebe.pattern.strategy.CourseSearchStrategy;
+import com.example.coursebe.repository.CourseCatalogViewRepository;
 import com.example.coursebe.repository.CourseRepository;
 import com.example.coursebe.repository.SectionRepository; // Added
 import com.example.coursebe.repository.EnrollmentRepository; // <<< Import EnrollmentRepository
+import com.example.coursebe.repository.EnrollmentRosterReader;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.Map; // Added
 import java.util.concurrent.CompletableFuture; // Added for async methods
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import org.springframework.scheduling.annotation.Async; // Added for async methods
 
 /**
  * Implementation of CourseService
- * Uses the Repository pattern to abstract data access
+ * Uses the Repository pattern to abstract data access.
+ * Reads run in read-only transactions (no dirty-checking snapshots, no flush);
+ * every write method declares its own read-write transaction.
+ * Hot reads (course by id, catalog pages, searches, section outlines) are {@link SingleFlight}:
+ * concurrent identical calls share one query. Catalog pages and searches are also served
+ * stale-while-revalidate from {@link CourseListingCache}, outside any transaction so that a hit
+ * never borrows a connection; the cache runs its loaders in read-only transactions itself.
  */
 @Service
+@Transactional(readOnly = true)
 public class CourseServiceImpl implements CourseService {
+    private static final int MAX_ROSTER_PAGE_SIZE = 1000;
+    // Statement budgets of the queries that can scan a lot: substring searches and rosters
+    private static final long SEARCH_TIMEOUT_MS = 3_000;
+    private static final long ROSTER_TIMEOUT_MS = 10_000;
+    private static final long ROSTER_EXPORT_TIMEOUT_MS = 30_000;
+
     private final CourseRepository courseRepository;
     private final SectionRepository sectionRepository; // Added
     private final ArticleRepository articleRepository; // Added
     private final EnrollmentRepository enrollmentRepository; // <<< Add EnrollmentRepository field
-    private final CourseSearchContext courseSearchContext;    public CourseServiceImpl(CourseRepository courseRepository,
+    private final CourseSearchContext courseSearchContext;
+    private final CourseCatalogViewRepository catalogViewRepository;
+    private final CourseCatalogProjector catalogProjector;
+    private final CourseStudentCounter studentCounter;
+    private final EnrollmentRosterReader rosterReader;
+    private final CourseListingCache listingCache;
+    private final EventOutbox eventOutbox;
+
+    public CourseServiceImpl(CourseRepository courseRepository,
                            SectionRepository sectionRepository, // Added
                            ArticleRepository articleRepository, // Added
                            EnrollmentRepository enrollmentRepository, // <<< Add EnrollmentRepository to constructor
-                           CourseSearchContext courseSearchContext) { // Add CourseSearchContext to constructor
+                           CourseSearchContext courseSearchContext, // Add CourseSearchContext to constructor
+                           CourseCatalogViewRepository catalogViewRepository,
+                           CourseCatalogProjector catalogProjector,
+                           CourseStudentCounter studentCounter,
+                           EnrollmentRosterReader rosterReader,
+                           CourseListingCache listingCache,
+                           EventOutbox eventOutbox) {
         this.courseRepository = courseRepository;
         this.sectionRepository = sectionRepository; // Added
         this.articleRepository = articleRepository; // Added
         this.enrollmentRepository = enrollmentRepository; // <<< Initialize EnrollmentRepository
         this.courseSearchContext = courseSearchContext; // Use injected CourseSearchContext
+        this.catalogViewRepository = catalogViewRepository;
+        this.catalogProjector = catalogProjector;
+        this.studentCounter = studentCounter;
+        this.rosterReader = rosterReader;
+        this.listingCache = listingCache;
+        this.eventOutbox = eventOutbox;
     }
 
     @Override
@@ -55,6 +112,14 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @SingleFlight
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Page<CourseCatalogView> getCatalog(Pageable pageable) {
+        return listingCache.catalog(pageable, () -> catalogViewRepository.findCatalogPage(pageable));
+    }
+
+    @Override
+    @SingleFlight
     public Optional<Course> getCourseById(UUID id) {
         return courseRepository.findById(id);
     }
@@ -65,24 +130,33 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @SingleFlight
+    @StatementTimeout(SEARCH_TIMEOUT_MS)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<Course> searchCourses(String type, String keyword, Pageable pageable) {
         if (!courseSearchContext.isValidStrategy(type)) {
             throw new UnsupportedSearchTypeException(type);
         }
         CourseSearchStrategy strategy = courseSearchContext.getStrategy(type);
-        return strategy.search(keyword, pageable);
+        return listingCache.search(type, keyword, pageable, () -> strategy.search(keyword, pageable));
     }
 
     @Override
-    public Page<Course> getEnrolledCourses(UUID userId, Pageable pageable) {
+    public Page<EnrolledCourse> getEnrolledCourses(UUID userId, boolean recentFirst, Pageable pageable) {
         if (userId == null) {
             throw new IllegalArgumentException("User ID cannot be null");
         }
-        return courseRepository.findByEnrollmentsStudentId(userId, pageable);
+        if (recentFirst) {
+            // Sort is fixed by the query so it stays on the (student_id, enrollment_date) index
+            Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+            return enrollmentRepository.findEnrolledCoursesRecentFirst(userId, unsorted);
+        }
+        return enrollmentRepository.findEnrolledCourses(userId, pageable);
     }
 
     @Override
-    public Page<Course> searchEnrolledCourses(UUID userId, String type, String keyword, Pageable pageable) {
+    @StatementTimeout(SEARCH_TIMEOUT_MS)
+    public Page<EnrolledCourse> searchEnrolledCourses(UUID userId, String type, String keyword, Pageable pageable) {
         if (userId == null) {
             throw new IllegalArgumentException("User ID cannot be null");
         }
@@ -90,7 +164,23 @@ public class CourseServiceImpl implements CourseService {
             throw new UnsupportedSearchTypeException(type);
         }
         CourseSearchStrategy strategy = courseSearchContext.getStrategy(type);
-        return strategy.searchForUser(userId, keyword, pageable);
+        Page<Course> courses = strategy.searchForUser(userId, keyword, pageable);
+        if (courses.isEmpty()) {
+            return courses.map(course -> new EnrolledCourse(course, null));
+        }
+        // One query for the whole page instead of walking each course's enrollments
+        List<UUID> courseIds = courses.map(Course::getId).getContent();
+        Map<UUID, LocalDateTime> enrollmentDates = enrollmentRepository.findEnrollmentDatesIn(userId, courseIds).stream()
+                .collect(Collectors.toMap(CourseEnrollmentDate::courseId, CourseEnrollmentDate::enrollmentDate));
+        return courses.map(course -> new EnrolledCourse(course, enrollmentDates.get(course.getId())));
+    }
+
+    @Override
+    public Optional<EnrolledCourse> getEnrolledCourse(UUID userId, UUID courseId) {
+        if (userId == null || courseId == null) {
+            return Optional.empty();
+        }
+        return enrollmentRepository.findEnrolledCourse(userId, courseId);
     }
 
     @Override
@@ -105,7 +195,9 @@ public class CourseServiceImpl implements CourseService {
         }
 
         Course course = new Course(name, description, tutorId, price);
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        catalogProjector.projectCourse(savedCourse);
+        return savedCourse;
     }
 
     @Override
@@ -145,6 +237,7 @@ public class CourseServiceImpl implements CourseService {
         }
 
         Course updatedCourse = courseRepository.save(course);
+        catalogProjector.projectCourse(updatedCourse);
         return Optional.of(updatedCourse);
     }
 
@@ -177,6 +270,7 @@ public class CourseServiceImpl implements CourseService {
             }
             updatedSections.add(section); // Add new or updated section
         }
+        assignRankKeys(updatedSections, Section::getPosition, Section::getRankKey, Section::setRankKey);
 
         // Remove sections that were not in the DTO list (orphanRemoval=true will handle DB deletion)
         // Clear and add all ensures correct associations and JPA lifecycle management
@@ -190,6 +284,18 @@ public class CourseServiceImpl implements CourseService {
         }
     }
 
+    // Orders items by their submitted position and keeps the rank keys of those that did not move,
+    // so only moved or new rows get a new key (and are written)
+    private static <T> void assignRankKeys(List<T> items, Function<T, Integer> position,
+                                           Function<T, String> rankKey, BiConsumer<T, String> setRankKey) {
+        List<T> ordered = new ArrayList<>(items);
+        ordered.sort(Comparator.comparing(position, Comparator.nullsLast(Comparator.naturalOrder())));
+        List<String> rankKeys = RankKeys.rerank(ordered.stream().map(rankKey).toList());
+        for (int i = 0; i < ordered.size(); i++) {
+            setRankKey.accept(ordered.get(i), rankKeys.get(i));
+        }
+    }
+
     private void updateArticles(Section section, List<CourseController.ArticleDto> articleDtos) {
         Map<UUID, Article> existingArticlesMap = section.getArticles().stream()
                 .collect(Collectors.toMap(Article::getId, a -> a));
@@ -213,6 +319,7 @@ public class CourseServiceImpl implements CourseService {
             }
             updatedArticles.add(article);
         }
+        assignRankKeys(updatedArticles, Article::getPosition, Article::getRankKey, Article::setRankKey);
         
         // Clear and add all ensures correct associations and JPA lifecycle management
         section.getArticles().clear();
@@ -232,15 +339,18 @@ public class CourseServiceImpl implements CourseService {
             throw new IllegalArgumentException("Course ID cannot be null");
         }
         
-        // Check if course exists
-        if (courseRepository.existsById(id)) {
-            courseRepository.deleteById(id);
-            return true;
+        // Delete in one statement; children go via ON DELETE CASCADE instead of being loaded one by one
+        if (courseRepository.deleteCourseById(id) == 0) {
+            return false;
         }
-          return false;
+        catalogProjector.removeCourse(id);
+        studentCounter.forget(id);
+        eventOutbox.record(OutboxEvent.Type.COURSE_DELETED, id, Map.of("courseId", id));
+        return true;
     }
 
     @Override
+    @StatementTimeout(ROSTER_TIMEOUT_MS)
     public List<String> getEnrolledStudents(UUID courseId) {
         Optional<Course> courseOpt = courseRepository.findById(courseId);
         if (courseOpt.isEmpty()) {
@@ -254,4 +364,58 @@ public class CourseServiceImpl implements CourseService {
                 .map(enrollment -> enrollment.getStudentId().toString()) // Asumsi studentId adalah UUID
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public long getStudentCount(UUID courseId) {
+        return studentCounter.getStudentCount(courseId);
+    }
+
+    @Override
+    public Map<UUID, List<ArticleSummary>> getArticleOutline(UUID courseId) {
+        return articleRepository.findSummariesByCourseId(courseId).stream()
+                .collect(Collectors.groupingBy(ArticleSummary::getSectionId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @Override
+    @SingleFlight
+    public Map<UUID, List<SectionOutline>> getSectionOutline(Collection<UUID> courseIds) {
+        if (courseIds == null || courseIds.isEmpty()) {
+            return Map.of();
+        }
+        return sectionRepository.findOutlinesByCourseIdIn(courseIds).stream()
+                .collect(Collectors.groupingBy(SectionOutline::getCourseId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @Override
+    @StatementTimeout(ROSTER_TIMEOUT_MS)
+    public RosterPage getRosterPage(UUID courseId, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int pageSize = Math.min(size, MAX_ROSTER_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<RosterEntry> entries;
+        if (cursor == null || cursor.isBlank()) {
+            entries = enrollmentRepository.findRosterFirstPage(courseId, limit);
+        } else {
+            RosterCursor after = RosterCursor.decode(cursor);
+            entries = enrollmentRepository.findRosterPageAfter(
+                    courseId, after.getEnrollmentDate(), after.getEnrollmentId(), limit);
+        }
+
+        if (entries.size() <= pageSize) {
+            return new RosterPage(entries, null);
+        }
+        List<RosterEntry> page = new ArrayList<>(entries.subList(0, pageSize));
+        return new RosterPage(page, RosterCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.BULK)
+    @StatementTimeout(ROSTER_EXPORT_TIMEOUT_MS)
+    public void streamRoster(UUID courseId, Consumer<RosterEntry> consumer) {
+        rosterReader.streamRoster(courseId, consumer);
+    }
 }
\ No newline at end of file
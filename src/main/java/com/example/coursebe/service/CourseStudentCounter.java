@@ -0,0 +1,174 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.config.Bulkhead;
+import com.example.coursebe.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains course.student_count without counting enrollment rows.
+ * <p>
+ * Normally each enroll/unenroll applies an atomic {@code student_count = student_count + delta}
+ * inside the caller's transaction. Once a course receives more than {@code hotThreshold} changes
+ * within one flush interval it is treated as hot: further deltas are accumulated in a striped
+ * {@link LongAdder} and written as a single UPDATE by {@link #flush()}, so a burst of enrollments
+ * does not serialize on the course row lock. A delta is buffered only after the enrollment
+ * transaction commits, so rolled back enrollments are not counted; any drift from deltas lost
+ * before a flush is repaired by {@link StudentCountReconciler}.
+ */
+@Service
+public class CourseStudentCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseStudentCounter.class);
+
+    private final CourseRepository courseRepository;
+    private final CourseCatalogProjector catalogProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final long hotThreshold;
+    private final ConcurrentMap<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+    public CourseStudentCounter(CourseRepository courseRepository,
+                                CourseCatalogProjector catalogProjector,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${course.student-count.hot-threshold:50}") long hotThreshold) {
+        this.courseRepository = courseRepository;
+        this.catalogProjector = catalogProjector;
+        this.transactionTemplate = transactionTemplate;
+        this.hotThreshold = hotThreshold;
+    }
+
+    /**
+     * Record a new enrollment in a course
+     * @param courseId Course ID
+     */
+    public void increment(UUID courseId) {
+        adjust(courseId, 1);
+    }
+
+    /**
+     * Record a removed enrollment from a course
+     * @param courseId Course ID
+     */
+    public void decrement(UUID courseId) {
+        adjust(courseId, -1);
+    }
+
+    /**
+     * Get the current student count of a course, including deltas not yet flushed
+     * @param courseId Course ID
+     * @return Number of enrolled students, or 0 if the course does not exist
+     */
+    public long getStudentCount(UUID courseId) {
+        long stored = courseRepository.findStudentCountById(courseId).orElse(0L);
+        Counter counter = counters.get(courseId);
+        return counter == null ? stored : stored + counter.pending.sum();
+    }
+
+    /**
+     * @return Courses with buffered deltas that have not been flushed yet
+     */
+    public Set<UUID> pendingCourseIds() {
+        Set<UUID> pending = new HashSet<>();
+        counters.forEach((courseId, counter) -> {
+            if (counter.pending.sum() != 0) {
+                pending.add(courseId);
+            }
+        });
+        return pending;
+    }
+
+    // Number of courses with buffered state, for tests
+    int trackedCourses() {
+        return counters.size();
+    }
+
+    /**
+     * Drop the buffered state of a deleted course
+     * @param courseId Course ID
+     */
+    public void forget(UUID courseId) {
+        counters.remove(courseId);
+    }
+
+    /**
+     * Write the buffered deltas of hot courses, one short transaction per course,
+     * and start a new hot-detection window. Courses with nothing to write are dropped,
+     * so the map only holds courses that were written to since the last flush.
+     */
+    @Scheduled(fixedDelayString = "${course.student-count.flush-interval-ms:5000}")
+    @PreDestroy
+    @Bulkhead(Bulkhead.BACKGROUND)
+    public void flush() {
+        counters.forEach((courseId, counter) -> {
+            counter.writes.reset();
+            long delta = counter.pending.sumThenReset();
+            if (delta == 0) {
+                counters.remove(courseId, counter);
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(courseId, delta));
+            } catch (RuntimeException ex) {
+                // Keep the delta for the next flush instead of losing it
+                counter.pending.add(delta);
+                logger.warn("Failed to flush student count delta {} for course {}", delta, courseId, ex);
+            }
+        });
+    }
+
+    private void adjust(UUID courseId, long delta) {
+        Counter counter = counters.computeIfAbsent(courseId, id -> new Counter());
+        counter.writes.increment();
+        if (counter.writes.sum() > hotThreshold) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Buffer it once the enrollment commits, so a rolled back enrollment is not counted
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        buffer(courseId, delta);
+                    }
+                });
+            } else {
+                buffer(courseId, delta);
+            }
+            return;
+        }
+        apply(courseId, delta);
+    }
+
+    private void buffer(UUID courseId, long delta) {
+        Counter counter = counters.computeIfAbsent(courseId, id -> new Counter());
+        counter.pending.add(delta);
+        if (counters.get(courseId) != counter) {
+            // A flush dropped the counter meanwhile; move the delta to the live one
+            long moved = counter.pending.sumThenReset();
+            if (moved != 0) {
+                counters.computeIfAbsent(courseId, id -> new Counter()).pending.add(moved);
+            }
+        }
+    }
+
+    private void apply(UUID courseId, long delta) {
+        courseRepository.adjustStudentCount(courseId, delta);
+        catalogProjector.refreshStudentCount(courseId);
+    }
+
+    private static final class Counter {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder pending = new LongAdder();
+    }
+}
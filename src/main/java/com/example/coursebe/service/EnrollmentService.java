@@ -2,8 +2,10 @@ package com.example.coursebe.service;
 
 import com.example.coursebe.model.Enrollment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -42,6 +44,14 @@ public interface EnrollmentService {
      */
     boolean isEnrolled(UUID studentId, UUID courseId);
 
+    /**
+     * Find which of the given courses a student is enrolled in, using one query for the whole page
+     * @param studentId Student ID
+     * @param courseIds Candidate course IDs
+     * @return IDs of the courses the student is enrolled in
+     */
+    Set<UUID> getEnrolledCourseIds(UUID studentId, Collection<UUID> courseIds);
+
     /**
      * Asynchronously enroll a student in a course
      * @param studentId Student ID
@@ -2,6 +2,7 @@ package com.example.coursebe.service;
 
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Enrollment;
+import com.example.coursebe.model.OutboxEvent;
 import com.example.coursebe.repository.CourseRepository;
 import com.example.coursebe.repository.EnrollmentRepository;
 import org.springframework.stereotype.Service;
@@ -9,8 +10,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.scheduling.annotation.Async;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -18,14 +23,20 @@ import java.util.concurrent.CompletableFuture;
  * Implementation of EnrollmentService
  */
 @Service
+@Transactional(readOnly = true)
 public class EnrollmentServiceImpl implements EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
+    private final CourseStudentCounter studentCounter;
+    private final EventOutbox eventOutbox;
 
-    public EnrollmentServiceImpl(EnrollmentRepository enrollmentRepository, CourseRepository courseRepository) {
+    public EnrollmentServiceImpl(EnrollmentRepository enrollmentRepository, CourseRepository courseRepository,
+                                 CourseStudentCounter studentCounter, EventOutbox eventOutbox) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
+        this.studentCounter = studentCounter;
+        this.eventOutbox = eventOutbox;
     }
 
     @Override
@@ -78,6 +89,19 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         return enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId);
     }
 
+    @Override
+    public Set<UUID> getEnrolledCourseIds(UUID studentId, Collection<UUID> courseIds) {
+        // Validate inputs
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID cannot be null");
+        }
+        if (courseIds == null || courseIds.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(enrollmentRepository.findEnrolledCourseIds(studentId, courseIds));
+    }
+
     @Async
     @Override
     @Transactional
@@ -102,6 +126,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             // Create and save enrollment
             Enrollment enrollment = new Enrollment(studentId, optionalCourse.get());
             Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+            studentCounter.increment(courseId);
+            eventOutbox.record(OutboxEvent.Type.ENROLLMENT_CREATED, savedEnrollment.getId(),
+                    Map.of("studentId", studentId, "courseId", courseId));
             return CompletableFuture.completedFuture(savedEnrollment);
         } catch (Exception ex) {
             // Return a completed future with the exception
@@ -136,6 +163,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
             // Delete the enrollment
             enrollmentRepository.delete(optionalEnrollment.get());
+            studentCounter.decrement(courseId);
+            eventOutbox.record(OutboxEvent.Type.ENROLLMENT_DELETED, optionalEnrollment.get().getId(),
+                    Map.of("studentId", studentId, "courseId", courseId));
             return CompletableFuture.completedFuture(true);
         } catch (Exception ex) {
             CompletableFuture<Boolean> futureResult = new CompletableFuture<>();
@@ -0,0 +1,36 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.OutboxEvent;
+import com.example.coursebe.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records domain events for other services in the outbox table. Must be called inside the
+ * transaction of the change, so the event is stored if and only if the change commits;
+ * delivery happens later, off the request thread, in {@link OutboxRelay}.
+ */
+@Service
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    /**
+     * Record an event in the current transaction
+     * @param type Kind of event
+     * @param aggregateId ID of the changed aggregate
+     * @param payload Event data, serialized as JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEvent.Type type, UUID aggregateId, Map<String, Object> payload) {
+        outboxEventRepository.save(new OutboxEvent(type, aggregateId, payload));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes outbox events to the log. On by default, so events are drained even before
+ * a real sink is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "course.outbox.sink.logging.enabled", havingValue = "true", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public String name() {
+        return "logging";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            logger.info("Outbox event {} {} {} {}", event.getId(), event.getEventType(),
+                    event.getAggregateId(), event.getPayload());
+        }
+    }
+}
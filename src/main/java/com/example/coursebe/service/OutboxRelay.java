@@ -0,0 +1,273 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.config.Bulkhead;
+import com.example.coursebe.model.OutboxEvent;
+import com.example.coursebe.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox events to every {@link OutboxSink}.
+ * <p>
+ * Each poll claims up to {@code batch-size} due events with {@code FOR UPDATE SKIP LOCKED} and
+ * leases them for {@code lease-ms} by moving their next attempt forward, so relays on other
+ * instances take the next batch instead of delivering the same one. The claim commits before the
+ * sinks run: a slow sink holds no row locks and no connection. The outcome is then recorded in a
+ * second short transaction. Delivered events are marked published. When a batch fails, its events
+ * are retried one by one so a single bad event does not hold back the rest, unless the sink could
+ * not be reached at all. Each failure counts an attempt and postpones the event by an exponential
+ * backoff from {@code backoff-ms} up to {@code max-backoff-ms}. Events that reach
+ * {@code max-attempts} are left in the table for inspection. An event whose relay died while
+ * delivering it becomes due again when the lease runs out.
+ * <p>
+ * Events of one aggregate are delivered in ID order: an event is not claimed while an older
+ * event of its aggregate is undelivered and waiting (leased, backing off or out of attempts),
+ * and the one-by-one retry stops at the first failure per aggregate, handing the aggregate's
+ * later events back unattempted. An exhausted event therefore holds back its aggregate until
+ * it is fixed or removed.
+ */
+@Service
+public class OutboxRelay {
+
+    static final String RELAYED_METRIC = "outbox.events.relayed";
+    static final String FAILURES_METRIC = "outbox.relay.failures";
+    static final String LAG_METRIC = "outbox.relay.lag";
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final long retentionHours;
+    private final long leaseMs;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final Counter relayed;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxSink> sinks,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${course.outbox.batch-size:100}") int batchSize,
+                       @Value("${course.outbox.max-batches:10}") int maxBatches,
+                       @Value("${course.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${course.outbox.retention-hours:168}") long retentionHours,
+                       @Value("${course.outbox.lease-ms:300000}") long leaseMs,
+                       @Value("${course.outbox.backoff-ms:1000}") long backoffMs,
+                       @Value("${course.outbox.max-backoff-ms:600000}") long maxBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.maxAttempts = maxAttempts;
+        this.retentionHours = retentionHours;
+        this.leaseMs = leaseMs;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.relayed = Counter.builder(RELAYED_METRIC)
+                .description("Outbox events delivered to every sink")
+                .register(meterRegistry);
+        this.lag = Timer.builder(LAG_METRIC)
+                .description("Time from recording an outbox event to delivering it")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deliver due events, batch by batch, until none are left, a batch delivers nothing,
+     * or max-batches is reached
+     * @return Number of events delivered
+     */
+    @Scheduled(fixedDelayString = "${course.outbox.poll-ms:1000}")
+    @Bulkhead(Bulkhead.BACKGROUND)
+    public int relay() {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<OutboxEvent> batch = transactionTemplate.execute(status -> claim());
+            if (batch.isEmpty()) {
+                break;
+            }
+            int delivered = relayBatch(batch);
+            total += delivered;
+            // A short batch drained the outbox; an undelivered one means the sinks are failing,
+            // so wait out the backoff instead of claiming the next events
+            if (batch.size() < batchSize || delivered == 0) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Delete events delivered more than retention-hours ago
+     * @return Number of events deleted
+     */
+    @Scheduled(cron = "${course.outbox.purge-cron:0 30 3 * * *}")
+    @Bulkhead(Bulkhead.BACKGROUND)
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} delivered outbox events", purged);
+        }
+        return purged == null ? 0 : purged;
+    }
+
+    private List<OutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(maxAttempts, now, batchSize);
+        if (!batch.isEmpty()) {
+            outboxEventRepository.lease(ids(batch), now.plus(Duration.ofMillis(leaseMs)));
+        }
+        return batch;
+    }
+
+    /**
+     * Deliver a claimed batch outside any transaction, then record the outcome
+     * @return Number of events delivered
+     */
+    private int relayBatch(List<OutboxEvent> batch) {
+        Failure failure = deliver(batch);
+        if (failure == null) {
+            transactionTemplate.executeWithoutResult(status -> published(batch));
+            return batch.size();
+        }
+        if (batch.size() == 1 || failure.unreachable()) {
+            transactionTemplate.executeWithoutResult(status -> failed(batch, failure.error()));
+            return 0;
+        }
+        List<OutboxEvent> delivered = new ArrayList<>();
+        Map<OutboxEvent, String> failed = new LinkedHashMap<>();
+        // Later events of an aggregate whose event failed; delivering them would overtake it
+        List<OutboxEvent> heldBack = new ArrayList<>();
+        Set<UUID> blocked = new HashSet<>();
+        String unreachable = null;
+        for (OutboxEvent event : batch) {
+            if (blocked.contains(event.getAggregateId())) {
+                heldBack.add(event);
+                continue;
+            }
+            // Once the sink went away, fail the rest instead of waiting on it event by event
+            Failure eventFailure = unreachable == null ? deliver(List.of(event)) : new Failure(unreachable, true);
+            if (eventFailure == null) {
+                delivered.add(event);
+            } else {
+                failed.put(event, eventFailure.error());
+                blocked.add(event.getAggregateId());
+                if (eventFailure.unreachable()) {
+                    unreachable = eventFailure.error();
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                published(delivered);
+            }
+            failed.forEach((event, error) -> failed(List.of(event), error));
+            if (!heldBack.isEmpty()) {
+                // Due again at once; claimBatch still skips them while the failed event backs off
+                outboxEventRepository.lease(ids(heldBack), LocalDateTime.now());
+            }
+        });
+        return delivered.size();
+    }
+
+    /**
+     * @return Null when every sink took the events, otherwise the first failure
+     */
+    private Failure deliver(List<OutboxEvent> events) {
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.deliver(events);
+            } catch (RuntimeException ex) {
+                Counter.builder(FAILURES_METRIC)
+                        .description("Failed outbox deliveries")
+                        .tag("sink", sink.name())
+                        .register(meterRegistry)
+                        .increment();
+                logger.debug("Outbox sink {} failed on {} events", sink.name(), events.size(), ex);
+                return new Failure(sink.name() + ": " + ex, causedByIo(ex));
+            }
+        }
+        return null;
+    }
+
+    private void failed(List<OutboxEvent> events, String error) {
+        if (events.size() == 1) {
+            OutboxEvent event = events.get(0);
+            logger.warn("Failed to deliver outbox event {} (attempt {}): {}", event.getId(), event.getAttempts() + 1, error);
+        } else {
+            logger.warn("Failed to deliver {} outbox events: {}", events.size(), error);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Events with the same attempt count back off equally, so one UPDATE per count
+        Map<Integer, List<Long>> byAttempts = events.stream().collect(Collectors.groupingBy(
+                OutboxEvent::getAttempts, Collectors.mapping(OutboxEvent::getId, Collectors.toList())));
+        byAttempts.forEach((attempts, ids) ->
+                outboxEventRepository.markFailed(ids, truncate(error), now.plus(backoff(attempts))));
+    }
+
+    /**
+     * Delay before the next attempt of an event that failed after this many earlier attempts
+     */
+    Duration backoff(int attempts) {
+        long delay = backoffMs * (1L << Math.min(attempts, 20));
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private void published(List<OutboxEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.markPublished(ids(events), now);
+        relayed.increment(events.size());
+        for (OutboxEvent event : events) {
+            lag.record(Duration.between(event.getCreatedAt(), now));
+        }
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    // An I/O failure means the sink could not be reached, not that it rejected these events
+    private static boolean causedByIo(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record Failure(String error, boolean unreachable) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of outbox events. Every sink bean receives every event from {@link OutboxRelay}.
+ * Delivery is at least once: a batch is redelivered when this or another sink fails on it, so
+ * consumers must deduplicate on the event ID.
+ */
+public interface OutboxSink {
+
+    /**
+     * @return Name of the sink, used in logs and metrics
+     */
+    String name();
+
+    /**
+     * Deliver a batch of events, in ID order. Throwing fails the whole batch; an exception caused
+     * by an {@link java.io.IOException} tells the relay the destination could not be reached, so
+     * it does not retry the events one by one.
+     * @param events Events to deliver
+     */
+    void deliver(List<OutboxEvent> events);
+}
@@ -0,0 +1,106 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.config.Bulkhead;
+import com.example.coursebe.repository.ArticleRepository;
+import com.example.coursebe.repository.CourseRepository;
+import com.example.coursebe.repository.PositionBatchRepository;
+import com.example.coursebe.repository.SectionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Respaces the rank keys of courses and sections whose keys grew too long after many inserts
+ * at the same spot. Each parent is rewritten in its own short transaction with its row locked,
+ * so inserts and moves into that parent wait instead of computing keys from the old spacing.
+ * Rewriting also renumbers position to match the order. Inserts already respace their parent
+ * inline when a new key would pass the limit, so this catches keys written before that, or
+ * before the limit was lowered.
+ */
+@Service
+public class RankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankRebalancer.class);
+
+    private final CourseRepository courseRepository;
+    private final SectionRepository sectionRepository;
+    private final ArticleRepository articleRepository;
+    private final PositionBatchRepository positionBatchRepository;
+    private final CourseCatalogProjector catalogProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxKeyLength;
+
+    public RankRebalancer(CourseRepository courseRepository,
+                          SectionRepository sectionRepository,
+                          ArticleRepository articleRepository,
+                          PositionBatchRepository positionBatchRepository,
+                          CourseCatalogProjector catalogProjector,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${course.rank.max-key-length:16}") int maxKeyLength) {
+        this.courseRepository = courseRepository;
+        this.sectionRepository = sectionRepository;
+        this.articleRepository = articleRepository;
+        this.positionBatchRepository = positionBatchRepository;
+        this.catalogProjector = catalogProjector;
+        this.transactionTemplate = transactionTemplate;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    /**
+     * Respace the keys of every course and section that has a key longer than the limit
+     * @return Number of courses and sections rebalanced
+     */
+    @Scheduled(fixedDelayString = "${course.rank.rebalance-interval-ms:600000}")
+    @Bulkhead(Bulkhead.BACKGROUND)
+    public int rebalance() {
+        int rebalanced = 0;
+        for (UUID courseId : sectionRepository.findCourseIdsWithRankKeysLongerThan(maxKeyLength)) {
+            if (run("sections of course", courseId, () -> rebalanceSections(courseId))) {
+                rebalanced++;
+            }
+        }
+        for (UUID sectionId : articleRepository.findSectionIdsWithRankKeysLongerThan(maxKeyLength)) {
+            if (run("articles of section", sectionId, () -> rebalanceArticles(sectionId))) {
+                rebalanced++;
+            }
+        }
+        if (rebalanced > 0) {
+            logger.info("Rebalanced rank keys of {} courses and sections", rebalanced);
+        }
+        return rebalanced;
+    }
+
+    private void rebalanceSections(UUID courseId) {
+        if (courseRepository.findLockedById(courseId).isEmpty()) {
+            return;
+        }
+        List<UUID> sectionIds = sectionRepository.findIdsByCourseIdOrderByRankKey(courseId);
+        positionBatchRepository.reorderSections(courseId, sectionIds);
+        catalogProjector.refreshSections(courseId);
+    }
+
+    private void rebalanceArticles(UUID sectionId) {
+        if (sectionRepository.findLockedById(sectionId).isEmpty()) {
+            return;
+        }
+        List<UUID> articleIds = articleRepository.findIdsBySectionIdOrderByRankKey(sectionId);
+        positionBatchRepository.reorderArticles(sectionId, articleIds);
+    }
+
+    private boolean run(String what, UUID parentId, Runnable rebalance) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rebalance.run());
+            return true;
+        } catch (RuntimeException ex) {
+            // Leave it for the next run; the keys are still valid, only long
+            logger.warn("Failed to rebalance rank keys of {} {}", what, parentId, ex);
+            return false;
+        }
+    }
+}
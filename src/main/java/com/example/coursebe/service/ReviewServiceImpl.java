@@ -10,11 +10,14 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Service
+@Transactional(readOnly = true)
 public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
+    private final CourseCatalogProjector catalogProjector;
 
-    public ReviewServiceImpl(ReviewRepository reviewRepository) {
+    public ReviewServiceImpl(ReviewRepository reviewRepository, CourseCatalogProjector catalogProjector) {
         this.reviewRepository = reviewRepository;
+        this.catalogProjector = catalogProjector;
     }
 
     @Override
@@ -41,7 +44,9 @@ public class ReviewServiceImpl implements ReviewService {
                 .rating(rating)
                 .comment(comment)
                 .build();
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        catalogProjector.refreshRating(courseId);
+        return saved;
     }
 
     @Override
@@ -55,16 +60,18 @@ public class ReviewServiceImpl implements ReviewService {
         if (rating != null) review.setRating(rating);
         if (comment != null) review.setComment(comment);
         Review updated = reviewRepository.save(review);
+        if (rating != null) catalogProjector.refreshRating(updated.getCourseId());
         return Optional.of(updated);
     }
 
     @Override
     @Transactional
     public boolean deleteReview(UUID id) {
-        if (reviewRepository.existsById(id)) {
-            reviewRepository.deleteById(id);
-            return true;
+        Optional<UUID> courseId = reviewRepository.findCourseIdById(id);
+        if (courseId.isEmpty() || reviewRepository.deleteReviewById(id) == 0) {
+            return false;
         }
-        return false;
+        catalogProjector.refreshRating(courseId.get());
+        return true;
     }
 }
@@ -1,5 +1,7 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.dto.SectionSummary;
 import com.example.coursebe.model.Section;
 
 import java.util.List;
@@ -17,6 +19,13 @@ public interface SectionService {
      * @return List of sections for the course, ordered by position
      */
     List<Section> getSectionsByCourseId(UUID courseId);
+
+    /**
+     * Get the sections of a course as lightweight summaries (no articles)
+     * @param courseId Course ID
+     * @return List of section summaries, ordered by position
+     */
+    List<SectionSummary> getSectionSummariesByCourseId(UUID courseId);
     
     /**
      * Get section by ID
@@ -25,6 +34,14 @@ public interface SectionService {
      */
     Optional<Section> getSectionById(UUID id);
     
+    /**
+     * Get a section of a course as a response body, its position derived from rank order in the same query
+     * @param courseId Course ID
+     * @param id Section ID
+     * @return Optional containing the section if it exists in the course
+     */
+    Optional<SectionResponse> getSectionResponse(UUID courseId, UUID id);
+    
     /**
      * Create a new section for a course
      * @param courseId Course ID
@@ -39,9 +56,9 @@ public interface SectionService {
      * @param id Section ID
      * @param title Updated title
      * @param position Updated position
-     * @return Updated section or empty optional if not found
+     * @return Updated section with its position, or empty optional if not found
      */
-    Optional<Section> updateSection(UUID id, String title, Integer position);
+    Optional<SectionResponse> updateSection(UUID id, String title, Integer position);
     
     /**
      * Delete a section
@@ -54,7 +71,7 @@ public interface SectionService {
      * Reorder sections within a course
      * @param courseId Course ID
      * @param sectionIds Ordered list of section IDs
-     * @return List of updated sections or empty list if course not found
+     * @return The course's sections in their new order, or empty list if course not found
      */
-    List<Section> reorderSections(UUID courseId, List<UUID> sectionIds);
+    List<SectionSummary> reorderSections(UUID courseId, List<UUID> sectionIds);
 }
\ No newline at end of file
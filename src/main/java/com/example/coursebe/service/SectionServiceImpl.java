@@ -1,37 +1,55 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.common.RankKeys;
 import com.example.coursebe.model.Course;
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.dto.SectionSummary;
 import com.example.coursebe.model.Section;
 import com.example.coursebe.repository.CourseRepository;
+import com.example.coursebe.repository.PositionBatchRepository;
 import com.example.coursebe.repository.SectionRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of SectionService
  */
 @Service
+@Transactional(readOnly = true)
 public class SectionServiceImpl implements SectionService {
 
     private final SectionRepository sectionRepository;
     private final CourseRepository courseRepository;
+    private final CourseCatalogProjector catalogProjector;
+    private final PositionBatchRepository positionBatchRepository;
+    private final int maxKeyLength;
 
-    public SectionServiceImpl(SectionRepository sectionRepository, CourseRepository courseRepository) {
+    public SectionServiceImpl(SectionRepository sectionRepository, CourseRepository courseRepository,
+                              CourseCatalogProjector catalogProjector, PositionBatchRepository positionBatchRepository,
+                              @Value("${course.rank.max-key-length:16}") int maxKeyLength) {
         this.sectionRepository = sectionRepository;
         this.courseRepository = courseRepository;
+        this.catalogProjector = catalogProjector;
+        this.positionBatchRepository = positionBatchRepository;
+        this.maxKeyLength = maxKeyLength;
     }
 
     @Override
     public List<Section> getSectionsByCourseId(UUID courseId) {
-        return sectionRepository.findByCourseId(courseId).stream()
-                .sorted((s1, s2) -> s1.getPosition().compareTo(s2.getPosition()))
-                .collect(Collectors.toList());
+        return sectionRepository.findByCourseIdOrderByRankKeyAsc(courseId);
+    }
+
+    @Override
+    public List<SectionSummary> getSectionSummariesByCourseId(UUID courseId) {
+        return sectionRepository.findSummariesByCourseIdOrderByRankKeyAsc(courseId);
     }
 
     @Override
@@ -39,6 +57,11 @@ public class SectionServiceImpl implements SectionService {
         return sectionRepository.findById(id);
     }
 
+    @Override
+    public Optional<SectionResponse> getSectionResponse(UUID courseId, UUID id) {
+        return sectionRepository.findResponseById(id, courseId);
+    }
+
     @Override
     @Transactional
     public Section createSection(UUID courseId, String title, Integer position) {
@@ -50,30 +73,29 @@ public class SectionServiceImpl implements SectionService {
             throw new IllegalArgumentException("Section title cannot be empty");
         }
 
-        // Find course
-        Optional<Course> optionalCourse = courseRepository.findById(courseId);
+        // Find course (locked, so concurrent inserts and rebalancing see each other's keys)
+        Optional<Course> optionalCourse = courseRepository.findLockedById(courseId);
         if (optionalCourse.isEmpty()) {
             return null;
         }
         Course course = optionalCourse.get();
 
-        // If position is null, calculate next position
-        if (position == null) {
-            List<Section> existingSections = sectionRepository.findByCourse(course);
-            position = existingSections.size();
-        }
-
         // Create and link section
         Section section = new Section(title, position);
         section.setCourse(course);
 
+        // Place it between its neighbours by rank key; if position is null, append after the last section
+        placeAt(section, position);
+
         // Save and return
-        return sectionRepository.save(section);
+        Section savedSection = sectionRepository.save(section);
+        catalogProjector.refreshSections(courseId);
+        return savedSection;
     }
 
     @Override
     @Transactional
-    public Optional<Section> updateSection(UUID id, String title, Integer position) {
+    public Optional<SectionResponse> updateSection(UUID id, String title, Integer position) {
         // Validate inputs
         if (id == null) {
             throw new IllegalArgumentException("Section ID cannot be null");
@@ -93,12 +115,15 @@ public class SectionServiceImpl implements SectionService {
         }
         
         if (position != null) {
-            section.setPosition(position);
+            courseRepository.findLockedById(section.getCourse().getId());
+            placeAt(section, position);
         }
         
-        // Save and return
+        // Save and return, reading the position back with the flushed row
         Section updatedSection = sectionRepository.save(section);
-        return Optional.of(updatedSection);
+        UUID courseId = updatedSection.getCourse().getId();
+        catalogProjector.refreshSections(courseId);
+        return sectionRepository.findResponseById(id, courseId);
     }
 
     @Override
@@ -109,9 +134,11 @@ public class SectionServiceImpl implements SectionService {
             throw new IllegalArgumentException("Section ID cannot be null");
         }
         
-        // Check if section exists
-        if (sectionRepository.existsById(id)) {
-            sectionRepository.deleteById(id);
+        // Check if section exists (resolving its course for the catalog projection)
+        Optional<UUID> courseId = sectionRepository.findCourseIdById(id);
+        // Articles go via ON DELETE CASCADE instead of being loaded one by one
+        if (courseId.isPresent() && sectionRepository.deleteSectionById(id) > 0) {
+            catalogProjector.refreshSections(courseId.get());
             return true;
         }
         
@@ -120,7 +147,7 @@ public class SectionServiceImpl implements SectionService {
 
     @Override
     @Transactional
-    public List<Section> reorderSections(UUID courseId, List<UUID> sectionIds) {
+    public List<SectionSummary> reorderSections(UUID courseId, List<UUID> sectionIds) {
         // Validate inputs
         if (courseId == null) {
             throw new IllegalArgumentException("Course ID cannot be null");
@@ -130,36 +157,70 @@ public class SectionServiceImpl implements SectionService {
         }
 
         // Check course exists
-        Optional<Course> optionalCourse = courseRepository.findById(courseId);
-        if (optionalCourse.isEmpty()) {
+        if (!courseRepository.existsById(courseId)) {
             return new ArrayList<>();
         }
-        Course course = optionalCourse.get();
-
-        // Get all sections of the course
-        List<Section> sections = sectionRepository.findByCourse(course);
 
-        // Make sure all specified sections belong to the course
+        // Make sure all specified sections belong to the course (O(1) lookups, IDs only)
+        Set<UUID> courseSectionIds = new HashSet<>(sectionRepository.findIdsByCourseId(courseId));
+        Set<UUID> seen = new HashSet<>();
         for (UUID id : sectionIds) {
-            boolean found = sections.stream().anyMatch(section -> section.getId().equals(id));
-            if (!found) {
+            if (!courseSectionIds.contains(id)) {
                 throw new IllegalArgumentException("All sections must belong to the specified course");
             }
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException("Section IDs list cannot contain duplicates");
+            }
+        }
+
+        // Update all positions in one batch
+        // A row that moved to another course since the check is not updated; roll back instead
+        if (positionBatchRepository.reorderSections(courseId, sectionIds) != sectionIds.size()) {
+            throw new IllegalArgumentException("All sections must belong to the specified course");
         }
+        catalogProjector.refreshSections(courseId);
+        return sectionRepository.findSummariesByCourseIdOrderByRankKeyAsc(courseId);
+    }
+
+    // Gives the section a rank key between the sections at position - 1 and position, reading at most
+    // two neighbouring keys, so inserting or moving it writes only this row. Once repeated inserts at
+    // one spot grow the key past the limit, the other sections of the course are respaced first; the
+    // caller holds the course row lock, so nothing else computes keys from the old spacing meanwhile
+    private void placeAt(Section section, Integer position) {
+        UUID courseId = section.getCourse().getId();
+        UUID sectionId = section.getId();
+        String rankKey = rankKeyAt(courseId, sectionId, position);
+        if (rankKey.length() > maxKeyLength) {
+            List<UUID> others = sectionRepository.findIdsByCourseIdOrderByRankKey(courseId).stream()
+                    .filter(id -> !id.equals(sectionId))
+                    .toList();
+            positionBatchRepository.reorderSections(courseId, others);
+            rankKey = rankKeyAt(courseId, sectionId, position);
+        }
+        section.setRankKey(rankKey);
+    }
 
-        // Update positions
-        List<Section> updatedSections = new ArrayList<>();
-        for (int i = 0; i < sectionIds.size(); i++) {
-            UUID sectionId = sectionIds.get(i);
-            Optional<Section> optionalSection = sections.stream()
-                    .filter(s -> s.getId().equals(sectionId))
-                    .findFirst();
-            if (optionalSection.isPresent()) {
-                Section section = optionalSection.get();
-                section.setPosition(i);
-                updatedSections.add(sectionRepository.save(section));
+    private String rankKeyAt(UUID courseId, UUID sectionId, Integer position) {
+        int index = position == null ? -1 : Math.max(0, position);
+        List<String> neighbours = index < 0 ? List.of()
+                : sectionRepository.findRankKeysByCourseIdExcluding(courseId, sectionId, Math.max(0, index - 1), index == 0 ? 1 : 2);
+        String lower;
+        String upper;
+        if (index == 0) {
+            lower = null;
+            upper = neighbours.isEmpty() ? null : neighbours.get(0);
+        } else if (neighbours.isEmpty()) {
+            // Appending, or a position past the end
+            lower = sectionRepository.findMaxRankKeyByCourseIdExcluding(courseId, sectionId).orElse(null);
+            upper = null;
+        } else {
+            lower = neighbours.get(0);
+            upper = neighbours.size() > 1 ? neighbours.get(1) : null;
+            if (upper != null && upper.compareTo(lower) <= 0) {
+                // Equal keys (rows backfilled from equal positions); the section goes after all of them
+                upper = sectionRepository.findNextRankKeyByCourseIdExcluding(courseId, sectionId, lower).orElse(null);
             }
         }
-        return updatedSections;
+        return RankKeys.between(lower, upper);
     }
 }
\ No newline at end of file
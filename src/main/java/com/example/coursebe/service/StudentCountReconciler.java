@@ -0,0 +1,65 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.config.Bulkhead;
+import com.example.coursebe.repository.CourseCatalogViewRepository;
+import com.example.coursebe.repository.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Periodically repairs drift between course.student_count and the enrollment table,
+ * e.g. buffered deltas of a rolled back enrollment or deltas lost in a crash.
+ * Both statements are set-based and only touch rows whose count is wrong.
+ */
+@Service
+public class StudentCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentCountReconciler.class);
+
+    private final CourseRepository courseRepository;
+    private final CourseCatalogViewRepository catalogViewRepository;
+    private final CourseStudentCounter studentCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    public StudentCountReconciler(CourseRepository courseRepository,
+                                  CourseCatalogViewRepository catalogViewRepository,
+                                  CourseStudentCounter studentCounter,
+                                  TransactionTemplate transactionTemplate) {
+        this.courseRepository = courseRepository;
+        this.catalogViewRepository = catalogViewRepository;
+        this.studentCounter = studentCounter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reset drifted course counts from the enrollment table, then propagate them to the catalog
+     * @return Number of courses whose count was corrected
+     */
+    @Scheduled(cron = "${course.student-count.reconcile-cron:0 0 3 * * *}")
+    @Bulkhead(Bulkhead.BACKGROUND)
+    public int reconcile() {
+        // Flushed in its own transactions first, so a failing course does not roll back the recount
+        studentCounter.flush();
+        // Deltas buffered since then would be applied again by the next flush; leave those courses
+        // to the next run
+        Set<UUID> pending = studentCounter.pendingCourseIds();
+        int[] counts = transactionTemplate.execute(status -> new int[] {
+                pending.isEmpty()
+                        ? courseRepository.reconcileStudentCounts()
+                        : courseRepository.reconcileStudentCountsExcluding(pending),
+                catalogViewRepository.reconcileStudentCounts()
+        });
+        int corrected = counts[0];
+        int catalogCorrected = counts[1];
+        if (corrected > 0 || catalogCorrected > 0) {
+            logger.warn("Reconciled student counts: {} courses, {} catalog rows", corrected, catalogCorrected);
+        }
+        return corrected;
+    }
+}
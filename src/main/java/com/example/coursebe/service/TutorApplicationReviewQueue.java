@@ -0,0 +1,139 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.dto.TutorApplicationDecisionResult;
+import com.example.coursebe.model.OutboxEvent;
+import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.repository.TutorApplicationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Admin review queue for tutor applications, for several reviewers working at once.
+ * <p>
+ * A reviewer claims the next pending applications; the claim is a lease that makes other
+ * reviewers' claims skip them until it expires, and rows being claimed concurrently are
+ * skipped rather than waited for ({@code FOR UPDATE SKIP LOCKED}). Decisions are applied to a
+ * whole batch with one UPDATE that only touches applications whose current status may move to
+ * the new one (the rules of {@link TutorApplicationServiceImpl#isValidStateTransition}) and that
+ * nobody else holds a live claim on.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TutorApplicationReviewQueue {
+
+    private final TutorApplicationRepository tutorApplicationRepository;
+    private final EventOutbox eventOutbox;
+    private final long leaseMs;
+    private final int maxClaim;
+    private final int maxBatch;
+
+    public TutorApplicationReviewQueue(TutorApplicationRepository tutorApplicationRepository,
+                                       EventOutbox eventOutbox,
+                                       @Value("${course.tutor-review.lease-ms:900000}") long leaseMs,
+                                       @Value("${course.tutor-review.max-claim:50}") int maxClaim,
+                                       @Value("${course.tutor-review.max-batch:500}") int maxBatch) {
+        this.tutorApplicationRepository = tutorApplicationRepository;
+        this.eventOutbox = eventOutbox;
+        this.leaseMs = leaseMs;
+        this.maxClaim = maxClaim;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Get a page of applications with a status, oldest first
+     * @param status Application status
+     * @param pageable Page request
+     * @return Page of applications
+     */
+    public Page<TutorApplication> getQueue(TutorApplication.Status status, Pageable pageable) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return tutorApplicationRepository.findQueuePage(status, pageable);
+    }
+
+    /**
+     * Claim the oldest pending applications nobody else is reviewing
+     * @param reviewerId Reviewer
+     * @param count Number of applications wanted, at most max-claim
+     * @return Claimed applications, oldest first; fewer than count when the queue runs short
+     */
+    @Transactional
+    public List<TutorApplication> claimNext(UUID reviewerId, int count) {
+        if (reviewerId == null) {
+            throw new IllegalArgumentException("Reviewer ID cannot be null");
+        }
+        if (count < 1 || count > maxClaim) {
+            throw new IllegalArgumentException("Claim count must be between 1 and " + maxClaim);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> ids = tutorApplicationRepository.findClaimable(now, count).stream()
+                .map(TutorApplication::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        tutorApplicationRepository.claim(ids, reviewerId, now.plus(Duration.ofMillis(leaseMs)));
+        return tutorApplicationRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(TutorApplication::getCreatedAt).thenComparing(TutorApplication::getId))
+                .toList();
+    }
+
+    /**
+     * Accept or deny many applications at once
+     * @param reviewerId Reviewer
+     * @param ids Application IDs, at most max-batch
+     * @param status New status
+     * @return Which applications were decided and which were skipped
+     * @throws IllegalStateException if no status may move to the new one
+     */
+    @Transactional
+    public TutorApplicationDecisionResult decide(UUID reviewerId, Collection<UUID> ids, TutorApplication.Status status) {
+        if (reviewerId == null) {
+            throw new IllegalArgumentException("Reviewer ID cannot be null");
+        }
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        if (ids == null || ids.isEmpty() || ids.size() > maxBatch || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Between 1 and " + maxBatch + " application IDs are required");
+        }
+        List<TutorApplication.Status> fromStatuses = Arrays.stream(TutorApplication.Status.values())
+                .filter(from -> TutorApplicationServiceImpl.isValidStateTransition(from, status))
+                .toList();
+        if (fromStatuses.isEmpty()) {
+            throw new IllegalStateException("Invalid state transition to " + status);
+        }
+
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        LocalDateTime now = LocalDateTime.now();
+        // Locks exactly the rows the UPDATE will change, so the result and the events match it
+        List<TutorApplication> decidable =
+                tutorApplicationRepository.findDecidableForUpdate(requested, fromStatuses, reviewerId, now);
+        List<UUID> decided = decidable.stream().map(TutorApplication::getId).toList();
+        if (!decided.isEmpty()) {
+            tutorApplicationRepository.decide(decided, fromStatuses, status, reviewerId, now);
+            for (TutorApplication application : decidable) {
+                eventOutbox.record(OutboxEvent.Type.TUTOR_APPLICATION_STATUS_CHANGED, application.getId(),
+                        Map.of("studentId", application.getStudentId(), "status", status.name()));
+            }
+        }
+        requested.removeAll(decided);
+        return new TutorApplicationDecisionResult(decided, List.copyOf(requested));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.model.OutboxEvent;
 import com.example.coursebe.model.TutorApplication;
 import com.example.coursebe.repository.TutorApplicationRepository;
 import org.slf4j.Logger;
@@ -8,7 +9,9 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -20,13 +23,17 @@ import java.util.concurrent.CompletableFuture;
  * Optimized for database operations with single-query deletions
  */
 @Service
+@Transactional(readOnly = true)
 public class TutorApplicationServiceImpl implements TutorApplicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(TutorApplicationServiceImpl.class);
     private final TutorApplicationRepository tutorApplicationRepository;
+    private final EventOutbox eventOutbox;
 
-    public TutorApplicationServiceImpl(TutorApplicationRepository tutorApplicationRepository) {
+    public TutorApplicationServiceImpl(TutorApplicationRepository tutorApplicationRepository,
+                                       EventOutbox eventOutbox) {
         this.tutorApplicationRepository = tutorApplicationRepository;
+        this.eventOutbox = eventOutbox;
     }
 
     @Override
@@ -113,15 +120,15 @@ public class TutorApplicationServiceImpl implements TutorApplicationService {
             throw new IllegalArgumentException("Student ID cannot be null");
         }
         
-        // Check if student already has a pending application
-        if (hasPendingApplication(studentId)) {
-            return null;
-        }
-        
-        // Create and save new application using the State pattern
+        // Create the application using the State pattern
         // The initial state is PENDING (set in the constructor)
         TutorApplication application = new TutorApplication(studentId);
-        return tutorApplicationRepository.save(application);
+        
+        // Insert it unless the student already has a pending application, in one round trip
+        if (!tutorApplicationRepository.insertIfNoPending(application)) {
+            return null;
+        }
+        return application;
     }
     
     @Override
@@ -156,9 +163,19 @@ public class TutorApplicationServiceImpl implements TutorApplicationService {
                 "Invalid state transition from " + application.getStatus() + " to " + status);
         }
         
-        // Update status
+        // A reviewer holding a live claim decides it through TutorApplicationReviewQueue, which
+        // applies the same rule
+        if (application.isClaimedAt(LocalDateTime.now())) {
+            throw new IllegalStateException(
+                "Application is claimed by a reviewer until " + application.getClaimedUntil());
+        }
+        
+        // Update status; a decided application no longer needs its expired claim
         application.setStatus(status);
+        application.releaseClaim();
         TutorApplication updatedApplication = tutorApplicationRepository.save(application);
+        eventOutbox.record(OutboxEvent.Type.TUTOR_APPLICATION_STATUS_CHANGED, id,
+                Map.of("studentId", updatedApplication.getStudentId(), "status", status.name()));
         return Optional.of(updatedApplication);
     }
     
@@ -170,9 +187,10 @@ public class TutorApplicationServiceImpl implements TutorApplicationService {
     }
 
     /**
-     * Implements the State pattern to determine valid transitions between application statuses
+     * Implements the State pattern to determine valid transitions between application statuses.
+     * Also applied to batch decisions by TutorApplicationReviewQueue.
      */
-    private boolean isValidStateTransition(TutorApplication.Status currentStatus, TutorApplication.Status newStatus) {
+    static boolean isValidStateTransition(TutorApplication.Status currentStatus, TutorApplication.Status newStatus) {
         if (currentStatus == null || newStatus == null) {
             return false;
         }
@@ -202,13 +220,8 @@ public class TutorApplicationServiceImpl implements TutorApplicationService {
             throw new IllegalArgumentException("Application ID cannot be null");
         }
         
-        // Check if application exists
-        if (tutorApplicationRepository.existsById(id)) {
-            tutorApplicationRepository.deleteById(id);
-            return true;
-        }
-        
-        return false;
+        // Delete in a single statement; the count tells whether it existed
+        return tutorApplicationRepository.deleteApplicationById(id) > 0;
     }
     
     @Override
@@ -230,7 +243,7 @@ public class TutorApplicationServiceImpl implements TutorApplicationService {
             // Log the operation for monitoring and debugging
             if (deletedCount > 0) {
                 logger.info("Successfully deleted application for studentId: {}, deletedCount: {}", studentId, deletedCount);
-                // Could add audit logging here for compliance
+                // The request itself is audited by AuditInterceptor
                 return true;
             } else {
                 logger.info("No application found to delete for studentId: {}", studentId);
@@ -0,0 +1,58 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POSTs each batch of outbox events as a JSON array to {@code course.outbox.sink.webhook.url}.
+ * Any non-2xx response fails the batch, which is then retried by the relay.
+ */
+@Component
+@ConditionalOnProperty(name = "course.outbox.sink.webhook.url")
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+
+    public WebhookOutboxSink(RestClient.Builder restClientBuilder,
+                             @Value("${course.outbox.sink.webhook.url}") String url,
+                             @Value("${course.outbox.sink.webhook.timeout-ms:5000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = restClientBuilder.baseUrl(url).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events.stream().map(WebhookOutboxSink::toJson).toList())
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    static Map<String, Object> toJson(OutboxEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", event.getId());
+        json.put("type", event.getEventType().name());
+        json.put("aggregateType", event.getAggregateType());
+        json.put("aggregateId", event.getAggregateId());
+        json.put("createdAt", event.getCreatedAt());
+        json.put("payload", event.getPayload());
+        return json;
+    }
+}
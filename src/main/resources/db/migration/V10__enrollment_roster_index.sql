@@ -0,0 +1,4 @@
+-- Keyset pagination and streaming of a course roster walk enrollments in
+-- (enrollment_date, id) order; the old single-column index is a prefix of this one
+CREATE INDEX idx_enrollment_course_date ON enrollment(course_id, enrollment_date, id);
+DROP INDEX IF EXISTS idx_enrollment_course;
@@ -0,0 +1,7 @@
+-- Ordered reads of a course's sections and a section's articles, and the
+-- MAX(position) lookup used for appends, become index-only range scans.
+-- The single-column indexes are prefixes of the composite ones.
+CREATE INDEX idx_section_course_position ON section(course_id, position);
+CREATE INDEX idx_article_section_position ON article(section_id, position);
+DROP INDEX IF EXISTS idx_section_course;
+DROP INDEX IF EXISTS idx_article_section;
@@ -0,0 +1,32 @@
+-- Fractional ordering keys for sections and articles: inserting or moving an
+-- item writes only that item's key instead of renumbering its siblings.
+-- COLLATE "C" makes the index order byte-wise, matching RankKeys.
+ALTER TABLE section ADD COLUMN rank_key VARCHAR(64) COLLATE "C";
+ALTER TABLE article ADD COLUMN rank_key VARCHAR(64) COLLATE "C";
+
+-- Backfill from the current position order: 8 hex digits spaced 0x1000 apart,
+-- trailing zeros stripped (same keys as RankKeys.spaced)
+UPDATE section s SET rank_key = r.rank_key
+FROM (
+    SELECT id, rtrim(lpad(to_hex(row_number() OVER (
+               PARTITION BY course_id ORDER BY position, created_at, id) * 4096), 8, '0'), '0') AS rank_key
+    FROM section
+) r
+WHERE s.id = r.id;
+
+UPDATE article a SET rank_key = r.rank_key
+FROM (
+    SELECT id, rtrim(lpad(to_hex(row_number() OVER (
+               PARTITION BY section_id ORDER BY position, created_at, id) * 4096), 8, '0'), '0') AS rank_key
+    FROM article
+) r
+WHERE a.id = r.id;
+
+ALTER TABLE section ALTER COLUMN rank_key SET NOT NULL;
+ALTER TABLE article ALTER COLUMN rank_key SET NOT NULL;
+
+-- Ordered reads now scan these; position is no longer used for ordering
+CREATE INDEX idx_section_course_rank ON section(course_id, rank_key);
+CREATE INDEX idx_article_section_rank ON article(section_id, rank_key);
+DROP INDEX IF EXISTS idx_section_course_position;
+DROP INDEX IF EXISTS idx_article_section_position;
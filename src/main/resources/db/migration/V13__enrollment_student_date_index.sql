@@ -0,0 +1,5 @@
+-- My-courses pages read a student's enrollments newest first and join their courses.
+-- course_id is included so the page is answered from the index before the course lookups;
+-- the index also serves every student_id-only lookup, so the old index is redundant.
+CREATE INDEX idx_enrollment_student_date ON enrollment(student_id, enrollment_date DESC, course_id);
+DROP INDEX IF EXISTS idx_enrollment_student;
@@ -0,0 +1,10 @@
+-- Latest snapshot of the most requested courses and search keywords (see CourseAccessTracker),
+-- kept across restarts so a fresh instance knows what to preload. Estimates are relative,
+-- not exact counts; each snapshot replaces the rows of its kind.
+CREATE TABLE hot_key (
+    kind VARCHAR(16) NOT NULL,
+    key_value VARCHAR(300) NOT NULL,
+    estimate INTEGER NOT NULL,
+    captured_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (kind, key_value)
+);
@@ -0,0 +1,19 @@
+-- Transactional outbox: domain events for other services (payments, auth), inserted in the
+-- same transaction as the change they describe and relayed afterwards by OutboxRelay.
+-- Published rows are kept for course.outbox.retention-hours, then purged.
+CREATE TABLE outbox_event (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+-- The relay only scans undelivered rows, in ID order; stays small however large the table grows
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event(id) WHERE published_at IS NULL;
+-- Purging published rows
+CREATE INDEX idx_outbox_event_published ON outbox_event(published_at) WHERE published_at IS NOT NULL;
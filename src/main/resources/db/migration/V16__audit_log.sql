@@ -0,0 +1,29 @@
+-- Append-only audit trail of every mutating request, written in batches by AuditLog.
+-- Rows are never updated or deleted by the application; the trigger enforces it.
+CREATE TABLE audit_log (
+    id BIGSERIAL PRIMARY KEY,
+    occurred_at TIMESTAMP NOT NULL,
+    actor VARCHAR(64),
+    http_method VARCHAR(8) NOT NULL,
+    path VARCHAR(255) NOT NULL,
+    handler VARCHAR(128),
+    status INTEGER NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- "What did this user do" lookups, newest first
+CREATE INDEX idx_audit_log_actor ON audit_log(actor, occurred_at DESC);
+-- Rows arrive roughly in time order, so a BRIN index covers time ranges at a fraction of a B-tree's size
+CREATE INDEX idx_audit_log_occurred ON audit_log USING BRIN (occurred_at);
+
+CREATE FUNCTION audit_log_append_only() RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'audit_log is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER audit_log_no_update_delete BEFORE UPDATE OR DELETE ON audit_log
+    FOR EACH ROW EXECUTE FUNCTION audit_log_append_only();
+CREATE TRIGGER audit_log_no_truncate BEFORE TRUNCATE ON audit_log
+    FOR EACH STATEMENT EXECUTE FUNCTION audit_log_append_only();
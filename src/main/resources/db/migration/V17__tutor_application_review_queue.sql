@@ -0,0 +1,8 @@
+-- Admin review queue: applications are listed and claimed oldest first per status, and a
+-- claim is a lease on the application that other reviewers skip until it expires.
+ALTER TABLE tutor_application ADD COLUMN claimed_by UUID;
+ALTER TABLE tutor_application ADD COLUMN claimed_until TIMESTAMP;
+
+-- Serves the paged queue and the claim scan; its leading column also covers the old status index
+CREATE INDEX idx_tutor_application_status_created ON tutor_application(status, created_at, id);
+DROP INDEX IF EXISTS idx_tutor_application_status;
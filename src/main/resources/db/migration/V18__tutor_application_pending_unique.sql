@@ -0,0 +1,17 @@
+-- A student has at most one PENDING application; submissions insert against this index with
+-- ON CONFLICT DO NOTHING instead of checking first. Older duplicates left by concurrent
+-- submits are denied (not deleted, so the rows stay for inspection) so the index can be built;
+-- the newest pending application is kept.
+UPDATE tutor_application t
+SET status = 'DENIED', updated_at = CURRENT_TIMESTAMP
+WHERE t.status = 'PENDING'
+  AND EXISTS (SELECT 1 FROM tutor_application n
+              WHERE n.student_id = t.student_id AND n.status = 'PENDING'
+                AND (n.created_at, n.id) > (t.created_at, t.id));
+
+CREATE UNIQUE INDEX uq_tutor_application_student_pending ON tutor_application(student_id)
+    WHERE status = 'PENDING';
+
+-- Serves the most recent application lookups per student; also covers the old student_id index
+CREATE INDEX idx_tutor_application_student_created ON tutor_application(student_id, created_at DESC);
+DROP INDEX IF EXISTS idx_tutor_application_student;
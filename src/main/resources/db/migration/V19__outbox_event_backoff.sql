@@ -0,0 +1,4 @@
+-- When an outbox event may next be claimed. A relay leases the events it claims by moving this
+-- forward while it delivers them outside the claiming transaction; a failed delivery moves it
+-- forward by an exponential backoff, so a failing sink is not retried on every poll.
+ALTER TABLE outbox_event ADD COLUMN next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
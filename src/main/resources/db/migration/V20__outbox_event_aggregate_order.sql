@@ -0,0 +1,3 @@
+-- The relay holds back an event while an older undelivered event of the same aggregate is
+-- waiting; this serves that lookup
+CREATE INDEX idx_outbox_event_aggregate_unpublished ON outbox_event(aggregate_id, id) WHERE published_at IS NULL;
@@ -0,0 +1,42 @@
+-- Denormalized course read model (CQRS projection) for catalog pages.
+-- One row per course, maintained by the service write paths, so that
+-- GET /courses is a single index scan instead of a four-table join.
+CREATE TABLE course_catalog_view (
+    course_id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    tutor_id UUID NOT NULL,
+    price DECIMAL(10, 2) NOT NULL DEFAULT 0.00,
+    sections JSONB NOT NULL DEFAULT '[]'::jsonb,
+    student_count BIGINT NOT NULL DEFAULT 0,
+    rating_average DOUBLE PRECISION,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    course_created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (course_id) REFERENCES course(id) ON DELETE CASCADE
+);
+
+-- Catalog pages are ordered newest first
+CREATE INDEX idx_course_catalog_view_created ON course_catalog_view(course_created_at DESC, course_id DESC);
+CREATE INDEX idx_course_catalog_view_tutor ON course_catalog_view(tutor_id);
+
+-- Backfill the projection from the existing courses
+INSERT INTO course_catalog_view (course_id, name, description, tutor_id, price, sections,
+                                 student_count, rating_average, rating_count, course_created_at, updated_at)
+SELECT c.id,
+       c.name,
+       c.description,
+       c.tutor_id,
+       c.price,
+       COALESCE((SELECT jsonb_agg(jsonb_build_object(
+                            'id', s.id,
+                            'title', s.title,
+                            'articleCount', (SELECT COUNT(*) FROM article a WHERE a.section_id = s.id))
+                        ORDER BY s.position)
+                 FROM section s WHERE s.course_id = c.id), '[]'::jsonb),
+       (SELECT COUNT(*) FROM enrollment e WHERE e.course_id = c.id),
+       (SELECT AVG(r.rating) FROM review r WHERE r.course_id = c.id),
+       (SELECT COUNT(*) FROM review r WHERE r.course_id = c.id),
+       c.created_at,
+       CURRENT_TIMESTAMP
+FROM course c;
@@ -0,0 +1,12 @@
+-- Denormalized number of enrolled students per course, maintained with atomic
+-- increments by the enroll/unenroll paths instead of COUNT(*) over enrollment
+ALTER TABLE course ADD COLUMN student_count BIGINT NOT NULL DEFAULT 0;
+
+-- Backfill from the existing enrollments
+UPDATE course c
+SET student_count = (SELECT COUNT(*) FROM enrollment e WHERE e.course_id = c.id);
+
+UPDATE course_catalog_view v
+SET student_count = c.student_count
+FROM course c
+WHERE c.id = v.course_id;
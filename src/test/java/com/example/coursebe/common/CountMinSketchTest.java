@@ -0,0 +1,58 @@
+package com.example.coursebe.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Should never undercount and stay close for hot keys among many cold ones")
+    void estimatesFrequencies() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(1024, 4, Integer.MAX_VALUE);
+        UUID hot = UUID.randomUUID();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(UUID.randomUUID());
+            if (i % 10 == 0) {
+                sketch.add(hot);
+            }
+        }
+
+        // Then
+        int estimate = sketch.estimate(hot);
+        assertTrue(estimate >= 500, "Undercounted: " + estimate);
+        assertTrue(estimate < 550, "Overcounted: " + estimate);
+        assertTrue(sketch.estimate(UUID.randomUUID()) < 50);
+    }
+
+    @Test
+    @DisplayName("Should halve every counter after the sample size")
+    void agesCounters() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(64, 2, 10);
+
+        // When
+        for (int i = 0; i < 9; i++) {
+            sketch.add("java");
+        }
+        assertEquals(9, sketch.estimate("java"));
+        sketch.add("java");
+
+        // Then
+        assertEquals(5, sketch.estimate("java"));
+        assertEquals(1, sketch.resets());
+    }
+
+    @Test
+    @DisplayName("Should reject a depth beyond the available hash seeds")
+    void rejectsInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(64, 9, 100));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 4, 100));
+    }
+}
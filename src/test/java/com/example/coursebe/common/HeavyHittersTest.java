@@ -0,0 +1,83 @@
+package com.example.coursebe.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeavyHittersTest {
+
+    @Test
+    @DisplayName("Should keep the most frequent keys, most frequent first")
+    void tracksTopKeys() {
+        // Given
+        HeavyHitters<String> hitters = new HeavyHitters<>(2, new CountMinSketch(256, 4, Integer.MAX_VALUE));
+
+        // When
+        for (int i = 0; i < 30; i++) {
+            hitters.record("java");
+            if (i % 2 == 0) {
+                hitters.record("kotlin");
+            }
+            hitters.record("one-off-" + i);
+        }
+
+        // Then
+        List<HeavyHitters.Entry<String>> top = hitters.top();
+        assertEquals(List.of("java", "kotlin"), top.stream().map(HeavyHitters.Entry::key).toList());
+        assertEquals(30, top.get(0).estimate());
+    }
+
+    @Test
+    @DisplayName("Should let a key that turns hot displace the weakest member")
+    void newHotKeyEntersTop() {
+        // Given
+        HeavyHitters<String> hitters = new HeavyHitters<>(1, new CountMinSketch(256, 4, Integer.MAX_VALUE));
+        for (int i = 0; i < 3; i++) {
+            hitters.record("java");
+        }
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            hitters.record("rust");
+        }
+
+        // Then
+        assertEquals("rust", hitters.top().get(0).key());
+    }
+
+    @Test
+    @DisplayName("Should admit a candidate only if it is more frequent than the victim")
+    void tinyLfuAdmission() {
+        // Given
+        HeavyHitters<String> hitters = new HeavyHitters<>(10, new CountMinSketch(256, 4, Integer.MAX_VALUE));
+        hitters.record("java");
+        hitters.record("java");
+        hitters.record("kotlin");
+
+        // When & Then
+        assertTrue(hitters.admit("java", "kotlin"));
+        assertFalse(hitters.admit("kotlin", "java"));
+        assertFalse(hitters.admit("never-seen", "kotlin"));
+    }
+
+    @Test
+    @DisplayName("Should let new keys in again once the sketch ages old counts")
+    void agingReopensTop() {
+        // Given
+        HeavyHitters<String> hitters = new HeavyHitters<>(1, new CountMinSketch(256, 4, 40));
+        for (int i = 0; i < 30; i++) {
+            hitters.record("java");
+        }
+
+        // When: the sketch halves on the tenth of these
+        for (int i = 0; i < 25; i++) {
+            hitters.record("rust");
+        }
+
+        // Then
+        assertEquals("rust", hitters.top().get(0).key());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.coursebe.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankKeysTest {
+
+    private static void assertIncreasing(List<String> keys) {
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0, keys.get(i - 1) + " !< " + keys.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate a key strictly between two keys")
+    void between() {
+        assertEquals("AV", RankKeys.between("A", "B"));
+        assertEquals("AzV", RankKeys.between("Az", "B"));
+        String key = RankKeys.between("00001", "00002");
+        assertTrue(key.compareTo("00001") > 0 && key.compareTo("00002") < 0);
+    }
+
+    @Test
+    @DisplayName("Should generate keys before the first and after the last key")
+    void betweenOpenBounds() {
+        assertTrue(RankKeys.between(null, "00001").compareTo("00001") < 0);
+        assertTrue(RankKeys.between("zz", null).compareTo("zz") > 0);
+        assertNotNull(RankKeys.between(null, null));
+    }
+
+    @Test
+    @DisplayName("Should reject bounds out of order")
+    void betweenRejectsInvertedBounds() {
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("B", "A"));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("A", "A"));
+    }
+
+    @Test
+    @DisplayName("Should keep generating keys when inserting repeatedly at the same spot")
+    void repeatedInsertsStayOrdered() {
+        List<String> keys = new ArrayList<>(List.of(RankKeys.forIndex(0), RankKeys.forIndex(1)));
+        for (int i = 0; i < 200; i++) {
+            keys.add(1, RankKeys.insertAt(keys, 1));
+        }
+        assertIncreasing(keys);
+    }
+
+    @Test
+    @DisplayName("Should place an item after duplicate keys")
+    void insertAtSkipsDuplicates() {
+        List<String> keys = List.of("00001", "00001", "00002");
+        String key = RankKeys.insertAt(keys, 1);
+        assertTrue(key.compareTo("00001") > 0 && key.compareTo("00002") < 0);
+    }
+
+    @Test
+    @DisplayName("Should generate short, increasing, evenly spaced keys")
+    void spaced() {
+        List<String> keys = RankKeys.spaced(1000);
+        assertIncreasing(keys);
+        assertTrue(keys.stream().allMatch(key -> key.length() <= 8 && !key.endsWith("0")));
+        assertEquals(RankKeys.forIndex(0), keys.get(0));
+        assertEquals("00001", RankKeys.forIndex(0));
+    }
+
+    @Test
+    @DisplayName("Should change only the key of a moved item when reranking")
+    void rerankKeepsUnmovedKeys() {
+        // Move the last item to the front
+        List<String> current = Arrays.asList("00004", "00001", "00002", "00003");
+
+        List<String> keys = RankKeys.rerank(current);
+
+        assertIncreasing(keys);
+        assertEquals(current.subList(1, 4), keys.subList(1, 4));
+        assertNotEquals("00004", keys.get(0));
+    }
+
+    @Test
+    @DisplayName("Should assign keys to new items between their neighbours")
+    void rerankFillsNewItems() {
+        List<String> keys = RankKeys.rerank(Arrays.asList(null, "00001", null, null, "00002", null));
+
+        assertIncreasing(keys);
+        assertEquals("00001", keys.get(1));
+        assertEquals("00002", keys.get(4));
+    }
+}
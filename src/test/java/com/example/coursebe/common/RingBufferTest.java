@@ -0,0 +1,101 @@
+package com.example.coursebe.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferTest {
+
+    @Test
+    @DisplayName("Should round the capacity up and refuse items once full")
+    void boundedCapacity() {
+        // Given
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        // Then
+        assertEquals(4, buffer.capacity());
+        assertEquals(4, buffer.size());
+        assertFalse(buffer.offer(4));
+    }
+
+    @Test
+    @DisplayName("Should drain oldest first, at most max at a time, and reuse freed slots")
+    void drainsInOrder() {
+        // Given
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(i);
+        }
+
+        // When
+        int first = buffer.drainTo(drained, 3);
+        buffer.offer(4);
+        buffer.offer(5);
+        buffer.offer(6);
+        int second = buffer.drainTo(drained, 10);
+
+        // Then
+        assertEquals(3, first);
+        assertEquals(4, second);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), drained);
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drainTo(drained, 10));
+    }
+
+    @Test
+    @DisplayName("Should hand every item from concurrent producers to the consumer exactly once")
+    void concurrentProducers() throws Exception {
+        // Given
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        // When
+        BitSet seen = new BitSet();
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            batch.clear();
+            buffer.drainTo(batch, 256);
+            for (int item : batch) {
+                assertFalse(seen.get(item), "Item " + item + " delivered twice");
+                seen.set(item);
+            }
+            received += batch.size();
+        }
+
+        // Then
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(producers * perProducer, seen.cardinality());
+        assertEquals(0, buffer.size());
+    }
+}
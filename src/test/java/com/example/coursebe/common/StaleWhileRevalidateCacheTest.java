@@ -0,0 +1,176 @@
+package com.example.coursebe.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaleWhileRevalidateCacheTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean admit = new AtomicBoolean(true);
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private StaleWhileRevalidateCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new StaleWhileRevalidateCache<>("test", Duration.ofSeconds(5), Duration.ofSeconds(60), 2,
+                (candidate, victim) -> admit.get(), generation::get, refreshes::add, meterRegistry, clock::get);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get(StaleWhileRevalidateCache.REQUESTS_METRIC).tag("result", result).counter().count();
+    }
+
+    private void runRefreshes() {
+        while (!refreshes.isEmpty()) {
+            refreshes.poll().run();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load on a miss and answer from the cache within the TTL")
+    void freshHit() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get("page-0", () -> "v" + loads.incrementAndGet());
+        clock.addAndGet(4 * SECOND);
+        String result = cache.get("page-0", () -> "v" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("v1", result);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, requests("miss"));
+        assertEquals(1.0, requests("fresh"));
+    }
+
+    @Test
+    @DisplayName("Should serve a stale entry immediately and refresh it once in the background")
+    void staleServedWhileRefreshing() {
+        // Given
+        cache.get("page-0", () -> "old");
+        clock.addAndGet(10 * SECOND);
+
+        // When
+        String first = cache.get("page-0", () -> "new");
+        String second = cache.get("page-0", () -> "new");
+
+        // Then
+        assertEquals("old", first);
+        assertEquals("old", second);
+        assertEquals(1, refreshes.size());
+
+        // When
+        runRefreshes();
+
+        // Then
+        assertEquals("new", cache.get("page-0", () -> "newer"));
+        assertEquals(2.0, requests("stale"));
+        assertEquals(1.0, requests("fresh"));
+    }
+
+    @Test
+    @DisplayName("Should keep serving the stale entry when the refresh fails, up to the maximum staleness")
+    void failingRefreshKeepsStaleEntry() {
+        // Given
+        cache.get("page-0", () -> "old");
+        clock.addAndGet(10 * SECOND);
+
+        // When
+        String result = cache.get("page-0", () -> {
+            throw new IllegalStateException("database down");
+        });
+        runRefreshes();
+
+        // Then
+        assertEquals("old", result);
+        assertEquals("old", cache.get("page-0", () -> "new"));
+        assertEquals(1.0, meterRegistry.get(StaleWhileRevalidateCache.REFRESH_FAILURES_METRIC).counter().count());
+
+        // When & Then
+        clock.addAndGet(60 * SECOND);
+        assertThrows(IllegalStateException.class, () -> cache.get("page-0", () -> {
+            throw new IllegalStateException("database down");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should treat entries as stale after the generation moves, including loads that overlapped the write")
+    void generationBump() {
+        // Given
+        cache.get("page-0", () -> "old");
+
+        // When
+        String overlapping = cache.get("page-1", () -> {
+            generation.incrementAndGet();
+            return "read before the write";
+        });
+        cache.get("page-0", () -> "new");
+        cache.get("page-1", () -> "new");
+
+        // Then
+        assertEquals("read before the write", overlapping);
+        assertEquals(2.0, requests("stale"));
+        assertEquals(2, refreshes.size());
+        runRefreshes();
+        assertEquals("new", cache.get("page-0", () -> "newer"));
+        assertEquals("new", cache.get("page-1", () -> "newer"));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry above the size limit")
+    void evictsLeastRecentlyUsed() {
+        // Given
+        cache.get("page-0", () -> "a");
+        cache.get("page-1", () -> "b");
+        cache.get("page-0", () -> "a");
+
+        // When
+        cache.get("page-2", () -> "c");
+
+        // Then
+        assertEquals("a", cache.get("page-0", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("page-1", () -> "reloaded"));
+    }
+
+    @Test
+    @DisplayName("Should return but not cache a value the admission policy turns away when full")
+    void admissionRejectsCandidate() {
+        // Given
+        cache.get("page-0", () -> "a");
+        cache.get("page-1", () -> "b");
+        admit.set(false);
+
+        // When
+        String result = cache.get("page-2", () -> "c");
+
+        // Then
+        assertEquals("c", result);
+        assertEquals("a", cache.get("page-0", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("page-2", () -> "reloaded"));
+        assertEquals(2.0, meterRegistry.get(StaleWhileRevalidateCache.ADMISSION_REJECTED_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a maximum staleness shorter than the TTL")
+    void rejectsInvalidStaleness() {
+        assertThrows(IllegalArgumentException.class, () -> new StaleWhileRevalidateCache<String, String>(
+                "invalid", Duration.ofSeconds(5), Duration.ofSeconds(1), 10, generation::get, Runnable::run, meterRegistry));
+    }
+}
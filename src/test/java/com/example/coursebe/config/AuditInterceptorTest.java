@@ -0,0 +1,96 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.controller.CourseController;
+import com.example.coursebe.dto.AuditEvent;
+import com.example.coursebe.service.AuditLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AuditInterceptorTest {
+
+    private AuditLog auditLog;
+    private AuditInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auditLog = mock(AuditLog.class);
+        interceptor = new AuditInterceptor(auditLog);
+        handler = new HandlerMethod(mock(CourseController.class),
+                CourseController.class.getMethod("deleteCourse", UUID.class, Principal.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void handle(MockHttpServletRequest request, MockHttpServletResponse response, Exception ex) {
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, ex);
+    }
+
+    @Test
+    @DisplayName("Should audit a mutating request with the caller, handler and status")
+    void auditsMutatingRequest() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("tutor-1", null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/courses/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(204);
+
+        // When
+        handle(request, response, null);
+
+        // Then
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditLog).record(event.capture());
+        assertEquals("tutor-1", event.getValue().actor());
+        assertEquals("DELETE", event.getValue().httpMethod());
+        assertEquals("/api/courses/42", event.getValue().path());
+        assertTrue(event.getValue().handler().endsWith("#deleteCourse"));
+        assertEquals(204, event.getValue().status());
+    }
+
+    @Test
+    @DisplayName("Should record a 500 when the handler threw")
+    void auditsFailure() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/courses");
+
+        // When
+        handle(request, new MockHttpServletResponse(), new IllegalStateException("boom"));
+
+        // Then
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditLog).record(event.capture());
+        assertNull(event.getValue().actor());
+        assertEquals(500, event.getValue().status());
+    }
+
+    @Test
+    @DisplayName("Should not audit reads")
+    void skipsReads() {
+        // When
+        handle(new MockHttpServletRequest("GET", "/api/courses"), new MockHttpServletResponse(), null);
+
+        // Then
+        verifyNoInteractions(auditLog);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Jobs target;
+    private Jobs jobs;
+
+    static class Jobs {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Jobs self;
+
+        @Bulkhead(Bulkhead.BACKGROUND)
+        public void blocking() throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+
+        @Bulkhead(Bulkhead.BACKGROUND)
+        public String quick() {
+            return "done";
+        }
+
+        @Bulkhead(Bulkhead.BACKGROUND)
+        public String nested() {
+            return self.quick();
+        }
+
+        @Bulkhead(Bulkhead.BACKGROUND)
+        public void failing() {
+            throw new IllegalStateException("job failed");
+        }
+
+        @Bulkhead("unknown")
+        public void unknown() {
+        }
+
+        public String unlimited() {
+            return "done";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BulkheadAspect aspect = new BulkheadAspect(
+                Map.of(Bulkhead.BACKGROUND, new BulkheadAspect.Limits(1, 0)), meterRegistry);
+        target = new Jobs();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        jobs = factory.getProxy();
+        target.self = jobs;
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("bulkhead", Bulkhead.BACKGROUND).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead size and admit them once a slot frees up")
+    void rejectsWhenFull() throws Exception {
+        // Given
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            try {
+                jobs.blocking();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(target.started.await(5, TimeUnit.SECONDS));
+
+        // When & Then
+        assertEquals(1.0, gauge(BulkheadAspect.ACTIVE_METRIC));
+        assertThrows(BulkheadFullException.class, () -> jobs.quick());
+        assertEquals("done", jobs.unlimited());
+        assertEquals(1.0, meterRegistry.get(BulkheadAspect.REJECTED_METRIC).counter().count());
+
+        // When
+        target.release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(0.0, gauge(BulkheadAspect.ACTIVE_METRIC));
+        assertEquals(1.0, gauge(BulkheadAspect.LIMIT_METRIC));
+        assertEquals("done", jobs.quick());
+    }
+
+    @Test
+    @DisplayName("Should run nested bulkhead calls under the outer slot")
+    void nestedCallsShareSlot() {
+        assertEquals("done", jobs.nested());
+        assertEquals(0.0, gauge(BulkheadAspect.ACTIVE_METRIC));
+    }
+
+    @Test
+    @DisplayName("Should free the slot when the call fails")
+    void releasesOnFailure() {
+        assertThrows(IllegalStateException.class, () -> jobs.failing());
+        assertEquals("done", jobs.quick());
+    }
+
+    @Test
+    @DisplayName("Should fail on an unconfigured bulkhead")
+    void unknownBulkhead() {
+        assertThrows(IllegalStateException.class, () -> jobs.unknown());
+    }
+}
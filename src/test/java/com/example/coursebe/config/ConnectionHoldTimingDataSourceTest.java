@@ -0,0 +1,86 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionHoldTimingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource target;
+    private Connection connection;
+    private ConnectionHoldTimingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConnectionHoldTimingDataSource(target, () -> meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should record one hold per connection, tagged with the matched route")
+    void recordsHoldPerRoute() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/courses/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/courses/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        Connection held = dataSource.getConnection();
+        held.getAutoCommit();
+        held.close();
+        held.close();
+
+        // Then
+        Timer timer = meterRegistry.find(ConnectionHoldTimingDataSource.METRIC_NAME)
+                .tag("method", "GET").tag("uri", "/courses/{id}").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        verify(connection).getAutoCommit();
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Should tag connections borrowed outside a request with no route")
+    void backgroundConnection() throws Exception {
+        // When
+        dataSource.getConnection().close();
+
+        // Then
+        Timer timer = meterRegistry.find(ConnectionHoldTimingDataSource.METRIC_NAME)
+                .tag("uri", ConnectionHoldTimingDataSource.NO_ROUTE).timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Should hand out the raw connection while no registry exists")
+    void noRegistry() throws Exception {
+        // Given
+        ConnectionHoldTimingDataSource untimed = new ConnectionHoldTimingDataSource(target, () -> null);
+
+        // When & Then
+        assertSame(connection, untimed.getConnection());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.service.CacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes, each with its own bus and LISTEN connection, on one Postgres database.
+ * Only runs when INVALIDATION_TEST_DATABASE_URL (plus INVALIDATION_TEST_USERNAME and
+ * INVALIDATION_TEST_PASSWORD) points at a Postgres server.
+ */
+@EnabledIfEnvironmentVariable(named = "INVALIDATION_TEST_DATABASE_URL", matches = ".+")
+public class PgInvalidationListenerTest {
+
+    private final List<PgInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private DataSourceProperties dataSourceProperties;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(System.getenv("INVALIDATION_TEST_DATABASE_URL"));
+        dataSourceProperties.setUsername(System.getenv("INVALIDATION_TEST_USERNAME"));
+        dataSourceProperties.setPassword(System.getenv("INVALIDATION_TEST_PASSWORD"));
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        listeners.forEach(PgInvalidationListener::stop);
+    }
+
+    private CacheInvalidationBus node() {
+        CacheInvalidationBus bus = new CacheInvalidationBus(jdbcTemplate, jdbcTemplate.getDataSource(),
+                new SimpleMeterRegistry(), true);
+        PgInvalidationListener listener = new PgInvalidationListener(bus, dataSourceProperties, 200, 100);
+        listener.start();
+        listeners.add(listener);
+        return bus;
+    }
+
+    private void awaitListening() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (listenerCount() < listeners.size() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(listeners.size(), listenerCount(), "Listeners did not connect");
+    }
+
+    private int listenerCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity "
+                + "WHERE query LIKE 'LISTEN%' OR query = 'SELECT 1'", Integer.class);
+    }
+
+    @Test
+    @DisplayName("Should deliver a committed change to the other node but not a rolled back one")
+    void deliversCommittedChange() throws Exception {
+        // Given
+        CacheInvalidationBus writer = node();
+        CacheInvalidationBus reader = node();
+        UUID rolledBack = UUID.randomUUID();
+        UUID committed = UUID.randomUUID();
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<CacheInvalidationBus.Change> changes = new CopyOnWriteArrayList<>();
+        reader.subscribe(change -> {
+            changes.add(change);
+            delivered.countDown();
+        });
+        awaitListening();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.publish(CacheInvalidationBus.Entity.COURSE, rolledBack);
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                writer.publish(CacheInvalidationBus.Entity.COURSE, committed));
+
+        // Then
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(new CacheInvalidationBus.Change(CacheInvalidationBus.Entity.COURSE, committed)), changes);
+    }
+
+    @Test
+    @DisplayName("Should fully flush after the LISTEN connection is lost and comes back")
+    void flushesAfterReconnect() throws Exception {
+        // Given
+        CacheInvalidationBus reader = node();
+        CountDownLatch flushed = new CountDownLatch(1);
+        reader.onFullFlush(flushed::countDown);
+        awaitListening();
+
+        // When
+        jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity "
+                + "WHERE pid <> pg_backend_pid() AND (query LIKE 'LISTEN%' OR query = 'SELECT 1')");
+
+        // Then
+        assertTrue(flushed.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Routes against two separate in-memory databases, each holding a row naming itself.
+ * Set REPLICA_TEST_PRIMARY_URL and REPLICA_TEST_REPLICA_URL (plus REPLICA_TEST_USERNAME and
+ * REPLICA_TEST_PASSWORD) to also run against two local Postgres servers.
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        ReadYourWritesWindow window = new ReadYourWritesWindow(WINDOW, clock::get);
+        useRouting(new ReadWriteRoutingDataSource(primary, replica, window, () -> meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void useRouting(ReadWriteRoutingDataSource routing) {
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(16))");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void writeAs(String userId) {
+        signIn(userId);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+    }
+
+    private static void signIn(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void routesByTransactionMode() {
+        assertEquals("replica", readOnlyNode());
+        assertEquals("primary", readWriteNode());
+        assertEquals("primary", jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should read a user's own writes from the primary until the window passes")
+    void readYourWrites() {
+        // Given
+        writeAs("student");
+
+        // When & Then
+        assertEquals("primary", readOnlyNode());
+        signIn("someone-else");
+        assertEquals("replica", readOnlyNode());
+
+        // When
+        signIn("student");
+        clock.addAndGet(WINDOW.toNanos());
+
+        // Then
+        assertEquals("replica", readOnlyNode());
+        assertEquals(1.0, meterRegistry.counter(ReadWriteRoutingDataSource.PINNED_READS_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("Should not pin reads after a rolled back or anonymous write")
+    void uncommittedOrAnonymousWritesDoNotPin() {
+        // Given
+        signIn("student");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals("replica", readOnlyNode());
+
+        // When
+        SecurityContextHolder.clearContext();
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        // Then
+        assertEquals("replica", readOnlyNode());
+    }
+
+    @Test
+    @DisplayName("Should route JPA transactions and open the window after a JPA write")
+    void routesJpaTransactions() {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(database("primary"), database("replica"),
+                new ReadYourWritesWindow(WINDOW, clock::get), () -> meterRegistry);
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(routing);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // No entities needed; the test only runs native queries
+        factory.setPackagesToScan(ReadWriteRoutingDataSourceTest.class.getPackageName());
+        factory.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factory.getObject();
+        try {
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+            TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+            jpaReadOnly.setReadOnly(true);
+            Supplier<String> readOnlyNode = () -> jpaReadOnly.execute(status ->
+                    (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult());
+
+            // When & Then
+            assertEquals("replica", readOnlyNode.get());
+            signIn("student");
+            jpaReadWrite.executeWithoutResult(status ->
+                    entityManager.createNativeQuery("UPDATE node SET name = name").executeUpdate());
+            assertEquals("primary", readOnlyNode.get());
+            signIn("someone-else");
+            assertEquals("replica", readOnlyNode.get());
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should open the window for a write run on the application executor")
+    void asyncWriteOpensWindow() throws Exception {
+        // Given
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setTaskDecorator(new AsyncConfig().securityContextTaskDecorator());
+        executor.initialize();
+        signIn("student");
+
+        // When
+        try {
+            executor.submit(() -> readWrite.executeWithoutResult(status ->
+                    jdbcTemplate.update("UPDATE node SET name = name"))).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals("primary", readOnlyNode());
+    }
+
+    @Test
+    @DisplayName("Should route between two Postgres servers")
+    @EnabledIfEnvironmentVariable(named = "REPLICA_TEST_PRIMARY_URL", matches = ".+")
+    @EnabledIfEnvironmentVariable(named = "REPLICA_TEST_REPLICA_URL", matches = ".+")
+    void routesBetweenPostgresServers() {
+        // Given
+        DataSource primary = postgres("REPLICA_TEST_PRIMARY_URL");
+        DataSource replica = postgres("REPLICA_TEST_REPLICA_URL");
+        useRouting(new ReadWriteRoutingDataSource(primary, replica,
+                new ReadYourWritesWindow(WINDOW, clock::get), () -> meterRegistry));
+        String sql = "SELECT current_setting('port') || ':' || current_database() || ':' || pg_is_in_recovery()";
+        String primaryNode = new JdbcTemplate(primary).queryForObject(sql, String.class);
+        String replicaNode = new JdbcTemplate(replica).queryForObject(sql, String.class);
+        assertNotEquals(primaryNode, replicaNode, "Primary and replica URLs point at the same database");
+
+        // When & Then
+        assertEquals(replicaNode, readOnly.execute(status -> jdbcTemplate.queryForObject(sql, String.class)));
+        assertEquals(primaryNode, readWrite.execute(status -> jdbcTemplate.queryForObject(sql, String.class)));
+        signIn("student");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.execute("CREATE TEMPORARY TABLE routing_probe (id INT)"));
+        assertEquals(primaryNode, readOnly.execute(status -> jdbcTemplate.queryForObject(sql, String.class)));
+    }
+
+    private static DataSource postgres(String urlVariable) {
+        return new DriverManagerDataSource(System.getenv(urlVariable),
+                System.getenv("REPLICA_TEST_USERNAME"), System.getenv("REPLICA_TEST_PASSWORD"));
+    }
+
+    @Test
+    @DisplayName("Should close both pools, the replica even when the primary fails to close")
+    void closesPools() throws Exception {
+        // Given
+        DataSource primary = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        DataSource replica = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        doThrow(new IllegalStateException("already closed")).when((AutoCloseable) primary).close();
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica,
+                new ReadYourWritesWindow(WINDOW), () -> meterRegistry);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, routing::close);
+        verify((AutoCloseable) primary).close();
+        verify((AutoCloseable) replica).close();
+    }
+}
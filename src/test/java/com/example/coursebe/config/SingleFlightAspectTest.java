@@ -0,0 +1,198 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private SimpleMeterRegistry meterRegistry;
+    private ReadYourWritesWindow readYourWritesWindow;
+    private Lookups target;
+    private Lookups lookups;
+
+    static class Lookups {
+
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        volatile RuntimeException failure;
+
+        @SingleFlight
+        public String course(UUID id) throws InterruptedException {
+            queries.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            if (failure != null) {
+                throw failure;
+            }
+            return "course " + id;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readYourWritesWindow = new ReadYourWritesWindow(Duration.ofMinutes(1));
+        target = new Lookups();
+        lookups = proxy(Duration.ofSeconds(5));
+    }
+
+    private Lookups proxy(Duration followerTimeout) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(meterRegistry, readYourWritesWindow, followerTimeout));
+        return factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+        callers.shutdownNow();
+    }
+
+    private List<CompletableFuture<String>> callConcurrently(UUID id) throws InterruptedException {
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return lookups.course(id);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, callers));
+        }
+        // Let every caller reach the in-flight call before the leader finishes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return calls;
+    }
+
+    private double coalesced() {
+        var counter = meterRegistry.find(SingleFlightAspect.COALESCED_METRIC).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @DisplayName("Should run concurrent identical calls once and share the result")
+    void coalescesIdenticalCalls() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        List<CompletableFuture<String>> calls = callConcurrently(id);
+
+        // When
+        target.release.countDown();
+
+        // Then
+        for (CompletableFuture<String> call : calls) {
+            assertEquals("course " + id, call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, target.queries.get());
+        assertEquals(CALLERS - 1, coalesced());
+        assertEquals(1.0, meterRegistry.get(SingleFlightAspect.EXECUTIONS_METRIC)
+                .tag("operation", "Lookups.course").counter().count());
+
+        // A call after the burst queries again instead of reusing the old result
+        lookups.course(id);
+        assertEquals(2, target.queries.get());
+    }
+
+    @Test
+    @DisplayName("Should share the leader's exception with waiting callers")
+    void sharesFailure() throws Exception {
+        // Given
+        target.failure = new IllegalStateException("database down");
+        List<CompletableFuture<String>> calls = callConcurrently(UUID.randomUUID());
+
+        // When
+        target.release.countDown();
+
+        // Then
+        for (CompletableFuture<String> call : calls) {
+            Exception thrown = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertSame(target.failure, thrown.getCause());
+        }
+        assertEquals(1, target.queries.get());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce calls with different arguments or inside a transaction")
+    void distinctCallsRunSeparately() throws Exception {
+        // Given
+        target.release.countDown();
+
+        // When
+        lookups.course(UUID.randomUUID());
+        lookups.course(UUID.randomUUID());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        lookups.course(UUID.randomUUID());
+
+        // Then
+        assertEquals(3, target.queries.get());
+        assertEquals(0, coalesced());
+        assertEquals(2.0, meterRegistry.get(SingleFlightAspect.EXECUTIONS_METRIC).counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce calls of a user pinned to the primary")
+    void pinnedUserRunsOwnCall() throws Exception {
+        // Given
+        target.release.countDown();
+        readYourWritesWindow.recordWrite("student-1");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("student-1", null, List.of()));
+
+        // When
+        lookups.course(UUID.randomUUID());
+
+        // Then
+        assertEquals(1, target.queries.get());
+        assertNull(meterRegistry.find(SingleFlightAspect.EXECUTIONS_METRIC).counter());
+    }
+
+    @Test
+    @DisplayName("Should run the call itself when the in-flight call outlasts the follower timeout")
+    void followerTimesOut() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        lookups = proxy(Duration.ofMillis(50));
+        List<CompletableFuture<String>> calls = callConcurrently(id);
+
+        // When
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (target.queries.get() < CALLERS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        target.release.countDown();
+
+        // Then
+        for (CompletableFuture<String> call : calls) {
+            assertEquals("course " + id, call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(CALLERS, target.queries.get());
+        assertEquals(CALLERS - 1, meterRegistry.get(SingleFlightAspect.TIMEOUTS_METRIC).counter().count());
+    }
+}
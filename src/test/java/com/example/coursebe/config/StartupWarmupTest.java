@@ -0,0 +1,106 @@
+package com.example.coursebe.config;
+
+import com.example.coursebe.controller.CourseController;
+import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.service.CourseAccessTracker;
+import com.example.coursebe.service.TutorApplicationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StartupWarmupTest {
+
+    @Mock
+    private CourseController courseController;
+
+    @Mock
+    private TutorApplicationService tutorApplicationService;
+
+    @Mock
+    private CourseAccessTracker accessTracker;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private StartupWarmup warmup(long timeoutMs) {
+        return new StartupWarmup(courseController, tutorApplicationService, accessTracker, new ObjectMapper(),
+                executor, true, timeoutMs, 10, 5, 2);
+    }
+
+    @Test
+    @DisplayName("Should warm catalog pages, hot searches, hot courses and accepted tutors")
+    void warmsEverything() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        when(accessTracker.hotSearches(5)).thenReturn(List.of(new CourseAccessTracker.SearchTerm("name", "java")));
+        when(accessTracker.hotCourses(10)).thenReturn(List.of(courseId));
+
+        // When
+        warmup(5_000).run(new DefaultApplicationArguments());
+
+        // Then
+        verify(courseController).getAllCourses(any(UUID.class), isNull(), isNull(), eq(0), eq(15));
+        verify(courseController).getAllCourses(any(UUID.class), isNull(), isNull(), eq(1), eq(15));
+        verify(courseController).getAllCourses(any(UUID.class), eq("name"), eq("java"), eq(0), eq(15));
+        verify(courseController).getCourseById(eq(courseId), any(UUID.class));
+        verify(tutorApplicationService).getApplicationsByStatus(TutorApplication.Status.ACCEPTED);
+    }
+
+    @Test
+    @DisplayName("Should carry on with the next step when one fails")
+    void skipsFailingStep() {
+        // Given
+        when(accessTracker.hotSearches(5)).thenThrow(new IllegalStateException("hot_key missing"));
+        when(accessTracker.hotCourses(10)).thenReturn(List.of());
+
+        // When
+        warmup(5_000).run(new DefaultApplicationArguments());
+
+        // Then
+        verify(tutorApplicationService).getApplicationsByStatus(TutorApplication.Status.ACCEPTED);
+    }
+
+    @Test
+    @DisplayName("Should give up after the timeout and skip the remaining steps")
+    void timesOut() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(accessTracker.hotSearches(5)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        // When
+        long start = System.nanoTime();
+        warmup(200).run(new DefaultApplicationArguments());
+
+        // Then
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3), "Warmup did not time out");
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        verify(accessTracker, never()).hotCourses(anyInt());
+        verifyNoInteractions(tutorApplicationService);
+    }
+}
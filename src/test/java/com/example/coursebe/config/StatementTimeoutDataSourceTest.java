@@ -0,0 +1,217 @@
+package com.example.coursebe.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class StatementTimeoutDataSourceTest {
+
+    // Billions of rows; H2 checks for timeouts and cancels while producing them
+    private static final String ENDLESS_QUERY =
+            "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    static class Searches {
+
+        Searches self;
+        Long innerDeadline;
+
+        @StatementTimeout(1_000)
+        public Long outer() {
+            return self.inner();
+        }
+
+        @StatementTimeout(60_000)
+        public Long inner() {
+            innerDeadline = StatementScope.current().deadlineNanos();
+            return innerDeadline;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementScope scope = StatementScope.current();
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    private StatementTimeoutDataSource h2() {
+        DataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:statement-timeout-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        return new StatementTimeoutDataSource(target, () -> meterRegistry);
+    }
+
+    private double count(String metric, String uri) {
+        return meterRegistry.get(metric).tag("uri", uri).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should give each statement the time left until the deadline as its query timeout")
+    void appliesRemainingBudget() throws Exception {
+        // Given
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        StatementTimeoutDataSource dataSource = new StatementTimeoutDataSource(target, () -> meterRegistry);
+        StatementScope scope = StatementScope.open(new String[]{"GET", "/courses/search"});
+        scope.tighten(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1_500));
+
+        // When
+        PreparedStatement bounded = dataSource.getConnection().prepareStatement("SELECT 1");
+        bounded.executeQuery();
+
+        // Then
+        verify(statement).setQueryTimeout(2);
+        verify(statement).executeQuery();
+        assertInstanceOf(PreparedStatement.class, bounded);
+    }
+
+    @Test
+    @DisplayName("Should leave statements outside a scope untouched")
+    void noScopeNoTimeout() throws Exception {
+        // Given
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+
+        // When
+        new StatementTimeoutDataSource(target, () -> meterRegistry).getConnection().createStatement().execute("SELECT 1");
+
+        // Then
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refuse statements once the budget is used up, without reaching the database")
+    void rejectsAfterDeadline() throws Exception {
+        // Given
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        StatementScope scope = StatementScope.open(new String[]{"GET", "/courses/search"});
+        scope.tighten(System.nanoTime());
+
+        // When & Then
+        Statement bounded = new StatementTimeoutDataSource(target, () -> meterRegistry).getConnection().createStatement();
+        assertThrows(SQLTimeoutException.class, () -> bounded.executeQuery("SELECT 1"));
+        verify(statement, never()).executeQuery(any());
+        assertEquals(1.0, count(StatementTimeoutDataSource.TIMEOUTS_METRIC, "/courses/search"));
+    }
+
+    @Test
+    @DisplayName("Should time out a long query in the database and count it under the route")
+    void timesOutLongQuery() throws Exception {
+        // Given
+        StatementTimeoutDataSource dataSource = h2();
+        StatementScope scope = StatementScope.open(new String[]{"GET", "/courses/search"});
+        scope.tighten(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500));
+
+        // When
+        SQLException thrown;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            long start = System.nanoTime();
+            thrown = assertThrows(SQLException.class, () -> statement.executeQuery(ENDLESS_QUERY));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "Query was not stopped");
+        }
+
+        // Then
+        assertEquals(StatementTimeoutDataSource.QUERY_CANCELED_STATE, thrown.getSQLState());
+        assertEquals(1.0, count(StatementTimeoutDataSource.TIMEOUTS_METRIC, "/courses/search"));
+    }
+
+    @Test
+    @DisplayName("Should cancel the running query of an async request when the client goes away")
+    void cancelsAbandonedAsyncRequest() throws Exception {
+        // Given
+        StatementTimeoutDataSource dataSource = h2();
+        StatementCancellingInterceptor interceptor = new StatementCancellingInterceptor();
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/courses/1/students/export");
+        servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/courses/{courseId}/students/export");
+        ServletWebRequest request = new ServletWebRequest(servletRequest);
+        Callable<Void> task = () -> null;
+        CompletableFuture<Statement> running = new CompletableFuture<>();
+
+        CompletableFuture<Void> export = CompletableFuture.runAsync(() -> {
+            try {
+                interceptor.preProcess(request, task);
+                try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                    running.complete(statement);
+                    statement.executeQuery(ENDLESS_QUERY);
+                } finally {
+                    interceptor.postProcess(request, task, null);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        running.get(5, TimeUnit.SECONDS);
+        Thread.sleep(200);
+
+        // When
+        interceptor.handleError(request, task, new IOException("Broken pipe"));
+
+        // Then
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> export.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(SQLException.class, failure.getCause().getCause());
+        assertEquals(1.0, count(StatementTimeoutDataSource.CANCELLATIONS_METRIC, "/courses/{courseId}/students/export"));
+    }
+
+    @Test
+    @DisplayName("Should only let nested methods shorten the deadline and close the scope on exit")
+    void nestedMethodsCannotExtendDeadline() {
+        // Given
+        Searches target = new Searches();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new StatementTimeoutAspect());
+        Searches searches = factory.getProxy();
+        target.self = searches;
+
+        // When
+        long start = System.nanoTime();
+        Long deadline = searches.outer();
+
+        // Then
+        assertTrue(deadline - start < TimeUnit.MILLISECONDS.toNanos(2_000), "Inner method extended the deadline");
+        assertNull(StatementScope.current());
+        assertNotNull(searches.inner());
+        assertNull(StatementScope.current());
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.coursebe.controller;
+
+import com.example.coursebe.dto.ArticleResponse;
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.model.Article;
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.Enrollment;
+import com.example.coursebe.model.Section;
+import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.service.ArticleService;
+import com.example.coursebe.service.CourseAccessTracker;
+import com.example.coursebe.service.CourseService;
+import com.example.coursebe.service.EnrollmentService;
+import com.example.coursebe.service.SectionService;
+import com.example.coursebe.service.TutorApplicationService;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.Entity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards against controllers handing JPA entities to Jackson, which walks their lazy
+ * associations (a course's enrollments, a section's articles) on every response.
+ */
+public class ControllerEntityGuardTest {
+
+    private static final String BASE_PACKAGE = "com.example.coursebe";
+
+    // Fails as soon as Jackson builds a serializer for an entity, however deep in the body it is
+    private final ObjectMapper entityRejectingMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new SimpleModule().setSerializerModifier(new BeanSerializerModifier() {
+                @Override
+                public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                          JsonSerializer<?> serializer) {
+                    if (isEntity(beanDesc.getBeanClass())) {
+                        throw new AssertionError("Response body serializes JPA entity " + beanDesc.getBeanClass().getName());
+                    }
+                    return serializer;
+                }
+            }));
+
+    private CourseService courseService;
+    private SectionService sectionService;
+    private ArticleService articleService;
+    private TutorApplicationService tutorApplicationService;
+    private Principal principal;
+    private UUID tutorId;
+    private Course course;
+    private Section section;
+    private Article article;
+
+    @BeforeEach
+    void setUp() {
+        courseService = mock(CourseService.class);
+        sectionService = mock(SectionService.class);
+        articleService = mock(ArticleService.class);
+        tutorApplicationService = mock(TutorApplicationService.class);
+        principal = mock(Principal.class);
+        tutorId = UUID.randomUUID();
+        when(principal.getName()).thenReturn(tutorId.toString());
+
+        TutorApplication accepted = new TutorApplication(tutorId);
+        accepted.setStatus(TutorApplication.Status.ACCEPTED);
+        when(tutorApplicationService.getMostRecentApplicationByStudentId(tutorId)).thenReturn(Optional.of(accepted));
+
+        // A fully linked graph, so any entity reaching the body would drag the rest with it
+        course = new Course("Java", "Learn Java", tutorId, new BigDecimal("99.99"));
+        section = new Section("Basics", 0);
+        course.addSection(section);
+        article = new Article("Hello", "Content", 0);
+        section.addArticle(article);
+        course.getEnrollments().add(new Enrollment(UUID.randomUUID(), course));
+        when(courseService.getCourseById(course.getId())).thenReturn(Optional.of(course));
+        when(sectionService.getSectionById(section.getId())).thenReturn(Optional.of(section));
+        when(articleService.getArticleById(article.getId())).thenReturn(Optional.of(article));
+    }
+
+    @Test
+    @DisplayName("No controller method declares an entity anywhere in its return type")
+    void noDeclaredEntityReturnTypes() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        List<String> offenders = new ArrayList<>();
+        int controllers = 0;
+        for (BeanDefinition definition : scanner.findCandidateComponents(BASE_PACKAGE)) {
+            Class<?> controller = ClassUtils.forName(definition.getBeanClassName(), getClass().getClassLoader());
+            controllers++;
+            for (Method method : controller.getDeclaredMethods()) {
+                if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)
+                        && containsEntity(ResolvableType.forMethodReturnType(method), 0)) {
+                    offenders.add(controller.getSimpleName() + "#" + method.getName());
+                }
+            }
+        }
+        assertTrue(controllers > 0, "No controllers found under " + BASE_PACKAGE);
+        assertTrue(offenders.isEmpty(), "Controller methods returning JPA entities: " + offenders);
+    }
+
+    @Test
+    @DisplayName("PUT /courses/{courseId} responds without entities")
+    void updateCourseBody() throws Exception {
+        when(courseService.updateCourse(eq(course.getId()), any(), any(), any(), any())).thenReturn(Optional.of(course));
+        CourseController controller = new CourseController(courseService, mock(EnrollmentService.class), tutorApplicationService,
+                mock(CourseAccessTracker.class));
+
+        assertEntityFree(controller.updateCourse(course.getId(), new CourseController.UpdateCourseRequest(), principal));
+    }
+
+    @Test
+    @DisplayName("GET /courses/mine responds without entities")
+    void myCoursesBody() throws Exception {
+        when(courseService.getCoursesByTutorId(tutorId)).thenReturn(List.of(course));
+        CourseController controller = new CourseController(courseService, mock(EnrollmentService.class), tutorApplicationService,
+                mock(CourseAccessTracker.class));
+
+        assertEntityFree(controller.getMyCourses(principal));
+    }
+
+    @Test
+    @DisplayName("Section reads and writes respond without entities")
+    void sectionBodies() throws Exception {
+        SectionResponse response = new SectionResponse(section.getId(), course.getId(), section.getTitle(), 0,
+                section.getCreatedAt(), section.getUpdatedAt());
+        when(sectionService.getSectionResponse(course.getId(), section.getId())).thenReturn(Optional.of(response));
+        when(sectionService.updateSection(eq(section.getId()), any(), any())).thenReturn(Optional.of(response));
+        SectionController controller = new SectionController(sectionService, courseService, tutorApplicationService);
+
+        assertEntityFree(controller.getSectionById(course.getId(), section.getId(), principal));
+        assertEntityFree(controller.updateSection(course.getId(), section.getId(), new SectionController.SectionRequest(), principal));
+    }
+
+    @Test
+    @DisplayName("Article reads and writes respond without entities")
+    void articleBodies() throws Exception {
+        ArticleResponse response = new ArticleResponse(article.getId(), section.getId(), article.getTitle(),
+                article.getContent(), 0, article.getCreatedAt(), article.getUpdatedAt());
+        when(articleService.getArticleResponse(course.getId(), section.getId(), article.getId()))
+                .thenReturn(Optional.of(response));
+        when(articleService.updateArticle(eq(article.getId()), any(), any(), any())).thenReturn(Optional.of(response));
+        ArticleController controller = new ArticleController(articleService, sectionService, courseService, tutorApplicationService);
+
+        assertEntityFree(controller.getArticleById(course.getId(), section.getId(), article.getId(), principal));
+        assertEntityFree(controller.updateArticle(course.getId(), section.getId(), article.getId(),
+                new ArticleController.ArticleRequest(), principal));
+    }
+
+    private void assertEntityFree(ResponseEntity<?> response) throws Exception {
+        assertTrue(response.getStatusCode().is2xxSuccessful(), "Unexpected response " + response);
+        assertNotNull(entityRejectingMapper.writeValueAsString(response.getBody()));
+    }
+
+    private static boolean containsEntity(ResolvableType type, int depth) {
+        if (type == ResolvableType.NONE || depth > 8) {
+            return false;
+        }
+        Class<?> resolved = type.resolve();
+        if (resolved != null && isEntity(resolved)) {
+            return true;
+        }
+        if (type.isArray() && containsEntity(type.getComponentType(), depth + 1)) {
+            return true;
+        }
+        for (ResolvableType generic : type.getGenerics()) {
+            if (containsEntity(generic, depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEntity(Class<?> type) {
+        // Walk up so Hibernate proxy subclasses are caught too
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -7,22 +7,30 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -37,15 +45,25 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.coursebe.common.ApiResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.dto.CourseEnrolledResponse;
 import com.example.coursebe.dto.CourseResponse;
 import com.example.coursebe.dto.CreateCourseRequest;
+import com.example.coursebe.dto.EnrolledCourse;
 import com.example.coursebe.dto.EnrollmentResponse;
+import com.example.coursebe.dto.RosterEntry;
+import com.example.coursebe.dto.RosterPage;
+import com.example.coursebe.dto.SectionOutline;
+import com.example.coursebe.dto.TutorCourseResponse;
 import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
 import com.example.coursebe.model.Enrollment;
+import com.example.coursebe.model.Section;
 import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.service.CourseAccessTracker;
 import com.example.coursebe.service.CourseService;
 import com.example.coursebe.service.EnrollmentService;
 import com.example.coursebe.service.TutorApplicationService;
@@ -58,6 +76,8 @@ class CourseControllerTest {
     private EnrollmentService enrollmentService;
     @Mock
     private TutorApplicationService tutorApplicationService;
+    @Mock
+    private CourseAccessTracker accessTracker;
     @InjectMocks
     private CourseController courseController;
 
@@ -71,6 +91,15 @@ class CourseControllerTest {
         lenient().when(principal.getName()).thenReturn(tutorId.toString());
     }
 
+    private CourseCatalogView catalogView(String name, String description, BigDecimal price) {
+        CourseCatalogView view = new CourseCatalogView(UUID.randomUUID());
+        view.setName(name);
+        view.setDescription(description);
+        view.setTutorId(UUID.randomUUID());
+        view.setPrice(price);
+        return view;
+    }
+
     @Test
     @DisplayName("GET /courses?userId={userId} - should return all courses with pagination when no search parameters")
     void getAllCourses_noSearchParameters() {
@@ -79,11 +108,11 @@ class CourseControllerTest {
         int page = 0;
         int size = 15;
         Pageable pageable = PageRequest.of(page, size);
-        List<Course> mockCourses = Arrays.asList(
-                new Course("Java Course", "Learn Java", UUID.randomUUID(), new BigDecimal("99.99")),
-                new Course("Python Course", "Learn Python", UUID.randomUUID(), new BigDecimal("89.99")));
-        Page<Course> mockCoursePage = new PageImpl<>(mockCourses, pageable, 2);
-        when(courseService.getAllCourses(pageable)).thenReturn(mockCoursePage);
+        List<CourseCatalogView> mockCourses = Arrays.asList(
+                catalogView("Java Course", "Learn Java", new BigDecimal("99.99")),
+                catalogView("Python Course", "Learn Python", new BigDecimal("89.99")));
+        Page<CourseCatalogView> mockCoursePage = new PageImpl<>(mockCourses, pageable, 2);
+        when(courseService.getCatalog(pageable)).thenReturn(mockCoursePage);
 
         // When
         ResponseEntity<ApiResponse<List<CourseResponse>>> response = courseController.getAllCourses(userId, null, null,
@@ -107,10 +136,38 @@ class CourseControllerTest {
         assertEquals(0, responseBody.getMetadata().get("currentPage"));
         assertEquals(15, responseBody.getMetadata().get("pageSize"));
 
-        verify(courseService).getAllCourses(pageable);
+        verify(courseService).getCatalog(pageable);
         verify(courseService, never()).searchCourses(anyString(), anyString(), any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("GET /courses?userId={userId} - should map catalog rows and resolve enrollment for the page in one call")
+    void getAllCourses_catalogRowsWithEnrollment() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Pageable pageable = PageRequest.of(0, 15);
+        CourseCatalogView enrolled = catalogView("Java Course", "Learn Java", new BigDecimal("99.99"));
+        enrolled.setSections(List.of(new CourseCatalogView.CatalogSection(UUID.randomUUID(), "Basics", 3)));
+        CourseCatalogView notEnrolled = catalogView("Python Course", "Learn Python", new BigDecimal("89.99"));
+        when(courseService.getCatalog(pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(enrolled, notEnrolled), pageable, 2));
+        when(enrollmentService.getEnrolledCourseIds(userId, List.of(enrolled.getCourseId(), notEnrolled.getCourseId())))
+                .thenReturn(Set.of(enrolled.getCourseId()));
+
+        // When
+        ResponseEntity<ApiResponse<List<CourseResponse>>> response = courseController.getAllCourses(userId, null, null,
+                0, 15);
+
+        // Then
+        List<CourseResponse> data = response.getBody().getData();
+        assertEquals(2, data.size());
+        assertEquals(enrolled.getCourseId(), data.get(0).getId());
+        assertTrue(data.get(0).isEnrolled());
+        assertEquals("Basics", data.get(0).getSections().get(0).getTitle());
+        assertFalse(data.get(1).isEnrolled());
+        verify(enrollmentService, never()).isEnrolled(any(UUID.class), any(UUID.class));
+    }
+
     @Test
     @DisplayName("GET /courses?userId={userId}&type=keyword&keyword=Java - should search courses by keyword with pagination")
     void getAllCourses_searchByKeyword() {
@@ -151,7 +208,8 @@ class CourseControllerTest {
         assertEquals(15, responseBody.getMetadata().get("pageSize"));
 
         verify(courseService).searchCourses(type, keyword, pageable);
-        verify(courseService, never()).getAllCourses(any(Pageable.class));
+        verify(courseService, never()).getCatalog(any(Pageable.class));
+        verify(accessTracker).recordSearch(type, keyword);
     }
 
     @Test
@@ -193,7 +251,7 @@ class CourseControllerTest {
         assertEquals(15, responseBody.getMetadata().get("pageSize"));
 
         verify(courseService).searchCourses(type, keyword, pageable);
-        verify(courseService, never()).getAllCourses(any(Pageable.class));
+        verify(courseService, never()).getCatalog(any(Pageable.class));
     }
 
     @Test
@@ -231,7 +289,7 @@ class CourseControllerTest {
         assertEquals(15, responseBody.getMetadata().get("pageSize"));
 
         verify(courseService).searchCourses(type, keyword, pageable);
-        verify(courseService, never()).getAllCourses(any(Pageable.class));
+        verify(courseService, never()).getCatalog(any(Pageable.class));
     }
 
     @Test
@@ -245,12 +303,12 @@ class CourseControllerTest {
         int size = 15;
         Pageable pageable = PageRequest.of(page, size);
 
-        List<Course> mockCourses = Arrays.asList(
-                new Course("Java Course", "Learn Java", UUID.randomUUID(), new BigDecimal("99.99")),
-                new Course("Python Course", "Learn Python", UUID.randomUUID(), new BigDecimal("89.99")));
-        Page<Course> mockCoursePage = new PageImpl<>(mockCourses, pageable, 2);
+        List<CourseCatalogView> mockCourses = Arrays.asList(
+                catalogView("Java Course", "Learn Java", new BigDecimal("99.99")),
+                catalogView("Python Course", "Learn Python", new BigDecimal("89.99")));
+        Page<CourseCatalogView> mockCoursePage = new PageImpl<>(mockCourses, pageable, 2);
 
-        when(courseService.getAllCourses(pageable)).thenReturn(mockCoursePage);
+        when(courseService.getCatalog(pageable)).thenReturn(mockCoursePage);
 
         // When
         ResponseEntity<ApiResponse<List<CourseResponse>>> response = courseController.getAllCourses(userId, type,
@@ -272,7 +330,7 @@ class CourseControllerTest {
         assertEquals(0, responseBody.getMetadata().get("currentPage"));
         assertEquals(15, responseBody.getMetadata().get("pageSize"));
 
-        verify(courseService).getAllCourses(pageable);
+        verify(courseService).getCatalog(pageable);
         verify(courseService, never()).searchCourses(anyString(), anyString(), any(Pageable.class));
     }
 
@@ -285,11 +343,11 @@ class CourseControllerTest {
         int size = 5;
         Pageable pageable = PageRequest.of(page, size);
 
-        List<Course> mockCourses = Arrays.asList(
-                new Course("Advanced Course", "Advanced topics", UUID.randomUUID(), new BigDecimal("149.99")));
-        Page<Course> mockCoursePage = new PageImpl<>(mockCourses, pageable, 11); // 11 total elements
+        List<CourseCatalogView> mockCourses = Arrays.asList(
+                catalogView("Advanced Course", "Advanced topics", new BigDecimal("149.99")));
+        Page<CourseCatalogView> mockCoursePage = new PageImpl<>(mockCourses, pageable, 11); // 11 total elements
 
-        when(courseService.getAllCourses(pageable)).thenReturn(mockCoursePage);
+        when(courseService.getCatalog(pageable)).thenReturn(mockCoursePage);
 
         // When
         ResponseEntity<ApiResponse<List<CourseResponse>>> response = courseController.getAllCourses(userId, null, null,
@@ -309,7 +367,7 @@ class CourseControllerTest {
         assertEquals(2, responseBody.getMetadata().get("currentPage"));
         assertEquals(5, responseBody.getMetadata().get("pageSize"));
 
-        verify(courseService).getAllCourses(pageable);
+        verify(courseService).getCatalog(pageable);
     }
 
     @Test
@@ -324,13 +382,15 @@ class CourseControllerTest {
         List<Course> mockCourses = Arrays.asList(
                 new Course("Java Course", "Learn Java", UUID.randomUUID(), new BigDecimal("99.99")),
                 new Course("Python Course", "Learn Python", UUID.randomUUID(), new BigDecimal("89.99")));
-        Page<Course> mockCoursePage = new PageImpl<>(mockCourses, pageable, 2);
+        LocalDateTime enrolledAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        Page<EnrolledCourse> mockCoursePage = new PageImpl<>(mockCourses, pageable, 2)
+                .map(course -> new EnrolledCourse(course, enrolledAt));
 
-        when(courseService.getEnrolledCourses(userId, pageable)).thenReturn(mockCoursePage);
+        when(courseService.getEnrolledCourses(userId, false, pageable)).thenReturn(mockCoursePage);
 
         // When
         ResponseEntity<ApiResponse<List<CourseEnrolledResponse>>> response = courseController.getMyAllCourses(userId,
-                null, null, page, size);
+                null, null, null, page, size);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -350,6 +410,7 @@ class CourseControllerTest {
         // Verify price field exists in response
         assertNotNull(responseBody.getData().get(0).getPrice());
         assertEquals(new BigDecimal("99.99"), responseBody.getData().get(0).getPrice());
+        assertEquals(enrolledAt, responseBody.getData().get(0).getEnrollmentDate());
 
         // Check pagination metadata
         assertNotNull(responseBody.getMetadata());
@@ -358,10 +419,32 @@ class CourseControllerTest {
         assertEquals(0, responseBody.getMetadata().get("currentPage"));
         assertEquals(15, responseBody.getMetadata().get("pageSize"));
 
-        verify(courseService).getEnrolledCourses(userId, pageable);
+        verify(courseService).getEnrolledCourses(userId, false, pageable);
         verify(courseService, never()).searchEnrolledCourses(any(), anyString(), anyString(), any());
     }
 
+    @Test
+    @DisplayName("GET /courses/my-courses?userId={userId}&sort=recent - should list most recent enrollments first")
+    void getMyAllCourses_recentFirst() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Pageable pageable = PageRequest.of(0, 15);
+        Course course = new Course("Java Course", "Learn Java", UUID.randomUUID(), new BigDecimal("99.99"));
+        Page<EnrolledCourse> mockCoursePage = new PageImpl<>(
+                List.of(new EnrolledCourse(course, LocalDateTime.now())), pageable, 1);
+
+        when(courseService.getEnrolledCourses(userId, true, pageable)).thenReturn(mockCoursePage);
+
+        // When
+        ResponseEntity<ApiResponse<List<CourseEnrolledResponse>>> response = courseController.getMyAllCourses(userId,
+                null, null, "recent", 0, 15);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getData().size());
+        verify(courseService).getEnrolledCourses(userId, true, pageable);
+    }
+
     @Test
     @DisplayName("GET /courses/my-courses?userId={userId}&type=name&keyword=Java - should search enrolled courses by name")
     void getMyAllCourses_searchByName() {
@@ -375,13 +458,14 @@ class CourseControllerTest {
 
         List<Course> mockCourses = Arrays.asList(
                 new Course("Java Course", "Learn Java", UUID.randomUUID(), new BigDecimal("99.99")));
-        Page<Course> mockCoursePage = new PageImpl<>(mockCourses, pageable, 1);
+        Page<EnrolledCourse> mockCoursePage = new PageImpl<>(mockCourses, pageable, 1)
+                .map(course -> new EnrolledCourse(course, LocalDateTime.now()));
 
         when(courseService.searchEnrolledCourses(userId, type, keyword, pageable)).thenReturn(mockCoursePage);
 
         // When
         ResponseEntity<ApiResponse<List<CourseEnrolledResponse>>> response = courseController.getMyAllCourses(userId,
-                type, keyword, page, size);
+                type, keyword, null, page, size);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -403,7 +487,7 @@ class CourseControllerTest {
         assertEquals(15, responseBody.getMetadata().get("pageSize"));
 
         verify(courseService).searchEnrolledCourses(userId, type, keyword, pageable);
-        verify(courseService, never()).getEnrolledCourses(any(), any());
+        verify(courseService, never()).getEnrolledCourses(any(), anyBoolean(), any());
     }
 
     @Test
@@ -445,11 +529,41 @@ class CourseControllerTest {
         assertEquals("Learn Java", courseResponse.getDescription());
         assertEquals(new BigDecimal("99.99"), courseResponse.getPrice());
         assertTrue(courseResponse.isEnrolled());
+        verify(accessTracker).recordCourseRead(courseId);
 
         verify(courseService).getCourseById(courseId);
         verify(enrollmentService).isEnrolled(userId, courseId);
     }
 
+    @Test
+    @DisplayName("GET /courses/my-courses/{id}?userId={userId} - should build articles from the outline projection")
+    void getMyCourseById_articlesFromOutline() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Course mockCourse = new Course("Java Course", "Learn Java", UUID.randomUUID(), new BigDecimal("99.99"));
+        SectionOutline section = sectionOutline(mockCourse.getId(), "Basics");
+        SectionOutline emptySection = sectionOutline(mockCourse.getId(), "Advanced");
+        ArticleSummary article = new ArticleSummary(section.getId(), UUID.randomUUID(), "Hello World", 0);
+
+        when(courseService.getEnrolledCourse(userId, mockCourse.getId()))
+                .thenReturn(Optional.of(new EnrolledCourse(mockCourse, LocalDateTime.now())));
+        when(courseService.getSectionOutline(List.of(mockCourse.getId())))
+                .thenReturn(Map.of(mockCourse.getId(), List.of(section, emptySection)));
+        when(courseService.getArticleOutline(mockCourse.getId())).thenReturn(Map.of(section.getId(), List.of(article)));
+
+        // When
+        ResponseEntity<ApiResponse<CourseEnrolledResponse>> response =
+                courseController.getMyCourseById(mockCourse.getId(), userId);
+
+        // Then
+        List<CourseEnrolledResponse.Section> sections = response.getBody().getData().getSections();
+        assertEquals(2, sections.size());
+        assertEquals(1, sections.get(0).getArticles().size());
+        assertEquals(article.getId(), sections.get(0).getArticles().get(0).getId());
+        assertEquals("Hello World", sections.get(0).getArticles().get(0).getTitle());
+        assertTrue(sections.get(1).getArticles().isEmpty());
+    }
+
     @Test
     @DisplayName("GET /courses/my-courses/{id}?userId={userId} - should return enrolled course details")
     void getMyCourseById_whenEnrolled() {
@@ -467,8 +581,9 @@ class CourseControllerTest {
             fail("Failed to set course ID");
         }
 
-        when(courseService.getCourseById(courseId)).thenReturn(Optional.of(mockCourse));
-        when(enrollmentService.isEnrolled(userId, courseId)).thenReturn(true);
+        LocalDateTime enrolledAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(courseService.getEnrolledCourse(userId, courseId))
+                .thenReturn(Optional.of(new EnrolledCourse(mockCourse, enrolledAt)));
 
         // When
         ResponseEntity<ApiResponse<CourseEnrolledResponse>> response = courseController.getMyCourseById(courseId,
@@ -489,9 +604,10 @@ class CourseControllerTest {
         assertEquals("Java Course", enrolledResponse.getName());
         assertEquals("Learn Java", enrolledResponse.getDescription());
         assertEquals(new BigDecimal("99.99"), enrolledResponse.getPrice());
+        assertEquals(enrolledAt, enrolledResponse.getEnrollmentDate());
 
-        verify(courseService).getCourseById(courseId);
-        verify(enrollmentService).isEnrolled(userId, courseId);
+        verify(courseService).getEnrolledCourse(userId, courseId);
+        verify(courseService, never()).getCourseById(any());
     }
 
     @Test
@@ -511,8 +627,8 @@ class CourseControllerTest {
             fail("Failed to set course ID");
         }
 
+        when(courseService.getEnrolledCourse(userId, courseId)).thenReturn(Optional.empty());
         when(courseService.getCourseById(courseId)).thenReturn(Optional.of(mockCourse));
-        when(enrollmentService.isEnrolled(userId, courseId)).thenReturn(false);
 
         // When
         ResponseEntity<ApiResponse<CourseEnrolledResponse>> response = courseController.getMyCourseById(courseId,
@@ -529,7 +645,7 @@ class CourseControllerTest {
         assertNull(responseBody.getData());
 
         verify(courseService).getCourseById(courseId);
-        verify(enrollmentService).isEnrolled(userId, courseId);
+        verify(enrollmentService, never()).isEnrolled(any(), any());
     }
 
     @Test
@@ -821,15 +937,9 @@ class CourseControllerTest {
         assertTrue(respMap.get("courses") instanceof List);
         List<?> respCourses = (List<?>) respMap.get("courses");
         assertEquals(2, respCourses.size());
-        // Cek nama course baik jika elemen Course maupun Map hasil serialisasi
-        assertTrue(respCourses.stream().anyMatch(c -> {
-            if (c instanceof java.util.Map<?, ?> map) {
-                return "Course 1".equals(map.get("name"));
-            } else if (c instanceof Course courseObj) {
-                return "Course 1".equals(courseObj.getName());
-            }
-            return false;
-        }));
+        assertTrue(respCourses.stream().allMatch(c -> c instanceof TutorCourseResponse));
+        assertEquals("Course 1", ((TutorCourseResponse) respCourses.get(0)).getName());
+        assertNull(((TutorCourseResponse) respCourses.get(0)).getSections());
         verify(courseService).getCoursesByTutorId(tutorId);
     }
 
@@ -930,11 +1040,13 @@ class CourseControllerTest {
         when(courseService.getCourseById(courseId)).thenReturn(Optional.of(course));
         var students = List.of("student1@example.com", "student2@example.com");
         when(courseService.getEnrolledStudents(courseId)).thenReturn(students);
+        when(courseService.getStudentCount(courseId)).thenReturn((long) students.size());
 
-        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, principal);
+        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, null, null, principal);
         assertEquals(200, response.getStatusCode().value());
         assertTrue(response.getBody().toString().contains("students"));
         assertTrue(response.getBody().toString().contains("student1@example.com"));
+        assertEquals((long) students.size(), ((Map<?, ?>) response.getBody()).get("studentCount"));
         verify(courseService).getEnrolledStudents(courseId);
     }
 
@@ -946,7 +1058,7 @@ class CourseControllerTest {
         app.setStatus(TutorApplication.Status.PENDING);
         when(tutorApplicationService.getMostRecentApplicationByStudentId(tutorId)).thenReturn(Optional.of(app));
 
-        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, principal);
+        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, null, null, principal);
         assertEquals(403, response.getStatusCode().value());
         assertTrue(response.getBody().toString().contains("must be ACCEPTED"));
         verify(courseService, never()).getEnrolledStudents(any());
@@ -962,7 +1074,7 @@ class CourseControllerTest {
         when(tutorApplicationService.getMostRecentApplicationByStudentId(tutorId)).thenReturn(Optional.of(app));
         when(courseService.getCourseById(courseId)).thenReturn(Optional.of(course));
 
-        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, principal);
+        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, null, null, principal);
         assertEquals(403, response.getStatusCode().value());
         assertTrue(response.getBody().toString().contains("Only the owner can view"));
         verify(courseService, never()).getEnrolledStudents(any());
@@ -977,9 +1089,138 @@ class CourseControllerTest {
         when(tutorApplicationService.getMostRecentApplicationByStudentId(tutorId)).thenReturn(Optional.of(app));
         when(courseService.getCourseById(courseId)).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, principal);
+        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, null, null, principal);
         assertEquals(403, response.getStatusCode().value());
         assertTrue(response.getBody().toString().contains("Only the owner can view"));
         verify(courseService, never()).getEnrolledStudents(any());
     }
-}
\ No newline at end of file
+
+    private void allowRosterAccess(UUID courseId) {
+        TutorApplication app = new TutorApplication(tutorId);
+        app.setStatus(TutorApplication.Status.ACCEPTED);
+        Course course = new Course("Course 1", "Desc", tutorId, new BigDecimal("10000"));
+        when(tutorApplicationService.getMostRecentApplicationByStudentId(tutorId)).thenReturn(Optional.of(app));
+        when(courseService.getCourseById(courseId)).thenReturn(Optional.of(course));
+    }
+
+    @Test
+    @DisplayName("GET /courses/{courseId}/students?size - keyset page with next cursor")
+    void getEnrolledStudents_paged() {
+        UUID courseId = UUID.randomUUID();
+        allowRosterAccess(courseId);
+        RosterEntry entry = new RosterEntry(UUID.randomUUID(), LocalDateTime.now(), UUID.randomUUID());
+        when(courseService.getRosterPage(courseId, "abc", 1)).thenReturn(new RosterPage(List.of(entry), "next"));
+        when(courseService.getStudentCount(courseId)).thenReturn(2L);
+
+        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, 1, "abc", principal);
+
+        assertEquals(200, response.getStatusCode().value());
+        Map<?, ?> body = (Map<?, ?>) response.getBody();
+        assertEquals(List.of(entry), body.get("students"));
+        assertEquals("next", body.get("nextCursor"));
+        verify(courseService, never()).getEnrolledStudents(any());
+    }
+
+    @Test
+    @DisplayName("GET /courses/{courseId}/students?cursor - malformed cursor")
+    void getEnrolledStudents_invalidCursor() {
+        UUID courseId = UUID.randomUUID();
+        allowRosterAccess(courseId);
+        when(courseService.getRosterPage(courseId, "bad", 100))
+                .thenThrow(new IllegalArgumentException("Invalid roster cursor"));
+
+        ResponseEntity<?> response = courseController.getEnrolledStudents(courseId, null, "bad", principal);
+
+        assertEquals(400, response.getStatusCode().value());
+        assertTrue(response.getBody().toString().contains("Invalid roster cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /courses/{courseId}/students/export - streams NDJSON")
+    void exportEnrolledStudents_ndjson() throws Exception {
+        UUID courseId = UUID.randomUUID();
+        allowRosterAccess(courseId);
+        UUID studentId = UUID.randomUUID();
+        LocalDateTime enrolledAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        doAnswer(invocation -> {
+            Consumer<RosterEntry> consumer = invocation.getArgument(1);
+            consumer.accept(new RosterEntry(studentId, enrolledAt, UUID.randomUUID()));
+            return null;
+        }).when(courseService).streamRoster(eq(courseId), any());
+
+        ResponseEntity<?> response = courseController.exportEnrolledStudents(courseId, "ndjson", principal);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        assertEquals("{\"studentId\":\"" + studentId + "\",\"enrollmentDate\":\"2025-01-02T03:04:05\"}\n",
+                out.toString());
+    }
+
+    @Test
+    @DisplayName("GET /courses/{courseId}/students/export?format=csv - streams CSV with header")
+    void exportEnrolledStudents_csv() throws Exception {
+        UUID courseId = UUID.randomUUID();
+        allowRosterAccess(courseId);
+        UUID studentId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<RosterEntry> consumer = invocation.getArgument(1);
+            consumer.accept(new RosterEntry(studentId, LocalDateTime.of(2025, 1, 2, 3, 4, 5), UUID.randomUUID()));
+            return null;
+        }).when(courseService).streamRoster(eq(courseId), any());
+
+        ResponseEntity<?> response = courseController.exportEnrolledStudents(courseId, "csv", principal);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+
+        assertTrue(response.getHeaders().getFirst("Content-Disposition").contains(".csv"));
+        assertEquals("student_id,enrollment_date\n" + studentId + ",2025-01-02T03:04:05\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("GET /courses/{courseId}/students/export - unsupported format")
+    void exportEnrolledStudents_invalidFormat() {
+        UUID courseId = UUID.randomUUID();
+        allowRosterAccess(courseId);
+
+        ResponseEntity<?> response = courseController.exportEnrolledStudents(courseId, "xml", principal);
+
+        assertEquals(400, response.getStatusCode().value());
+        verify(courseService, never()).streamRoster(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /courses/{courseId}/students/export - forbidden (not owner)")
+    void exportEnrolledStudents_forbidden() {
+        UUID courseId = UUID.randomUUID();
+        TutorApplication app = new TutorApplication(tutorId);
+        app.setStatus(TutorApplication.Status.PENDING);
+        when(tutorApplicationService.getMostRecentApplicationByStudentId(tutorId)).thenReturn(Optional.of(app));
+
+        ResponseEntity<?> response = courseController.exportEnrolledStudents(courseId, "csv", principal);
+
+        assertEquals(403, response.getStatusCode().value());
+        verify(courseService, never()).streamRoster(any(), any());
+    }
+
+    private static SectionOutline sectionOutline(UUID courseId, String title) {
+        UUID id = UUID.randomUUID();
+        return new SectionOutline() {
+            @Override
+            public UUID getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+}
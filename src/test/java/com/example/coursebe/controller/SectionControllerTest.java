@@ -29,6 +29,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.dto.SectionSummary;
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Section;
 import com.example.coursebe.model.TutorApplication;
@@ -193,20 +195,12 @@ public class SectionControllerTest {
         Course course = new Course("Test Course", "Description", tutorId, BigDecimal.valueOf(100));
         setPrivateField(course, "id", courseId);
         
-        Section section1 = new Section("Test Section 1", 0);
-        UUID section1Id = UUID.randomUUID();
-        setPrivateField(section1, "id", section1Id);
-        section1.setCourse(course);
-        
-        Section section2 = new Section("Test Section 2", 1);
-        UUID section2Id = UUID.randomUUID();
-        setPrivateField(section2, "id", section2Id);
-        section2.setCourse(course);
-        
-        List<Section> sections = Arrays.asList(section1, section2);
+        List<SectionSummary> sections = Arrays.asList(
+                sectionSummary(UUID.randomUUID(), "Test Section 1", 0),
+                sectionSummary(UUID.randomUUID(), "Test Section 2", 1));
         
         when(courseService.getCourseById(courseId)).thenReturn(Optional.of(course));
-        when(sectionService.getSectionsByCourseId(courseId)).thenReturn(sections);
+        when(sectionService.getSectionSummariesByCourseId(courseId)).thenReturn(sections);
         
         // Act & Assert
         mockMvc.perform(get("/courses/{courseId}/sections", courseId)
@@ -215,7 +209,28 @@ public class SectionControllerTest {
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.sections.length()").value(2))
                 .andExpect(jsonPath("$.sections[0].title").value("Test Section 1"))
-                .andExpect(jsonPath("$.sections[1].title").value("Test Section 2"));
+                .andExpect(jsonPath("$.sections[1].title").value("Test Section 2"))
+                .andExpect(jsonPath("$.sections[1].position").value(1))
+                .andExpect(jsonPath("$.sections[0].articles").doesNotExist());
+    }
+
+    private SectionSummary sectionSummary(UUID id, String title, int position) {
+        return new SectionSummary() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public Integer getPosition() {
+                return position;
+            }
+        };
     }
     
     @Test
@@ -238,14 +253,8 @@ public class SectionControllerTest {
     @DisplayName("GET /courses/{courseId}/sections/{sectionId} - Success")
     void getSectionByIdSuccess() throws Exception {
         // Arrange
-        Course course = new Course("Test Course", "Description", tutorId, BigDecimal.valueOf(100));
-        setPrivateField(course, "id", courseId);
-        
-        Section section = new Section("Test Section", 0);
-        setPrivateField(section, "id", sectionId);
-        section.setCourse(course);
-        
-        when(sectionService.getSectionById(sectionId)).thenReturn(Optional.of(section));
+        SectionResponse section = new SectionResponse(sectionId, courseId, "Test Section", 2, null, null);
+        when(sectionService.getSectionResponse(courseId, sectionId)).thenReturn(Optional.of(section));
         
         // Act & Assert
         mockMvc.perform(get("/courses/{courseId}/sections/{sectionId}", courseId, sectionId)
@@ -253,22 +262,16 @@ public class SectionControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.section.id").value(sectionId.toString()))
-                .andExpect(jsonPath("$.section.title").value("Test Section"));
+                .andExpect(jsonPath("$.section.title").value("Test Section"))
+                .andExpect(jsonPath("$.section.position").value(2));
     }
     
     @Test
     @DisplayName("GET /courses/{courseId}/sections/{sectionId} - Section Not In Course")
     void getSectionByIdSectionNotInCourse() throws Exception {
         // Arrange
-        Course anotherCourse = new Course("Another Course", "Description", tutorId, BigDecimal.valueOf(100));
-        UUID anotherCourseId = UUID.randomUUID();
-        setPrivateField(anotherCourse, "id", anotherCourseId);
-        
-        Section section = new Section("Test Section", 0);
-        setPrivateField(section, "id", sectionId);
-        section.setCourse(anotherCourse);
-        
-        when(sectionService.getSectionById(sectionId)).thenReturn(Optional.of(section));
+        // The section belongs to another course, so the course-scoped lookup finds nothing
+        when(sectionService.getSectionResponse(courseId, sectionId)).thenReturn(Optional.empty());
         
         // Act & Assert
         mockMvc.perform(get("/courses/{courseId}/sections/{sectionId}", courseId, sectionId)
@@ -292,9 +295,7 @@ public class SectionControllerTest {
         setPrivateField(section, "id", sectionId);
         section.setCourse(course);
         
-        Section updatedSection = new Section("Updated Title", 1);
-        setPrivateField(updatedSection, "id", sectionId);
-        updatedSection.setCourse(course);
+        SectionResponse updatedSection = new SectionResponse(sectionId, courseId, "Updated Title", 1, null, null);
         
         SectionController.SectionRequest request = new SectionController.SectionRequest();
         request.title = "Updated Title";
@@ -314,7 +315,8 @@ public class SectionControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Section updated successfully."))
-                .andExpect(jsonPath("$.section.title").value("Updated Title"));
+                .andExpect(jsonPath("$.section.title").value("Updated Title"))
+                .andExpect(jsonPath("$.section.position").value(1));
         
         verify(sectionService).updateSection(sectionId, request.title, request.position);
     }
@@ -0,0 +1,111 @@
+package com.example.coursebe.controller;
+
+import com.example.coursebe.common.ApiResponse;
+import com.example.coursebe.dto.TutorApplicationDecisionRequest;
+import com.example.coursebe.dto.TutorApplicationDecisionResult;
+import com.example.coursebe.dto.TutorApplicationResponse;
+import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.service.TutorApplicationReviewQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TutorApplicationAdminControllerTest {
+
+    private TutorApplicationReviewQueue reviewQueue;
+    private TutorApplicationAdminController controller;
+    private UUID reviewerId;
+    private UsernamePasswordAuthenticationToken admin;
+    private UsernamePasswordAuthenticationToken student;
+
+    @BeforeEach
+    void setUp() {
+        reviewQueue = mock(TutorApplicationReviewQueue.class);
+        controller = new TutorApplicationAdminController(reviewQueue, List.of("admin", "STAFF"));
+        reviewerId = UUID.randomUUID();
+        admin = new UsernamePasswordAuthenticationToken(reviewerId.toString(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        student = new UsernamePasswordAuthenticationToken(UUID.randomUUID().toString(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+    }
+
+    @Test
+    @DisplayName("GET /admin/tutors/applications - forbidden without a reviewer role")
+    void getQueue_forbidden() {
+        ResponseEntity<ApiResponse<List<TutorApplicationResponse>>> response =
+                controller.getQueue(TutorApplication.Status.PENDING, 0, 20, student);
+        assertEquals(403, response.getStatusCode().value());
+        verifyNoInteractions(reviewQueue);
+    }
+
+    @Test
+    @DisplayName("GET /admin/tutors/applications - paged queue")
+    void getQueue_success() {
+        TutorApplication application = new TutorApplication(UUID.randomUUID());
+        when(reviewQueue.getQueue(TutorApplication.Status.PENDING, PageRequest.of(1, 10)))
+                .thenReturn(new PageImpl<>(List.of(application), PageRequest.of(1, 10), 11));
+
+        ResponseEntity<ApiResponse<List<TutorApplicationResponse>>> response =
+                controller.getQueue(TutorApplication.Status.PENDING, 1, 10, admin);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(application.getId()),
+                response.getBody().getData().stream().map(TutorApplicationResponse::getId).toList());
+        assertEquals(11L, response.getBody().getMetadata().get("totalItems"));
+    }
+
+    @Test
+    @DisplayName("POST /admin/tutors/applications/claim - claims for the caller")
+    void claimNext_success() {
+        TutorApplication application = new TutorApplication(UUID.randomUUID());
+        when(reviewQueue.claimNext(reviewerId, 5)).thenReturn(List.of(application));
+
+        ResponseEntity<ApiResponse<List<TutorApplicationResponse>>> response = controller.claimNext(5, admin);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(application.getId()),
+                response.getBody().getData().stream().map(TutorApplicationResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("POST /admin/tutors/applications/decisions - batch decision")
+    void decide_success() {
+        TutorApplicationDecisionRequest request = new TutorApplicationDecisionRequest();
+        request.applicationIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        request.status = TutorApplication.Status.ACCEPTED;
+        TutorApplicationDecisionResult result = new TutorApplicationDecisionResult(
+                List.of(request.applicationIds.get(0)), List.of(request.applicationIds.get(1)));
+        when(reviewQueue.decide(reviewerId, request.applicationIds, TutorApplication.Status.ACCEPTED)).thenReturn(result);
+
+        ResponseEntity<ApiResponse<TutorApplicationDecisionResult>> response = controller.decide(request, admin);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(result, response.getBody().getData());
+    }
+
+    @Test
+    @DisplayName("POST /admin/tutors/applications/decisions - invalid transition")
+    void decide_invalidTransition() {
+        TutorApplicationDecisionRequest request = new TutorApplicationDecisionRequest();
+        request.applicationIds = List.of(UUID.randomUUID());
+        request.status = TutorApplication.Status.PENDING;
+        when(reviewQueue.decide(any(), any(), any())).thenThrow(new IllegalStateException("Invalid state transition to PENDING"));
+
+        ResponseEntity<ApiResponse<TutorApplicationDecisionResult>> response = controller.decide(request, admin);
+
+        assertEquals(400, response.getStatusCode().value());
+        assertFalse(response.getBody().isSuccess());
+    }
+}
@@ -43,8 +43,6 @@ class TutorApplicationControllerTest {
     @Test
     @DisplayName("POST /tutors/registration - success")
     void registerAsTutor_success() {
-        when(tutorApplicationService.hasPendingApplication(studentId)).thenReturn(false);
-        
         TutorApplication app = new TutorApplication(studentId);
         when(tutorApplicationService.submitApplication(studentId)).thenReturn(app);
 
@@ -52,17 +50,18 @@ class TutorApplicationControllerTest {
         assertEquals(200, response.getStatusCode().value());
         assertTrue(response.getBody().toString().contains("success=true"));
         verify(tutorApplicationService).submitApplication(studentId);
+        verify(tutorApplicationService, never()).hasPendingApplication(any());
     }
 
     @Test
     @DisplayName("POST /tutors/registration - already pending")
     void registerAsTutor_alreadyPending() {
-        when(tutorApplicationService.hasPendingApplication(studentId)).thenReturn(true);
+        when(tutorApplicationService.submitApplication(studentId)).thenReturn(null);
 
         ResponseEntity<?> response = controller.registerAsTutor(principal);
         assertEquals(400, response.getStatusCode().value());
         assertTrue(response.getBody().toString().contains("pending tutor application"));
-        verify(tutorApplicationService, never()).submitApplication(any());
+        verify(tutorApplicationService, never()).hasPendingApplication(any());
     }
 
     @Test
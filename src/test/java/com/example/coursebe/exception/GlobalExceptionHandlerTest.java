@@ -3,6 +3,7 @@ package com.example.coursebe.exception;
 import com.example.coursebe.dto.GlobalResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -64,4 +65,34 @@ class GlobalExceptionHandlerTest {
         assertEquals(errorMessage, body.getMessage());
         assertNull(body.getData());
     }
+
+    @Test
+    void handleBulkheadFullException() {
+        BulkheadFullException ex = new BulkheadFullException("bulk");
+
+        ResponseEntity<GlobalResponse<Void>> response =
+            exceptionHandler.handleBulkheadFullException(ex);
+
+        GlobalResponse<Void> body = response.getBody();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(body);
+        assertFalse(body.isSuccess());
+        assertEquals(ex.getMessage(), body.getMessage());
+    }
+
+    @Test
+    void handleQueryTimeoutException() {
+        QueryTimeoutException ex = new QueryTimeoutException("SELECT ... canceled");
+
+        ResponseEntity<GlobalResponse<Void>> response =
+            exceptionHandler.handleQueryTimeoutException(ex);
+
+        GlobalResponse<Void> body = response.getBody();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(body);
+        assertFalse(body.isSuccess());
+        assertFalse(body.getMessage().contains("SELECT"));
+    }
 } 
\ No newline at end of file
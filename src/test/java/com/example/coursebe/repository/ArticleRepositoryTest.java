@@ -1,5 +1,7 @@
 package com.example.coursebe.repository;
 
+import com.example.coursebe.dto.ArticleResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.model.Article;
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Section;
@@ -177,4 +179,84 @@ public class ArticleRepositoryTest {
         // then
         assertFalse(found.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should find article summaries of a section ordered by position")
+    void findSummariesBySectionId() {
+        // when
+        List<ArticleSummary> summaries = articleRepository.findSummariesBySectionId(section1.getId());
+        
+        // then
+        assertEquals(2, summaries.size());
+        assertEquals(article1.getId(), summaries.get(0).getId());
+        assertEquals("Introduction to Java", summaries.get(0).getTitle());
+        assertEquals(0, summaries.get(0).getPosition());
+        assertEquals(article2.getId(), summaries.get(1).getId());
+        assertEquals(1, summaries.get(1).getPosition());
+        assertNull(summaries.get(0).getSectionId());
+    }
+    
+    @Test
+    @DisplayName("Should find the article outline of a course ordered by section and position")
+    void findSummariesByCourseId() {
+        // when
+        List<ArticleSummary> outline = articleRepository.findSummariesByCourseId(course.getId());
+        
+        // then
+        assertEquals(3, outline.size());
+        assertEquals(article1.getId(), outline.get(0).getId());
+        assertEquals(section1.getId(), outline.get(0).getSectionId());
+        assertEquals(article2.getId(), outline.get(1).getId());
+        assertEquals(article3.getId(), outline.get(2).getId());
+        assertEquals(section2.getId(), outline.get(2).getSectionId());
+        assertEquals(List.of(0, 1, 0), outline.stream().map(ArticleSummary::getPosition).toList());
+        assertTrue(articleRepository.findSummariesByCourseId(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find articles ordered by rank key in the database")
+    void findBySectionIdOrderByRankKey() {
+        // when
+        List<Article> articles = articleRepository.findBySectionIdOrderByRankKeyAsc(section1.getId());
+        
+        // then
+        assertEquals(2, articles.size());
+        assertEquals(article1.getId(), articles.get(0).getId());
+        assertEquals(article2.getId(), articles.get(1).getId());
+    }
+    
+    @Test
+    @DisplayName("Should find neighbouring rank keys of a section without the excluded article")
+    void findRankKeysBySectionIdExcluding() {
+        assertEquals(List.of(article2.getRankKey()),
+                articleRepository.findRankKeysBySectionIdExcluding(section1.getId(), article1.getId(), 0, 2));
+        assertEquals(List.of(article1.getRankKey()),
+                articleRepository.findRankKeysBySectionIdExcluding(section1.getId(), UUID.randomUUID(), 0, 1));
+        assertEquals(article2.getRankKey(),
+                articleRepository.findMaxRankKeyBySectionIdExcluding(section1.getId(), article1.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should find an article response with its position from rank order")
+    void findResponseById() {
+        ArticleResponse response = articleRepository.findResponseById(article2.getId(), section1.getId(), course.getId())
+                .orElseThrow();
+        assertEquals(article2.getTitle(), response.getTitle());
+        assertEquals(section1.getId(), response.getSectionId());
+        assertEquals(1, response.getPosition());
+        assertTrue(articleRepository.findResponseById(article2.getId(), section2.getId(), course.getId()).isEmpty());
+        assertTrue(articleRepository.findResponseById(article2.getId(), section1.getId(), UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find sections with rank keys longer than the limit")
+    void findSectionIdsWithRankKeysLongerThan() {
+        // given
+        article2.setRankKey("0000200000000000000V");
+        entityManager.flush();
+
+        // then
+        assertEquals(List.of(section1.getId()), articleRepository.findSectionIdsWithRankKeysLongerThan(16));
+        assertTrue(articleRepository.findSectionIdsWithRankKeysLongerThan(32).isEmpty());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.dto.AuditEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AuditLogRepository
+ */
+@DataJpaTest
+@Import(AuditLogRepository.class)
+public class AuditLogRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Not mapped by an entity, so the test schema lacks it; same columns as V16__audit_log.sql
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS audit_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "occurred_at TIMESTAMP NOT NULL, actor VARCHAR(64), http_method VARCHAR(8) NOT NULL, "
+                + "path VARCHAR(255) NOT NULL, handler VARCHAR(128), status INTEGER NOT NULL, "
+                + "duration_ms BIGINT NOT NULL, recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+    }
+
+    @Test
+    @DisplayName("Should append a batch of events in order, truncating overlong paths")
+    void insertBatch() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditEvent> events = List.of(
+                new AuditEvent(now, "student-1", "POST", "/api/courses/1/enroll", "CourseController#enroll", 200, 12),
+                new AuditEvent(now, null, "DELETE", "/api/" + "x".repeat(300), null, 401, 1));
+
+        // When
+        auditLogRepository.insertBatch(events);
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT actor, http_method, path, handler, status, duration_ms FROM audit_log ORDER BY id");
+        assertEquals(2, rows.size());
+        assertEquals("student-1", rows.get(0).get("ACTOR"));
+        assertEquals("CourseController#enroll", rows.get(0).get("HANDLER"));
+        assertEquals(12L, ((Number) rows.get(0).get("DURATION_MS")).longValue());
+        assertNull(rows.get(1).get("ACTOR"));
+        assertEquals("DELETE", rows.get(1).get("HTTP_METHOD"));
+        assertEquals(255, ((String) rows.get(1).get("PATH")).length());
+        assertEquals(401, ((Number) rows.get(1).get("STATUS")).intValue());
+    }
+}
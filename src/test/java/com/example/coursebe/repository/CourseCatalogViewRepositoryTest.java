@@ -0,0 +1,161 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.model.Article;
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.model.Section;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CourseCatalogViewRepository and the catalog section query
+ */
+@DataJpaTest
+public class CourseCatalogViewRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseCatalogViewRepository catalogViewRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    private Course course;
+    private Section section1;
+    private Section section2;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course("Java Programming", "Learn Java basics", UUID.randomUUID(), new BigDecimal("99.99"));
+        entityManager.persist(course);
+
+        section2 = new Section("Object-Oriented Programming", 2);
+        section2.setCourse(course);
+        section1 = new Section("Java Fundamentals", 1);
+        section1.setCourse(course);
+        entityManager.persist(section2);
+        entityManager.persist(section1);
+
+        Article article1 = new Article("Introduction to Java", "Java is...", 1);
+        article1.setSection(section1);
+        Article article2 = new Article("Variables", "In Java...", 2);
+        article2.setSection(section1);
+        entityManager.persist(article1);
+        entityManager.persist(article2);
+        entityManager.flush();
+    }
+
+    private CourseCatalogView persistView(UUID courseId, String name, LocalDateTime createdAt) {
+        CourseCatalogView view = new CourseCatalogView(courseId);
+        view.setName(name);
+        view.setTutorId(UUID.randomUUID());
+        view.setPrice(BigDecimal.TEN);
+        view.setCourseCreatedAt(createdAt);
+        return entityManager.persist(view);
+    }
+
+    @Test
+    @DisplayName("Should build ordered catalog sections with article counts")
+    void findCatalogSectionsByCourseId() {
+        // when
+        List<CourseCatalogView.CatalogSection> sections = sectionRepository.findCatalogSectionsByCourseId(course.getId());
+
+        // then
+        assertEquals(2, sections.size());
+        assertEquals(section1.getId(), sections.get(0).getId());
+        assertEquals("Java Fundamentals", sections.get(0).getTitle());
+        assertEquals(2, sections.get(0).getArticleCount());
+        assertEquals(section2.getId(), sections.get(1).getId());
+        assertEquals(0, sections.get(1).getArticleCount());
+    }
+
+    @Test
+    @DisplayName("Should round-trip the JSON section column")
+    void saveAndLoadSections() {
+        // given
+        CourseCatalogView view = persistView(course.getId(), course.getName(), LocalDateTime.now());
+        view.setSections(sectionRepository.findCatalogSectionsByCourseId(course.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        CourseCatalogView loaded = catalogViewRepository.findById(course.getId()).orElseThrow();
+
+        // then
+        assertEquals(2, loaded.getSections().size());
+        assertEquals("Java Fundamentals", loaded.getSections().get(0).getTitle());
+        assertEquals(2, loaded.getSections().get(0).getArticleCount());
+    }
+
+    @Test
+    @DisplayName("Should page the catalog newest first")
+    void findCatalogPage() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        persistView(UUID.randomUUID(), "Oldest", now.minusDays(2));
+        persistView(UUID.randomUUID(), "Newest", now);
+        persistView(UUID.randomUUID(), "Middle", now.minusDays(1));
+        entityManager.flush();
+
+        // when
+        Page<CourseCatalogView> page = catalogViewRepository.findCatalogPage(PageRequest.of(0, 2));
+
+        // then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertEquals("Newest", page.getContent().get(0).getName());
+        assertEquals("Middle", page.getContent().get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Should load catalog pages read-only even inside a read-write transaction")
+    void findCatalogPageReadOnly() {
+        // given
+        persistView(UUID.randomUUID(), "Java", LocalDateTime.now());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        CourseCatalogView view = catalogViewRepository.findCatalogPage(PageRequest.of(0, 1)).getContent().get(0);
+        view.setName("Changed");
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        assertEquals("Java", catalogViewRepository.findById(view.getCourseId()).orElseThrow().getName());
+        assertFalse(session.isDefaultReadOnly());
+    }
+
+    @Test
+    @DisplayName("Should delete the catalog row of a course")
+    void deleteByCourseId() {
+        // given
+        persistView(course.getId(), course.getName(), LocalDateTime.now());
+        entityManager.flush();
+
+        // when
+        int deleted = catalogViewRepository.deleteByCourseId(course.getId());
+        entityManager.clear();
+
+        // then
+        assertEquals(1, deleted);
+        assertTrue(catalogViewRepository.findById(course.getId()).isEmpty());
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.coursebe.repository;
 
+import com.example.coursebe.model.Article;
 import com.example.coursebe.model.Course;
+import com.example.coursebe.model.Section;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -403,4 +405,80 @@ public class CourseRepositoryTest {
         // Should return empty results for a student with no enrollments
         assertEquals(0, otherStudentCourses.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should adjust the student count atomically")
+    void adjustStudentCount() {
+        // when
+        int updated = courseRepository.adjustStudentCount(course1.getId(), 3);
+        courseRepository.adjustStudentCount(course1.getId(), -1);
+
+        // then
+        assertEquals(1, updated);
+        assertEquals(Optional.of(2L), courseRepository.findStudentCountById(course1.getId()));
+        assertEquals(0, courseRepository.adjustStudentCount(UUID.randomUUID(), 1));
+        assertTrue(courseRepository.findStudentCountById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reconcile drifted student counts against enrollments")
+    void reconcileStudentCounts() {
+        // given
+        Enrollment enrollment = new Enrollment(UUID.randomUUID(), course1);
+        entityManager.persist(enrollment);
+        entityManager.flush();
+        courseRepository.adjustStudentCount(course2.getId(), 5);
+
+        // when
+        int corrected = courseRepository.reconcileStudentCounts();
+
+        // then
+        assertEquals(2, corrected);
+        assertEquals(Optional.of(1L), courseRepository.findStudentCountById(course1.getId()));
+        assertEquals(Optional.of(0L), courseRepository.findStudentCountById(course2.getId()));
+        assertEquals(0, courseRepository.reconcileStudentCounts());
+    }
+
+    @Test
+    @DisplayName("Should leave excluded courses alone when reconciling student counts")
+    void reconcileStudentCountsExcluding() {
+        // given
+        courseRepository.adjustStudentCount(course1.getId(), 3);
+        courseRepository.adjustStudentCount(course2.getId(), 5);
+
+        // when
+        int corrected = courseRepository.reconcileStudentCountsExcluding(List.of(course2.getId()));
+
+        // then
+        assertEquals(1, corrected);
+        assertEquals(Optional.of(0L), courseRepository.findStudentCountById(course1.getId()));
+        assertEquals(Optional.of(5L), courseRepository.findStudentCountById(course2.getId()));
+    }
+
+    @Test
+    @DisplayName("Should delete a course with its children in one statement via ON DELETE CASCADE")
+    void deleteCourseById() {
+        // given
+        Section section = new Section("Java Fundamentals", 0);
+        section.setCourse(course1);
+        entityManager.persist(section);
+        Article article = new Article("Introduction to Java", "Java is...", 0);
+        article.setSection(section);
+        entityManager.persist(article);
+        Enrollment enrollment = new Enrollment(UUID.randomUUID(), course1);
+        entityManager.persist(enrollment);
+        entityManager.flush();
+
+        // when
+        int deleted = courseRepository.deleteCourseById(course1.getId());
+
+        // then
+        assertEquals(1, deleted);
+        assertNull(entityManager.find(Course.class, course1.getId()));
+        assertNull(entityManager.find(Section.class, section.getId()));
+        assertNull(entityManager.find(Article.class, article.getId()));
+        assertNull(entityManager.find(Enrollment.class, enrollment.getId()));
+        assertNotNull(entityManager.find(Course.class, course2.getId()));
+        assertEquals(0, courseRepository.deleteCourseById(course1.getId()));
+    }
+}
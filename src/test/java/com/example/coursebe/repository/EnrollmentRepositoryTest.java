@@ -1,5 +1,8 @@
 package com.example.coursebe.repository;
 
+import com.example.coursebe.dto.CourseEnrollmentDate;
+import com.example.coursebe.dto.EnrolledCourse;
+import com.example.coursebe.dto.RosterEntry;
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Enrollment;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,8 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -173,4 +179,68 @@ public class EnrollmentRepositoryTest {
         // then
         assertFalse(found.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should page a course roster by keyset")
+    void findRosterPages() {
+        // given
+        List<Enrollment> expected = new java.util.ArrayList<>(List.of(enrollment1, enrollment3));
+        expected.sort(java.util.Comparator.comparing(Enrollment::getEnrollmentDate).thenComparing(Enrollment::getId));
+
+        // when
+        List<RosterEntry> firstPage = enrollmentRepository.findRosterFirstPage(course1.getId(), PageRequest.of(0, 1));
+        RosterEntry last = firstPage.get(0);
+        List<RosterEntry> secondPage = enrollmentRepository.findRosterPageAfter(
+                course1.getId(), last.getEnrollmentDate(), last.getEnrollmentId(), PageRequest.of(0, 1));
+        RosterEntry end = secondPage.get(0);
+        List<RosterEntry> thirdPage = enrollmentRepository.findRosterPageAfter(
+                course1.getId(), end.getEnrollmentDate(), end.getEnrollmentId(), PageRequest.of(0, 1));
+
+        // then
+        assertEquals(1, firstPage.size());
+        assertEquals(expected.get(0).getId(), last.getEnrollmentId());
+        assertEquals(expected.get(0).getStudentId(), last.getStudentId());
+        assertEquals(1, secondPage.size());
+        assertEquals(expected.get(1).getId(), end.getEnrollmentId());
+        assertTrue(thirdPage.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page a student's courses with their enrollment dates, most recent first")
+    void findEnrolledCoursesRecentFirst() {
+        // given
+        enrollment1.setEnrollmentDate(LocalDateTime.of(2024, 1, 1, 9, 0));
+        enrollment2.setEnrollmentDate(LocalDateTime.of(2024, 3, 1, 9, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Page<EnrolledCourse> firstPage = enrollmentRepository.findEnrolledCoursesRecentFirst(studentId1, PageRequest.of(0, 1));
+        Page<EnrolledCourse> secondPage = enrollmentRepository.findEnrolledCoursesRecentFirst(studentId1, PageRequest.of(1, 1));
+
+        // then
+        assertEquals(2, firstPage.getTotalElements());
+        assertEquals(course2.getId(), firstPage.getContent().get(0).getCourse().getId());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 9, 0), firstPage.getContent().get(0).getEnrollmentDate());
+        assertEquals(course1.getId(), secondPage.getContent().get(0).getCourse().getId());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 0), secondPage.getContent().get(0).getEnrollmentDate());
+    }
+
+    @Test
+    @DisplayName("Should find one enrolled course only for an enrolled student")
+    void findEnrolledCourse() {
+        // when
+        Optional<EnrolledCourse> enrolled = enrollmentRepository.findEnrolledCourse(studentId2, course1.getId());
+        Optional<EnrolledCourse> notEnrolled = enrollmentRepository.findEnrolledCourse(studentId2, course2.getId());
+        List<CourseEnrollmentDate> batch = enrollmentRepository.findEnrollmentDatesIn(
+                studentId2, List.of(course1.getId(), course2.getId()));
+
+        // then
+        assertTrue(enrolled.isPresent());
+        assertNotNull(enrolled.get().getEnrollmentDate());
+        assertFalse(notEnrolled.isPresent());
+        assertEquals(1, batch.size());
+        assertEquals(course1.getId(), batch.get(0).courseId());
+        assertEquals(enrolled.get().getEnrollmentDate(), batch.get(0).enrollmentDate());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.dto.RosterEntry;
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.Enrollment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EnrollmentRosterReader
+ */
+@DataJpaTest
+@Import(EnrollmentRosterReader.class)
+public class EnrollmentRosterReaderTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentRosterReader rosterReader;
+
+    private Course course;
+    private Enrollment older;
+    private Enrollment newer;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course("Java Programming", "Learn Java basics", UUID.randomUUID(), new BigDecimal("99.99"));
+        Course otherCourse = new Course("Python Programming", "Learn Python basics", UUID.randomUUID(), BigDecimal.TEN);
+        entityManager.persist(course);
+        entityManager.persist(otherCourse);
+
+        newer = new Enrollment(UUID.randomUUID(), course);
+        older = new Enrollment(UUID.randomUUID(), course);
+        entityManager.persist(newer);
+        entityManager.persist(older);
+        entityManager.persist(new Enrollment(UUID.randomUUID(), otherCourse));
+        entityManager.flush();
+
+        // @PrePersist stamps the enrollment date, so set distinct dates afterwards
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        newer.setEnrollmentDate(now);
+        older.setEnrollmentDate(now.minusDays(1));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should stream the roster of a course oldest first")
+    void streamRoster() {
+        // when
+        List<RosterEntry> entries = new ArrayList<>();
+        rosterReader.streamRoster(course.getId(), entries::add);
+
+        // then
+        assertEquals(2, entries.size());
+        assertEquals(older.getStudentId(), entries.get(0).getStudentId());
+        assertEquals(older.getEnrollmentDate(), entries.get(0).getEnrollmentDate());
+        assertEquals(older.getId(), entries.get(0).getEnrollmentId());
+        assertEquals(newer.getStudentId(), entries.get(1).getStudentId());
+    }
+
+    @Test
+    @DisplayName("Should stream nothing for a course without students")
+    void streamEmptyRoster() {
+        // when
+        List<RosterEntry> entries = new ArrayList<>();
+        rosterReader.streamRoster(UUID.randomUUID(), entries::add);
+
+        // then
+        assertTrue(entries.isEmpty());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.common.HeavyHitters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HotKeyRepository
+ */
+@DataJpaTest
+@Import(HotKeyRepository.class)
+public class HotKeyRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HotKeyRepository hotKeyRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Not mapped by an entity, so the test schema lacks it; same DDL as V14__hot_key.sql
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS hot_key (kind VARCHAR(16) NOT NULL, "
+                + "key_value VARCHAR(300) NOT NULL, estimate INTEGER NOT NULL, "
+                + "captured_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (kind, key_value))");
+    }
+
+    @Test
+    @DisplayName("Should replace the snapshot of one kind and read it back most frequent first")
+    void replaceAndFindTop() {
+        // Given
+        hotKeyRepository.replace("course", List.of(new HeavyHitters.Entry<>("old", 99)));
+        hotKeyRepository.replace("search", List.of(new HeavyHitters.Entry<>("name:java", 4)));
+
+        // When
+        hotKeyRepository.replace("course", List.of(
+                new HeavyHitters.Entry<>("a", 3), new HeavyHitters.Entry<>("b", 7), new HeavyHitters.Entry<>("c", 5)));
+
+        // Then
+        List<HeavyHitters.Entry<String>> top = hotKeyRepository.findTop("course", 2);
+        assertEquals(List.of(new HeavyHitters.Entry<>("b", 7), new HeavyHitters.Entry<>("c", 5)), top);
+        assertEquals(1, hotKeyRepository.findTop("search", 10).size());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.model.OutboxEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OutboxEventRepository
+ */
+@DataJpaTest
+public class OutboxEventRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxEvent event(OutboxEvent.Type type) {
+        return persist(type, UUID.randomUUID());
+    }
+
+    private OutboxEvent persist(OutboxEvent.Type type, UUID aggregateId) {
+        return entityManager.persistFlushFind(new OutboxEvent(type, aggregateId, Map.of("id", aggregateId.toString())));
+    }
+
+    private List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should claim due undelivered events in ID order, skipping delivered, exhausted and postponed ones")
+    void claimBatch() {
+        // Given
+        // Whole seconds, so the database rounding the stored times cannot move them past now
+        LocalDateTime now = LocalDateTime.now().plusSeconds(1).truncatedTo(ChronoUnit.SECONDS);
+        OutboxEvent delivered = event(OutboxEvent.Type.COURSE_DELETED);
+        OutboxEvent exhausted = event(OutboxEvent.Type.ENROLLMENT_CREATED);
+        OutboxEvent first = event(OutboxEvent.Type.ENROLLMENT_DELETED);
+        OutboxEvent postponed = event(OutboxEvent.Type.ENROLLMENT_DELETED);
+        OutboxEvent leased = event(OutboxEvent.Type.ENROLLMENT_DELETED);
+        OutboxEvent second = event(OutboxEvent.Type.TUTOR_APPLICATION_STATUS_CHANGED);
+        OutboxEvent third = event(OutboxEvent.Type.ENROLLMENT_CREATED);
+        outboxEventRepository.markPublished(List.of(delivered.getId()), LocalDateTime.now());
+        for (int i = 0; i < 3; i++) {
+            outboxEventRepository.markFailed(List.of(exhausted.getId()), "timeout", now);
+        }
+        outboxEventRepository.markFailed(List.of(first.getId()), "timeout", now);
+        outboxEventRepository.markFailed(List.of(postponed.getId()), "timeout", now.plusMinutes(1));
+        outboxEventRepository.lease(List.of(leased.getId()), now.plusMinutes(5));
+        entityManager.clear();
+
+        // When
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(3, now, 2);
+
+        // Then
+        assertEquals(List.of(first.getId(), second.getId()), ids(batch));
+        assertEquals(1, batch.get(0).getAttempts());
+        assertEquals("timeout", batch.get(0).getLastError());
+        assertEquals("enrollment", batch.get(0).getAggregateType());
+        assertEquals(Map.of("id", second.getAggregateId().toString()), batch.get(1).getPayload());
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                ids(outboxEventRepository.claimBatch(3, now, 10)));
+        assertEquals(List.of(first.getId(), postponed.getId(), leased.getId(), second.getId(), third.getId()),
+                ids(outboxEventRepository.claimBatch(3, now.plusMinutes(5), 10)));
+    }
+
+    @Test
+    @DisplayName("Should skip events of an aggregate while an older event of it waits")
+    void claimBatchKeepsAggregateOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now().plusSeconds(1).truncatedTo(ChronoUnit.SECONDS);
+        UUID waiting = UUID.randomUUID();
+        UUID due = UUID.randomUUID();
+        OutboxEvent backingOff = persist(OutboxEvent.Type.ENROLLMENT_CREATED, waiting);
+        OutboxEvent dueHead = persist(OutboxEvent.Type.ENROLLMENT_CREATED, due);
+        OutboxEvent heldBack = persist(OutboxEvent.Type.ENROLLMENT_DELETED, waiting);
+        OutboxEvent dueNext = persist(OutboxEvent.Type.ENROLLMENT_DELETED, due);
+        outboxEventRepository.markFailed(List.of(backingOff.getId()), "timeout", now.plusMinutes(1));
+        entityManager.clear();
+
+        // When
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(3, now, 10);
+
+        // Then
+        assertEquals(List.of(dueHead.getId(), dueNext.getId()), ids(batch));
+        assertEquals(List.of(backingOff.getId(), dueHead.getId(), heldBack.getId(), dueNext.getId()),
+                ids(outboxEventRepository.claimBatch(3, now.plusMinutes(1), 10)));
+    }
+
+    @Test
+    @DisplayName("Should purge only events delivered before the cutoff")
+    void deletePublishedBefore() {
+        // Given
+        OutboxEvent old = event(OutboxEvent.Type.COURSE_DELETED);
+        OutboxEvent recent = event(OutboxEvent.Type.COURSE_DELETED);
+        OutboxEvent pending = event(OutboxEvent.Type.COURSE_DELETED);
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.markPublished(List.of(old.getId()), now.minusDays(10));
+        outboxEventRepository.markPublished(List.of(recent.getId()), now);
+
+        // When
+        int purged = outboxEventRepository.deletePublishedBefore(now.minusDays(7));
+
+        // Then
+        assertEquals(1, purged);
+        entityManager.clear();
+        assertEquals(List.of(recent.getId(), pending.getId()), ids(outboxEventRepository.findAll()));
+    }
+}
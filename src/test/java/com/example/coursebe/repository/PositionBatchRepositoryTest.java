@@ -0,0 +1,107 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.model.Article;
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.Section;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PositionBatchRepository
+ */
+@DataJpaTest
+@Import(PositionBatchRepository.class)
+public class PositionBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PositionBatchRepository positionBatchRepository;
+
+    private Course course;
+    private Section section1;
+    private Section section2;
+    private Section otherSection;
+    private Article article1;
+    private Article article2;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course("Java Programming", "Learn Java basics", UUID.randomUUID(), new BigDecimal("99.99"));
+        Course otherCourse = new Course("Python Programming", "Learn Python basics", UUID.randomUUID(), BigDecimal.TEN);
+        entityManager.persist(course);
+        entityManager.persist(otherCourse);
+
+        section1 = new Section("Java Fundamentals", 0);
+        section1.setCourse(course);
+        section2 = new Section("Object-Oriented Programming", 1);
+        section2.setCourse(course);
+        otherSection = new Section("Python Fundamentals", 0);
+        otherSection.setCourse(otherCourse);
+        entityManager.persist(section1);
+        entityManager.persist(section2);
+        entityManager.persist(otherSection);
+
+        article1 = new Article("Introduction to Java", "Java is...", 0);
+        article1.setSection(section1);
+        article2 = new Article("Variables", "In Java...", 1);
+        article2.setSection(section1);
+        entityManager.persist(article1);
+        entityManager.persist(article2);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should assign section positions and rank keys in list order")
+    void reorderSections() {
+        // when
+        int updated = positionBatchRepository.reorderSections(course.getId(), List.of(section2.getId(), section1.getId()));
+        entityManager.clear();
+
+        // then
+        assertEquals(2, updated);
+        Section first = entityManager.find(Section.class, section2.getId());
+        Section second = entityManager.find(Section.class, section1.getId());
+        assertEquals(0, first.getPosition());
+        assertEquals(1, second.getPosition());
+        assertTrue(first.getRankKey().compareTo(second.getRankKey()) < 0);
+    }
+
+    @Test
+    @DisplayName("Should not move sections of another course")
+    void reorderSectionsOfAnotherCourse() {
+        // when
+        int updated = positionBatchRepository.reorderSections(course.getId(), List.of(otherSection.getId(), section1.getId()));
+        entityManager.clear();
+
+        // then
+        assertEquals(1, updated);
+        assertEquals(0, entityManager.find(Section.class, otherSection.getId()).getPosition());
+        assertEquals(1, entityManager.find(Section.class, section1.getId()).getPosition());
+    }
+
+    @Test
+    @DisplayName("Should assign article positions in list order")
+    void reorderArticles() {
+        // when
+        int updated = positionBatchRepository.reorderArticles(section1.getId(), List.of(article2.getId(), article1.getId()));
+        entityManager.clear();
+
+        // then
+        assertEquals(2, updated);
+        assertEquals(0, entityManager.find(Article.class, article2.getId()).getPosition());
+        assertEquals(1, entityManager.find(Article.class, article1.getId()).getPosition());
+    }
+}
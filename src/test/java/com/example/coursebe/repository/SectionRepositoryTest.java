@@ -0,0 +1,172 @@
+package com.example.coursebe.repository;
+
+import com.example.coursebe.common.RankKeys;
+import com.example.coursebe.dto.SectionOutline;
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.dto.SectionSummary;
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.Section;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SectionRepository
+ */
+@DataJpaTest
+public class SectionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    private Course course;
+    private Section section1;
+    private Section section2;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course("Java Programming", "Learn Java basics", UUID.randomUUID(), new BigDecimal("99.99"));
+        entityManager.persist(course);
+
+        section2 = new Section("Object-Oriented Programming", 2);
+        section2.setCourse(course);
+        section1 = new Section("Java Fundamentals", 1);
+        section1.setCourse(course);
+        entityManager.persist(section2);
+        entityManager.persist(section1);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should find section summaries of a course ordered by rank key, with positions from rank order")
+    void findSummariesByCourseId() {
+        // when
+        List<SectionSummary> summaries = sectionRepository.findSummariesByCourseIdOrderByRankKeyAsc(course.getId());
+
+        // then
+        assertEquals(2, summaries.size());
+        assertEquals(section1.getId(), summaries.get(0).getId());
+        assertEquals("Java Fundamentals", summaries.get(0).getTitle());
+        assertEquals(0, summaries.get(0).getPosition());
+        assertEquals(section2.getId(), summaries.get(1).getId());
+        assertEquals(1, summaries.get(1).getPosition());
+    }
+
+    @Test
+    @DisplayName("Should find the section outlines of several courses in one query")
+    void findOutlinesByCourseIdIn() {
+        // given
+        Course other = new Course("Empty", "No sections", UUID.randomUUID(), BigDecimal.ZERO);
+        entityManager.persist(other);
+        entityManager.flush();
+
+        // when
+        List<SectionOutline> outlines = sectionRepository.findOutlinesByCourseIdIn(List.of(course.getId(), other.getId()));
+
+        // then
+        assertEquals(2, outlines.size());
+        assertEquals(course.getId(), outlines.get(0).getCourseId());
+        assertEquals(section1.getId(), outlines.get(0).getId());
+        assertEquals("Java Fundamentals", outlines.get(0).getTitle());
+        assertEquals(section2.getId(), outlines.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Should find the course of a section")
+    void findCourseIdById() {
+        assertEquals(course.getId(), sectionRepository.findCourseIdById(section1.getId()).orElseThrow());
+        assertTrue(sectionRepository.findCourseIdById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find sections ordered by rank key in the database")
+    void findByCourseIdOrderByRankKey() {
+        // when
+        List<Section> sections = sectionRepository.findByCourseIdOrderByRankKeyAsc(course.getId());
+
+        // then
+        assertEquals(List.of(section1.getId(), section2.getId()), sections.stream().map(Section::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should order by rank key rather than position")
+    void rankKeyDecidesOrder() {
+        // given
+        Section moved = new Section("Moved to the front", 5);
+        moved.setCourse(course);
+        moved.setRankKey(RankKeys.between(null, section1.getRankKey()));
+        entityManager.persist(moved);
+        entityManager.flush();
+
+        // when
+        List<UUID> ids = sectionRepository.findIdsByCourseIdOrderByRankKey(course.getId());
+
+        // then
+        assertEquals(List.of(moved.getId(), section1.getId(), section2.getId()), ids);
+    }
+
+    @Test
+    @DisplayName("Should find neighbouring rank keys of a course without the excluded section")
+    void findRankKeysByCourseIdExcluding() {
+        // given
+        Section third = new Section("Generics", 3);
+        third.setCourse(course);
+        entityManager.persist(third);
+        entityManager.flush();
+
+        // then
+        assertEquals(List.of(section2.getRankKey(), third.getRankKey()),
+                sectionRepository.findRankKeysByCourseIdExcluding(course.getId(), section1.getId(), 0, 2));
+        assertEquals(List.of(third.getRankKey()),
+                sectionRepository.findRankKeysByCourseIdExcluding(course.getId(), section1.getId(), 1, 2));
+        assertTrue(sectionRepository.findRankKeysByCourseIdExcluding(course.getId(), section1.getId(), 2, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find the last and the next rank key without the excluded section")
+    void findMaxAndNextRankKey() {
+        assertEquals(section2.getRankKey(),
+                sectionRepository.findMaxRankKeyByCourseIdExcluding(course.getId(), section1.getId()).orElseThrow());
+        assertEquals(section1.getRankKey(),
+                sectionRepository.findMaxRankKeyByCourseIdExcluding(course.getId(), section2.getId()).orElseThrow());
+        assertEquals(section2.getRankKey(), sectionRepository
+                .findNextRankKeyByCourseIdExcluding(course.getId(), UUID.randomUUID(), section1.getRankKey()).orElseThrow());
+        assertTrue(sectionRepository
+                .findNextRankKeyByCourseIdExcluding(course.getId(), UUID.randomUUID(), section2.getRankKey()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find a section response with its position from rank order")
+    void findResponseById() {
+        SectionResponse response = sectionRepository.findResponseById(section2.getId(), course.getId()).orElseThrow();
+        assertEquals(section2.getTitle(), response.getTitle());
+        assertEquals(course.getId(), response.getCourseId());
+        assertEquals(1, response.getPosition());
+        assertEquals(0, sectionRepository.findResponseById(section1.getId(), course.getId()).orElseThrow().getPosition());
+        assertTrue(sectionRepository.findResponseById(section2.getId(), UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find courses with rank keys longer than the limit")
+    void findCourseIdsWithRankKeysLongerThan() {
+        // given
+        section1.setRankKey("0000100000000000000V");
+        entityManager.flush();
+
+        // then
+        assertEquals(List.of(course.getId()), sectionRepository.findCourseIdsWithRankKeysLongerThan(16));
+        assertTrue(sectionRepository.findCourseIdsWithRankKeysLongerThan(32).isEmpty());
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -144,6 +146,28 @@ public class TutorApplicationRepositoryTest {
         assertFalse(hasAccepted);
     }
     
+    @Test
+    @DisplayName("Should insert a pending application only when the student has none")
+    void insertIfNoPending() {
+        // Given
+        TutorApplication duplicate = new TutorApplication(studentId1);
+        TutorApplication first = new TutorApplication(studentId2);
+        
+        // when
+        boolean duplicateInserted = tutorApplicationRepository.insertIfNoPending(duplicate);
+        boolean firstInserted = tutorApplicationRepository.insertIfNoPending(first);
+        
+        // then
+        assertFalse(duplicateInserted);
+        assertTrue(firstInserted);
+        assertNotNull(first.getCreatedAt());
+        assertFalse(tutorApplicationRepository.existsById(duplicate.getId()));
+        Optional<TutorApplication> stored = tutorApplicationRepository.findById(first.getId());
+        assertTrue(stored.isPresent());
+        assertEquals(TutorApplication.Status.PENDING, stored.get().getStatus());
+        assertEquals(studentId2, stored.get().getStudentId());
+    }
+    
     @Test
     @DisplayName("Should save application")
     void saveApplication() {
@@ -202,4 +226,75 @@ public class TutorApplicationRepositoryTest {
         // then
         assertFalse(found.isPresent());
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Should page the review queue oldest first")
+    void findQueuePage() {
+        // given
+        TutorApplication later = new TutorApplication(UUID.randomUUID());
+        entityManager.persist(later);
+        entityManager.flush();
+        
+        // when
+        Page<TutorApplication> page = tutorApplicationRepository.findQueuePage(
+                TutorApplication.Status.PENDING, PageRequest.of(0, 1));
+        
+        // then
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(application1.getId()), page.getContent().stream().map(TutorApplication::getId).toList());
+    }
+    
+    @Test
+    @DisplayName("Should claim only pending applications without a live claim")
+    void findClaimableIdsAndClaim() {
+        // given
+        TutorApplication later = new TutorApplication(UUID.randomUUID());
+        entityManager.persist(later);
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+        UUID reviewer = UUID.randomUUID();
+        tutorApplicationRepository.claim(List.of(application1.getId()), reviewer, now.plusMinutes(15));
+        
+        // when
+        List<UUID> claimable = tutorApplicationRepository.findClaimable(now, 10).stream()
+                .map(TutorApplication::getId).toList();
+        List<UUID> afterLease = tutorApplicationRepository.findClaimable(now.plusMinutes(16), 10).stream()
+                .map(TutorApplication::getId).toList();
+        
+        // then
+        assertEquals(List.of(later.getId()), claimable);
+        assertEquals(List.of(application1.getId(), later.getId()), afterLease);
+        assertEquals(reviewer, tutorApplicationRepository.findById(application1.getId()).get().getClaimedBy());
+    }
+    
+    @Test
+    @DisplayName("Should decide only applications in an allowed status and not claimed by someone else")
+    void decide() {
+        // given
+        TutorApplication claimedByOther = new TutorApplication(UUID.randomUUID());
+        entityManager.persist(claimedByOther);
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+        UUID reviewer = UUID.randomUUID();
+        tutorApplicationRepository.claim(List.of(application1.getId()), reviewer, now.plusMinutes(15));
+        tutorApplicationRepository.claim(List.of(claimedByOther.getId()), UUID.randomUUID(), now.plusMinutes(15));
+        List<UUID> ids = List.of(application1.getId(), application2.getId(), claimedByOther.getId());
+        List<TutorApplication.Status> fromStatuses = List.of(TutorApplication.Status.PENDING);
+        
+        // when
+        List<TutorApplication> decidable =
+                tutorApplicationRepository.findDecidableForUpdate(ids, fromStatuses, reviewer, now);
+        int updated = tutorApplicationRepository.decide(ids, fromStatuses, TutorApplication.Status.ACCEPTED, reviewer, now);
+        
+        // then
+        assertEquals(List.of(application1.getId()), decidable.stream().map(TutorApplication::getId).toList());
+        assertEquals(1, updated);
+        TutorApplication decided = tutorApplicationRepository.findById(application1.getId()).get();
+        assertEquals(TutorApplication.Status.ACCEPTED, decided.getStatus());
+        assertNull(decided.getClaimedBy());
+        assertEquals(TutorApplication.Status.DENIED,
+                tutorApplicationRepository.findById(application2.getId()).get().getStatus());
+        assertEquals(TutorApplication.Status.PENDING,
+                tutorApplicationRepository.findById(claimedByOther.getId()).get().getStatus());
+    }
+}
@@ -1,18 +1,21 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.dto.ArticleResponse;
+import com.example.coursebe.dto.ArticleSummary;
 import com.example.coursebe.model.Article;
+import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Section;
 import com.example.coursebe.repository.ArticleRepository;
+import com.example.coursebe.repository.PositionBatchRepository;
 import com.example.coursebe.repository.SectionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -20,18 +23,26 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class ArticleServiceImplTest {
 
+    private static final int MAX_KEY_LENGTH = 16;
+
     @Mock
     private ArticleRepository articleRepository;
 
     @Mock
     private SectionRepository sectionRepository;
 
-    @InjectMocks
+    @Mock
+    private CourseCatalogProjector catalogProjector;
+
+    @Mock
+    private PositionBatchRepository positionBatchRepository;
+
     private ArticleServiceImpl articleService;
 
     private UUID sectionId;
@@ -42,10 +53,13 @@ public class ArticleServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        articleService = new ArticleServiceImpl(articleRepository, sectionRepository, catalogProjector,
+                positionBatchRepository, MAX_KEY_LENGTH);
         sectionId = UUID.randomUUID();
         articleId = UUID.randomUUID();
         
         testSection = new Section("Test Section", 1);
+        testSection.setCourse(new Course("Test Course", "Test Description", UUID.randomUUID(), new BigDecimal("99.99")));
         // Set section ID using reflection
         try {
             java.lang.reflect.Field field = Section.class.getDeclaredField("id");
@@ -84,7 +98,7 @@ public class ArticleServiceImplTest {
     @DisplayName("Should get articles by section ID")
     void getArticlesBySectionId() {
         // Given
-        when(articleRepository.findBySectionId(sectionId)).thenReturn(testArticles);
+        when(articleRepository.findBySectionIdOrderByRankKeyAsc(sectionId)).thenReturn(testArticles);
         
         // When
         List<Article> result = articleService.getArticlesBySectionId(sectionId);
@@ -93,14 +107,29 @@ public class ArticleServiceImplTest {
         assertEquals(2, result.size());
         assertEquals(testArticles.get(0).getTitle(), result.get(0).getTitle());
         assertEquals(testArticles.get(0).getPosition(), result.get(0).getPosition());
-        verify(articleRepository).findBySectionId(sectionId);
+        verify(articleRepository).findBySectionIdOrderByRankKeyAsc(sectionId);
+    }
+
+    @Test
+    @DisplayName("Should get article summaries of a section without content")
+    void getArticleSummariesBySectionId() {
+        // Given
+        List<ArticleSummary> summaries = List.of(new ArticleSummary(articleId, "Test Article", 0));
+        when(articleRepository.findSummariesBySectionId(sectionId)).thenReturn(summaries);
+        
+        // When
+        List<ArticleSummary> result = articleService.getArticleSummariesBySectionId(sectionId);
+        
+        // Then
+        assertEquals(summaries, result);
+        verify(articleRepository, never()).findBySectionIdOrderByRankKeyAsc(any());
     }
 
     @Test
     @DisplayName("Should get article by ID")
     void getArticleById() {
         // Given
-        when(articleRepository.findById(articleId)).thenReturn(Optional.of(testArticle));
+        when(articleRepository.findWithSectionById(articleId)).thenReturn(Optional.of(testArticle));
         
         // When
         Optional<Article> result = articleService.getArticleById(articleId);
@@ -108,7 +137,7 @@ public class ArticleServiceImplTest {
         // Then
         assertTrue(result.isPresent());
         assertEquals(testArticle, result.get());
-        verify(articleRepository).findById(articleId);
+        verify(articleRepository).findWithSectionById(articleId);
     }
 
     @Test
@@ -116,14 +145,14 @@ public class ArticleServiceImplTest {
     void getArticleByIdNotFound() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(articleRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(articleRepository.findWithSectionById(nonExistentId)).thenReturn(Optional.empty());
         
         // When
         Optional<Article> result = articleService.getArticleById(nonExistentId);
         
         // Then
         assertFalse(result.isPresent());
-        verify(articleRepository).findById(nonExistentId);
+        verify(articleRepository).findWithSectionById(nonExistentId);
     }
 
     @Test
@@ -134,7 +163,9 @@ public class ArticleServiceImplTest {
         String content = "New Content";
         Integer position = 3;
         
-        when(sectionRepository.findById(sectionId)).thenReturn(Optional.of(testSection));
+        when(sectionRepository.findLockedById(sectionId)).thenReturn(Optional.of(testSection));
+        when(articleRepository.findRankKeysBySectionIdExcluding(eq(sectionId), any(UUID.class), eq(2), eq(2)))
+            .thenReturn(List.of("00003"));
         when(articleRepository.save(any(Article.class))).thenAnswer(i -> {
             Article article = (Article) i.getArguments()[0];
             // Set article ID using reflection
@@ -156,8 +187,9 @@ public class ArticleServiceImplTest {
         assertEquals(title, result.getTitle());
         assertEquals(content, result.getContent());
         assertEquals(position, result.getPosition());
+        assertTrue(result.getRankKey().compareTo("00003") > 0);
         assertEquals(sectionId, result.getSection().getId());
-        verify(sectionRepository).findById(sectionId);
+        verify(sectionRepository).findLockedById(sectionId);
         verify(articleRepository).save(any(Article.class));
     }
 
@@ -168,10 +200,9 @@ public class ArticleServiceImplTest {
         String title = "New Article";
         String content = "New Content";
         Integer position = null;
-        List<Article> existingArticles = new ArrayList<>(testArticles);
-        
-        when(sectionRepository.findById(sectionId)).thenReturn(Optional.of(testSection));
-        when(articleRepository.findBySection(testSection)).thenReturn(existingArticles);
+        when(sectionRepository.findLockedById(sectionId)).thenReturn(Optional.of(testSection));
+        when(articleRepository.findMaxRankKeyBySectionIdExcluding(eq(sectionId), any(UUID.class)))
+            .thenReturn(Optional.of("00002"));
         when(articleRepository.save(any(Article.class))).thenAnswer(i -> {
             Article article = (Article) i.getArguments()[0];
             // Set article ID using reflection
@@ -192,13 +223,27 @@ public class ArticleServiceImplTest {
         assertNotNull(result);
         assertEquals(title, result.getTitle());
         assertEquals(content, result.getContent());
-        assertEquals(2, result.getPosition()); // Max position (2) + 1 = 3
+        assertTrue(result.getRankKey().compareTo("00002") > 0); // After the last existing article
+        verify(articleRepository, never()).findRankKeysBySectionIdExcluding(any(), any(), anyInt(), anyInt());
         assertEquals(sectionId, result.getSection().getId());
-        verify(sectionRepository).findById(sectionId);
-        verify(articleRepository).findBySection(testSection);
+        verify(sectionRepository).findLockedById(sectionId);
+        verify(articleRepository, never()).findBySection(any());
         verify(articleRepository).save(any(Article.class));
     }
 
+    @Test
+    @DisplayName("Should get an article response with its position from a single query")
+    void getArticleResponse() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        ArticleResponse response = new ArticleResponse(articleId, sectionId, "Test Article", "Test Content", 2, null, null);
+        when(articleRepository.findResponseById(articleId, sectionId, courseId)).thenReturn(Optional.of(response));
+        
+        // When & Then
+        assertEquals(Optional.of(response), articleService.getArticleResponse(courseId, sectionId, articleId));
+        verifyNoMoreInteractions(articleRepository);
+    }
+
     @Test
     @DisplayName("Should return null when creating article for non-existent section")
     void createArticleForNonExistentSection() {
@@ -208,14 +253,14 @@ public class ArticleServiceImplTest {
         String content = "New Content";
         Integer position = 1;
         
-        when(sectionRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(sectionRepository.findLockedById(nonExistentId)).thenReturn(Optional.empty());
         
         // When
         Article result = articleService.createArticle(nonExistentId, title, content, position);
         
         // Then
         assertNull(result);
-        verify(sectionRepository).findById(nonExistentId);
+        verify(sectionRepository).findLockedById(nonExistentId);
         verify(articleRepository, never()).save(any(Article.class));
     }
 
@@ -227,34 +272,62 @@ public class ArticleServiceImplTest {
         String updatedContent = "Updated Content";
         Integer updatedPosition = 3;
         
-        when(articleRepository.findById(articleId)).thenReturn(Optional.of(testArticle));
+        when(articleRepository.findWithSectionById(articleId)).thenReturn(Optional.of(testArticle));
+        when(articleRepository.findRankKeysBySectionIdExcluding(sectionId, articleId, 2, 2))
+            .thenReturn(List.of("00003"));
         when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArguments()[0]);
+        UUID courseId = testSection.getCourse().getId();
+        ArticleResponse response = new ArticleResponse(articleId, sectionId, updatedTitle, updatedContent, 3, null, null);
+        when(articleRepository.findResponseById(articleId, sectionId, courseId)).thenReturn(Optional.of(response));
         
         // When
-        Optional<Article> result = articleService.updateArticle(articleId, updatedTitle, updatedContent, updatedPosition);
+        Optional<ArticleResponse> result = articleService.updateArticle(articleId, updatedTitle, updatedContent, updatedPosition);
         
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(updatedTitle, result.get().getTitle());
-        assertEquals(updatedContent, result.get().getContent());
-        assertEquals(updatedPosition, result.get().getPosition());
-        verify(articleRepository).findById(articleId);
+        assertEquals(Optional.of(response), result);
+        assertEquals(updatedTitle, testArticle.getTitle());
+        assertEquals(updatedContent, testArticle.getContent());
+        assertTrue(testArticle.getRankKey().compareTo("00003") > 0);
+        verify(articleRepository).findWithSectionById(articleId);
+        verify(sectionRepository).findLockedById(sectionId);
         verify(articleRepository).save(any(Article.class));
     }
 
+    @Test
+    @DisplayName("Should respace the other articles when the moved article's key grows past the limit")
+    void updateArticleRespacesLongKeys() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(articleRepository.findWithSectionById(articleId)).thenReturn(Optional.of(testArticle));
+        when(articleRepository.findRankKeysBySectionIdExcluding(sectionId, articleId, 0, 2))
+            .thenReturn(List.of("1", "1000000000000000001"), List.of("00000000", "00001000"));
+        when(articleRepository.findIdsBySectionIdOrderByRankKey(sectionId)).thenReturn(List.of(first, articleId, second));
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // When
+        articleService.updateArticle(articleId, null, null, 1);
+
+        // Then
+        verify(positionBatchRepository).reorderArticles(sectionId, List.of(first, second));
+        assertTrue(testArticle.getRankKey().length() <= MAX_KEY_LENGTH);
+        assertTrue(testArticle.getRankKey().compareTo("00000000") > 0);
+        assertTrue(testArticle.getRankKey().compareTo("00001000") < 0);
+    }
+
     @Test
     @DisplayName("Should return empty optional when updating non-existent article")
     void updateNonExistentArticle() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(articleRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(articleRepository.findWithSectionById(nonExistentId)).thenReturn(Optional.empty());
         
         // When
-        Optional<Article> result = articleService.updateArticle(nonExistentId, "Title", "Content", 1);
+        Optional<ArticleResponse> result = articleService.updateArticle(nonExistentId, "Title", "Content", 1);
         
         // Then
         assertFalse(result.isPresent());
-        verify(articleRepository).findById(nonExistentId);
+        verify(articleRepository).findWithSectionById(nonExistentId);
         verify(articleRepository, never()).save(any(Article.class));
     }
 
@@ -262,15 +335,18 @@ public class ArticleServiceImplTest {
     @DisplayName("Should delete article")
     void deleteArticle() {
         // Given
-        when(articleRepository.existsById(articleId)).thenReturn(true);
+        UUID courseId = testSection.getCourse().getId();
+        when(articleRepository.findCourseIdById(articleId)).thenReturn(Optional.of(courseId));
+        when(articleRepository.deleteArticleById(articleId)).thenReturn(1);
         
         // When
         boolean result = articleService.deleteArticle(articleId);
         
         // Then
         assertTrue(result);
-        verify(articleRepository).existsById(articleId);
-        verify(articleRepository).deleteById(articleId);
+        verify(articleRepository).findCourseIdById(articleId);
+        verify(articleRepository).deleteArticleById(articleId);
+        verify(catalogProjector).refreshSections(courseId);
     }
 
     @Test
@@ -278,15 +354,16 @@ public class ArticleServiceImplTest {
     void deleteNonExistentArticle() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(articleRepository.existsById(nonExistentId)).thenReturn(false);
+        when(articleRepository.findCourseIdById(nonExistentId)).thenReturn(Optional.empty());
         
         // When
         boolean result = articleService.deleteArticle(nonExistentId);
         
         // Then
         assertFalse(result);
-        verify(articleRepository).existsById(nonExistentId);
-        verify(articleRepository, never()).deleteById(any(UUID.class));
+        verify(articleRepository).findCourseIdById(nonExistentId);
+        verify(articleRepository, never()).deleteArticleById(any(UUID.class));
+        verify(catalogProjector, never()).refreshSections(any());
     }
 
     @Test
@@ -298,12 +375,18 @@ public class ArticleServiceImplTest {
             testArticles.get(0).getId()
         );
         
-        when(sectionRepository.findById(sectionId)).thenReturn(Optional.of(testSection));
-        when(articleRepository.findBySection(testSection)).thenReturn(testArticles);
-        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArguments()[0]);
+        List<ArticleSummary> summaries = List.of(
+            new ArticleSummary(testArticles.get(1).getId(), testArticles.get(1).getTitle(), 0),
+            new ArticleSummary(testArticles.get(0).getId(), testArticles.get(0).getTitle(), 1)
+        );
+        when(sectionRepository.existsById(sectionId)).thenReturn(true);
+        when(articleRepository.findIdsBySectionId(sectionId))
+            .thenReturn(Arrays.asList(testArticles.get(0).getId(), testArticles.get(1).getId()));
+        when(positionBatchRepository.reorderArticles(sectionId, orderedIds)).thenReturn(2);
+        when(articleRepository.findSummariesBySectionId(sectionId)).thenReturn(summaries);
         
         // When
-        List<Article> result = articleService.reorderArticles(sectionId, orderedIds);
+        List<ArticleSummary> result = articleService.reorderArticles(sectionId, orderedIds);
         
         // Then
         assertEquals(2, result.size());
@@ -311,9 +394,8 @@ public class ArticleServiceImplTest {
         assertEquals(0, result.get(0).getPosition());
         assertEquals(testArticles.get(0).getId(), result.get(1).getId());
         assertEquals(1, result.get(1).getPosition());
-        verify(sectionRepository).findById(sectionId);
-        verify(articleRepository).findBySection(testSection);
-        verify(articleRepository, times(2)).save(any(Article.class));
+        verify(positionBatchRepository).reorderArticles(sectionId, orderedIds);
+        verify(articleRepository, never()).save(any(Article.class));
     }
 
     @Test
@@ -323,15 +405,15 @@ public class ArticleServiceImplTest {
         UUID nonExistentId = UUID.randomUUID();
         List<UUID> orderedIds = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
         
-        when(sectionRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(sectionRepository.existsById(nonExistentId)).thenReturn(false);
         
         // When
-        List<Article> result = articleService.reorderArticles(nonExistentId, orderedIds);
+        List<ArticleSummary> result = articleService.reorderArticles(nonExistentId, orderedIds);
         
         // Then
         assertTrue(result.isEmpty());
-        verify(sectionRepository).findById(nonExistentId);
-        verify(articleRepository, never()).save(any(Article.class));
+        verify(sectionRepository).existsById(nonExistentId);
+        verifyNoInteractions(positionBatchRepository);
     }
 
     @Test
@@ -365,14 +447,14 @@ public class ArticleServiceImplTest {
     @DisplayName("Should return null when creating article with non-existent section")
     void createArticle_nonExistentSection() {
         // Given
-        when(sectionRepository.findById(sectionId)).thenReturn(Optional.empty());
+        when(sectionRepository.findLockedById(sectionId)).thenReturn(Optional.empty());
 
         // When
         Article result = articleService.createArticle(sectionId, "Title", "Content", 0);
 
         // Then
         assertNull(result);
-        verify(sectionRepository).findById(sectionId);
+        verify(sectionRepository).findLockedById(sectionId);
         verify(articleRepository, never()).save(any(Article.class));
     }
 
@@ -425,14 +507,14 @@ public class ArticleServiceImplTest {
     @DisplayName("Should return empty optional when updating non-existent article")
     void updateArticle_nonExistent() {
         // Given
-        when(articleRepository.findById(articleId)).thenReturn(Optional.empty());
+        when(articleRepository.findWithSectionById(articleId)).thenReturn(Optional.empty());
 
         // When
-        Optional<Article> result = articleService.updateArticle(articleId, "Title", "Content", 0);
+        Optional<ArticleResponse> result = articleService.updateArticle(articleId, "Title", "Content", 0);
 
         // Then
         assertTrue(result.isEmpty());
-        verify(articleRepository).findById(articleId);
+        verify(articleRepository).findWithSectionById(articleId);
         verify(articleRepository, never()).save(any(Article.class));
     }
 
@@ -440,31 +522,44 @@ public class ArticleServiceImplTest {
     @DisplayName("Should handle reordering articles with non-existent section")
     void reorderArticles_nonExistentSection() {
         // Given
-        when(sectionRepository.findById(sectionId)).thenReturn(Optional.empty());
+        when(sectionRepository.existsById(sectionId)).thenReturn(false);
 
         // When
-        List<Article> result = articleService.reorderArticles(sectionId, List.of(articleId));
+        List<ArticleSummary> result = articleService.reorderArticles(sectionId, List.of(articleId));
 
         // Then
         assertTrue(result.isEmpty());
-        verify(sectionRepository).findById(sectionId);
-        verify(articleRepository, never()).findBySection(any());
-        verify(articleRepository, never()).saveAll(any());
+        verify(sectionRepository).existsById(sectionId);
+        verify(articleRepository, never()).findIdsBySectionId(any());
+        verifyNoInteractions(positionBatchRepository);
     }
 
     @Test
     @DisplayName("Should throw exception when reordering articles with non-existent articles")
     void reorderArticles_nonExistentArticles() {
         // Given
-        when(sectionRepository.findById(sectionId)).thenReturn(Optional.of(testSection));
-        when(articleRepository.findBySection(testSection)).thenReturn(List.of());
+        when(sectionRepository.existsById(sectionId)).thenReturn(true);
+        when(articleRepository.findIdsBySectionId(sectionId)).thenReturn(List.of());
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> {
             articleService.reorderArticles(sectionId, List.of(articleId));
         });
-        verify(sectionRepository).findById(sectionId);
-        verify(articleRepository).findBySection(testSection);
-        verify(articleRepository, never()).saveAll(any());
+        verify(articleRepository).findIdsBySectionId(sectionId);
+        verifyNoInteractions(positionBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when reordering articles with duplicate IDs")
+    void reorderArticles_duplicateIds() {
+        // Given
+        when(sectionRepository.existsById(sectionId)).thenReturn(true);
+        when(articleRepository.findIdsBySectionId(sectionId)).thenReturn(List.of(articleId));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> {
+            articleService.reorderArticles(sectionId, List.of(articleId, articleId));
+        });
+        verifyNoInteractions(positionBatchRepository);
     }
 }
\ No newline at end of file
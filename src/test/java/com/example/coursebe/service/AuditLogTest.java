@@ -0,0 +1,171 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.dto.AuditEvent;
+import com.example.coursebe.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AuditLogTest {
+
+    private AuditLogRepository auditLogRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private List<List<AuditEvent>> batches;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(AuditLogRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        batches = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> batches.add(new ArrayList<>(invocation.<List<AuditEvent>>getArgument(0))))
+                .when(auditLogRepository).insertBatch(anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (auditLog != null) {
+            auditLog.stop();
+        }
+    }
+
+    private AuditLog auditLog(int capacity, int batchSize, long flushIntervalMs) {
+        auditLog = new AuditLog(auditLogRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                meterRegistry, true, capacity, batchSize, flushIntervalMs, 5);
+        return auditLog;
+    }
+
+    private static AuditEvent event(int n) {
+        return new AuditEvent(LocalDateTime.now(), "user-" + n, "POST", "/api/courses/" + n,
+                "CourseController#createCourse", 201, 3);
+    }
+
+    private int writtenEvents() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+
+    private void awaitWritten(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writtenEvents() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should write a batch as soon as it is full, without waiting for the interval")
+    void flushesFullBatch() throws Exception {
+        // Given
+        AuditLog log = auditLog(64, 10, 60_000);
+        log.start();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            log.record(event(i));
+        }
+        awaitWritten(10);
+
+        // Then
+        assertEquals(10, writtenEvents());
+        assertEquals(event(0).path(), batches.get(0).get(0).path());
+        assertEquals(10.0, meterRegistry.counter(AuditLog.WRITTEN_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("Should write a partial batch once the flush interval elapses")
+    void flushesOnInterval() throws Exception {
+        // Given
+        AuditLog log = auditLog(64, 100, 50);
+        log.start();
+
+        // When
+        log.record(event(1));
+        log.record(event(2));
+        awaitWritten(2);
+
+        // Then
+        assertEquals(2, writtenEvents());
+    }
+
+    @Test
+    @DisplayName("Should drop and count events when the buffer stays full")
+    void dropsWhenFull() throws Exception {
+        // Given: the flusher is stuck writing the first batch
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            batches.add(new ArrayList<>(invocation.<List<AuditEvent>>getArgument(0)));
+            return null;
+        }).when(auditLogRepository).insertBatch(anyList());
+        AuditLog log = auditLog(4, 4, 60_000);
+        log.start();
+        for (int i = 0; i < 4; i++) {
+            log.record(event(i));
+        }
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // When
+        for (int i = 4; i < 10; i++) {
+            log.record(event(i));
+        }
+
+        // Then
+        assertEquals(2.0, meterRegistry.counter(AuditLog.DROPPED_METRIC, "reason", "buffer-full").count());
+        assertEquals(8.0, meterRegistry.counter(AuditLog.RECORDED_METRIC).count());
+        release.countDown();
+        log.stop();
+        assertEquals(8, writtenEvents());
+    }
+
+    @Test
+    @DisplayName("Should flush everything still buffered on stop")
+    void flushesOnStop() {
+        // Given
+        AuditLog log = auditLog(1024, 100, 60_000);
+        log.start();
+        for (int i = 0; i < 250; i++) {
+            log.record(event(i));
+        }
+
+        // When
+        log.stop();
+
+        // Then
+        assertEquals(250, writtenEvents());
+        assertFalse(log.isRunning());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 100));
+    }
+
+    @Test
+    @DisplayName("Should count the events of a batch the database rejects")
+    void countsFailedWrites() {
+        // Given
+        doThrow(new IllegalStateException("audit_log missing")).when(auditLogRepository).insertBatch(anyList());
+        AuditLog log = auditLog(64, 100, 60_000);
+        log.start();
+        log.record(event(1));
+        log.record(event(2));
+
+        // When
+        log.stop();
+
+        // Then
+        assertEquals(2.0, meterRegistry.counter(AuditLog.DROPPED_METRIC, "reason", "write-failed").count());
+    }
+}
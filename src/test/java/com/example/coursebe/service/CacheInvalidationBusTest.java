@@ -0,0 +1,152 @@
+package com.example.coursebe.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CacheInvalidationBusTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private List<CacheInvalidationBus.Change> changes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        changes = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private CacheInvalidationBus bus(String databaseProduct) throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(databaseProduct);
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        CacheInvalidationBus bus = new CacheInvalidationBus(jdbcTemplate, dataSource, meterRegistry, true);
+        bus.subscribe(changes::add);
+        return bus;
+    }
+
+    @Test
+    @DisplayName("Should tell local subscribers right away outside a transaction")
+    void dispatchesImmediately() throws SQLException {
+        // Given
+        CacheInvalidationBus bus = bus("H2");
+        UUID courseId = UUID.randomUUID();
+
+        // When
+        bus.publish(CacheInvalidationBus.Entity.COURSE, courseId);
+
+        // Then
+        assertEquals(List.of(new CacheInvalidationBus.Change(CacheInvalidationBus.Entity.COURSE, courseId)), changes);
+        assertFalse(bus.isDistributed());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should tell local subscribers only after the transaction commits")
+    void dispatchesAfterCommit() throws SQLException {
+        // Given
+        CacheInvalidationBus bus = bus("H2");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        bus.publish(CacheInvalidationBus.Entity.COURSE, UUID.randomUUID());
+
+        // Then
+        assertTrue(changes.isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    @DisplayName("Should send changes through pg_notify on Postgres")
+    void notifiesOnPostgres() throws SQLException {
+        // Given
+        CacheInvalidationBus bus = bus("PostgreSQL");
+
+        // When
+        bus.publish(CacheInvalidationBus.Entity.CATALOG_ROW, null);
+
+        // Then
+        assertTrue(bus.isDistributed());
+        verify(jdbcTemplate).queryForObject(eq("SELECT pg_notify(?, ?)"), eq(Object.class),
+                eq(CacheInvalidationBus.CHANNEL), endsWith(":CATALOG_ROW:"));
+        assertEquals(1.0, meterRegistry.counter(CacheInvalidationBus.PUBLISHED_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("Should dispatch changes of other nodes and skip its own and malformed ones")
+    void receivesOtherNodes() throws SQLException {
+        // Given
+        CacheInvalidationBus bus = bus("PostgreSQL");
+        UUID courseId = UUID.randomUUID();
+        bus.publish(CacheInvalidationBus.Entity.COURSE, courseId);
+        String ownPayload = captureNotifiedPayload();
+        changes.clear();
+
+        // When
+        bus.receive(ownPayload);
+        bus.receive("garbage");
+        bus.receive("other-node:UNKNOWN:");
+        bus.receive("other-node:COURSE:" + courseId);
+        bus.receive("other-node:CATALOG_ROW:");
+
+        // Then
+        assertEquals(List.of(
+                new CacheInvalidationBus.Change(CacheInvalidationBus.Entity.COURSE, courseId),
+                new CacheInvalidationBus.Change(CacheInvalidationBus.Entity.CATALOG_ROW, null)), changes);
+        assertEquals(2.0, meterRegistry.counter(CacheInvalidationBus.RECEIVED_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("Should run every full flush subscriber")
+    void fullFlush() throws SQLException {
+        // Given
+        CacheInvalidationBus bus = bus("H2");
+        AtomicInteger flushes = new AtomicInteger();
+        bus.onFullFlush(flushes::incrementAndGet);
+        bus.onFullFlush(flushes::incrementAndGet);
+
+        // When
+        bus.fullFlush();
+
+        // Then
+        assertEquals(2, flushes.get());
+        assertEquals(1.0, meterRegistry.counter(CacheInvalidationBus.FULL_FLUSHES_METRIC).count());
+    }
+
+    private String captureNotifiedPayload() {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Object.class), anyString(), payload.capture());
+        return payload.getValue();
+    }
+}
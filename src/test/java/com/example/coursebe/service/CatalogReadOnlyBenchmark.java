@@ -0,0 +1,137 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.repository.CourseCatalogViewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Heap and CPU cost of one catalog request in a read-only versus a read-write transaction.
+ * Excluded from {@code test}; run with {@code ./gradlew benchmark}. Results are printed,
+ * they are measured on H2 in-process, so compare the two modes rather than the absolute values.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CatalogReadOnlyBenchmark {
+
+    private static final int COURSES = 200;
+    private static final int SECTIONS_PER_COURSE = 12;
+    private static final int WARMUP_REQUESTS = 300;
+    private static final int MEASURED_REQUESTS = 1000;
+    private static final Pageable CATALOG_PAGE = PageRequest.of(0, 50);
+
+    @Autowired
+    private CourseCatalogViewRepository catalogViewRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        List<CourseCatalogView> views = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < COURSES; i++) {
+            CourseCatalogView view = new CourseCatalogView(UUID.randomUUID());
+            view.setName("Course " + i);
+            view.setDescription("Description of course " + i);
+            view.setTutorId(UUID.randomUUID());
+            view.setPrice(BigDecimal.TEN);
+            view.setCourseCreatedAt(now.minusMinutes(i));
+            List<CourseCatalogView.CatalogSection> sections = new ArrayList<>();
+            for (int s = 0; s < SECTIONS_PER_COURSE; s++) {
+                sections.add(new CourseCatalogView.CatalogSection(UUID.randomUUID(), "Section " + s, s));
+            }
+            view.setSections(sections);
+            views.add(view);
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> catalogViewRepository.saveAll(views));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> catalogViewRepository.deleteAllInBatch());
+    }
+
+    @Test
+    @DisplayName("Read-only catalog transactions allocate less and spend less CPU than read-write ones")
+    void catalogRequestCost() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Cost readWriteCost = measure(readWrite);
+        Cost readOnlyCost = measure(readOnly);
+
+        System.out.printf("Catalog request (%d rows x %d sections), per request:%n",
+                CATALOG_PAGE.getPageSize(), SECTIONS_PER_COURSE);
+        System.out.printf("  read-write: %,10d bytes allocated, %,8d ns CPU%n", readWriteCost.bytes, readWriteCost.cpuNanos);
+        System.out.printf("  read-only:  %,10d bytes allocated, %,8d ns CPU%n", readOnlyCost.bytes, readOnlyCost.cpuNanos);
+        System.out.printf("  saved:      %,10d bytes (%.1f%%), %,8d ns CPU (%.1f%%)%n",
+                readWriteCost.bytes - readOnlyCost.bytes, percent(readWriteCost.bytes, readOnlyCost.bytes),
+                readWriteCost.cpuNanos - readOnlyCost.cpuNanos, percent(readWriteCost.cpuNanos, readOnlyCost.cpuNanos));
+
+        // Only the allocation side is stable enough to assert on; CPU time is reported
+        assertTrue(readOnlyCost.bytes < readWriteCost.bytes,
+                "Read-only transactions should not allocate dirty-checking snapshots");
+    }
+
+    private Cost measure(TransactionTemplate transactionTemplate) {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            catalogRequest(transactionTemplate);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            catalogRequest(transactionTemplate);
+        }
+        long bytes = (threads.getCurrentThreadAllocatedBytes() - bytesBefore) / MEASURED_REQUESTS;
+        long cpuNanos = (threads.getCurrentThreadCpuTime() - cpuBefore) / MEASURED_REQUESTS;
+        return new Cost(bytes, cpuNanos);
+    }
+
+    // Same statements as findCatalogPage but without its read-only hint, so only the transaction mode differs
+    private void catalogRequest(TransactionTemplate transactionTemplate) {
+        List<CourseCatalogView> page = transactionTemplate.execute(status -> {
+            List<CourseCatalogView> rows = entityManager.createQuery(
+                            "SELECT v FROM CourseCatalogView v ORDER BY v.courseCreatedAt DESC, v.courseId DESC",
+                            CourseCatalogView.class)
+                    .setMaxResults(CATALOG_PAGE.getPageSize())
+                    .getResultList();
+            entityManager.createQuery("SELECT COUNT(v) FROM CourseCatalogView v", Long.class).getSingleResult();
+            return rows;
+        });
+        assertEquals(CATALOG_PAGE.getPageSize(), page.size());
+    }
+
+    private static double percent(long baseline, long improved) {
+        return baseline == 0 ? 0 : 100.0 * (baseline - improved) / baseline;
+    }
+
+    private record Cost(long bytes, long cpuNanos) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.common.HeavyHitters;
+import com.example.coursebe.repository.HotKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseAccessTrackerTest {
+
+    @Mock
+    private HotKeyRepository hotKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CourseAccessTracker accessTracker;
+
+    @BeforeEach
+    void setUp() {
+        accessTracker = new CourseAccessTracker(hotKeyRepository, new TransactionTemplate(transactionManager), 10, 256, 4);
+    }
+
+    @Test
+    @DisplayName("Should count searches by strategy and case-insensitive keyword")
+    void countsSearches() {
+        // When
+        accessTracker.recordSearch("keyword", "Java");
+        accessTracker.recordSearch("keyword", "JAVA");
+        accessTracker.recordSearch("name", "java");
+
+        // Then
+        assertEquals(2, accessTracker.searchFrequency("keyword", "java"));
+        assertEquals(1, accessTracker.searchFrequency("name", "Java"));
+        assertEquals(new CourseAccessTracker.SearchTerm("keyword", "java"), accessTracker.topSearches().get(0).key());
+    }
+
+    @Test
+    @DisplayName("Should prefer the live top courses and fall back to the snapshot before any traffic")
+    void hotCourses() {
+        // Given
+        UUID snapshotted = UUID.randomUUID();
+        when(hotKeyRepository.findTop(CourseAccessTracker.COURSE_KIND, 5))
+                .thenReturn(List.of(new HeavyHitters.Entry<>(snapshotted.toString(), 12)));
+
+        // When & Then
+        assertEquals(List.of(snapshotted), accessTracker.hotCourses(5));
+
+        // When
+        UUID live = UUID.randomUUID();
+        accessTracker.recordCourseRead(live);
+
+        // Then
+        assertEquals(List.of(live), accessTracker.hotCourses(5));
+    }
+
+    @Test
+    @DisplayName("Should restore searches from the snapshot")
+    void hotSearchesFromSnapshot() {
+        // Given
+        when(hotKeyRepository.findTop(CourseAccessTracker.SEARCH_KIND, 5))
+                .thenReturn(List.of(new HeavyHitters.Entry<>("keyword:spring: boot", 3)));
+
+        // When
+        List<CourseAccessTracker.SearchTerm> searches = accessTracker.hotSearches(5);
+
+        // Then
+        assertEquals(List.of(new CourseAccessTracker.SearchTerm("keyword", "spring: boot")), searches);
+    }
+
+    @Test
+    @DisplayName("Should snapshot only the kinds that saw traffic")
+    @SuppressWarnings("unchecked")
+    void snapshot() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        accessTracker.recordCourseRead(courseId);
+        accessTracker.recordCourseRead(courseId);
+
+        // When
+        accessTracker.snapshot();
+
+        // Then
+        ArgumentCaptor<List<HeavyHitters.Entry<String>>> entries = ArgumentCaptor.forClass(List.class);
+        verify(hotKeyRepository).replace(eq(CourseAccessTracker.COURSE_KIND), entries.capture());
+        assertEquals(List.of(new HeavyHitters.Entry<>(courseId.toString(), 2)), entries.getValue());
+        verify(hotKeyRepository, never()).replace(eq(CourseAccessTracker.SEARCH_KIND), any());
+    }
+
+    @Test
+    @DisplayName("Should save the snapshot in its own transaction on shutdown")
+    void snapshotOnShutdown() {
+        // Given
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        accessTracker.recordCourseRead(UUID.randomUUID());
+
+        // When
+        accessTracker.snapshotOnShutdown();
+
+        // Then
+        var inOrder = inOrder(transactionManager, hotKeyRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(hotKeyRepository).replace(eq(CourseAccessTracker.COURSE_KIND), any());
+        inOrder.verify(transactionManager).commit(status);
+    }
+}
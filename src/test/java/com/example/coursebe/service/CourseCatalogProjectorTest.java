@@ -0,0 +1,186 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.repository.CourseCatalogViewRepository;
+import com.example.coursebe.repository.CourseRepository;
+import com.example.coursebe.repository.ReviewRepository;
+import com.example.coursebe.repository.SectionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseCatalogProjectorTest {
+
+    @Mock
+    private CourseCatalogViewRepository catalogViewRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private SectionRepository sectionRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    @InjectMocks
+    private CourseCatalogProjector catalogProjector;
+
+    private Course course;
+    private List<CourseCatalogView.CatalogSection> sections;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course("Java Course", "Learn Java", UUID.randomUUID(), new BigDecimal("99.99"));
+        sections = List.of(new CourseCatalogView.CatalogSection(UUID.randomUUID(), "Basics", 2));
+    }
+
+    @Test
+    @DisplayName("Should build a full catalog row for a new course")
+    void projectNewCourse() {
+        // Given
+        when(catalogViewRepository.findById(course.getId())).thenReturn(Optional.empty());
+        when(sectionRepository.findCatalogSectionsByCourseId(course.getId())).thenReturn(sections);
+        when(reviewRepository.countByCourseId(course.getId())).thenReturn(0L);
+        when(reviewRepository.findAverageRatingByCourseId(course.getId())).thenReturn(null);
+
+        // When
+        catalogProjector.projectCourse(course);
+
+        // Then
+        ArgumentCaptor<CourseCatalogView> captor = ArgumentCaptor.forClass(CourseCatalogView.class);
+        verify(catalogViewRepository).save(captor.capture());
+        CourseCatalogView view = captor.getValue();
+        assertEquals(course.getId(), view.getCourseId());
+        assertEquals("Java Course", view.getName());
+        assertEquals(course.getTutorId(), view.getTutorId());
+        assertEquals(new BigDecimal("99.99"), view.getPrice());
+        assertEquals(sections, view.getSections());
+        assertEquals(0, view.getStudentCount());
+        assertNull(view.getRatingAverage());
+    }
+
+    @Test
+    @DisplayName("Should keep counters when re-projecting an existing course")
+    void projectExistingCourseKeepsCounters() {
+        // Given
+        CourseCatalogView existing = new CourseCatalogView(course.getId());
+        existing.setStudentCount(42);
+        existing.setRatingAverage(4.5);
+        existing.setRatingCount(10);
+        when(catalogViewRepository.findById(course.getId())).thenReturn(Optional.of(existing));
+        when(sectionRepository.findCatalogSectionsByCourseId(course.getId())).thenReturn(sections);
+
+        // When
+        course.setName("Renamed Course");
+        catalogProjector.projectCourse(course);
+
+        // Then
+        verify(catalogViewRepository).save(existing);
+        assertEquals("Renamed Course", existing.getName());
+        assertEquals(42, existing.getStudentCount());
+        assertEquals(4.5, existing.getRatingAverage());
+        verify(reviewRepository, never()).findAverageRatingByCourseId(any());
+    }
+
+    @Test
+    @DisplayName("Should refresh only the student count of an existing row")
+    void refreshStudentCount() {
+        // Given
+        CourseCatalogView existing = new CourseCatalogView(course.getId());
+        when(catalogViewRepository.findById(course.getId())).thenReturn(Optional.of(existing));
+        when(courseRepository.findStudentCountById(course.getId())).thenReturn(Optional.of(7L));
+
+        // When
+        catalogProjector.refreshStudentCount(course.getId());
+
+        // Then
+        assertEquals(7, existing.getStudentCount());
+        verify(catalogViewRepository).save(existing);
+        verify(sectionRepository, never()).findCatalogSectionsByCourseId(any());
+        verify(invalidationBus).publish(CacheInvalidationBus.Entity.CATALOG_ROW, course.getId());
+    }
+
+    @Test
+    @DisplayName("Should refresh rating average and count")
+    void refreshRating() {
+        // Given
+        CourseCatalogView existing = new CourseCatalogView(course.getId());
+        when(catalogViewRepository.findById(course.getId())).thenReturn(Optional.of(existing));
+        when(reviewRepository.countByCourseId(course.getId())).thenReturn(4L);
+        when(reviewRepository.findAverageRatingByCourseId(course.getId())).thenReturn(3.75);
+
+        // When
+        catalogProjector.refreshRating(course.getId());
+
+        // Then
+        assertEquals(4, existing.getRatingCount());
+        assertEquals(3.75, existing.getRatingAverage());
+        verify(catalogViewRepository).save(existing);
+        verify(invalidationBus).publish(CacheInvalidationBus.Entity.CATALOG_ROW, course.getId());
+    }
+
+    @Test
+    @DisplayName("Should rebuild a missing row from the source tables")
+    void refreshRebuildsMissingRow() {
+        // Given
+        when(catalogViewRepository.findById(course.getId())).thenReturn(Optional.empty());
+        when(courseRepository.findById(course.getId())).thenReturn(Optional.of(course));
+        when(sectionRepository.findCatalogSectionsByCourseId(course.getId())).thenReturn(sections);
+        when(reviewRepository.countByCourseId(course.getId())).thenReturn(0L);
+
+        // When
+        catalogProjector.refreshSections(course.getId());
+
+        // Then
+        ArgumentCaptor<CourseCatalogView> captor = ArgumentCaptor.forClass(CourseCatalogView.class);
+        verify(catalogViewRepository).save(captor.capture());
+        assertEquals("Java Course", captor.getValue().getName());
+        assertEquals(sections, captor.getValue().getSections());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the course no longer exists")
+    void refreshUnknownCourse() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        when(catalogViewRepository.findById(unknownId)).thenReturn(Optional.empty());
+        when(courseRepository.findById(unknownId)).thenReturn(Optional.empty());
+
+        // When
+        catalogProjector.refreshRating(unknownId);
+
+        // Then
+        verify(catalogViewRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should remove the catalog row of a deleted course")
+    void removeCourse() {
+        // When
+        catalogProjector.removeCourse(course.getId());
+
+        // Then
+        verify(catalogViewRepository).deleteByCourseId(course.getId());
+        verify(invalidationBus).publish(CacheInvalidationBus.Entity.COURSE, course.getId());
+    }
+}
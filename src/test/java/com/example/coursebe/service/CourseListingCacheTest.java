@@ -0,0 +1,261 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.config.ReadWriteRoutingDataSource;
+import com.example.coursebe.config.ReadYourWritesWindow;
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.repository.CourseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseListingCacheTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CourseAccessTracker accessTracker;
+    private CacheInvalidationBus invalidationBus;
+    private CourseListingCache listingCache;
+    private Course java;
+    private Course kotlin;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accessTracker = new CourseAccessTracker(null, null, 10, 256, 4);
+        invalidationBus = new CacheInvalidationBus(null, new DriverManagerDataSource("jdbc:h2:mem:listing-cache"),
+                meterRegistry, true);
+        listingCache = new CourseListingCache(courseRepository, accessTracker, invalidationBus,
+                new TransactionTemplate(transactionManager), Runnable::run, meterRegistry, true, 5_000, 60_000, 100);
+        java = course("Java Basics");
+        kotlin = course("Kotlin for Java Developers");
+        pageable = PageRequest.of(0, 10);
+    }
+
+    private static Course course(String name) {
+        Course course = new Course(name, "Description", UUID.randomUUID(), new BigDecimal("10.00"));
+        ReflectionTestUtils.setField(course, "id", UUID.randomUUID());
+        return course;
+    }
+
+    private double hitRatio(String strategy) {
+        return meterRegistry.get(CourseListingCache.SEARCH_HIT_RATIO_METRIC).tag("strategy", strategy).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should share a search entry between keywords that differ only in case and reload it by ID")
+    void searchHitLoadsCoursesById() {
+        // Given
+        AtomicInteger searches = new AtomicInteger();
+        Page<Course> results = new PageImpl<>(List.of(kotlin, java), pageable, 12);
+        when(courseRepository.findAllById(List.of(kotlin.getId(), java.getId()))).thenReturn(List.of(java, kotlin));
+
+        // When
+        Page<Course> first = listingCache.search("keyword", "Java", pageable, () -> {
+            searches.incrementAndGet();
+            return results;
+        });
+        Page<Course> second = listingCache.search("keyword", "JAVA", pageable, () -> {
+            searches.incrementAndGet();
+            return results;
+        });
+
+        // Then
+        assertSame(results, first);
+        assertEquals(1, searches.get());
+        assertEquals(List.of(kotlin, java), second.getContent());
+        assertEquals(12, second.getTotalElements());
+        assertEquals(0.5, hitRatio("keyword"));
+    }
+
+    @Test
+    @DisplayName("Should keep separate entries and hit ratios per strategy and page")
+    void keyedByStrategyAndPage() {
+        // Given
+        AtomicInteger searches = new AtomicInteger();
+
+        // When
+        listingCache.search("keyword", "java", pageable, () -> page(searches));
+        listingCache.search("name", "java", pageable, () -> page(searches));
+        listingCache.search("name", "java", PageRequest.of(1, 10), () -> page(searches));
+        listingCache.search("name", "java", PageRequest.of(1, 10), () -> page(searches));
+
+        // Then
+        assertEquals(3, searches.get());
+        assertEquals(0.0, hitRatio("keyword"));
+        assertEquals(1.0 / 3, hitRatio("name"), 1e-9);
+        verify(courseRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should rerun the search once a course change bumps the generation")
+    void invalidateRefreshesSearch() {
+        // Given
+        AtomicInteger searches = new AtomicInteger();
+        listingCache.search("name", "java", pageable, () -> page(searches));
+
+        // When
+        invalidationBus.publish(CacheInvalidationBus.Entity.CATALOG_ROW, java.getId());
+        listingCache.search("name", "java", pageable, () -> page(searches));
+        invalidationBus.publish(CacheInvalidationBus.Entity.COURSE, java.getId());
+        listingCache.search("name", "java", pageable, () -> page(searches));
+
+        // Then
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    @DisplayName("Should stale catalog pages but keep search results when only a catalog row changes")
+    void catalogRowChangeKeepsSearch() {
+        // Given
+        AtomicInteger searches = new AtomicInteger();
+        AtomicInteger catalogLoads = new AtomicInteger();
+        listingCache.search("name", "java", pageable, () -> page(searches));
+        listingCache.catalog(pageable, () -> catalogPage(catalogLoads));
+
+        // When
+        invalidationBus.publish(CacheInvalidationBus.Entity.CATALOG_ROW, java.getId());
+        listingCache.search("name", "java", pageable, () -> page(searches));
+        listingCache.catalog(pageable, () -> catalogPage(catalogLoads));
+
+        // Then
+        assertEquals(1, searches.get());
+        assertEquals(2, catalogLoads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop every entry on a full flush")
+    void fullFlushDropsEntries() {
+        // Given
+        AtomicInteger searches = new AtomicInteger();
+        listingCache.search("name", "java", pageable, () -> page(searches));
+
+        // When
+        invalidationBus.fullFlush();
+        Page<Course> result = listingCache.search("name", "java", pageable, () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of(java), pageable, 1);
+        });
+
+        // Then: loaded by the caller, not served stale
+        assertEquals(2, searches.get());
+        assertEquals(List.of(java), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Should leave out courses deleted since the search was cached")
+    void skipsDeletedCourses() {
+        // Given
+        listingCache.search("name", "java", pageable, () -> new PageImpl<>(List.of(java, kotlin), pageable, 2));
+        when(courseRepository.findAllById(List.of(java.getId(), kotlin.getId()))).thenReturn(List.of(kotlin));
+
+        // When
+        Page<Course> result = listingCache.search("name", "java", pageable, () -> fail("Should be cached"));
+
+        // Then
+        assertEquals(List.of(kotlin), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Should not let a rare search displace a more frequent one when the cache is full")
+    void tinyLfuAdmission() {
+        // Given
+        CourseListingCache small = new CourseListingCache(courseRepository, accessTracker, invalidationBus,
+                new TransactionTemplate(transactionManager), Runnable::run, meterRegistry, true, 5_000, 60_000, 1);
+        AtomicInteger searches = new AtomicInteger();
+        accessTracker.recordSearch("name", "java");
+        accessTracker.recordSearch("name", "java");
+        small.search("name", "java", pageable, () -> page(searches));
+
+        // When
+        accessTracker.recordSearch("name", "cobol");
+        small.search("name", "cobol", pageable, () -> page(searches));
+        small.search("name", "java", pageable, () -> page(searches));
+        small.search("name", "cobol", pageable, () -> page(searches));
+
+        // Then: java stayed cached, cobol ran each time
+        assertEquals(3, searches.get());
+    }
+
+    @Test
+    @DisplayName("Should load misses and refreshes in read-only transactions routed to the replica")
+    void loadsFromReplica() {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(node("primary"), node("replica"),
+                new ReadYourWritesWindow(Duration.ofSeconds(5)), () -> meterRegistry);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+        CourseListingCache routed = new CourseListingCache(courseRepository, accessTracker, invalidationBus,
+                new TransactionTemplate(new DataSourceTransactionManager(routing)), Runnable::run,
+                meterRegistry, true, 5_000, 60_000, 100);
+        List<String> nodes = new ArrayList<>();
+
+        // When: a catalog miss, a refresh after a course change, and a search miss
+        routed.catalog(pageable, () -> catalogPage(jdbcTemplate, nodes));
+        routed.invalidate();
+        routed.catalog(pageable, () -> catalogPage(jdbcTemplate, nodes));
+        routed.search("name", "java", pageable, () -> {
+            nodes.add(jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+            return new PageImpl<>(List.of(), pageable, 0);
+        });
+
+        // Then
+        assertEquals(List.of("replica", "replica", "replica"), nodes);
+    }
+
+    private Page<CourseCatalogView> catalogPage(JdbcTemplate jdbcTemplate, List<String> nodes) {
+        nodes.add(jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        return new PageImpl<>(List.of(), pageable, 0);
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:listing-" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(16))");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private Page<CourseCatalogView> catalogPage(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(), pageable, 0);
+    }
+
+    private Page<Course> page(AtomicInteger searches) {
+        searches.incrementAndGet();
+        return new PageImpl<>(List.of(), pageable, 0);
+    }
+}
@@ -8,22 +8,27 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.example.coursebe.exception.UnsupportedSearchTypeException;
@@ -31,11 +36,31 @@ import com.example.coursebe.model.Course;
 import java.util.Collections;
 import com.example.coursebe.pattern.strategy.CourseSearchContext;
 import com.example.coursebe.pattern.strategy.CourseSearchStrategy;
+import com.example.coursebe.model.CourseCatalogView;
+import com.example.coursebe.model.OutboxEvent;
+import com.example.coursebe.repository.CourseCatalogViewRepository;
 import com.example.coursebe.repository.CourseRepository;
+import com.example.coursebe.repository.ArticleRepository;
+import com.example.coursebe.repository.EnrollmentRepository;
+import com.example.coursebe.repository.EnrollmentRosterReader;
+import com.example.coursebe.dto.ArticleSummary;
+import com.example.coursebe.dto.CourseEnrollmentDate;
+import com.example.coursebe.dto.EnrolledCourse;
+import com.example.coursebe.dto.RosterCursor;
+import com.example.coursebe.dto.RosterEntry;
+import com.example.coursebe.dto.RosterPage;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 @ExtendWith(MockitoExtension.class)
 public class CourseServiceImplTest {
@@ -48,6 +73,34 @@ public class CourseServiceImplTest {
     @Mock
     private CourseSearchStrategy mockSearchStrategy;
 
+    @Mock
+    private CourseCatalogViewRepository catalogViewRepository;
+
+    @Mock
+    private CourseCatalogProjector catalogProjector;
+
+    @Mock
+    private CourseStudentCounter studentCounter;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private EnrollmentRosterReader rosterReader;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private EventOutbox eventOutbox;
+
+    // Disabled, so every lookup goes to the repositories
+    @Spy
+    private CourseListingCache listingCache =
+            new CourseListingCache(null, null, mock(CacheInvalidationBus.class),
+                    new TransactionTemplate(mock(PlatformTransactionManager.class)), Runnable::run, new SimpleMeterRegistry(),
+                    false, 5_000, 60_000, 1_000);
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -265,17 +318,38 @@ public class CourseServiceImplTest {
         // Given
         UUID userId = UUID.randomUUID();
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Course> enrolledCoursesPage = new PageImpl<>(testCourses, pageable, 2);
+        LocalDateTime enrolledAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        Page<EnrolledCourse> enrolledCoursesPage = new PageImpl<>(testCourses, pageable, 2)
+                .map(course -> new EnrolledCourse(course, enrolledAt));
 
-        when(courseRepository.findByEnrollmentsStudentId(userId, pageable)).thenReturn(enrolledCoursesPage);
+        when(enrollmentRepository.findEnrolledCourses(userId, pageable)).thenReturn(enrolledCoursesPage);
 
         // When
-        Page<Course> result = courseService.getEnrolledCourses(userId, pageable);
+        Page<EnrolledCourse> result = courseService.getEnrolledCourses(userId, false, pageable);
 
         // Then
         assertEquals(2, result.getTotalElements());
-        assertEquals(testCourses, result.getContent());
-        verify(courseRepository).findByEnrollmentsStudentId(userId, pageable);
+        assertEquals(testCourse, result.getContent().get(0).getCourse());
+        assertEquals(enrolledAt, result.getContent().get(0).getEnrollmentDate());
+        verify(enrollmentRepository).findEnrolledCourses(userId, pageable);
+    }
+
+    @Test
+    @DisplayName("Should get enrolled courses most recent first without a client sort")
+    void getEnrolledCoursesRecentFirst() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("name"));
+        Page<EnrolledCourse> emptyPage = new PageImpl<>(List.of(), PageRequest.of(1, 10), 0);
+
+        when(enrollmentRepository.findEnrolledCoursesRecentFirst(userId, PageRequest.of(1, 10))).thenReturn(emptyPage);
+
+        // When
+        Page<EnrolledCourse> result = courseService.getEnrolledCourses(userId, true, pageable);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(enrollmentRepository, never()).findEnrolledCourses(any(UUID.class), any(Pageable.class));
     }
 
     @Test
@@ -284,17 +358,17 @@ public class CourseServiceImplTest {
         // Given
         UUID userId = UUID.randomUUID();
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Course> emptyPage = new PageImpl<>(List.of(), pageable, 0);
+        Page<EnrolledCourse> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-        when(courseRepository.findByEnrollmentsStudentId(userId, pageable)).thenReturn(emptyPage);
+        when(enrollmentRepository.findEnrolledCourses(userId, pageable)).thenReturn(emptyPage);
 
         // When
-        Page<Course> result = courseService.getEnrolledCourses(userId, pageable);
+        Page<EnrolledCourse> result = courseService.getEnrolledCourses(userId, false, pageable);
 
         // Then
         assertTrue(result.isEmpty());
         assertEquals(0, result.getTotalElements());
-        verify(courseRepository).findByEnrollmentsStudentId(userId, pageable);
+        verify(enrollmentRepository).findEnrolledCourses(userId, pageable);
     }
 
     @Test
@@ -306,11 +380,11 @@ public class CourseServiceImplTest {
 
         // When & Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-            courseService.getEnrolledCourses(userId, pageable);
+            courseService.getEnrolledCourses(userId, false, pageable);
         });
 
         assertEquals("User ID cannot be null", exception.getMessage());
-        verify(courseRepository, never()).findByEnrollmentsStudentId(any(), any());
+        verifyNoInteractions(enrollmentRepository);
     }
 
     @Test
@@ -326,13 +400,17 @@ public class CourseServiceImplTest {
         when(courseSearchContext.isValidStrategy(type)).thenReturn(true);
         when(courseSearchContext.getStrategy(type)).thenReturn(mockSearchStrategy);
         when(mockSearchStrategy.searchForUser(userId, keyword, pageable)).thenReturn(coursePage);
+        LocalDateTime enrolledAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(enrollmentRepository.findEnrollmentDatesIn(userId, List.of(testCourses.get(1).getId())))
+                .thenReturn(List.of(new CourseEnrollmentDate(testCourses.get(1).getId(), enrolledAt)));
 
         // When
-        Page<Course> result = courseService.searchEnrolledCourses(userId, type, keyword, pageable);
+        Page<EnrolledCourse> result = courseService.searchEnrolledCourses(userId, type, keyword, pageable);
 
         // Then
         assertEquals(1, result.getTotalElements());
-        assertEquals("Java Course", result.getContent().get(0).getName());
+        assertEquals("Java Course", result.getContent().get(0).getCourse().getName());
+        assertEquals(enrolledAt, result.getContent().get(0).getEnrollmentDate());
         verify(courseSearchContext).isValidStrategy(type);
         verify(courseSearchContext).getStrategy(type);
         verify(mockSearchStrategy).searchForUser(userId, keyword, pageable);
@@ -394,10 +472,11 @@ public class CourseServiceImplTest {
         when(mockSearchStrategy.searchForUser(userId, keyword, pageable)).thenReturn(emptyPage);
 
         // When
-        Page<Course> result = courseService.searchEnrolledCourses(userId, type, keyword, pageable);
+        Page<EnrolledCourse> result = courseService.searchEnrolledCourses(userId, type, keyword, pageable);
 
         // Then
         assertTrue(result.isEmpty());
+        verifyNoInteractions(enrollmentRepository);
         assertEquals(0, result.getTotalElements());
         verify(courseSearchContext).isValidStrategy(type);
         verify(courseSearchContext).getStrategy(type);
@@ -425,6 +504,7 @@ public class CourseServiceImplTest {
         assertEquals(tutorId, result.getTutorId());
         assertEquals(price, result.getPrice());
         verify(courseRepository).save(any(Course.class));
+        verify(catalogProjector).projectCourse(newCourse);
     }
 
     @Test
@@ -487,15 +567,38 @@ public class CourseServiceImplTest {
     @DisplayName("Should delete course")
     void deleteCourse() {
         // Given
-        when(courseRepository.existsById(courseId)).thenReturn(true);
+        when(courseRepository.deleteCourseById(courseId)).thenReturn(1);
 
         // When
         boolean result = courseService.deleteCourse(courseId);
 
         // Then
         assertTrue(result);
-        verify(courseRepository).existsById(courseId);
-        verify(courseRepository).deleteById(courseId);
+        verify(courseRepository).deleteCourseById(courseId);
+        verify(catalogProjector).removeCourse(courseId);
+        verify(studentCounter).forget(courseId);
+        verify(eventOutbox).record(OutboxEvent.Type.COURSE_DELETED, courseId, Map.of("courseId", courseId));
+        verify(courseRepository, never()).deleteById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should get catalog page from the denormalized read model")
+    void getCatalog() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        CourseCatalogView view = new CourseCatalogView(courseId);
+        view.setName(testCourse.getName());
+        Page<CourseCatalogView> catalogPage = new PageImpl<>(List.of(view), pageable, 1);
+        when(catalogViewRepository.findCatalogPage(pageable)).thenReturn(catalogPage);
+
+        // When
+        Page<CourseCatalogView> result = courseService.getCatalog(pageable);
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals(courseId, result.getContent().get(0).getCourseId());
+        verify(catalogViewRepository).findCatalogPage(pageable);
+        verify(courseRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -503,15 +606,15 @@ public class CourseServiceImplTest {
     void deleteNonExistentCourse() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(courseRepository.existsById(nonExistentId)).thenReturn(false);
+        when(courseRepository.deleteCourseById(nonExistentId)).thenReturn(0);
 
         // When
         boolean result = courseService.deleteCourse(nonExistentId);
 
         // Then
         assertFalse(result);
-        verify(courseRepository).existsById(nonExistentId);
-        verify(courseRepository, never()).deleteById(any(UUID.class));
+        verify(courseRepository).deleteCourseById(nonExistentId);
+        verify(catalogProjector, never()).removeCourse(any());
     }
 
     @Test
@@ -621,8 +724,7 @@ public class CourseServiceImplTest {
         });
 
         assertEquals("Course ID cannot be null", exception.getMessage());
-        verify(courseRepository, never()).existsById(any());
-        verify(courseRepository, never()).deleteById(any());
+        verify(courseRepository, never()).deleteCourseById(any());
     }
 
     @Test
@@ -659,4 +761,94 @@ public class CourseServiceImplTest {
         assertTrue(result.isEmpty());
         verify(courseRepository).findByTutorId(nonExistentTutorId);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should group the article outline by section, keeping section order")
+    void getArticleOutline() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        UUID firstSection = UUID.randomUUID();
+        UUID secondSection = UUID.randomUUID();
+        ArticleSummary a1 = new ArticleSummary(firstSection, UUID.randomUUID(), "A1", 0);
+        ArticleSummary a2 = new ArticleSummary(firstSection, UUID.randomUUID(), "A2", 1);
+        ArticleSummary b1 = new ArticleSummary(secondSection, UUID.randomUUID(), "B1", 0);
+        when(articleRepository.findSummariesByCourseId(courseId)).thenReturn(List.of(a1, a2, b1));
+
+        // When
+        java.util.Map<UUID, List<ArticleSummary>> outline = courseService.getArticleOutline(courseId);
+
+        // Then
+        assertEquals(List.of(firstSection, secondSection), List.copyOf(outline.keySet()));
+        assertEquals(List.of(a1, a2), outline.get(firstSection));
+        assertEquals(List.of(b1), outline.get(secondSection));
+    }
+
+    private RosterEntry rosterEntry(int minutes) {
+        return new RosterEntry(UUID.randomUUID(), LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(minutes), UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should return a roster page with a cursor when more rows exist")
+    void getRosterFirstPage() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        List<RosterEntry> rows = List.of(rosterEntry(1), rosterEntry(2), rosterEntry(3));
+        when(enrollmentRepository.findRosterFirstPage(courseId, PageRequest.of(0, 3))).thenReturn(rows);
+
+        // When
+        RosterPage page = courseService.getRosterPage(courseId, null, 2);
+
+        // Then
+        assertEquals(rows.subList(0, 2), page.getStudents());
+        RosterCursor cursor = RosterCursor.decode(page.getNextCursor());
+        assertEquals(rows.get(1).getEnrollmentDate(), cursor.getEnrollmentDate());
+        assertEquals(rows.get(1).getEnrollmentId(), cursor.getEnrollmentId());
+    }
+
+    @Test
+    @DisplayName("Should continue the roster after a cursor and stop on the last page")
+    void getRosterPageAfterCursor() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        RosterEntry previous = rosterEntry(2);
+        List<RosterEntry> rows = List.of(rosterEntry(3));
+        when(enrollmentRepository.findRosterPageAfter(courseId, previous.getEnrollmentDate(),
+                previous.getEnrollmentId(), PageRequest.of(0, 3))).thenReturn(rows);
+
+        // When
+        RosterPage page = courseService.getRosterPage(courseId, RosterCursor.after(previous).encode(), 2);
+
+        // Then
+        assertEquals(rows, page.getStudents());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid roster page requests")
+    void getRosterPageInvalid() {
+        UUID courseId = UUID.randomUUID();
+        assertThrows(IllegalArgumentException.class, () -> courseService.getRosterPage(courseId, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> courseService.getRosterPage(courseId, "not-a-cursor", 10));
+        verify(enrollmentRepository, never()).findRosterFirstPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stream the roster through the JDBC reader")
+    void streamRoster() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        RosterEntry entry = rosterEntry(1);
+        doAnswer(invocation -> {
+            Consumer<RosterEntry> consumer = invocation.getArgument(1);
+            consumer.accept(entry);
+            return null;
+        }).when(rosterReader).streamRoster(eq(courseId), any());
+
+        // When
+        List<RosterEntry> streamed = new java.util.ArrayList<>();
+        courseService.streamRoster(courseId, streamed::add);
+
+        // Then
+        assertEquals(List.of(entry), streamed);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseStudentCounterTest {
+
+    private static final long HOT_THRESHOLD = 3;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CourseCatalogProjector catalogProjector;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CourseStudentCounter studentCounter;
+    private UUID courseId;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        studentCounter = new CourseStudentCounter(courseRepository, catalogProjector, transactionTemplate, HOT_THRESHOLD);
+        courseId = UUID.randomUUID();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should apply changes of a cold course directly")
+    void coldCourseWritesThrough() {
+        // When
+        studentCounter.increment(courseId);
+        studentCounter.decrement(courseId);
+
+        // Then
+        verify(courseRepository).adjustStudentCount(courseId, 1);
+        verify(courseRepository).adjustStudentCount(courseId, -1);
+        verify(catalogProjector, times(2)).refreshStudentCount(courseId);
+    }
+
+    @Test
+    @DisplayName("Should buffer changes of a hot course until the next flush")
+    void hotCourseIsBuffered() {
+        // Given
+        runTransactionsInline();
+        when(courseRepository.findStudentCountById(courseId)).thenReturn(Optional.of(3L));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            studentCounter.increment(courseId);
+        }
+
+        // Then
+        verify(courseRepository, times(3)).adjustStudentCount(courseId, 1);
+        assertEquals(10, studentCounter.getStudentCount(courseId));
+
+        // When
+        studentCounter.flush();
+
+        // Then
+        verify(courseRepository).adjustStudentCount(courseId, 7);
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should buffer a hot course's delta only when the enrollment commits")
+    void hotDeltaWaitsForCommit() {
+        // Given
+        when(courseRepository.findStudentCountById(courseId)).thenReturn(Optional.of(3L));
+        for (int i = 0; i < HOT_THRESHOLD; i++) {
+            studentCounter.increment(courseId);
+        }
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        studentCounter.increment(courseId);
+        studentCounter.increment(courseId);
+
+        // Then
+        assertEquals(3, studentCounter.getStudentCount(courseId));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(2, synchronizations.size());
+        // One enrollment commits, the other rolls back
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(4, studentCounter.getStudentCount(courseId));
+        verify(courseRepository, times(3)).adjustStudentCount(courseId, 1);
+    }
+
+    @Test
+    @DisplayName("Should start a new hot-detection window after a flush")
+    void flushResetsWindow() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            studentCounter.increment(courseId);
+        }
+        runTransactionsInline();
+        studentCounter.flush();
+        clearInvocations(courseRepository);
+
+        // When
+        studentCounter.increment(courseId);
+
+        // Then
+        verify(courseRepository).adjustStudentCount(courseId, 1);
+    }
+
+    @Test
+    @DisplayName("Should keep buffered deltas when a flush fails")
+    void failedFlushKeepsDelta() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            studentCounter.increment(courseId);
+        }
+        doThrow(new IllegalStateException("database down")).when(transactionTemplate).executeWithoutResult(any());
+        when(courseRepository.findStudentCountById(courseId)).thenReturn(Optional.of(3L));
+
+        // When
+        studentCounter.flush();
+
+        // Then
+        assertEquals(5, studentCounter.getStudentCount(courseId));
+    }
+
+    @Test
+    @DisplayName("Should not open transactions when nothing is buffered")
+    void flushWithoutPendingDeltas() {
+        // Given
+        studentCounter.increment(courseId);
+
+        // When
+        studentCounter.flush();
+
+        // Then
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verify(courseRepository, times(1)).adjustStudentCount(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should drop courses without buffered deltas on flush")
+    void flushDropsIdleCourses() {
+        // Given
+        runTransactionsInline();
+        UUID coldCourseId = UUID.randomUUID();
+        studentCounter.increment(coldCourseId);
+        for (int i = 0; i < 5; i++) {
+            studentCounter.increment(courseId);
+        }
+        assertEquals(Set.of(courseId), studentCounter.pendingCourseIds());
+
+        // When
+        studentCounter.flush();
+
+        // Then
+        assertEquals(1, studentCounter.trackedCourses());
+        assertTrue(studentCounter.pendingCourseIds().isEmpty());
+
+        // When
+        studentCounter.flush();
+
+        // Then
+        assertEquals(0, studentCounter.trackedCourses());
+    }
+
+    @Test
+    @DisplayName("Should return 0 for an unknown course")
+    void studentCountOfUnknownCourse() {
+        // Given
+        when(courseRepository.findStudentCountById(courseId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertEquals(0, studentCounter.getStudentCount(courseId));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.coursebe.service;
 
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Enrollment;
+import com.example.coursebe.model.OutboxEvent;
 import com.example.coursebe.repository.CourseRepository;
 import com.example.coursebe.repository.EnrollmentRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -35,6 +37,12 @@ public class EnrollmentServiceImplTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private CourseStudentCounter studentCounter;
+
+    @Mock
+    private EventOutbox eventOutbox;
+
     @InjectMocks
     private EnrollmentServiceImpl enrollmentService;
 
@@ -209,6 +217,9 @@ public class EnrollmentServiceImplTest {
         verify(enrollmentRepository).existsByStudentIdAndCourseId(studentId, courseId);
         verify(courseRepository).findById(courseId);
         verify(enrollmentRepository).save(any(Enrollment.class));
+        verify(studentCounter).increment(courseId);
+        verify(eventOutbox).record(OutboxEvent.Type.ENROLLMENT_CREATED, result.getId(),
+                Map.of("studentId", studentId, "courseId", courseId));
     }
 
     @Test
@@ -274,6 +285,9 @@ public class EnrollmentServiceImplTest {
         verify(courseRepository).findById(courseId);
         verify(enrollmentRepository).findByStudentIdAndCourse(studentId, testCourse);
         verify(enrollmentRepository).delete(testEnrollment);
+        verify(studentCounter).decrement(courseId);
+        verify(eventOutbox).record(OutboxEvent.Type.ENROLLMENT_DELETED, testEnrollment.getId(),
+                Map.of("studentId", studentId, "courseId", courseId));
     }
 
     @Test
@@ -0,0 +1,212 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.OutboxEvent;
+import com.example.coursebe.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private List<List<Long>> delivered;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        delivered = new ArrayList<>();
+    }
+
+    private OutboxRelay relay(int batchSize, OutboxSink... sinks) {
+        return new OutboxRelay(outboxEventRepository, List.of(sinks),
+                new TransactionTemplate(transactionManager), meterRegistry, batchSize, 10, 5, 168, 60_000, 1_000, 60_000);
+    }
+
+    private static OutboxEvent event(long id) {
+        return event(id, UUID.randomUUID());
+    }
+
+    private static OutboxEvent event(long id, UUID aggregateId) {
+        OutboxEvent event = new OutboxEvent(OutboxEvent.Type.ENROLLMENT_CREATED, aggregateId, Map.of());
+        ReflectionTestUtils.setField(event, "id", id);
+        ReflectionTestUtils.setField(event, "createdAt", LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+
+    private OutboxSink recordingSink(long failingId) {
+        return new OutboxSink() {
+            @Override
+            public String name() {
+                return "recording";
+            }
+
+            @Override
+            public void deliver(List<OutboxEvent> events) {
+                if (events.stream().anyMatch(event -> event.getId() == failingId)) {
+                    throw new IllegalStateException("rejected " + failingId);
+                }
+                delivered.add(events.stream().map(OutboxEvent::getId).toList());
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should deliver full batches until the outbox is drained and mark them published")
+    void drainsBatches() {
+        // Given
+        when(outboxEventRepository.claimBatch(eq(5), any(), eq(2)))
+                .thenReturn(List.of(event(1), event(2)))
+                .thenReturn(List.of(event(3)));
+
+        // When
+        int relayed = relay(2, recordingSink(-1)).relay();
+
+        // Then
+        assertEquals(3, relayed);
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L)), delivered);
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any());
+        verify(outboxEventRepository, times(2)).claimBatch(eq(5), any(), eq(2));
+        verify(outboxEventRepository).lease(eq(List.of(1L, 2L)), any());
+        assertEquals(3.0, meterRegistry.counter(OutboxRelay.RELAYED_METRIC).count());
+        assertEquals(3, meterRegistry.timer(OutboxRelay.LAG_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch event by event and count an attempt only for the bad one")
+    void isolatesFailingEvent() {
+        // Given
+        when(outboxEventRepository.claimBatch(eq(5), any(), eq(10))).thenReturn(List.of(event(1), event(2), event(3)));
+
+        // When
+        int relayed = relay(10, recordingSink(2)).relay();
+
+        // Then
+        assertEquals(2, relayed);
+        assertEquals(List.of(List.of(1L), List.of(3L)), delivered);
+        verify(outboxEventRepository).markFailed(eq(List.of(2L)), contains("rejected 2"), any());
+        verify(outboxEventRepository, never()).markPublished(eq(List.of(2L)), any());
+        assertEquals(2.0, meterRegistry.counter(OutboxRelay.FAILURES_METRIC, "sink", "recording").count());
+    }
+
+    @Test
+    @DisplayName("Should hold back later events of an aggregate whose earlier event failed")
+    void keepsAggregateOrder() {
+        // Given
+        UUID enrollment = UUID.randomUUID();
+        when(outboxEventRepository.claimBatch(eq(5), any(), eq(10)))
+                .thenReturn(List.of(event(1, enrollment), event(2), event(3, enrollment)));
+
+        // When
+        int relayed = relay(10, recordingSink(1)).relay();
+
+        // Then
+        assertEquals(1, relayed);
+        assertEquals(List.of(List.of(2L)), delivered);
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), contains("rejected 1"), any());
+        verify(outboxEventRepository, never()).markFailed(eq(List.of(3L)), any(), any());
+        verify(outboxEventRepository).lease(eq(List.of(3L)), any());
+    }
+
+    @Test
+    @DisplayName("Should not mark events published when a later sink fails")
+    void requiresEverySink() {
+        // Given
+        when(outboxEventRepository.claimBatch(eq(5), any(), eq(10))).thenReturn(List.of(event(1)));
+
+        // When
+        int relayed = relay(10, recordingSink(-1), recordingSink(1)).relay();
+
+        // Then
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).markPublished(any(), any());
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should deliver after the claim commits and record the outcome in a second transaction")
+    void deliversOutsideTransaction() {
+        // Given
+        OutboxSink sink = mock(OutboxSink.class);
+        when(outboxEventRepository.claimBatch(eq(5), any(), eq(10))).thenReturn(List.of(event(1)));
+
+        // When
+        relay(10, sink).relay();
+
+        // Then
+        InOrder inOrder = inOrder(transactionManager, outboxEventRepository, sink);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxEventRepository).claimBatch(eq(5), any(), eq(10));
+        inOrder.verify(outboxEventRepository).lease(eq(List.of(1L)), any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(sink).deliver(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxEventRepository).markPublished(eq(List.of(1L)), any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should fail the whole batch once and stop polling when the sink cannot be reached")
+    void unreachableSinkBacksOff() {
+        // Given
+        OutboxEvent retried = event(2);
+        ReflectionTestUtils.setField(retried, "attempts", 3);
+        when(outboxEventRepository.claimBatch(eq(5), any(), eq(2))).thenReturn(List.of(event(1), retried));
+        OutboxSink unreachable = new OutboxSink() {
+            @Override
+            public String name() {
+                return "webhook";
+            }
+
+            @Override
+            public void deliver(List<OutboxEvent> events) {
+                throw new IllegalStateException("I/O error", new ConnectException("Connection refused"));
+            }
+        };
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        int relayed = relay(2, unreachable).relay();
+
+        // Then: one delivery attempt, one claim, each event postponed by its own backoff
+        assertEquals(0, relayed);
+        assertEquals(1.0, meterRegistry.counter(OutboxRelay.FAILURES_METRIC, "sink", "webhook").count());
+        verify(outboxEventRepository).claimBatch(eq(5), any(), eq(2));
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), contains("I/O error"),
+                argThat(next -> !next.isBefore(before.plusSeconds(1)) && next.isBefore(before.plusSeconds(8))));
+        verify(outboxEventRepository).markFailed(eq(List.of(2L)), contains("I/O error"),
+                argThat(next -> !next.isBefore(before.plusSeconds(8))));
+    }
+
+    @Test
+    @DisplayName("Should double the backoff with each attempt up to the maximum")
+    void backoff() {
+        OutboxRelay relay = relay(10);
+
+        assertEquals(Duration.ofSeconds(1), relay.backoff(0));
+        assertEquals(Duration.ofSeconds(8), relay.backoff(3));
+        assertEquals(Duration.ofMinutes(1), relay.backoff(6));
+        assertEquals(Duration.ofMinutes(1), relay.backoff(Integer.MAX_VALUE));
+    }
+}
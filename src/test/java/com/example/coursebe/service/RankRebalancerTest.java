@@ -0,0 +1,128 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.model.Course;
+import com.example.coursebe.model.Section;
+import com.example.coursebe.repository.ArticleRepository;
+import com.example.coursebe.repository.CourseRepository;
+import com.example.coursebe.repository.PositionBatchRepository;
+import com.example.coursebe.repository.SectionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RankRebalancerTest {
+
+    private static final int MAX_KEY_LENGTH = 16;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private SectionRepository sectionRepository;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private PositionBatchRepository positionBatchRepository;
+
+    @Mock
+    private CourseCatalogProjector catalogProjector;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RankRebalancer rankRebalancer;
+    private UUID courseId;
+    private UUID sectionId;
+
+    @BeforeEach
+    void setUp() {
+        rankRebalancer = new RankRebalancer(courseRepository, sectionRepository, articleRepository,
+                positionBatchRepository, catalogProjector, transactionTemplate, MAX_KEY_LENGTH);
+        courseId = UUID.randomUUID();
+        sectionId = UUID.randomUUID();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should respace the keys of courses and sections with long keys")
+    void rebalance() {
+        // Given
+        runTransactionsInline();
+        List<UUID> sectionIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> articleIds = List.of(UUID.randomUUID());
+        Course course = new Course("Java Programming", "Learn Java basics", UUID.randomUUID(), BigDecimal.TEN);
+        when(sectionRepository.findCourseIdsWithRankKeysLongerThan(MAX_KEY_LENGTH)).thenReturn(List.of(courseId));
+        when(articleRepository.findSectionIdsWithRankKeysLongerThan(MAX_KEY_LENGTH)).thenReturn(List.of(sectionId));
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.of(course));
+        when(sectionRepository.findLockedById(sectionId)).thenReturn(Optional.of(new Section("Basics", 0)));
+        when(sectionRepository.findIdsByCourseIdOrderByRankKey(courseId)).thenReturn(sectionIds);
+        when(articleRepository.findIdsBySectionIdOrderByRankKey(sectionId)).thenReturn(articleIds);
+
+        // When
+        int rebalanced = rankRebalancer.rebalance();
+
+        // Then
+        assertEquals(2, rebalanced);
+        verify(positionBatchRepository).reorderSections(courseId, sectionIds);
+        verify(positionBatchRepository).reorderArticles(sectionId, articleIds);
+        verify(catalogProjector).refreshSections(courseId);
+    }
+
+    @Test
+    @DisplayName("Should skip a course deleted before it was rebalanced")
+    void rebalanceDeletedCourse() {
+        // Given
+        runTransactionsInline();
+        when(sectionRepository.findCourseIdsWithRankKeysLongerThan(MAX_KEY_LENGTH)).thenReturn(List.of(courseId));
+        when(articleRepository.findSectionIdsWithRankKeysLongerThan(MAX_KEY_LENGTH)).thenReturn(List.of());
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.empty());
+
+        // When
+        rankRebalancer.rebalance();
+
+        // Then
+        verifyNoInteractions(positionBatchRepository, catalogProjector);
+    }
+
+    @Test
+    @DisplayName("Should continue with other parents when one rebalance fails")
+    void rebalanceFailureIsIsolated() {
+        // Given
+        UUID otherCourseId = UUID.randomUUID();
+        when(sectionRepository.findCourseIdsWithRankKeysLongerThan(MAX_KEY_LENGTH)).thenReturn(List.of(courseId, otherCourseId));
+        when(articleRepository.findSectionIdsWithRankKeysLongerThan(MAX_KEY_LENGTH)).thenReturn(List.of());
+        doThrow(new IllegalStateException("lock timeout")).doNothing().when(transactionTemplate).executeWithoutResult(any());
+
+        // When
+        int rebalanced = rankRebalancer.rebalance();
+
+        // Then
+        assertEquals(1, rebalanced);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+}
@@ -22,6 +22,9 @@ class ReviewServiceImplTest {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private CourseCatalogProjector catalogProjector;
+
     @InjectMocks
     private ReviewServiceImpl reviewService;
 
@@ -104,18 +107,22 @@ class ReviewServiceImplTest {
     @Test
     @DisplayName("Should delete review")
     void deleteReview() {
-        when(reviewRepository.existsById(reviewId)).thenReturn(true);
-        doNothing().when(reviewRepository).deleteById(reviewId);
+        when(reviewRepository.findCourseIdById(reviewId)).thenReturn(Optional.of(courseId));
+        when(reviewRepository.deleteReviewById(reviewId)).thenReturn(1);
         boolean result = reviewService.deleteReview(reviewId);
         assertTrue(result);
+        verify(reviewRepository).deleteReviewById(reviewId);
+        verify(reviewRepository, never()).findById(any());
+        verify(catalogProjector).refreshRating(courseId);
     }
 
     @Test
     @DisplayName("Should return false when deleting non-existent review")
     void deleteReviewNotFound() {
-        when(reviewRepository.existsById(reviewId)).thenReturn(false);
+        when(reviewRepository.findCourseIdById(reviewId)).thenReturn(Optional.empty());
         boolean result = reviewService.deleteReview(reviewId);
         assertFalse(result);
+        verify(reviewRepository, never()).deleteReviewById(any());
     }
 
     @Test
@@ -1,19 +1,20 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.dto.SectionResponse;
+import com.example.coursebe.dto.SectionSummary;
 import com.example.coursebe.model.Course;
 import com.example.coursebe.model.Section;
 import com.example.coursebe.repository.CourseRepository;
+import com.example.coursebe.repository.PositionBatchRepository;
 import com.example.coursebe.repository.SectionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -21,18 +22,26 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class SectionServiceImplTest {
 
+    private static final int MAX_KEY_LENGTH = 16;
+
     @Mock
     private SectionRepository sectionRepository;
 
     @Mock
     private CourseRepository courseRepository;
 
-    @InjectMocks
+    @Mock
+    private CourseCatalogProjector catalogProjector;
+
+    @Mock
+    private PositionBatchRepository positionBatchRepository;
+
     private SectionServiceImpl sectionService;
 
     private UUID courseId;
@@ -43,6 +52,8 @@ public class SectionServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        sectionService = new SectionServiceImpl(sectionRepository, courseRepository, catalogProjector,
+                positionBatchRepository, MAX_KEY_LENGTH);
         courseId = UUID.randomUUID();
         sectionId = UUID.randomUUID();
         
@@ -85,7 +96,7 @@ public class SectionServiceImplTest {
     @DisplayName("Should get sections by course ID")
     void getSectionsByCourseId() {
         // Given
-        when(sectionRepository.findByCourseId(courseId)).thenReturn(testSections);
+        when(sectionRepository.findByCourseIdOrderByRankKeyAsc(courseId)).thenReturn(testSections);
         
         // When
         List<Section> result = sectionService.getSectionsByCourseId(courseId);
@@ -94,7 +105,7 @@ public class SectionServiceImplTest {
         assertEquals(2, result.size());
         assertEquals(testSections.get(0).getTitle(), result.get(0).getTitle());
         assertEquals(testSections.get(0).getPosition(), result.get(0).getPosition());
-        verify(sectionRepository).findByCourseId(courseId);
+        verify(sectionRepository).findByCourseIdOrderByRankKeyAsc(courseId);
     }
 
     @Test
@@ -134,7 +145,9 @@ public class SectionServiceImplTest {
         String title = "New Section";
         Integer position = 3;
         
-        when(courseRepository.findById(courseId)).thenReturn(Optional.of(testCourse));
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.of(testCourse));
+        when(sectionRepository.findRankKeysByCourseIdExcluding(eq(courseId), any(UUID.class), eq(2), eq(2)))
+            .thenReturn(List.of("00003"));
         when(sectionRepository.save(any(Section.class))).thenAnswer(i -> {
             Section section = (Section) i.getArguments()[0];
             // Set section ID using reflection
@@ -155,21 +168,109 @@ public class SectionServiceImplTest {
         assertNotNull(result);
         assertEquals(title, result.getTitle());
         assertEquals(position, result.getPosition());
+        assertTrue(result.getRankKey().compareTo("00003") > 0);
         assertEquals(courseId, result.getCourse().getId());
-        verify(courseRepository).findById(courseId);
+        verify(courseRepository).findLockedById(courseId);
         verify(sectionRepository).save(any(Section.class));
     }
 
+    @Test
+    @DisplayName("Should insert a section between its neighbours without touching them")
+    void createSectionInTheMiddle() {
+        // Given
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.of(testCourse));
+        when(sectionRepository.findRankKeysByCourseIdExcluding(eq(courseId), any(UUID.class), eq(0), eq(2)))
+            .thenReturn(List.of("00001", "00002"));
+        when(sectionRepository.save(any(Section.class))).thenAnswer(i -> i.getArguments()[0]);
+        
+        // When
+        Section result = sectionService.createSection(courseId, "Middle Section", 1);
+        
+        // Then
+        assertTrue(result.getRankKey().compareTo("00001") > 0);
+        assertTrue(result.getRankKey().compareTo("00002") < 0);
+        verify(sectionRepository, times(1)).save(any(Section.class));
+        verifyNoInteractions(positionBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Should respace the other sections when the new key grows past the limit")
+    void createSectionRespacesLongKeys() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.of(testCourse));
+        when(sectionRepository.findRankKeysByCourseIdExcluding(eq(courseId), any(UUID.class), eq(0), eq(2)))
+            .thenReturn(List.of("1", "1000000000000000001"), List.of("00000000", "00001000"));
+        when(sectionRepository.findIdsByCourseIdOrderByRankKey(courseId)).thenReturn(List.of(first, second));
+        when(sectionRepository.save(any(Section.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // When
+        Section result = sectionService.createSection(courseId, "Crowded Section", 1);
+
+        // Then
+        verify(positionBatchRepository).reorderSections(courseId, List.of(first, second));
+        assertTrue(result.getRankKey().length() <= MAX_KEY_LENGTH);
+        assertTrue(result.getRankKey().compareTo("00000000") > 0);
+        assertTrue(result.getRankKey().compareTo("00001000") < 0);
+    }
+
+    @Test
+    @DisplayName("Should start at position 0 when appending to a course without sections")
+    void createFirstSectionWithCalculatedPosition() {
+        // Given
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.of(testCourse));
+        when(sectionRepository.findMaxRankKeyByCourseIdExcluding(eq(courseId), any(UUID.class))).thenReturn(Optional.empty());
+        when(sectionRepository.save(any(Section.class))).thenAnswer(i -> i.getArguments()[0]);
+        
+        // When
+        Section result = sectionService.createSection(courseId, "First Section", null);
+        
+        // Then
+        assertEquals(0, result.getPosition());
+        assertNotNull(result.getRankKey());
+    }
+
+    @Test
+    @DisplayName("Should insert after all equal keys when neighbours share a rank key")
+    void createSectionBetweenEqualKeys() {
+        // Given
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.of(testCourse));
+        when(sectionRepository.findRankKeysByCourseIdExcluding(eq(courseId), any(UUID.class), eq(0), eq(2)))
+            .thenReturn(List.of("00001", "00001"));
+        when(sectionRepository.findNextRankKeyByCourseIdExcluding(eq(courseId), any(UUID.class), eq("00001")))
+            .thenReturn(Optional.of("00002"));
+        when(sectionRepository.save(any(Section.class))).thenAnswer(i -> i.getArguments()[0]);
+        
+        // When
+        Section result = sectionService.createSection(courseId, "After Duplicates", 1);
+        
+        // Then
+        assertTrue(result.getRankKey().compareTo("00001") > 0);
+        assertTrue(result.getRankKey().compareTo("00002") < 0);
+    }
+
+    @Test
+    @DisplayName("Should get a section response with its position from a single query")
+    void getSectionResponse() {
+        // Given
+        SectionResponse response = new SectionResponse(sectionId, courseId, "Test Section", 4, null, null);
+        when(sectionRepository.findResponseById(sectionId, courseId)).thenReturn(Optional.of(response));
+        
+        // When & Then
+        assertEquals(Optional.of(response), sectionService.getSectionResponse(courseId, sectionId));
+        verifyNoMoreInteractions(sectionRepository);
+    }
+
     @Test
     @DisplayName("Should create section with calculated position when position is null")
     void createSectionWithCalculatedPosition() {
         // Given
         String title = "New Section";
         Integer position = null;
-        List<Section> existingSections = new ArrayList<>(testSections);
-        
-        when(courseRepository.findById(courseId)).thenReturn(Optional.of(testCourse));
-        when(sectionRepository.findByCourse(testCourse)).thenReturn(existingSections);
+        when(courseRepository.findLockedById(courseId)).thenReturn(Optional.of(testCourse));
+        when(sectionRepository.findMaxRankKeyByCourseIdExcluding(eq(courseId), any(UUID.class)))
+            .thenReturn(Optional.of("00002"));
         when(sectionRepository.save(any(Section.class))).thenAnswer(i -> {
             Section section = (Section) i.getArguments()[0];
             // Set section ID using reflection
@@ -189,10 +290,11 @@ public class SectionServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(title, result.getTitle());
-        assertEquals(2, result.getPosition()); // Max position (2) + 1 = 3
+        assertTrue(result.getRankKey().compareTo("00002") > 0); // After the last existing section
+        verify(sectionRepository, never()).findRankKeysByCourseIdExcluding(any(), any(), anyInt(), anyInt());
         assertEquals(courseId, result.getCourse().getId());
-        verify(courseRepository).findById(courseId);
-        verify(sectionRepository).findByCourse(testCourse);
+        verify(courseRepository).findLockedById(courseId);
+        verify(sectionRepository, never()).findByCourse(any());
         verify(sectionRepository).save(any(Section.class));
     }
 
@@ -204,14 +306,14 @@ public class SectionServiceImplTest {
         String title = "New Section";
         Integer position = 1;
         
-        when(courseRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(courseRepository.findLockedById(nonExistentId)).thenReturn(Optional.empty());
         
         // When
         Section result = sectionService.createSection(nonExistentId, title, position);
         
         // Then
         assertNull(result);
-        verify(courseRepository).findById(nonExistentId);
+        verify(courseRepository).findLockedById(nonExistentId);
         verify(sectionRepository, never()).save(any(Section.class));
     }
 
@@ -223,16 +325,21 @@ public class SectionServiceImplTest {
         Integer updatedPosition = 3;
         
         when(sectionRepository.findById(sectionId)).thenReturn(Optional.of(testSection));
+        when(sectionRepository.findRankKeysByCourseIdExcluding(courseId, sectionId, 2, 2))
+            .thenReturn(List.of("00003"));
         when(sectionRepository.save(any(Section.class))).thenAnswer(i -> i.getArguments()[0]);
+        SectionResponse response = new SectionResponse(sectionId, courseId, updatedTitle, 3, null, null);
+        when(sectionRepository.findResponseById(sectionId, courseId)).thenReturn(Optional.of(response));
         
         // When
-        Optional<Section> result = sectionService.updateSection(sectionId, updatedTitle, updatedPosition);
+        Optional<SectionResponse> result = sectionService.updateSection(sectionId, updatedTitle, updatedPosition);
         
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(updatedTitle, result.get().getTitle());
-        assertEquals(updatedPosition, result.get().getPosition());
+        assertEquals(Optional.of(response), result);
+        assertEquals(updatedTitle, testSection.getTitle());
+        assertTrue(testSection.getRankKey().compareTo("00003") > 0);
         verify(sectionRepository).findById(sectionId);
+        verify(courseRepository).findLockedById(courseId);
         verify(sectionRepository).save(any(Section.class));
     }
 
@@ -244,7 +351,7 @@ public class SectionServiceImplTest {
         when(sectionRepository.findById(nonExistentId)).thenReturn(Optional.empty());
         
         // When
-        Optional<Section> result = sectionService.updateSection(nonExistentId, "Title", 1);
+        Optional<SectionResponse> result = sectionService.updateSection(nonExistentId, "Title", 1);
         
         // Then
         assertFalse(result.isPresent());
@@ -256,15 +363,17 @@ public class SectionServiceImplTest {
     @DisplayName("Should delete section")
     void deleteSection() {
         // Given
-        when(sectionRepository.existsById(sectionId)).thenReturn(true);
+        when(sectionRepository.findCourseIdById(sectionId)).thenReturn(Optional.of(courseId));
+        when(sectionRepository.deleteSectionById(sectionId)).thenReturn(1);
         
         // When
         boolean result = sectionService.deleteSection(sectionId);
         
         // Then
         assertTrue(result);
-        verify(sectionRepository).existsById(sectionId);
-        verify(sectionRepository).deleteById(sectionId);
+        verify(sectionRepository).findCourseIdById(sectionId);
+        verify(sectionRepository).deleteSectionById(sectionId);
+        verify(catalogProjector).refreshSections(courseId);
     }
 
     @Test
@@ -272,15 +381,15 @@ public class SectionServiceImplTest {
     void deleteNonExistentSection() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(sectionRepository.existsById(nonExistentId)).thenReturn(false);
+        when(sectionRepository.findCourseIdById(nonExistentId)).thenReturn(Optional.empty());
         
         // When
         boolean result = sectionService.deleteSection(nonExistentId);
         
         // Then
         assertFalse(result);
-        verify(sectionRepository).existsById(nonExistentId);
-        verify(sectionRepository, never()).deleteById(any(UUID.class));
+        verify(sectionRepository).findCourseIdById(nonExistentId);
+        verify(sectionRepository, never()).deleteSectionById(any(UUID.class));
     }
 
     @Test
@@ -292,22 +401,64 @@ public class SectionServiceImplTest {
             testSections.get(0).getId()
         );
         
-        when(courseRepository.findById(courseId)).thenReturn(Optional.of(testCourse));
-        when(sectionRepository.findByCourse(testCourse)).thenReturn(testSections);
-        when(sectionRepository.save(any(Section.class))).thenAnswer(i -> i.getArguments()[0]);
+        SectionSummary first = mock(SectionSummary.class);
+        SectionSummary second = mock(SectionSummary.class);
+        when(courseRepository.existsById(courseId)).thenReturn(true);
+        when(sectionRepository.findIdsByCourseId(courseId))
+            .thenReturn(Arrays.asList(testSections.get(0).getId(), testSections.get(1).getId()));
+        when(positionBatchRepository.reorderSections(courseId, orderedIds)).thenReturn(2);
+        when(sectionRepository.findSummariesByCourseIdOrderByRankKeyAsc(courseId)).thenReturn(List.of(first, second));
         
         // When
-        List<Section> result = sectionService.reorderSections(courseId, orderedIds);
+        List<SectionSummary> result = sectionService.reorderSections(courseId, orderedIds);
         
         // Then
-        assertEquals(2, result.size());
-        assertEquals(testSections.get(1).getId(), result.get(0).getId());
-        assertEquals(0, result.get(0).getPosition());
-        assertEquals(testSections.get(0).getId(), result.get(1).getId());
-        assertEquals(1, result.get(1).getPosition());
-        verify(courseRepository).findById(courseId);
-        verify(sectionRepository).findByCourse(testCourse);
-        verify(sectionRepository, times(2)).save(any(Section.class));
+        assertEquals(List.of(first, second), result);
+        verify(positionBatchRepository).reorderSections(courseId, orderedIds);
+        verify(catalogProjector).refreshSections(courseId);
+        verify(sectionRepository, never()).save(any(Section.class));
+    }
+
+    @Test
+    @DisplayName("Should reject reordering with sections of another course")
+    void reorderSectionsWithForeignSection() {
+        // Given
+        List<UUID> orderedIds = Arrays.asList(testSections.get(0).getId(), UUID.randomUUID());
+        when(courseRepository.existsById(courseId)).thenReturn(true);
+        when(sectionRepository.findIdsByCourseId(courseId))
+            .thenReturn(Arrays.asList(testSections.get(0).getId(), testSections.get(1).getId()));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> sectionService.reorderSections(courseId, orderedIds));
+        verifyNoInteractions(positionBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject reordering with duplicate section IDs")
+    void reorderSectionsWithDuplicates() {
+        // Given
+        UUID id = testSections.get(0).getId();
+        when(courseRepository.existsById(courseId)).thenReturn(true);
+        when(sectionRepository.findIdsByCourseId(courseId))
+            .thenReturn(Arrays.asList(id, testSections.get(1).getId()));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> sectionService.reorderSections(courseId, List.of(id, id)));
+        verifyNoInteractions(positionBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Should fail when a section moved to another course before the update")
+    void reorderSectionsWithConcurrentMove() {
+        // Given
+        List<UUID> orderedIds = Arrays.asList(testSections.get(1).getId(), testSections.get(0).getId());
+        when(courseRepository.existsById(courseId)).thenReturn(true);
+        when(sectionRepository.findIdsByCourseId(courseId)).thenReturn(orderedIds);
+        when(positionBatchRepository.reorderSections(courseId, orderedIds)).thenReturn(1);
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> sectionService.reorderSections(courseId, orderedIds));
+        verify(catalogProjector, never()).refreshSections(any());
     }
 
     @Test
@@ -317,14 +468,14 @@ public class SectionServiceImplTest {
         UUID nonExistentId = UUID.randomUUID();
         List<UUID> orderedIds = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
         
-        when(courseRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(courseRepository.existsById(nonExistentId)).thenReturn(false);
         
         // When
-        List<Section> result = sectionService.reorderSections(nonExistentId, orderedIds);
+        List<SectionSummary> result = sectionService.reorderSections(nonExistentId, orderedIds);
         
         // Then
         assertTrue(result.isEmpty());
-        verify(courseRepository).findById(nonExistentId);
-        verify(sectionRepository, never()).save(any(Section.class));
+        verify(courseRepository).existsById(nonExistentId);
+        verifyNoInteractions(positionBatchRepository);
     }
 }
\ No newline at end of file
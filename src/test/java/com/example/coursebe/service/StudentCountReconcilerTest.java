@@ -0,0 +1,80 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.repository.CourseCatalogViewRepository;
+import com.example.coursebe.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentCountReconcilerTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CourseCatalogViewRepository catalogViewRepository;
+
+    @Mock
+    private CourseStudentCounter studentCounter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private StudentCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new StudentCountReconciler(courseRepository, catalogViewRepository, studentCounter,
+                transactionTemplate);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    @DisplayName("Should flush buffered deltas before opening the recount transaction")
+    void flushesBeforeTransaction() {
+        // Given
+        when(studentCounter.pendingCourseIds()).thenReturn(Set.of());
+        when(courseRepository.reconcileStudentCounts()).thenReturn(2);
+
+        // When
+        int corrected = reconciler.reconcile();
+
+        // Then
+        assertEquals(2, corrected);
+        InOrder inOrder = inOrder(studentCounter, transactionTemplate);
+        inOrder.verify(studentCounter).flush();
+        inOrder.verify(transactionTemplate).execute(any());
+        verify(catalogViewRepository).reconcileStudentCounts();
+    }
+
+    @Test
+    @DisplayName("Should not recount courses with unflushed deltas")
+    void skipsPendingCourses() {
+        // Given
+        UUID courseId = UUID.randomUUID();
+        when(studentCounter.pendingCourseIds()).thenReturn(Set.of(courseId));
+
+        // When
+        reconciler.reconcile();
+
+        // Then
+        verify(courseRepository).reconcileStudentCountsExcluding(Set.of(courseId));
+        verify(courseRepository, never()).reconcileStudentCounts();
+    }
+}
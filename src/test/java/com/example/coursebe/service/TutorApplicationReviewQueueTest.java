@@ -0,0 +1,132 @@
+package com.example.coursebe.service;
+
+import com.example.coursebe.dto.TutorApplicationDecisionResult;
+import com.example.coursebe.model.OutboxEvent;
+import com.example.coursebe.model.TutorApplication;
+import com.example.coursebe.repository.TutorApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TutorApplicationReviewQueueTest {
+
+    @Mock
+    private TutorApplicationRepository tutorApplicationRepository;
+
+    @Mock
+    private EventOutbox eventOutbox;
+
+    private TutorApplicationReviewQueue reviewQueue;
+    private UUID reviewerId;
+
+    @BeforeEach
+    void setUp() {
+        reviewQueue = new TutorApplicationReviewQueue(tutorApplicationRepository, eventOutbox,
+                60_000, 5, 3);
+        reviewerId = UUID.randomUUID();
+    }
+
+    private static TutorApplication application(LocalDateTime createdAt) {
+        TutorApplication application = new TutorApplication(UUID.randomUUID());
+        ReflectionTestUtils.setField(application, "createdAt", createdAt);
+        return application;
+    }
+
+    @Test
+    @DisplayName("Should claim the next applications with a lease and return them oldest first")
+    void claimNext() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        TutorApplication older = application(now.minusHours(2));
+        TutorApplication newer = application(now.minusHours(1));
+        List<UUID> ids = List.of(older.getId(), newer.getId());
+        when(tutorApplicationRepository.findClaimable(any(LocalDateTime.class), eq(2))).thenReturn(List.of(older, newer));
+        when(tutorApplicationRepository.findAllById(ids)).thenReturn(List.of(newer, older));
+
+        // When
+        List<TutorApplication> claimed = reviewQueue.claimNext(reviewerId, 2);
+
+        // Then
+        assertEquals(List.of(older, newer), claimed);
+        verify(tutorApplicationRepository).claim(eq(ids), eq(reviewerId),
+                argThat(until -> until.isAfter(now.plusSeconds(59)) && until.isBefore(now.plusSeconds(120))));
+    }
+
+    @Test
+    @DisplayName("Should reject claim counts outside the allowed range")
+    void claimNextValidatesCount() {
+        assertThrows(IllegalArgumentException.class, () -> reviewQueue.claimNext(reviewerId, 0));
+        assertThrows(IllegalArgumentException.class, () -> reviewQueue.claimNext(reviewerId, 6));
+        verifyNoInteractions(tutorApplicationRepository);
+    }
+
+    @Test
+    @DisplayName("Should decide the eligible applications from PENDING and report the rest as skipped")
+    void decide() {
+        // Given
+        TutorApplication pending = application(LocalDateTime.now());
+        UUID alreadyDecided = UUID.randomUUID();
+        List<TutorApplication.Status> fromStatuses = List.of(TutorApplication.Status.PENDING);
+        when(tutorApplicationRepository.findDecidableForUpdate(
+                eq(Set.of(pending.getId(), alreadyDecided)), eq(fromStatuses), eq(reviewerId), any()))
+                .thenReturn(List.of(pending));
+
+        // When
+        TutorApplicationDecisionResult result = reviewQueue.decide(
+                reviewerId, List.of(pending.getId(), alreadyDecided, pending.getId()), TutorApplication.Status.DENIED);
+
+        // Then
+        assertEquals(List.of(pending.getId()), result.decided());
+        assertEquals(List.of(alreadyDecided), result.skipped());
+        verify(tutorApplicationRepository).decide(eq(List.of(pending.getId())), eq(fromStatuses),
+                eq(TutorApplication.Status.DENIED), eq(reviewerId), any());
+        verify(eventOutbox).record(OutboxEvent.Type.TUTOR_APPLICATION_STATUS_CHANGED, pending.getId(),
+                Map.of("studentId", pending.getStudentId(), "status", "DENIED"));
+    }
+
+    @Test
+    @DisplayName("Should skip the update when nothing is eligible")
+    void decideNothingEligible() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(tutorApplicationRepository.findDecidableForUpdate(any(), any(), any(), any())).thenReturn(List.of());
+
+        // When
+        TutorApplicationDecisionResult result = reviewQueue.decide(reviewerId, List.of(id), TutorApplication.Status.ACCEPTED);
+
+        // Then
+        assertEquals(List.of(), result.decided());
+        assertEquals(List.of(id), result.skipped());
+        verify(tutorApplicationRepository, never()).decide(any(), any(), any(), any(), any());
+        verifyNoInteractions(eventOutbox);
+    }
+
+    @Test
+    @DisplayName("Should reject a decision no status may move to, and oversized batches")
+    void decideValidates() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+        assertThrows(IllegalStateException.class,
+                () -> reviewQueue.decide(reviewerId, ids, TutorApplication.Status.PENDING));
+        List<UUID> tooMany = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        assertThrows(IllegalArgumentException.class,
+                () -> reviewQueue.decide(reviewerId, tooMany, TutorApplication.Status.ACCEPTED));
+        assertThrows(IllegalArgumentException.class,
+                () -> reviewQueue.decide(reviewerId, List.of(), TutorApplication.Status.ACCEPTED));
+        verifyNoInteractions(tutorApplicationRepository);
+    }
+}
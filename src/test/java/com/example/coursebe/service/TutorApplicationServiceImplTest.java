@@ -1,5 +1,6 @@
 package com.example.coursebe.service;
 
+import com.example.coursebe.model.OutboxEvent;
 import com.example.coursebe.model.TutorApplication;
 import com.example.coursebe.repository.TutorApplicationRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,11 +10,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -28,6 +31,9 @@ public class TutorApplicationServiceImplTest {
     @Mock
     private TutorApplicationRepository tutorApplicationRepository;
 
+    @Mock
+    private EventOutbox eventOutbox;
+
     @InjectMocks
     private TutorApplicationServiceImpl tutorApplicationService;
 
@@ -156,20 +162,7 @@ public class TutorApplicationServiceImplTest {
     @DisplayName("Should submit application")
     void submitApplication() {
         // Given
-        when(tutorApplicationRepository.existsByStudentIdAndStatus(studentId, TutorApplication.Status.PENDING))
-            .thenReturn(false);
-        when(tutorApplicationRepository.save(any(TutorApplication.class))).thenAnswer(i -> {
-            TutorApplication application = (TutorApplication) i.getArguments()[0];
-            // Set application ID using reflection
-            try {
-                java.lang.reflect.Field field = TutorApplication.class.getDeclaredField("id");
-                field.setAccessible(true);
-                field.set(application, UUID.randomUUID());
-            } catch (Exception e) {
-                fail("Failed to set application ID");
-            }
-            return application;
-        });
+        when(tutorApplicationRepository.insertIfNoPending(any(TutorApplication.class))).thenReturn(true);
         
         // When
         TutorApplication result = tutorApplicationService.submitApplication(studentId);
@@ -178,23 +171,22 @@ public class TutorApplicationServiceImplTest {
         assertNotNull(result);
         assertEquals(studentId, result.getStudentId());
         assertEquals(TutorApplication.Status.PENDING, result.getStatus());
-        verify(tutorApplicationRepository).existsByStudentIdAndStatus(studentId, TutorApplication.Status.PENDING);
-        verify(tutorApplicationRepository).save(any(TutorApplication.class));
+        verify(tutorApplicationRepository).insertIfNoPending(result);
+        verify(tutorApplicationRepository, never()).save(any(TutorApplication.class));
     }
 
     @Test
     @DisplayName("Should return null when student already has pending application")
     void submitApplicationAlreadyPending() {
         // Given
-        when(tutorApplicationRepository.existsByStudentIdAndStatus(studentId, TutorApplication.Status.PENDING))
-            .thenReturn(true);
+        when(tutorApplicationRepository.insertIfNoPending(any(TutorApplication.class))).thenReturn(false);
         
         // When
         TutorApplication result = tutorApplicationService.submitApplication(studentId);
         
         // Then
         assertNull(result);
-        verify(tutorApplicationRepository).existsByStudentIdAndStatus(studentId, TutorApplication.Status.PENDING);
+        verify(tutorApplicationRepository).insertIfNoPending(any(TutorApplication.class));
         verify(tutorApplicationRepository, never()).save(any(TutorApplication.class));
     }
 
@@ -214,6 +206,43 @@ public class TutorApplicationServiceImplTest {
         assertEquals(newStatus, result.get().getStatus());
         verify(tutorApplicationRepository).findById(applicationId);
         verify(tutorApplicationRepository).save(any(TutorApplication.class));
+        verify(eventOutbox).record(OutboxEvent.Type.TUTOR_APPLICATION_STATUS_CHANGED, applicationId,
+                Map.of("studentId", testApplication.getStudentId(), "status", "ACCEPTED"));
+    }
+
+    @Test
+    @DisplayName("Should not update an application another reviewer holds a live claim on")
+    void updateApplicationStatusClaimed() {
+        // Given
+        ReflectionTestUtils.setField(testApplication, "claimedBy", UUID.randomUUID());
+        ReflectionTestUtils.setField(testApplication, "claimedUntil", LocalDateTime.now().plusMinutes(10));
+        when(tutorApplicationRepository.findById(applicationId)).thenReturn(Optional.of(testApplication));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> tutorApplicationService.updateApplicationStatus(applicationId, TutorApplication.Status.ACCEPTED));
+        assertTrue(exception.getMessage().contains("claimed"));
+        verify(tutorApplicationRepository, never()).save(any(TutorApplication.class));
+        verifyNoInteractions(eventOutbox);
+    }
+
+    @Test
+    @DisplayName("Should release an expired claim when updating the status")
+    void updateApplicationStatusReleasesExpiredClaim() {
+        // Given
+        ReflectionTestUtils.setField(testApplication, "claimedBy", UUID.randomUUID());
+        ReflectionTestUtils.setField(testApplication, "claimedUntil", LocalDateTime.now().minusMinutes(1));
+        when(tutorApplicationRepository.findById(applicationId)).thenReturn(Optional.of(testApplication));
+        when(tutorApplicationRepository.save(any(TutorApplication.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // When
+        Optional<TutorApplication> result =
+                tutorApplicationService.updateApplicationStatus(applicationId, TutorApplication.Status.ACCEPTED);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertNull(result.get().getClaimedBy());
+        assertNull(result.get().getClaimedUntil());
     }
 
     @Test
@@ -264,15 +293,15 @@ public class TutorApplicationServiceImplTest {
     @DisplayName("Should delete application")
     void deleteApplication() {
         // Given
-        when(tutorApplicationRepository.existsById(applicationId)).thenReturn(true);
+        when(tutorApplicationRepository.deleteApplicationById(applicationId)).thenReturn(1);
         
         // When
         boolean result = tutorApplicationService.deleteApplication(applicationId);
         
         // Then
         assertTrue(result);
-        verify(tutorApplicationRepository).existsById(applicationId);
-        verify(tutorApplicationRepository).deleteById(applicationId);
+        verify(tutorApplicationRepository).deleteApplicationById(applicationId);
+        verify(tutorApplicationRepository, never()).existsById(any());
     }
 
     @Test
@@ -280,15 +309,14 @@ public class TutorApplicationServiceImplTest {
     void deleteNonExistentApplication() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(tutorApplicationRepository.existsById(nonExistentId)).thenReturn(false);
+        when(tutorApplicationRepository.deleteApplicationById(nonExistentId)).thenReturn(0);
         
         // When
         boolean result = tutorApplicationService.deleteApplication(nonExistentId);
         
         // Then
         assertFalse(result);
-        verify(tutorApplicationRepository).existsById(nonExistentId);
-        verify(tutorApplicationRepository, never()).deleteById(any(UUID.class));
+        verify(tutorApplicationRepository).deleteApplicationById(nonExistentId);
     }
 
     @Test
@@ -383,19 +411,7 @@ public class TutorApplicationServiceImplTest {
     @DisplayName("Should submit application asynchronously")
     void submitApplicationAsync() throws Exception {
         // Given
-        when(tutorApplicationRepository.existsByStudentIdAndStatus(studentId, TutorApplication.Status.PENDING))
-            .thenReturn(false);
-        when(tutorApplicationRepository.save(any(TutorApplication.class))).thenAnswer(i -> {
-            TutorApplication application = (TutorApplication) i.getArguments()[0];
-            try {
-                java.lang.reflect.Field field = TutorApplication.class.getDeclaredField("id");
-                field.setAccessible(true);
-                field.set(application, UUID.randomUUID());
-            } catch (Exception e) {
-                fail("Failed to set application ID");
-            }
-            return application;
-        });
+        when(tutorApplicationRepository.insertIfNoPending(any(TutorApplication.class))).thenReturn(true);
         
         // When
         CompletableFuture<TutorApplication> future = tutorApplicationService.submitApplicationAsync(studentId);
@@ -405,8 +421,8 @@ public class TutorApplicationServiceImplTest {
         assertNotNull(result);
         assertEquals(studentId, result.getStudentId());
         assertEquals(TutorApplication.Status.PENDING, result.getStatus());
-        verify(tutorApplicationRepository).existsByStudentIdAndStatus(studentId, TutorApplication.Status.PENDING);
-        verify(tutorApplicationRepository).save(any(TutorApplication.class));
+        verify(tutorApplicationRepository).insertIfNoPending(result);
+        verify(tutorApplicationRepository, never()).save(any(TutorApplication.class));
     }
 
     @Test